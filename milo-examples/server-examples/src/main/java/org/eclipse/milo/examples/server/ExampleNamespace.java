@@ -504,12 +504,14 @@ public class ExampleNamespace implements Namespace {
 
         List<DataValue> results = Lists.newArrayListWithCapacity(readValueIds.size());
 
+        AttributeContext attributeContext = new AttributeContext(context);
+
         for (ReadValueId readValueId : readValueIds) {
             ServerNode node = server.getNodeMap().get(readValueId.getNodeId());
 
             if (node != null) {
                 DataValue value = node.readAttribute(
-                    new AttributeContext(context),
+                    attributeContext,
                     readValueId.getAttributeId(),
                     timestamps,
                     readValueId.getIndexRange()
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.benchmarks;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.sdk.server.api.AbstractServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.namespaces.loader.UaNodeImageLoader;
+import org.eclipse.milo.opcua.sdk.server.namespaces.loader.UaNodeLoader;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.serialization.DelegateRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to populate a node map with namespace 0 on a cold JVM, comparing the generated
+ * {@link UaNodeLoader}s with the binary image read by {@link UaNodeImageLoader}, both from the classpath and
+ * memory-mapped from a file.
+ * <p>
+ * Each fork loads namespace 0 exactly once, so the results include class loading and interpretation the way a
+ * server start does. {@link Identifiers} and the {@link DelegateRegistry} are initialized during setup because
+ * every server start pays for them before namespace 0 is loaded, whichever loader is used.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class Namespace0LoadBenchmark {
+
+    private Path imagePath;
+
+    @Setup
+    public void setup() throws Exception {
+        Class.forName(Identifiers.class.getName());
+        DelegateRegistry.getInstance();
+
+        imagePath = Files.createTempFile("namespace0", ".bin");
+
+        try (InputStream inputStream =
+                 UaNodeImageLoader.class.getResourceAsStream(UaNodeImageLoader.NAMESPACE_0_IMAGE)) {
+
+            Files.copy(inputStream, imagePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(imagePath);
+    }
+
+    @Benchmark
+    public ServerNodeMap generatedLoaders() throws Exception {
+        ServerNodeMap nodeMap = new BenchmarkNodeMap();
+        new UaNodeLoader(nodeMap).loadNodes();
+        return nodeMap;
+    }
+
+    @Benchmark
+    public ServerNodeMap imageFromClasspath() throws Exception {
+        ServerNodeMap nodeMap = new BenchmarkNodeMap();
+        new UaNodeImageLoader(nodeMap).loadNodes();
+        return nodeMap;
+    }
+
+    @Benchmark
+    public ServerNodeMap imageMapped() throws Exception {
+        ServerNodeMap nodeMap = new BenchmarkNodeMap();
+        new UaNodeImageLoader(nodeMap).loadNodes(imagePath);
+        return nodeMap;
+    }
+
+    private static class BenchmarkNodeMap extends AbstractServerNodeMap {
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.benchmarks;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.sdk.client.OpcUaClient;
+import org.eclipse.milo.opcua.sdk.client.api.config.OpcUaClientConfig;
+import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
+import org.eclipse.milo.opcua.sdk.server.api.config.OpcUaServerConfig;
+import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.Stack;
+import org.eclipse.milo.opcua.stack.core.application.CertificateValidator;
+import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateManager;
+import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseResultMask;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.BrowseDescription;
+import org.eclipse.milo.opcua.stack.core.types.structured.BrowseResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.ViewDescription;
+import org.eclipse.milo.opcua.stack.server.tcp.SocketServers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * Measures Read and Browse service round trips between an in-process {@link OpcUaClient} and {@link OpcUaServer},
+ * including session handling and dispatch through the server's namespaces.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServerServiceBenchmark {
+
+    private static final char[] PASSWORD = "test".toCharArray();
+    private static final String SERVER_ALIAS = "server-test-certificate";
+
+    private static final NodeId[] VARIABLE_NODE_IDS = new NodeId[]{
+        Identifiers.Server_ServerArray,
+        Identifiers.Server_NamespaceArray,
+        Identifiers.Server_ServerStatus_StartTime,
+        Identifiers.Server_ServerStatus_CurrentTime,
+        Identifiers.Server_ServerStatus_State,
+        Identifiers.Server_ServiceLevel
+    };
+
+    @Param({"1", "1000"})
+    public int itemCount;
+
+    private OpcUaServer server;
+    private OpcUaClient client;
+
+    private List<ReadValueId> nodesToRead;
+    private List<BrowseDescription> nodesToBrowse;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(getClass().getClassLoader().getResourceAsStream("benchmark-keystore.pfx"), PASSWORD);
+
+        Key serverPrivateKey = keyStore.getKey(SERVER_ALIAS, PASSWORD);
+        X509Certificate serverCertificate = (X509Certificate) keyStore.getCertificate(SERVER_ALIAS);
+        KeyPair serverKeyPair = new KeyPair(serverCertificate.getPublicKey(), (PrivateKey) serverPrivateKey);
+
+        OpcUaServerConfig serverConfig = OpcUaServerConfig.builder()
+            .setApplicationName(LocalizedText.english("eclipse milo benchmark server"))
+            .setApplicationUri("urn:eclipse:milo:benchmark:server")
+            .setBindAddresses(newArrayList("localhost"))
+            .setBindPort(12696)
+            .setCertificateManager(new DefaultCertificateManager(serverKeyPair, serverCertificate))
+            .setCertificateValidator(new TrustingCertificateValidator())
+            .setProductUri("urn:eclipse:milo:benchmark")
+            .setServerName("benchmark")
+            .setUserTokenPolicies(newArrayList(OpcUaServerConfig.USER_TOKEN_POLICY_ANONYMOUS))
+            .build();
+
+        server = new OpcUaServer(serverConfig);
+        server.startup().get();
+
+        EndpointDescription[] endpoints = UaTcpStackClient
+            .getEndpoints("opc.tcp://localhost:12696/benchmark").get();
+
+        EndpointDescription endpoint = Arrays.stream(endpoints)
+            .filter(e -> e.getSecurityPolicyUri().equals(SecurityPolicy.None.getSecurityPolicyUri()))
+            .findFirst()
+            .orElseThrow(() -> new Exception("no matching endpoint"));
+
+        OpcUaClientConfig clientConfig = OpcUaClientConfig.builder()
+            .setApplicationName(LocalizedText.english("eclipse milo benchmark client"))
+            .setApplicationUri("urn:eclipse:milo:benchmark:client")
+            .setEndpoint(endpoint)
+            .setRequestTimeout(uint(60000))
+            .build();
+
+        client = new OpcUaClient(clientConfig);
+        client.connect().get();
+
+        nodesToRead = new ArrayList<>(itemCount);
+        nodesToBrowse = new ArrayList<>(itemCount);
+
+        for (int i = 0; i < itemCount; i++) {
+            nodesToRead.add(new ReadValueId(
+                VARIABLE_NODE_IDS[i % VARIABLE_NODE_IDS.length],
+                AttributeId.Value.uid(),
+                null,
+                QualifiedName.NULL_VALUE
+            ));
+
+            nodesToBrowse.add(new BrowseDescription(
+                Identifiers.Server,
+                BrowseDirection.Forward,
+                Identifiers.References,
+                true,
+                uint(NodeClass.Object.getValue() | NodeClass.Variable.getValue()),
+                uint(BrowseResultMask.All.getValue())
+            ));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.disconnect().get();
+        server.shutdown().get();
+        SocketServers.shutdownAll().get();
+        Stack.releaseSharedResources();
+    }
+
+    @Benchmark
+    public ReadResponse read() throws Exception {
+        return client.read(0.0, TimestampsToReturn.Both, nodesToRead).get();
+    }
+
+    @Benchmark
+    public BrowseResponse browse() throws Exception {
+        ViewDescription view = new ViewDescription(NodeId.NULL_VALUE, DateTime.MIN_VALUE, uint(0));
+
+        return client.browse(view, uint(0), nodesToBrowse).get();
+    }
+
+    private static class TrustingCertificateValidator implements CertificateValidator {
+
+        @Override
+        public void validate(X509Certificate certificate) {}
+
+        @Override
+        public void verifyTrustChain(X509Certificate certificate, List<X509Certificate> chain) {}
+
+    }
+
+}
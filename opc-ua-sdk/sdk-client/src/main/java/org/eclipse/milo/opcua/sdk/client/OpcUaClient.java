@@ -22,17 +22,21 @@ import org.eclipse.milo.opcua.sdk.client.api.ServiceFaultListener;
 import org.eclipse.milo.opcua.sdk.client.api.UaClient;
 import org.eclipse.milo.opcua.sdk.client.api.UaSession;
 import org.eclipse.milo.opcua.sdk.client.api.config.OpcUaClientConfig;
+import org.eclipse.milo.opcua.sdk.client.api.config.RequestBatching;
 import org.eclipse.milo.opcua.sdk.client.model.TypeRegistryInitializer;
 import org.eclipse.milo.opcua.sdk.client.session.SessionFsm;
 import org.eclipse.milo.opcua.sdk.client.subscriptions.OpcUaSubscriptionManager;
 import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
+import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.UaServiceFaultException;
 import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
 import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UByte;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.MonitoringMode;
@@ -132,6 +136,9 @@ public class OpcUaClient implements UaClient {
 
     private final OpcUaSubscriptionManager subscriptionManager;
 
+    private final RequestBatchingMetrics requestBatchingMetrics = new RequestBatchingMetrics();
+    private final RequestBatcher requestBatcher;
+
     private final UaTcpStackClient stackClient;
     private final SessionFsm sessionFsm;
 
@@ -149,6 +156,12 @@ public class OpcUaClient implements UaClient {
         addressSpace = new DefaultAddressSpace(this);
         subscriptionManager = new OpcUaSubscriptionManager(this);
 
+        requestBatcher = new RequestBatcher(
+            this,
+            config.getRequestBatching(),
+            Stack.sharedScheduledExecutor(),
+            requestBatchingMetrics);
+
         TypeRegistryInitializer.initialize(typeRegistry);
     }
 
@@ -171,6 +184,14 @@ public class OpcUaClient implements UaClient {
         return addressSpace;
     }
 
+    /**
+     * @return the {@link RequestBatchingMetrics} for reads and writes made through {@link #readBatched} and
+     * {@link #writeBatched}.
+     */
+    public RequestBatchingMetrics getRequestBatchingMetrics() {
+        return requestBatchingMetrics;
+    }
+
     TypeRegistry getTypeRegistry() {
         return typeRegistry;
     }
@@ -284,6 +305,37 @@ public class OpcUaClient implements UaClient {
         });
     }
 
+    /**
+     * Read a single attribute, merging it with other reads made within the configured {@link RequestBatching} window
+     * that share the same {@code maxAge} and {@code timestampsToReturn}.
+     * <p>
+     * If batching is disabled the read is sent in its own request.
+     *
+     * @param maxAge             the requested max age of the value, in milliseconds.
+     * @param timestampsToReturn the {@link TimestampsToReturn}.
+     * @param readValueId        the {@link ReadValueId} identifying the attribute to read.
+     * @return the {@link DataValue} read.
+     */
+    public CompletableFuture<DataValue> readBatched(double maxAge,
+                                                   TimestampsToReturn timestampsToReturn,
+                                                   ReadValueId readValueId) {
+
+        return requestBatcher.read(maxAge, timestampsToReturn, readValueId);
+    }
+
+    /**
+     * Write a single attribute, merging it with other writes made within the configured {@link RequestBatching}
+     * window.
+     * <p>
+     * If batching is disabled the write is sent in its own request.
+     *
+     * @param writeValue the {@link WriteValue} to write.
+     * @return the {@link StatusCode} of the write.
+     */
+    public CompletableFuture<StatusCode> writeBatched(WriteValue writeValue) {
+        return requestBatcher.write(writeValue);
+    }
+
     @Override
     public CompletableFuture<HistoryReadResponse> historyRead(HistoryReadDetails historyReadDetails,
                                                               TimestampsToReturn timestampsToReturn,
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.eclipse.milo.opcua.sdk.client.api.config.RequestBatching;
+import org.eclipse.milo.opcua.sdk.client.api.services.AttributeServices;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.WriteValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Merges single-attribute reads and writes issued within the {@link RequestBatching} window into shared Read and
+ * Write requests, and fans the results back out to each operation's future.
+ */
+class RequestBatcher {
+
+    private static final List<ReadValueId> OPERATION_LIMITS = ImmutableList.of(
+        new ReadValueId(
+            Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerRead,
+            AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE),
+        new ReadValueId(
+            Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerWrite,
+            AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE)
+    );
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<ReadParameters, List<PendingRead>> pendingReads = new LinkedHashMap<>();
+    private int pendingReadCount = 0;
+    private ScheduledFuture<?> readFlush;
+
+    private List<PendingWrite> pendingWrites = new ArrayList<>();
+    private ScheduledFuture<?> writeFlush;
+
+    private volatile CompletableFuture<OperationLimits> operationLimits;
+
+    private final AttributeServices services;
+    private final RequestBatching batching;
+    private final ScheduledExecutorService scheduler;
+    private final RequestBatchingMetrics metrics;
+
+    RequestBatcher(AttributeServices services,
+                   RequestBatching batching,
+                   ScheduledExecutorService scheduler,
+                   RequestBatchingMetrics metrics) {
+
+        this.services = services;
+        this.batching = batching;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+
+        if (batching.getMaxBatchSize() > 0) {
+            operationLimits = CompletableFuture.completedFuture(
+                new OperationLimits(batching.getMaxBatchSize(), batching.getMaxBatchSize()));
+        }
+    }
+
+    CompletableFuture<DataValue> read(double maxAge, TimestampsToReturn timestamps, ReadValueId readValueId) {
+        PendingRead pending = new PendingRead(readValueId);
+        ReadParameters parameters = new ReadParameters(maxAge, timestamps);
+
+        if (!batching.isEnabled()) {
+            sendReads(parameters, newArrayList(pending));
+            return pending.future;
+        }
+
+        boolean full;
+
+        synchronized (this) {
+            pendingReads.computeIfAbsent(parameters, k -> new ArrayList<>()).add(pending);
+            pendingReadCount++;
+
+            full = isFull(pendingReadCount, limits().maxNodesPerRead);
+
+            if (!full && readFlush == null) {
+                readFlush = scheduler.schedule(this::flushReads, batching.getWindowNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (full) {
+            flushReads();
+        }
+
+        return pending.future;
+    }
+
+    CompletableFuture<StatusCode> write(WriteValue writeValue) {
+        PendingWrite pending = new PendingWrite(writeValue);
+
+        if (!batching.isEnabled()) {
+            sendWrites(newArrayList(pending));
+            return pending.future;
+        }
+
+        boolean full;
+
+        synchronized (this) {
+            pendingWrites.add(pending);
+
+            full = isFull(pendingWrites.size(), limits().maxNodesPerWrite);
+
+            if (!full && writeFlush == null) {
+                writeFlush = scheduler.schedule(this::flushWrites, batching.getWindowNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (full) {
+            flushWrites();
+        }
+
+        return pending.future;
+    }
+
+    private void flushReads() {
+        Map<ReadParameters, List<PendingRead>> reads;
+
+        synchronized (this) {
+            if (readFlush != null) {
+                readFlush.cancel(false);
+                readFlush = null;
+            }
+
+            if (pendingReadCount == 0) return;
+
+            reads = new LinkedHashMap<>(pendingReads);
+            pendingReads.clear();
+            pendingReadCount = 0;
+        }
+
+        operationLimits().thenAccept(limits ->
+            reads.forEach((parameters, pending) ->
+                partition(pending, limits.maxNodesPerRead)
+                    .forEach(batch -> sendReads(parameters, batch))));
+    }
+
+    private void flushWrites() {
+        List<PendingWrite> writes;
+
+        synchronized (this) {
+            if (writeFlush != null) {
+                writeFlush.cancel(false);
+                writeFlush = null;
+            }
+
+            if (pendingWrites.isEmpty()) return;
+
+            writes = pendingWrites;
+            pendingWrites = new ArrayList<>();
+        }
+
+        operationLimits().thenAccept(limits ->
+            partition(writes, limits.maxNodesPerWrite)
+                .forEach(this::sendWrites));
+    }
+
+    private void sendReads(ReadParameters parameters, List<PendingRead> batch) {
+        List<ReadValueId> readValueIds = batch.stream()
+            .map(p -> p.readValueId)
+            .collect(toList());
+
+        metrics.recordBatch(batch.size());
+
+        services.read(parameters.maxAge, parameters.timestamps, readValueIds).whenComplete((response, ex) -> {
+            DataValue[] results = response != null ? response.getResults() : null;
+
+            for (int i = 0; i < batch.size(); i++) {
+                PendingRead pending = batch.get(i);
+
+                metrics.recordLatency(System.nanoTime() - pending.issued);
+
+                if (results != null && i < results.length) {
+                    pending.future.complete(results[i]);
+                } else {
+                    pending.future.completeExceptionally(failure(ex, readValueIds.size()));
+                }
+            }
+        });
+    }
+
+    private void sendWrites(List<PendingWrite> batch) {
+        List<WriteValue> writeValues = batch.stream()
+            .map(p -> p.writeValue)
+            .collect(toList());
+
+        metrics.recordBatch(batch.size());
+
+        services.write(writeValues).whenComplete((response, ex) -> {
+            StatusCode[] results = response != null ? response.getResults() : null;
+
+            for (int i = 0; i < batch.size(); i++) {
+                PendingWrite pending = batch.get(i);
+
+                metrics.recordLatency(System.nanoTime() - pending.issued);
+
+                if (results != null && i < results.length) {
+                    pending.future.complete(results[i]);
+                } else {
+                    pending.future.completeExceptionally(failure(ex, writeValues.size()));
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the operation limits if they are known yet, otherwise no limits.
+     */
+    private OperationLimits limits() {
+        CompletableFuture<OperationLimits> limits = operationLimits;
+
+        return limits != null ? limits.getNow(OperationLimits.NONE) : OperationLimits.NONE;
+    }
+
+    /**
+     * Get the operation limits, reading the server's MaxNodesPerRead and MaxNodesPerWrite the first time.
+     * <p>
+     * The future never fails; if the limits can't be read there are no limits, and they are read again next time.
+     */
+    private CompletableFuture<OperationLimits> operationLimits() {
+        CompletableFuture<OperationLimits> limits = operationLimits;
+
+        if (limits == null) {
+            CompletableFuture<OperationLimits> future = new CompletableFuture<>();
+
+            synchronized (this) {
+                if (operationLimits == null) {
+                    operationLimits = future;
+                } else {
+                    return operationLimits;
+                }
+            }
+
+            services.read(0.0, TimestampsToReturn.Neither, OPERATION_LIMITS).whenComplete((response, ex) -> {
+                if (response != null) {
+                    DataValue[] values = response.getResults();
+
+                    future.complete(new OperationLimits(limit(values, 0), limit(values, 1)));
+                } else {
+                    logger.debug("Failed to read operation limits: {}", ex.getMessage(), ex);
+
+                    operationLimits = null;
+                    future.complete(OperationLimits.NONE);
+                }
+            });
+
+            return future;
+        } else {
+            return limits;
+        }
+    }
+
+    private static int limit(DataValue[] values, int index) {
+        if (values != null && index < values.length) {
+            Object value = values[index].getValue().getValue();
+
+            if (value instanceof UInteger) {
+                return (int) Math.min(((UInteger) value).longValue(), Integer.MAX_VALUE);
+            }
+        }
+
+        return 0;
+    }
+
+    private static boolean isFull(int count, int limit) {
+        return limit > 0 && count >= limit;
+    }
+
+    private static <T> List<List<T>> partition(List<T> pending, int limit) {
+        return limit > 0 ? Lists.partition(pending, limit) : ImmutableList.of(pending);
+    }
+
+    private static Throwable failure(Throwable ex, int expected) {
+        return ex != null ? ex : new UaException(StatusCodes.Bad_UnexpectedError,
+            String.format("expected %s results", expected));
+    }
+
+    private static final class ReadParameters {
+
+        private final double maxAge;
+        private final TimestampsToReturn timestamps;
+
+        ReadParameters(double maxAge, TimestampsToReturn timestamps) {
+            this.maxAge = maxAge;
+            this.timestamps = timestamps;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ReadParameters that = (ReadParameters) o;
+
+            return Double.compare(that.maxAge, maxAge) == 0 && timestamps == that.timestamps;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(maxAge, timestamps);
+        }
+
+    }
+
+    private static final class PendingRead {
+
+        private final CompletableFuture<DataValue> future = new CompletableFuture<>();
+        private final long issued = System.nanoTime();
+
+        private final ReadValueId readValueId;
+
+        PendingRead(ReadValueId readValueId) {
+            this.readValueId = readValueId;
+        }
+
+    }
+
+    private static final class PendingWrite {
+
+        private final CompletableFuture<StatusCode> future = new CompletableFuture<>();
+        private final long issued = System.nanoTime();
+
+        private final WriteValue writeValue;
+
+        PendingWrite(WriteValue writeValue) {
+            this.writeValue = writeValue;
+        }
+
+    }
+
+    private static final class OperationLimits {
+
+        static final OperationLimits NONE = new OperationLimits(0, 0);
+
+        private final int maxNodesPerRead;
+        private final int maxNodesPerWrite;
+
+        OperationLimits(int maxNodesPerRead, int maxNodesPerWrite) {
+            this.maxNodesPerRead = maxNodesPerRead;
+            this.maxNodesPerWrite = maxNodesPerWrite;
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.milo.opcua.sdk.client.api.config.RequestBatching;
+
+/**
+ * Counts the batched Read and Write requests sent by an {@link OpcUaClient}, the operations they carried, and how
+ * long each operation took from being issued to its result.
+ *
+ * @see RequestBatching
+ */
+public class RequestBatchingMetrics {
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder operations = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0L);
+
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Record one request sent carrying {@code operationCount} operations.
+     *
+     * @param operationCount the number of operations in the request.
+     */
+    void recordBatch(int operationCount) {
+        batches.increment();
+        operations.add(operationCount);
+        maxBatchSize.accumulate(operationCount);
+    }
+
+    /**
+     * Record the time from an operation being issued to its result being available.
+     *
+     * @param nanos the latency, in nanoseconds.
+     */
+    void recordLatency(long nanos) {
+        latencyNanos.add(nanos);
+        maxLatencyNanos.accumulate(nanos);
+    }
+
+    /**
+     * @return the number of requests sent.
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * @return the number of operations sent.
+     */
+    public long getOperationCount() {
+        return operations.sum();
+    }
+
+    /**
+     * @return the mean number of operations per request, or 0 if no request has been sent.
+     */
+    public double getMeanBatchSize() {
+        long b = batches.sum();
+
+        return b > 0 ? (double) operations.sum() / b : 0.0;
+    }
+
+    /**
+     * @return the largest number of operations sent in one request.
+     */
+    public long getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} to return the latency in.
+     * @return the mean time from an operation being issued to its result, or 0 if no operation has completed.
+     */
+    public double getMeanLatency(TimeUnit unit) {
+        long o = operations.sum();
+
+        return o > 0 ? (double) latencyNanos.sum() / o / unit.toNanos(1) : 0.0;
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} to return the latency in.
+     * @return the longest time from an operation being issued to its result.
+     */
+    public long getMaxLatency(TimeUnit unit) {
+        return unit.convert(maxLatencyNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestBatchingMetrics{" +
+            "batches=" + getBatchCount() +
+            ", operations=" + getOperationCount() +
+            ", meanBatchSize=" + getMeanBatchSize() +
+            ", maxBatchSize=" + getMaxBatchSize() +
+            ", meanLatencyMicros=" + getMeanLatency(TimeUnit.MICROSECONDS) +
+            ", maxLatencyMicros=" + getMaxLatency(TimeUnit.MICROSECONDS) +
+            "}";
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client.api.config;
+
+/**
+ * How an {@link org.eclipse.milo.opcua.sdk.client.OpcUaClient} processes PublishResponses and delivers their
+ * notifications to subscription and monitored item listeners.
+ */
+public enum NotificationDelivery {
+
+    /**
+     * All subscriptions share one processing queue and one delivery queue, so notifications are delivered one at a
+     * time in the order they were received.
+     */
+    Shared,
+
+    /**
+     * Each subscription has its own processing and delivery queue on the client executor. Notifications for one
+     * subscription are still delivered in sequence order, but a slow listener or a Republish on one subscription
+     * does not hold up the others.
+     */
+    PerSubscription
+
+}
@@ -53,6 +53,21 @@ public interface OpcUaClientConfig extends UaTcpStackClientConfig {
      */
     IdentityProvider getIdentityProvider();
 
+    /**
+     * @return the {@link RequestBatching} used to merge single-attribute reads and writes into shared requests.
+     */
+    RequestBatching getRequestBatching();
+
+    /**
+     * @return how PublishResponses are processed and their notifications delivered to listeners.
+     */
+    NotificationDelivery getNotificationDelivery();
+
+    /**
+     * @return the {@link PublishPipelining} that sizes the number of outstanding PublishRequests.
+     */
+    PublishPipelining getPublishPipelining();
+
     /**
      * @return a new {@link OpcUaClientConfigBuilder}.
      */
@@ -83,6 +98,8 @@ public interface OpcUaClientConfig extends UaTcpStackClientConfig {
         builder.setChannelConfig(config.getChannelConfig());
         builder.setChannelLifetime(config.getChannelLifetime());
         builder.setExecutor(config.getExecutor());
+        builder.setSerializationScheduler(config.getSerializationScheduler());
+        builder.setBufferAllocator(config.getBufferAllocator());
         builder.setEventLoop(config.getEventLoop());
         builder.setWheelTimer(config.getWheelTimer());
         builder.setSecureChannelReauthenticationEnabled(config.isSecureChannelReauthenticationEnabled());
@@ -94,6 +111,9 @@ public interface OpcUaClientConfig extends UaTcpStackClientConfig {
         builder.setMaxResponseMessageSize(config.getMaxResponseMessageSize());
         builder.setMaxPendingPublishRequests(config.getMaxPendingPublishRequests());
         builder.setIdentityProvider(config.getIdentityProvider());
+        builder.setRequestBatching(config.getRequestBatching());
+        builder.setNotificationDelivery(config.getNotificationDelivery());
+        builder.setPublishPipelining(config.getPublishPipelining());
 
         return builder;
     }
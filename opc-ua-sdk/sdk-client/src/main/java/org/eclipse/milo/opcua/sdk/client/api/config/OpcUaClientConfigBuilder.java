@@ -26,9 +26,11 @@ import org.eclipse.milo.opcua.sdk.client.api.identity.IdentityProvider;
 import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
 import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfigBuilder;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 
@@ -41,6 +43,9 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
     private UInteger requestTimeout = uint(60000);
     private UInteger maxPendingPublishRequests = uint(UInteger.MAX_VALUE);
     private IdentityProvider identityProvider = new AnonymousProvider();
+    private RequestBatching requestBatching = RequestBatching.DISABLED;
+    private NotificationDelivery notificationDelivery = NotificationDelivery.Shared;
+    private PublishPipelining publishPipelining = PublishPipelining.DISABLED;
 
     public OpcUaClientConfigBuilder setSessionName(Supplier<String> sessionName) {
         this.sessionName = sessionName;
@@ -72,6 +77,36 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
         return this;
     }
 
+    /**
+     * @param requestBatching the {@link RequestBatching} for single-attribute reads and writes, such as those made
+     *                        by {@code UaNode}. Defaults to {@link RequestBatching#DISABLED}.
+     * @return this {@link OpcUaClientConfigBuilder}.
+     */
+    public OpcUaClientConfigBuilder setRequestBatching(RequestBatching requestBatching) {
+        this.requestBatching = requestBatching;
+        return this;
+    }
+
+    /**
+     * @param notificationDelivery how PublishResponses are processed and their notifications delivered. Defaults to
+     *                             {@link NotificationDelivery#Shared}.
+     * @return this {@link OpcUaClientConfigBuilder}.
+     */
+    public OpcUaClientConfigBuilder setNotificationDelivery(NotificationDelivery notificationDelivery) {
+        this.notificationDelivery = notificationDelivery;
+        return this;
+    }
+
+    /**
+     * @param publishPipelining the {@link PublishPipelining} that sizes the number of outstanding PublishRequests.
+     *                          Defaults to {@link PublishPipelining#DISABLED}.
+     * @return this {@link OpcUaClientConfigBuilder}.
+     */
+    public OpcUaClientConfigBuilder setPublishPipelining(PublishPipelining publishPipelining) {
+        this.publishPipelining = publishPipelining;
+        return this;
+    }
+
     @Override
     public OpcUaClientConfigBuilder setEndpointUrl(String endpointUrl) {
         super.setEndpointUrl(endpointUrl);
@@ -138,6 +173,18 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
         return this;
     }
 
+    @Override
+    public OpcUaClientConfigBuilder setSerializationScheduler(SerializationScheduler serializationScheduler) {
+        super.setSerializationScheduler(serializationScheduler);
+        return this;
+    }
+
+    @Override
+    public OpcUaClientConfigBuilder setBufferAllocator(BufferAllocator bufferAllocator) {
+        super.setBufferAllocator(bufferAllocator);
+        return this;
+    }
+
     @Override
     public OpcUaClientConfigBuilder setEventLoop(NioEventLoopGroup eventLoop) {
         super.setEventLoop(eventLoop);
@@ -174,7 +221,10 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
             maxResponseMessageSize,
             maxPendingPublishRequests,
             requestTimeout,
-            identityProvider);
+            identityProvider,
+            requestBatching,
+            notificationDelivery,
+            publishPipelining);
     }
 
     public static class OpcUaClientConfigImpl implements OpcUaClientConfig {
@@ -186,6 +236,9 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
         private final UInteger maxPendingPublishRequests;
         private final UInteger requestTimeout;
         private final IdentityProvider identityProvider;
+        private final RequestBatching requestBatching;
+        private final NotificationDelivery notificationDelivery;
+        private final PublishPipelining publishPipelining;
 
         public OpcUaClientConfigImpl(UaTcpStackClientConfig stackClientConfig,
                                      Supplier<String> sessionName,
@@ -193,7 +246,10 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
                                      UInteger maxResponseMessageSize,
                                      UInteger maxPendingPublishRequests,
                                      UInteger requestTimeout,
-                                     IdentityProvider identityProvider) {
+                                     IdentityProvider identityProvider,
+                                     RequestBatching requestBatching,
+                                     NotificationDelivery notificationDelivery,
+                                     PublishPipelining publishPipelining) {
 
             this.stackClientConfig = stackClientConfig;
             this.sessionName = sessionName;
@@ -202,6 +258,9 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
             this.maxPendingPublishRequests = maxPendingPublishRequests;
             this.requestTimeout = requestTimeout;
             this.identityProvider = identityProvider;
+            this.requestBatching = requestBatching;
+            this.notificationDelivery = notificationDelivery;
+            this.publishPipelining = publishPipelining;
         }
 
         @Override
@@ -234,6 +293,21 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
             return identityProvider;
         }
 
+        @Override
+        public RequestBatching getRequestBatching() {
+            return requestBatching;
+        }
+
+        @Override
+        public NotificationDelivery getNotificationDelivery() {
+            return notificationDelivery;
+        }
+
+        @Override
+        public PublishPipelining getPublishPipelining() {
+            return publishPipelining;
+        }
+
         @Override
         public Optional<String> getEndpointUrl() {
             return stackClientConfig.getEndpointUrl();
@@ -289,6 +363,16 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
             return stackClientConfig.getExecutor();
         }
 
+        @Override
+        public SerializationScheduler getSerializationScheduler() {
+            return stackClientConfig.getSerializationScheduler();
+        }
+
+        @Override
+        public BufferAllocator getBufferAllocator() {
+            return stackClientConfig.getBufferAllocator();
+        }
+
         @Override
         public NioEventLoopGroup getEventLoop() {
             return stackClientConfig.getEventLoop();
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client.api.config;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Controls how many PublishRequests an {@link org.eclipse.milo.opcua.sdk.client.OpcUaClient} keeps outstanding.
+ * <p>
+ * When disabled, one PublishRequest per subscription plus one more is kept outstanding, up to
+ * {@link OpcUaClientConfig#getMaxPendingPublishRequests()}.
+ * <p>
+ * When adaptive, the number of outstanding requests is sized so the server has a PublishRequest on hand each time a
+ * subscription publishes despite the round-trip time to the server, grows while the server reports it has more
+ * notifications to send, and shrinks if the server rejects requests with Bad_TooManyPublishRequests. It always stays
+ * within {@code [minPublishRequests, maxPublishRequests]} and {@link OpcUaClientConfig#getMaxPendingPublishRequests()}.
+ */
+public final class PublishPipelining {
+
+    /**
+     * Keep one PublishRequest per subscription plus one more outstanding.
+     */
+    public static final PublishPipelining DISABLED = new PublishPipelining(false, 0, 0);
+
+    private final boolean adaptive;
+    private final int minPublishRequests;
+    private final int maxPublishRequests;
+
+    private PublishPipelining(boolean adaptive, int minPublishRequests, int maxPublishRequests) {
+        this.adaptive = adaptive;
+        this.minPublishRequests = minPublishRequests;
+        this.maxPublishRequests = maxPublishRequests;
+    }
+
+    /**
+     * Size the number of outstanding PublishRequests from the observed round-trip time, the subscriptions'
+     * publishing intervals, and how often the server reports more notifications.
+     *
+     * @param minPublishRequests the fewest PublishRequests to keep outstanding while there are subscriptions. Must be
+     *                           at least 1.
+     * @param maxPublishRequests the most PublishRequests to keep outstanding. Must be at least
+     *                           {@code minPublishRequests}.
+     * @return an adaptive {@link PublishPipelining}.
+     */
+    public static PublishPipelining adaptive(int minPublishRequests, int maxPublishRequests) {
+        Preconditions.checkArgument(minPublishRequests >= 1, "minPublishRequests must be >= 1");
+        Preconditions.checkArgument(
+            maxPublishRequests >= minPublishRequests,
+            "maxPublishRequests must be >= minPublishRequests");
+
+        return new PublishPipelining(true, minPublishRequests, maxPublishRequests);
+    }
+
+    /**
+     * @return {@code true} if the number of outstanding PublishRequests is adaptive.
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * @return the fewest PublishRequests to keep outstanding while there are subscriptions.
+     */
+    public int getMinPublishRequests() {
+        return minPublishRequests;
+    }
+
+    /**
+     * @return the most PublishRequests to keep outstanding.
+     */
+    public int getMaxPublishRequests() {
+        return maxPublishRequests;
+    }
+
+    @Override
+    public String toString() {
+        return "PublishPipelining{" +
+            "adaptive=" + adaptive +
+            ", minPublishRequests=" + minPublishRequests +
+            ", maxPublishRequests=" + maxPublishRequests +
+            "}";
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client.api.config;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Controls whether single-attribute reads and writes issued through
+ * {@link org.eclipse.milo.opcua.sdk.client.OpcUaClient#readBatched} and
+ * {@link org.eclipse.milo.opcua.sdk.client.OpcUaClient#writeBatched} (and so by every
+ * {@link org.eclipse.milo.opcua.sdk.client.nodes.UaNode}) are merged into shared Read and Write requests.
+ * <p>
+ * With batching enabled, operations are collected for up to a short window and then sent together. A batch is sent
+ * early once it reaches the maximum batch size.
+ */
+public final class RequestBatching {
+
+    /**
+     * Send every operation in its own request.
+     */
+    public static final RequestBatching DISABLED = new RequestBatching(false, 0L, 0);
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private RequestBatching(boolean enabled, long windowNanos, int maxBatchSize) {
+        this.enabled = enabled;
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Batch operations issued within {@code window}, up to the server's MaxNodesPerRead and MaxNodesPerWrite
+     * operation limits.
+     *
+     * @param window the longest an operation waits for others to share its request. Must not be negative.
+     * @param unit   the {@link TimeUnit} of {@code window}.
+     * @return a {@link RequestBatching} that batches operations issued within {@code window}.
+     */
+    public static RequestBatching window(long window, TimeUnit unit) {
+        return window(window, unit, 0);
+    }
+
+    /**
+     * Batch operations issued within {@code window}, up to {@code maxBatchSize} per request.
+     *
+     * @param window       the longest an operation waits for others to share its request. Must not be negative.
+     * @param unit         the {@link TimeUnit} of {@code window}.
+     * @param maxBatchSize the maximum number of operations per request, or 0 to use the server's operation limits.
+     * @return a {@link RequestBatching} that batches operations issued within {@code window}.
+     */
+    public static RequestBatching window(long window, TimeUnit unit, int maxBatchSize) {
+        Preconditions.checkArgument(window >= 0, "window must be >= 0");
+        Preconditions.checkArgument(maxBatchSize >= 0, "maxBatchSize must be >= 0");
+
+        return new RequestBatching(true, unit.toNanos(window), maxBatchSize);
+    }
+
+    /**
+     * @return {@code true} if operations are batched.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the batching window, in nanoseconds.
+     */
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    /**
+     * @return the maximum number of operations per request, or 0 to use the server's operation limits.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestBatching{" +
+            "enabled=" + enabled +
+            ", windowNanos=" + windowNanos +
+            ", maxBatchSize=" + maxBatchSize +
+            "}";
+    }
+
+}
@@ -46,12 +46,10 @@ import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import org.eclipse.milo.opcua.stack.core.types.structured.BrowseDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.BrowseResult;
-import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReferenceDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.WriteValue;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.eclipse.milo.opcua.sdk.core.util.StreamUtil.opt2stream;
 import static org.eclipse.milo.opcua.stack.core.types.builtin.DataValue.valueOnly;
@@ -137,12 +135,10 @@ public abstract class UaNode implements Node {
             ReadValueId readValueId = new ReadValueId(
                 nodeId, attributeId.uid(), null, QualifiedName.NULL_VALUE);
 
-            CompletableFuture<ReadResponse> future =
-                client.read(0.0, TimestampsToReturn.Both, newArrayList(readValueId));
-
-            return future.thenApply(response -> {
-                DataValue value = l(response.getResults()).get(0);
+            CompletableFuture<DataValue> future =
+                client.readBatched(0.0, TimestampsToReturn.Both, readValueId);
 
+            return future.thenApply(value -> {
                 if (attributeId != AttributeId.Value) {
                     nodeCache.putAttribute(nodeId, attributeId, value);
                 }
@@ -156,9 +152,7 @@ public abstract class UaNode implements Node {
         WriteValue writeValue = new WriteValue(
             nodeId, attributeId.uid(), null, value);
 
-        return client.write(newArrayList(writeValue)).thenApply(response -> {
-            StatusCode statusCode = l(response.getResults()).get(0);
-
+        return client.writeBatched(writeValue).thenApply(statusCode -> {
             if (statusCode.isGood()) {
                 nodeCache.invalidate(nodeId, attributeId);
             }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client.subscriptions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the NotificationMessages delivered for an {@link OpcUaSubscription} and how long each one waited between
+ * its PublishResponse being processed and its delivery to listeners.
+ */
+public class NotificationDeliveryMetrics {
+
+    private final AtomicLong pending = new AtomicLong(0L);
+    private final LongAdder delivered = new LongAdder();
+
+    private final LongAdder lagNanos = new LongAdder();
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0L);
+
+    private volatile long lastLagNanos = 0L;
+
+    void recordQueued() {
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Record a NotificationMessage about to be delivered.
+     *
+     * @param nanos the time, in nanoseconds, the message waited to be delivered.
+     */
+    void recordDelivered(long nanos) {
+        pending.decrementAndGet();
+        delivered.increment();
+
+        lagNanos.add(nanos);
+        maxLagNanos.accumulate(nanos);
+        lastLagNanos = nanos;
+    }
+
+    /**
+     * @return the number of NotificationMessages waiting to be delivered.
+     */
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * @return the number of NotificationMessages delivered.
+     */
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} to return the lag in.
+     * @return the mean time a NotificationMessage waited to be delivered, or 0 if none have been delivered.
+     */
+    public double getMeanLag(TimeUnit unit) {
+        long d = delivered.sum();
+
+        return d > 0 ? (double) lagNanos.sum() / d / unit.toNanos(1) : 0.0;
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} to return the lag in.
+     * @return the longest time a NotificationMessage waited to be delivered.
+     */
+    public long getMaxLag(TimeUnit unit) {
+        return unit.convert(maxLagNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} to return the lag in.
+     * @return the time the most recently delivered NotificationMessage waited to be delivered.
+     */
+    public long getLastLag(TimeUnit unit) {
+        return unit.convert(lastLagNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationDeliveryMetrics{" +
+            "pending=" + getPendingCount() +
+            ", delivered=" + getDeliveredCount() +
+            ", meanLagMicros=" + getMeanLag(TimeUnit.MICROSECONDS) +
+            ", maxLagMicros=" + getMaxLag(TimeUnit.MICROSECONDS) +
+            "}";
+    }
+
+}
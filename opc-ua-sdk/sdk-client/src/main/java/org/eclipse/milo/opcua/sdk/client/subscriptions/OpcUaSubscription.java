@@ -23,6 +23,7 @@ import java.util.stream.Collectors;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import org.eclipse.milo.opcua.sdk.client.OpcUaClient;
+import org.eclipse.milo.opcua.sdk.client.api.config.NotificationDelivery;
 import org.eclipse.milo.opcua.sdk.client.api.subscriptions.UaMonitoredItem;
 import org.eclipse.milo.opcua.sdk.client.api.subscriptions.UaSubscription;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
@@ -38,6 +39,7 @@ import org.eclipse.milo.opcua.stack.core.types.structured.MonitoredItemModifyReq
 import org.eclipse.milo.opcua.stack.core.types.structured.MonitoredItemModifyResult;
 import org.eclipse.milo.opcua.stack.core.types.structured.SetMonitoringModeResponse;
 import org.eclipse.milo.opcua.stack.core.util.AsyncSemaphore;
+import org.eclipse.milo.opcua.stack.core.util.ExecutionQueue;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.newArrayListWithCapacity;
@@ -53,6 +55,8 @@ public class OpcUaSubscription implements UaSubscription {
 
     private final AsyncSemaphore notificationSemaphore = new AsyncSemaphore(1);
 
+    private final NotificationDeliveryMetrics deliveryMetrics = new NotificationDeliveryMetrics();
+
     private volatile long lastSequenceNumber = 0L;
 
     private volatile double requestedPublishingInterval = 0.0;
@@ -68,6 +72,9 @@ public class OpcUaSubscription implements UaSubscription {
     private volatile boolean publishingEnabled;
     private volatile UByte priority;
 
+    private final ExecutionQueue processingQueue;
+    private final ExecutionQueue deliveryQueue;
+
     private final OpcUaClient client;
     private final UInteger subscriptionId;
 
@@ -89,6 +96,9 @@ public class OpcUaSubscription implements UaSubscription {
         this.maxNotificationsPerPublish = maxNotificationsPerPublish;
         this.publishingEnabled = publishingEnabled;
         this.priority = priority;
+
+        processingQueue = new ExecutionQueue(client.getConfig().getExecutor());
+        deliveryQueue = new ExecutionQueue(client.getConfig().getExecutor());
     }
 
     @Override
@@ -332,6 +342,29 @@ public class OpcUaSubscription implements UaSubscription {
         return notificationListeners;
     }
 
+    /**
+     * @return the {@link NotificationDeliveryMetrics} for this subscription.
+     */
+    public NotificationDeliveryMetrics getDeliveryMetrics() {
+        return deliveryMetrics;
+    }
+
+    /**
+     * @return the queue PublishResponses for this subscription are processed on when notifications are delivered
+     * {@link NotificationDelivery#PerSubscription}.
+     */
+    ExecutionQueue getProcessingQueue() {
+        return processingQueue;
+    }
+
+    /**
+     * @return the queue notifications for this subscription are delivered on when notifications are delivered
+     * {@link NotificationDelivery#PerSubscription}.
+     */
+    ExecutionQueue getDeliveryQueue() {
+        return deliveryQueue;
+    }
+
     AsyncSemaphore getNotificationSemaphore() {
         return notificationSemaphore;
     }
@@ -24,6 +24,8 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -31,6 +33,8 @@ import com.google.common.collect.Maps;
 import org.eclipse.milo.opcua.sdk.client.OpcUaClient;
 import org.eclipse.milo.opcua.sdk.client.SessionActivityListener;
 import org.eclipse.milo.opcua.sdk.client.api.UaSession;
+import org.eclipse.milo.opcua.sdk.client.api.config.NotificationDelivery;
+import org.eclipse.milo.opcua.sdk.client.api.config.PublishPipelining;
 import org.eclipse.milo.opcua.sdk.client.api.subscriptions.UaMonitoredItem;
 import org.eclipse.milo.opcua.sdk.client.api.subscriptions.UaSubscription;
 import org.eclipse.milo.opcua.sdk.client.api.subscriptions.UaSubscriptionManager;
@@ -85,11 +89,24 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
     private final ExecutionQueue deliveryQueue;
     private final ExecutionQueue processingQueue;
 
+    private volatile boolean deliveryPaused = false;
+
+    private final boolean perSubscriptionDelivery;
+
+    private final PublishPipeline publishPipeline;
+
     private final OpcUaClient client;
 
     public OpcUaSubscriptionManager(OpcUaClient client) {
         this.client = client;
 
+        perSubscriptionDelivery =
+            client.getConfig().getNotificationDelivery() == NotificationDelivery.PerSubscription;
+
+        PublishPipelining publishPipelining = client.getConfig().getPublishPipelining();
+
+        publishPipeline = publishPipelining.isAdaptive() ? new PublishPipeline(publishPipelining) : null;
+
         deliveryQueue = new ExecutionQueue(client.getConfig().getExecutor());
         processingQueue = new ExecutionQueue(client.getConfig().getExecutor());
 
@@ -100,6 +117,10 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
                 // publishing again instead of waiting for outstanding PublishRequests
                 // from before the re-activation to expire/timeout.
                 pendingCountMap.replace(session.getSessionId(), new AtomicLong(0));
+
+                if (publishPipeline != null) {
+                    publishPipeline.reset();
+                }
             }
         });
     }
@@ -168,6 +189,10 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
                 priority
             );
 
+            if (deliveryPaused) {
+                subscription.getDeliveryQueue().pause();
+            }
+
             subscription.setRequestedPublishingInterval(requestedPublishingInterval);
             subscription.setRequestedLifetimeCount(requestedLifetimeCount);
             subscription.setRequestedMaxKeepAliveCount(requestedMaxKeepAliveCount);
@@ -385,8 +410,17 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
     private long getMaxPendingPublishes() {
         long maxPendingPublishRequests = client.getConfig().getMaxPendingPublishRequests().longValue();
 
-        return subscriptions.isEmpty() ?
-            0 : Math.min(subscriptions.size() + 1, maxPendingPublishRequests);
+        if (subscriptions.isEmpty()) {
+            return 0;
+        } else if (publishPipeline != null) {
+            List<Double> publishingIntervals = subscriptions.values().stream()
+                .map(OpcUaSubscription::getRevisedPublishingInterval)
+                .collect(Collectors.toList());
+
+            return publishPipeline.getTarget(publishingIntervals, maxPendingPublishRequests);
+        } else {
+            return Math.min(subscriptions.size() + 1, maxPendingPublishRequests);
+        }
     }
 
     private UInteger getTimeoutHint() {
@@ -475,15 +509,24 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
                 requestHandle, Arrays.toString(ackStrings));
         }
 
+        long sent = System.nanoTime();
+
         client.<PublishResponse>sendRequest(request).whenComplete((response, ex) -> {
 
-            pendingCount.getAndUpdate(p -> (p > 0) ? p - 1 : 0);
+            long outstanding = pendingCount.getAndUpdate(p -> (p > 0) ? p - 1 : 0);
 
             if (response != null) {
                 logger.debug("Received PublishResponse, sequenceNumber={}",
                     response.getNotificationMessage().getSequenceNumber());
 
-                processingQueue.submit(() -> onPublishComplete(response));
+                if (publishPipeline != null) {
+                    publishPipeline.onPublishResponse(
+                        System.nanoTime() - sent,
+                        Boolean.TRUE.equals(response.getMoreNotifications()));
+                }
+
+                processingQueue(subscriptions.get(response.getSubscriptionId()))
+                    .submit(() -> onPublishComplete(response));
 
                 maybeSendPublishRequests();
             } else {
@@ -493,6 +536,10 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
 
                 logger.debug("Publish service failure (requestHandle={}): {}", requestHandle, statusCode, ex);
 
+                if (publishPipeline != null && statusCode.getValue() == StatusCodes.Bad_TooManyPublishRequests) {
+                    publishPipeline.onTooManyPublishRequests(outstanding);
+                }
+
                 if (statusCode.getValue() != StatusCodes.Bad_NoSubscription &&
                     statusCode.getValue() != StatusCodes.Bad_TooManyPublishRequests) {
 
@@ -526,8 +573,10 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
             logger.warn("[id={}] expected sequence={}, received sequence={}. Calling Republish service...",
                 subscriptionId, expectedSequenceNumber, sequenceNumber);
 
-            processingQueue.pause();
-            processingQueue.submitToHead(() -> onPublishComplete(response));
+            ExecutionQueue queue = processingQueue(subscription);
+
+            queue.pause();
+            queue.submitToHead(() -> onPublishComplete(response));
 
             republish(subscriptionId, expectedSequenceNumber, sequenceNumber).whenComplete((dataLost, ex) -> {
                 if (ex != null) {
@@ -542,7 +591,7 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
                 }
 
                 subscription.setLastSequenceNumber(sequenceNumber - 1);
-                processingQueue.resume();
+                queue.resume();
             });
 
             return;
@@ -643,7 +692,15 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
     }
 
     private void deliverNotificationMessage(OpcUaSubscription subscription, NotificationMessage notificationMessage) {
-        subscription.getNotificationSemaphore().acquire().thenAccept(permit -> deliveryQueue.submit(() -> {
+        NotificationDeliveryMetrics metrics = subscription.getDeliveryMetrics();
+        ExecutionQueue queue = deliveryQueue(subscription);
+
+        long queued = System.nanoTime();
+        metrics.recordQueued();
+
+        subscription.getNotificationSemaphore().acquire().thenAccept(permit -> queue.submit(() -> {
+            metrics.recordDelivered(System.nanoTime() - queued);
+
             try {
                 Map<UInteger, OpcUaMonitoredItem> items = subscription.getItemsByClientHandle();
                 List<ExtensionObject> notificationData = l(notificationMessage.getNotificationData());
@@ -767,11 +824,29 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
     }
 
     public void pauseDelivery() {
+        deliveryPaused = true;
+
         deliveryQueue.pause();
+        subscriptions.values().forEach(s -> s.getDeliveryQueue().pause());
     }
 
     public void resumeDelivery() {
+        deliveryPaused = false;
+
         deliveryQueue.resume();
+        subscriptions.values().forEach(s -> s.getDeliveryQueue().resume());
+    }
+
+    /**
+     * @param subscription the {@link OpcUaSubscription} a PublishResponse is for, if it's known.
+     * @return the {@link ExecutionQueue} to process the PublishResponse on.
+     */
+    private ExecutionQueue processingQueue(@Nullable OpcUaSubscription subscription) {
+        return perSubscriptionDelivery && subscription != null ? subscription.getProcessingQueue() : processingQueue;
+    }
+
+    private ExecutionQueue deliveryQueue(OpcUaSubscription subscription) {
+        return perSubscriptionDelivery ? subscription.getDeliveryQueue() : deliveryQueue;
     }
 
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client.subscriptions;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.sdk.client.api.config.PublishPipelining;
+
+/**
+ * Sizes the number of outstanding PublishRequests for {@link PublishPipelining#adaptive(int, int)}.
+ * <p>
+ * Each subscription needs a PublishRequest waiting at the server every publishing interval, and a request spends
+ * one round trip getting there after the previous response is received, so each subscription is given
+ * {@code ceil(roundTrip / publishingInterval)} requests (at least 1), plus one more overall. That target is
+ * scaled up by the fraction of recent responses that reported more notifications, and capped below the number of
+ * outstanding requests at which the server last responded with Bad_TooManyPublishRequests.
+ * <p>
+ * A Publish round trip includes however long the server held the request, so the round-trip estimate follows the
+ * lower envelope of the samples: it drops immediately to a smaller sample and rises only gradually.
+ */
+final class PublishPipeline {
+
+    /**
+     * Weight given to each new sample in the moreNotifications average.
+     */
+    private static final double MORE_NOTIFICATIONS_WEIGHT = 0.125;
+
+    /**
+     * A larger round-trip sample moves the estimate up by 1/{@code ROUND_TRIP_RISE_DIVISOR} of the difference.
+     */
+    private static final long ROUND_TRIP_RISE_DIVISOR = 8L;
+
+    private long roundTripNanos = 0L;
+    private double moreNotifications = 0.0;
+    private long serverLimit = Long.MAX_VALUE;
+
+    private final int minPublishRequests;
+    private final int maxPublishRequests;
+
+    PublishPipeline(PublishPipelining pipelining) {
+        this.minPublishRequests = pipelining.getMinPublishRequests();
+        this.maxPublishRequests = pipelining.getMaxPublishRequests();
+    }
+
+    /**
+     * @param roundTripNanos    the time from sending the PublishRequest to receiving its response.
+     * @param moreNotifications the response's moreNotifications flag.
+     */
+    synchronized void onPublishResponse(long roundTripNanos, boolean moreNotifications) {
+        if (this.roundTripNanos == 0L || roundTripNanos < this.roundTripNanos) {
+            this.roundTripNanos = roundTripNanos;
+        } else {
+            this.roundTripNanos += (roundTripNanos - this.roundTripNanos) / ROUND_TRIP_RISE_DIVISOR;
+        }
+
+        double sample = moreNotifications ? 1.0 : 0.0;
+
+        this.moreNotifications += (sample - this.moreNotifications) * MORE_NOTIFICATIONS_WEIGHT;
+    }
+
+    /**
+     * @param outstanding the number of PublishRequests outstanding, including the rejected one, when the server
+     *                    responded with Bad_TooManyPublishRequests.
+     */
+    synchronized void onTooManyPublishRequests(long outstanding) {
+        serverLimit = Math.max(1L, outstanding - 1L);
+    }
+
+    /**
+     * Forget the server's limit on outstanding PublishRequests, e.g. because the session has changed.
+     */
+    synchronized void reset() {
+        serverLimit = Long.MAX_VALUE;
+    }
+
+    /**
+     * @param publishingIntervals       the revised publishing interval of each subscription, in milliseconds.
+     * @param maxPendingPublishRequests the configured maximum number of outstanding PublishRequests.
+     * @return the number of PublishRequests to keep outstanding.
+     */
+    synchronized long getTarget(Collection<Double> publishingIntervals, long maxPendingPublishRequests) {
+        if (publishingIntervals.isEmpty()) return 0L;
+
+        double roundTripMillis = (double) roundTripNanos / TimeUnit.MILLISECONDS.toNanos(1);
+
+        long target = 1L;
+
+        for (double publishingInterval : publishingIntervals) {
+            long perSubscription = publishingInterval > 0.0 ?
+                (long) Math.ceil(roundTripMillis / publishingInterval) : 1L;
+
+            target += Math.max(1L, perSubscription);
+        }
+
+        target = (long) Math.ceil(target * (1.0 + moreNotifications));
+        target = Math.max(minPublishRequests, Math.min(maxPublishRequests, target));
+
+        return Math.min(target, Math.min(serverLimit, maxPendingPublishRequests));
+    }
+
+    synchronized long getRoundTrip(TimeUnit unit) {
+        return unit.convert(roundTripNanos, TimeUnit.NANOSECONDS);
+    }
+
+    synchronized double getMoreNotificationsRatio() {
+        return moreNotifications;
+    }
+
+}
@@ -29,6 +29,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.Nullable;
 
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -37,14 +38,19 @@ import com.google.common.eventbus.EventBus;
 import org.eclipse.milo.opcua.sdk.core.ServerTable;
 import org.eclipse.milo.opcua.sdk.server.api.AbstractServerNodeMap;
 import org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.api.config.NodeMaterialization;
 import org.eclipse.milo.opcua.sdk.server.api.config.OpcUaServerConfig;
 import org.eclipse.milo.opcua.sdk.server.namespaces.OpcUaNamespace;
 import org.eclipse.milo.opcua.sdk.server.namespaces.VendorNamespace;
+import org.eclipse.milo.opcua.sdk.server.namespaces.loader.UaNodeImage;
+import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
 import org.eclipse.milo.opcua.sdk.server.services.helpers.BrowseHelper.BrowseContinuationPoint;
 import org.eclipse.milo.opcua.sdk.server.subscriptions.Subscription;
+import org.eclipse.milo.opcua.sdk.server.util.ValueCache;
 import org.eclipse.milo.opcua.stack.core.BuiltinReferenceType;
 import org.eclipse.milo.opcua.stack.core.ReferenceType;
 import org.eclipse.milo.opcua.stack.core.Stack;
+import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.application.UaStackServer;
 import org.eclipse.milo.opcua.stack.core.application.services.AttributeHistoryServiceSet;
 import org.eclipse.milo.opcua.stack.core.application.services.AttributeServiceSet;
@@ -81,7 +87,9 @@ public class OpcUaServer {
 
     private final Map<ByteString, BrowseContinuationPoint> browseContinuationPoints = Maps.newConcurrentMap();
 
-    private final ServerNodeMap nodeMap = new OpcUaServerNodeMap();
+    private final ValueCache valueCache;
+
+    private final ServerNodeMap nodeMap;
 
     private final Map<NodeId, ReferenceType> referenceTypes = Maps.newConcurrentMap();
 
@@ -102,6 +110,18 @@ public class OpcUaServer {
     public OpcUaServer(OpcUaServerConfig config) {
         this.config = config;
 
+        valueCache = new ValueCache(config.getLimits().getMaxCachedValues().intValue());
+
+        UaNodeImage namespace0Image = null;
+        if (config.getNamespace0Materialization() == NodeMaterialization.Lazy) {
+            try {
+                namespace0Image = UaNodeImage.namespace0();
+            } catch (UaException e) {
+                logger.warn("Namespace 0 image not available; namespace 0 will be loaded eagerly.", e);
+            }
+        }
+        nodeMap = new OpcUaServerNodeMap(namespace0Image, valueCache);
+
         stackServer = new UaTcpStackServer(config);
 
         stackServer.addServiceSet((AttributeServiceSet) sessionManager);
@@ -196,6 +216,13 @@ public class OpcUaServer {
         return nodeMap;
     }
 
+    /**
+     * @return the {@link ValueCache} Read requests with a MaxAge greater than 0 are answered from.
+     */
+    public ValueCache getValueCache() {
+        return valueCache;
+    }
+
     public SessionManager getSessionManager() {
         return sessionManager;
     }
@@ -315,6 +342,30 @@ public class OpcUaServer {
     }
 
     private static class OpcUaServerNodeMap extends AbstractServerNodeMap {
+
+        private final UaNodeImage namespace0Image;
+        private final ValueCache valueCache;
+
+        OpcUaServerNodeMap(@Nullable UaNodeImage namespace0Image, ValueCache valueCache) {
+            this.namespace0Image = namespace0Image;
+            this.valueCache = valueCache;
+        }
+
+        @Override
+        public ValueCache getValueCache() {
+            return valueCache;
+        }
+
+        @Override
+        protected boolean isMaterializable(NodeId nodeId) {
+            return namespace0Image != null && namespace0Image.contains(nodeId);
+        }
+
+        @Override
+        protected ServerNode materialize(NodeId nodeId) {
+            return namespace0Image != null ? namespace0Image.materialize(nodeId, this) : null;
+        }
+
     }
 
 }
@@ -17,6 +17,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 
 import com.google.common.collect.Lists;
@@ -67,6 +68,8 @@ public class Session implements SessionServiceSet {
     private volatile long lastActivity = System.nanoTime();
     private volatile ScheduledFuture<?> checkTimeoutFuture;
 
+    private final AtomicInteger requestsInFlight = new AtomicInteger(0);
+
     private final AttributeServices attributeServices;
     private final AttributeHistoryServices attributeHistoryServices;
     private final MethodServices methodServices;
@@ -150,6 +153,37 @@ public class Session implements SessionServiceSet {
         return lastNonce;
     }
 
+    /**
+     * Count a request as in flight for this session, unless {@code maxRequests} are already in flight.
+     *
+     * @param maxRequests the maximum number of requests in flight.
+     * @return {@code true} if the request was counted; it must later be released with {@link #releaseRequest()}.
+     */
+    boolean tryAcquireRequest(long maxRequests) {
+        while (true) {
+            int requests = requestsInFlight.get();
+
+            if (requests >= maxRequests) {
+                return false;
+            } else if (requestsInFlight.compareAndSet(requests, requests + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void releaseRequest() {
+        requestsInFlight.decrementAndGet();
+    }
+
+    /**
+     * Publish requests are not counted.
+     *
+     * @return the number of requests in flight for this session.
+     */
+    public int getRequestsInFlight() {
+        return requestsInFlight.get();
+    }
+
     private void checkTimeout() {
         long elapsed = Math.abs(System.nanoTime() - lastActivity);
 
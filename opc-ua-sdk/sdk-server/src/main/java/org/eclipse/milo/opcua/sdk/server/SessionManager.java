@@ -206,12 +206,32 @@ public class SessionManager implements
 
         session.updateLastActivity();
 
+        admitRequest(session, service);
+
         service.attr(ServiceAttributes.SERVER_KEY).set(server);
         service.attr(ServiceAttributes.SESSION_KEY).set(session);
 
         return session;
     }
 
+    /**
+     * Count {@code service} against the session's request limit until its response is complete.
+     * <p>
+     * Publish requests are not counted; they are held until there is something to publish.
+     */
+    private void admitRequest(Session session, ServiceRequest<?, ?> service) throws UaException {
+        long maxRequests = server.getConfig().getLimits().getMaxRequestsPerSession().longValue();
+
+        if (maxRequests > 0 && !(service.getRequest() instanceof PublishRequest)) {
+            if (session.tryAcquireRequest(maxRequests)) {
+                service.getFuture().whenComplete((r, ex) -> session.releaseRequest());
+            } else {
+                throw new UaException(StatusCodes.Bad_TooManyOperations,
+                    String.format("max requests per session exceeded (%s)", maxRequests));
+            }
+        }
+    }
+
     //region Session Services
     @Override
     public void onCreateSession(
@@ -13,16 +13,37 @@
 
 package org.eclipse.milo.opcua.sdk.server.api;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 
 import com.google.common.collect.ForwardingConcurrentMap;
 import com.google.common.collect.MapMaker;
+import com.google.common.collect.Sets;
 import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
+import org.eclipse.milo.opcua.sdk.server.util.ValueCache;
 import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 
+/**
+ * Base {@link ServerNodeMap} backed by a {@link ConcurrentMap}.
+ * <p>
+ * Subclasses can make nodes available without instantiating them up front by overriding
+ * {@link #isMaterializable(NodeId)} and {@link #materialize(NodeId)}: such a node is created the first time it is
+ * looked up with {@link #get(Object)}, {@link #putIfAbsent(NodeId, ServerNode)} or any method built on them, and stays
+ * in the map until it is removed. {@link #containsKey(Object)} reports materializable nodes without creating them.
+ * Collection views and {@link #size()} only see nodes that have been created.
+ */
 public abstract class AbstractServerNodeMap
     extends ForwardingConcurrentMap<NodeId, ServerNode> implements ServerNodeMap {
 
+    private final Object materializationLock = new Object();
+
+    private final ThreadLocal<NodeId> materializing = new ThreadLocal<>();
+
+    private final Set<NodeId> removedNodeIds = Sets.newConcurrentHashSet();
+
     private final ConcurrentMap<NodeId, ServerNode> nodeMap;
 
     public AbstractServerNodeMap() {
@@ -40,4 +61,158 @@ public abstract class AbstractServerNodeMap
         return nodeMap;
     }
 
+    /**
+     * @param nodeId the {@link NodeId} of a node that is not in this map.
+     * @return {@code true} if {@link #materialize(NodeId)} can create the node identified by {@code nodeId}.
+     */
+    protected boolean isMaterializable(NodeId nodeId) {
+        return false;
+    }
+
+    /**
+     * Create the node identified by {@code nodeId} the first time it is looked up.
+     * <p>
+     * Calls are serialized per map and made only while the node is not in the map. The node may add itself with
+     * {@link #addNode(ServerNode)} while it is being built; it is published to other threads only once this method
+     * returns.
+     *
+     * @param nodeId the {@link NodeId} of a node for which {@link #isMaterializable(NodeId)} is {@code true}.
+     * @return the new node, or {@code null} if it cannot be created.
+     */
+    @Nullable
+    protected ServerNode materialize(NodeId nodeId) {
+        return null;
+    }
+
+    @Override
+    public ServerNode get(@Nullable Object key) {
+        ServerNode node = nodeMap.get(key);
+
+        if (node == null && key instanceof NodeId) {
+            node = materializeIfAbsent((NodeId) key);
+        }
+
+        return node;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return nodeMap.containsKey(key) || key instanceof NodeId && isLazilyAvailable((NodeId) key);
+    }
+
+    @Override
+    public ServerNode put(NodeId key, ServerNode value) {
+        if (key.equals(materializing.get())) {
+            // published by materializeIfAbsent() once the node is complete
+            return null;
+        }
+
+        removedNodeIds.remove(key);
+
+        ServerNode previous = nodeMap.put(key, value);
+        if (previous != null && previous != value) invalidate(key);
+
+        return previous;
+    }
+
+    @Override
+    public ServerNode putIfAbsent(NodeId key, ServerNode value) {
+        ServerNode existing = get(key);
+        if (existing != null) return existing;
+
+        ServerNode previous = nodeMap.putIfAbsent(key, value);
+        if (previous == null) removedNodeIds.remove(key);
+
+        return previous;
+    }
+
+    @Override
+    public ServerNode remove(@Nullable Object key) {
+        ServerNode removed;
+
+        if (key instanceof NodeId && isMaterializable((NodeId) key)) {
+            synchronized (materializationLock) {
+                removedNodeIds.add((NodeId) key);
+
+                removed = nodeMap.remove(key);
+            }
+        } else {
+            removed = nodeMap.remove(key);
+        }
+
+        if (removed != null) invalidate(key);
+
+        return removed;
+    }
+
+    @Override
+    public boolean remove(@Nullable Object key, @Nullable Object value) {
+        boolean removed;
+
+        if (key instanceof NodeId && isMaterializable((NodeId) key)) {
+            synchronized (materializationLock) {
+                removed = nodeMap.remove(key, value);
+                if (removed) removedNodeIds.add((NodeId) key);
+            }
+        } else {
+            removed = nodeMap.remove(key, value);
+        }
+
+        if (removed) invalidate(key);
+
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        List<NodeId> nodeIds = new ArrayList<>(nodeMap.keySet());
+
+        nodeMap.clear();
+
+        nodeIds.forEach(this::invalidate);
+    }
+
+    /**
+     * Drop the cached value of a node that left this map, so the {@link ValueCache} doesn't keep it alive.
+     */
+    private void invalidate(Object key) {
+        ValueCache valueCache = getValueCache();
+
+        if (valueCache != null && key instanceof NodeId) {
+            valueCache.invalidate((NodeId) key);
+        }
+    }
+
+    private boolean isLazilyAvailable(NodeId nodeId) {
+        return isMaterializable(nodeId) && !removedNodeIds.contains(nodeId);
+    }
+
+    @Nullable
+    private ServerNode materializeIfAbsent(NodeId nodeId) {
+        if (!isLazilyAvailable(nodeId)) return null;
+
+        synchronized (materializationLock) {
+            ServerNode node = nodeMap.get(nodeId);
+
+            if (node != null || removedNodeIds.contains(nodeId)) {
+                return node;
+            }
+
+            NodeId outer = materializing.get();
+            materializing.set(nodeId);
+
+            try {
+                node = materialize(nodeId);
+            } finally {
+                materializing.set(outer);
+            }
+
+            if (node != null) {
+                nodeMap.put(nodeId, node);
+            }
+
+            return node;
+        }
+    }
+
 }
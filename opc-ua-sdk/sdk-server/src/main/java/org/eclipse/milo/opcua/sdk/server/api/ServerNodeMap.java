@@ -15,10 +15,13 @@ package org.eclipse.milo.opcua.sdk.server.api;
 
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 
 import org.eclipse.milo.opcua.sdk.core.Reference;
 import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
 import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.sdk.server.util.ValueCache;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ExpandedNodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 
@@ -102,4 +105,16 @@ public interface ServerNodeMap extends ConcurrentMap<NodeId, ServerNode> {
         return Optional.ofNullable(remove(nodeId));
     }
 
+    /**
+     * Get the {@link ValueCache} the values set on {@link UaVariableNode}s in this {@link ServerNodeMap} are put in.
+     * <p>
+     * Nodes removed from, or replaced in, this map must be {@link ValueCache#invalidate(NodeId) invalidated}.
+     *
+     * @return the {@link ValueCache}, or {@code null} if values are not cached.
+     */
+    @Nullable
+    default ValueCache getValueCache() {
+        return null;
+    }
+
 }
@@ -15,6 +15,7 @@ package org.eclipse.milo.opcua.sdk.server.api;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 import org.eclipse.milo.opcua.sdk.core.Reference;
@@ -24,6 +25,7 @@ import org.eclipse.milo.opcua.sdk.server.Session;
 import org.eclipse.milo.opcua.sdk.server.services.helpers.BrowseHelper;
 import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
 import org.eclipse.milo.opcua.stack.core.types.structured.BrowseDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.BrowseResult;
 import org.eclipse.milo.opcua.stack.core.types.structured.ViewDescription;
@@ -62,6 +64,36 @@ public interface ViewManager {
      */
     CompletableFuture<List<Reference>> browse(AccessContext context, NodeId nodeId);
 
+    /**
+     * If the node identified by {@code nodeId} exists return its {@link Reference}s in {@code direction} whose
+     * reference type matches {@code referenceTypeFilter}.
+     * <p>
+     * The default implementation filters the result of {@link #browse(AccessContext, NodeId)}. Namespaces that can
+     * look up references by type and direction, e.g. via
+     * {@link org.eclipse.milo.opcua.sdk.server.nodes.ServerNode#streamReferences(BrowseDirection, Predicate)},
+     * should override it to avoid materializing references that will be filtered out.
+     *
+     * @param context             the {@link AccessContext} this request is being made under.
+     * @param nodeId              the {@link NodeId} identifying the node.
+     * @param direction           the {@link BrowseDirection} of the references to include.
+     * @param referenceTypeFilter tests the reference type ids to include.
+     * @return a {@link CompletableFuture} containing the matching {@link Reference}s. If the node is unknown, complete
+     * the future exceptionally.
+     */
+    default CompletableFuture<List<Reference>> browse(
+        AccessContext context,
+        NodeId nodeId,
+        BrowseDirection direction,
+        Predicate<NodeId> referenceTypeFilter) {
+
+        return browse(context, nodeId).thenApply(references ->
+            references.stream()
+                .filter(r -> direction == BrowseDirection.Both ||
+                    r.isForward() == (direction == BrowseDirection.Forward))
+                .filter(r -> referenceTypeFilter.test(r.getReferenceTypeId()))
+                .collect(toList()));
+    }
+
     final class BrowseContext extends OperationContext<BrowseDescription, BrowseResult> implements AccessContext {
         public BrowseContext(OpcUaServer server,
                              @Nullable Session session,
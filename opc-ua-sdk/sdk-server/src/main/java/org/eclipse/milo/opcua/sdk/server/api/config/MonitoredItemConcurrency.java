@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.api.config;
+
+/**
+ * How the server's MonitoredItems guard their sampling and publishing state.
+ */
+public enum MonitoredItemConcurrency {
+
+    /**
+     * Each MonitoredItem synchronizes on itself when values are sampled, when notifications are collected for
+     * publishing, and when it is modified.
+     */
+    Synchronized,
+
+    /**
+     * Each MonitoredItem queues values in a lock-free queue and samples, filters and publishes without taking its
+     * monitor; only modification synchronizes.
+     * <p>
+     * Values may be set on an item from any number of threads at once, e.g. an initial read overlapping a periodic
+     * sample. A thread that finds another already filtering and queueing values for the item hands its value over
+     * to that thread instead of waiting, so each item's queue still only ever has one producer at a time.
+     */
+    LockFree
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.api.config;
+
+/**
+ * When the server instantiates the nodes of namespace 0.
+ */
+public enum NodeMaterialization {
+
+    /**
+     * Every node of namespace 0 is instantiated when the server is created.
+     */
+    Eager,
+
+    /**
+     * A node of namespace 0 is instantiated from the shared, immutable
+     * {@link org.eclipse.milo.opcua.sdk.server.namespaces.loader.UaNodeImage} the first time it is looked up in the
+     * server's {@link org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap}, e.g. because it is browsed, read, written
+     * or monitored.
+     * <p>
+     * Collection views of the node map only contain the nodes that have been instantiated. Falls back to
+     * {@link #Eager} if the namespace 0 image is not on the classpath.
+     */
+    Lazy
+
+}
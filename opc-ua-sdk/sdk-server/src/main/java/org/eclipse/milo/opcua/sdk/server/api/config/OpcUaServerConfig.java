@@ -24,6 +24,9 @@ import org.eclipse.milo.opcua.sdk.server.identity.CompositeValidator;
 import org.eclipse.milo.opcua.sdk.server.identity.IdentityValidator;
 import org.eclipse.milo.opcua.sdk.server.identity.UsernameIdentityValidator;
 import org.eclipse.milo.opcua.sdk.server.identity.X509IdentityValidator;
+import org.eclipse.milo.opcua.sdk.server.subscriptions.PublishingScheduler;
+import org.eclipse.milo.opcua.sdk.server.subscriptions.ScheduledExecutorPublishingScheduler;
+import org.eclipse.milo.opcua.sdk.server.subscriptions.TimerWheelPublishingScheduler;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.UserTokenType;
 import org.eclipse.milo.opcua.stack.core.types.structured.BuildInfo;
@@ -113,6 +116,25 @@ public interface OpcUaServerConfig extends UaTcpStackServerConfig {
      */
     Function<String, Set<String>> getHostnameResolver();
 
+    /**
+     * Get the {@link PublishingScheduler} that schedules the publishing timer of every Subscription.
+     *
+     * @return the {@link PublishingScheduler}.
+     * @see ScheduledExecutorPublishingScheduler
+     * @see TimerWheelPublishingScheduler
+     */
+    PublishingScheduler getPublishingScheduler();
+
+    /**
+     * @return the {@link MonitoredItemConcurrency} used by every MonitoredItem.
+     */
+    MonitoredItemConcurrency getMonitoredItemConcurrency();
+
+    /**
+     * @return the {@link NodeMaterialization} of namespace 0.
+     */
+    NodeMaterialization getNamespace0Materialization();
+
     /**
      * @return a {@link OpcUaServerConfigBuilder}.
      */
@@ -139,6 +161,14 @@ public interface OpcUaServerConfig extends UaTcpStackServerConfig {
         builder.setCertificateManager(config.getCertificateManager());
         builder.setCertificateValidator(config.getCertificateValidator());
         builder.setExecutor(config.getExecutor());
+        builder.setSerializationScheduler(config.getSerializationScheduler());
+        builder.setSerializationShardCount(config.getSerializationShardCount());
+        builder.setBufferAllocator(config.getBufferAllocator());
+        builder.setFlushCoalescing(config.getFlushCoalescing());
+        if (!config.getAdmissionControl().equals(OpcUaServerConfigBuilder.admissionControl(config.getLimits()))) {
+            // only carry over an explicitly set AdmissionControl; a derived one keeps tracking the limits.
+            builder.setAdmissionControl(config.getAdmissionControl());
+        }
         builder.setUserTokenPolicies(config.getUserTokenPolicies());
         builder.setSoftwareCertificates(config.getSoftwareCertificates());
         builder.setChannelConfig(config.getChannelConfig());
@@ -153,6 +183,9 @@ public interface OpcUaServerConfig extends UaTcpStackServerConfig {
         builder.setBuildInfo(config.getBuildInfo());
         builder.setLimits(config.getLimits());
         builder.setHostnameResolver(config.getHostnameResolver());
+        builder.setPublishingScheduler(config.getPublishingScheduler());
+        builder.setMonitoredItemConcurrency(config.getMonitoredItemConcurrency());
+        builder.setNamespace0Materialization(config.getNamespace0Materialization());
 
         return builder;
     }
@@ -24,16 +24,22 @@ import java.util.function.Function;
 import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
 import org.eclipse.milo.opcua.sdk.server.identity.AnonymousIdentityValidator;
 import org.eclipse.milo.opcua.sdk.server.identity.IdentityValidator;
+import org.eclipse.milo.opcua.sdk.server.subscriptions.PublishingScheduler;
+import org.eclipse.milo.opcua.sdk.server.subscriptions.ScheduledExecutorPublishingScheduler;
 import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.application.CertificateManager;
 import org.eclipse.milo.opcua.stack.core.application.CertificateValidator;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.structured.BuildInfo;
 import org.eclipse.milo.opcua.stack.core.types.structured.SignedSoftwareCertificate;
 import org.eclipse.milo.opcua.stack.core.types.structured.UserTokenPolicy;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl;
+import org.eclipse.milo.opcua.stack.server.config.FlushCoalescing;
 import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfig;
 import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfigBuilder;
 
@@ -56,6 +62,14 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         new OpcUaServerConfigLimits() {
         };
 
+    private PublishingScheduler publishingScheduler;
+
+    private AdmissionControl admissionControl;
+
+    private MonitoredItemConcurrency monitoredItemConcurrency = MonitoredItemConcurrency.Synchronized;
+
+    private NodeMaterialization namespace0Materialization = NodeMaterialization.Eager;
+
     public OpcUaServerConfigBuilder setHostname(String hostname) {
         this.hostname = hostname;
         return this;
@@ -96,6 +110,45 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         return this;
     }
 
+    /**
+     * Set the {@link PublishingScheduler} that schedules the publishing timer of every Subscription.
+     * <p>
+     * If not set, publishing timers are scheduled on {@link Stack#sharedScheduledExecutor()}.
+     *
+     * @param publishingScheduler the {@link PublishingScheduler}.
+     * @return this {@link OpcUaServerConfigBuilder}.
+     */
+    public OpcUaServerConfigBuilder setPublishingScheduler(PublishingScheduler publishingScheduler) {
+        this.publishingScheduler = publishingScheduler;
+        return this;
+    }
+
+    /**
+     * Set how MonitoredItems guard their sampling and publishing state. Defaults to
+     * {@link MonitoredItemConcurrency#Synchronized}.
+     *
+     * @param monitoredItemConcurrency the {@link MonitoredItemConcurrency}.
+     * @return this {@link OpcUaServerConfigBuilder}.
+     */
+    public OpcUaServerConfigBuilder setMonitoredItemConcurrency(MonitoredItemConcurrency monitoredItemConcurrency) {
+        this.monitoredItemConcurrency = monitoredItemConcurrency;
+        return this;
+    }
+
+    /**
+     * Set when the nodes of namespace 0 are instantiated. Defaults to {@link NodeMaterialization#Eager}.
+     * <p>
+     * {@link NodeMaterialization#Lazy} reduces the heap used by, and the startup time of, each server in a JVM that
+     * hosts several of them.
+     *
+     * @param namespace0Materialization the {@link NodeMaterialization}.
+     * @return this {@link OpcUaServerConfigBuilder}.
+     */
+    public OpcUaServerConfigBuilder setNamespace0Materialization(NodeMaterialization namespace0Materialization) {
+        this.namespace0Materialization = namespace0Materialization;
+        return this;
+    }
+
     @Override
     public OpcUaServerConfigBuilder setServerName(String serverName) {
         super.setServerName(serverName);
@@ -150,6 +203,44 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         return this;
     }
 
+    @Override
+    public OpcUaServerConfigBuilder setSerializationScheduler(SerializationScheduler serializationScheduler) {
+        super.setSerializationScheduler(serializationScheduler);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setSerializationShardCount(int serializationShardCount) {
+        super.setSerializationShardCount(serializationShardCount);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setBufferAllocator(BufferAllocator bufferAllocator) {
+        super.setBufferAllocator(bufferAllocator);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setFlushCoalescing(FlushCoalescing flushCoalescing) {
+        super.setFlushCoalescing(flushCoalescing);
+        return this;
+    }
+
+    /**
+     * Set the {@link AdmissionControl} that bounds the requests each channel may have in flight.
+     * <p>
+     * If not set, it is built from the channel limits in {@link OpcUaServerConfigLimits}.
+     *
+     * @param admissionControl the {@link AdmissionControl} to use.
+     * @return this {@link OpcUaServerConfigBuilder}.
+     */
+    @Override
+    public OpcUaServerConfigBuilder setAdmissionControl(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+        return this;
+    }
+
     @Override
     public OpcUaServerConfigBuilder setChannelConfig(ChannelConfig channelConfig) {
         super.setChannelConfig(channelConfig);
@@ -163,8 +254,14 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
     }
 
     public OpcUaServerConfig build() {
+        super.setAdmissionControl(admissionControl != null ? admissionControl : admissionControl(limits));
+
         UaTcpStackServerConfig stackServerConfig = super.build();
 
+        if (publishingScheduler == null) {
+            publishingScheduler = new ScheduledExecutorPublishingScheduler(Stack.sharedScheduledExecutor());
+        }
+
         return new OpcUaServerConfigImpl(
             stackServerConfig,
             hostname,
@@ -174,7 +271,22 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
             identityValidator,
             buildInfo,
             limits,
-            hostnameResolver
+            hostnameResolver,
+            publishingScheduler,
+            monitoredItemConcurrency,
+            namespace0Materialization
+        );
+    }
+
+    /**
+     * @param limits the {@link OpcUaServerConfigLimits} to derive the {@link AdmissionControl} from.
+     * @return the {@link AdmissionControl} used when none has been set explicitly.
+     */
+    static AdmissionControl admissionControl(OpcUaServerConfigLimits limits) {
+        return AdmissionControl.bounded(
+            (int) Math.min(limits.getMaxRequestsPerChannel().longValue(), Integer.MAX_VALUE),
+            limits.getMaxRequestBytesPerChannel().longValue(),
+            limits.getChannelOverloadPolicy()
         );
     }
 
@@ -199,6 +311,9 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         private final BuildInfo buildInfo;
         private final OpcUaServerConfigLimits limits;
         private final Function<String, Set<String>> hostnameResolver;
+        private final PublishingScheduler publishingScheduler;
+        private final MonitoredItemConcurrency monitoredItemConcurrency;
+        private final NodeMaterialization namespace0Materialization;
 
         public OpcUaServerConfigImpl(UaTcpStackServerConfig stackServerConfig,
                                      String hostname,
@@ -208,7 +323,10 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
                                      IdentityValidator identityValidator,
                                      BuildInfo buildInfo,
                                      OpcUaServerConfigLimits limits,
-                                     Function<String, Set<String>> hostnameResolver) {
+                                     Function<String, Set<String>> hostnameResolver,
+                                     PublishingScheduler publishingScheduler,
+                                     MonitoredItemConcurrency monitoredItemConcurrency,
+                                     NodeMaterialization namespace0Materialization) {
 
             this.stackServerConfig = stackServerConfig;
 
@@ -220,6 +338,9 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
             this.buildInfo = buildInfo;
             this.limits = limits;
             this.hostnameResolver = hostnameResolver;
+            this.publishingScheduler = publishingScheduler;
+            this.monitoredItemConcurrency = monitoredItemConcurrency;
+            this.namespace0Materialization = namespace0Materialization;
         }
 
         @Override
@@ -292,6 +413,31 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
             return stackServerConfig.getExecutor();
         }
 
+        @Override
+        public SerializationScheduler getSerializationScheduler() {
+            return stackServerConfig.getSerializationScheduler();
+        }
+
+        @Override
+        public int getSerializationShardCount() {
+            return stackServerConfig.getSerializationShardCount();
+        }
+
+        @Override
+        public BufferAllocator getBufferAllocator() {
+            return stackServerConfig.getBufferAllocator();
+        }
+
+        @Override
+        public FlushCoalescing getFlushCoalescing() {
+            return stackServerConfig.getFlushCoalescing();
+        }
+
+        @Override
+        public AdmissionControl getAdmissionControl() {
+            return stackServerConfig.getAdmissionControl();
+        }
+
         @Override
         public List<UserTokenPolicy> getUserTokenPolicies() {
             return stackServerConfig.getUserTokenPolicies();
@@ -317,6 +463,21 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
             return hostnameResolver;
         }
 
+        @Override
+        public PublishingScheduler getPublishingScheduler() {
+            return publishingScheduler;
+        }
+
+        @Override
+        public MonitoredItemConcurrency getMonitoredItemConcurrency() {
+            return monitoredItemConcurrency;
+        }
+
+        @Override
+        public NodeMaterialization getNamespace0Materialization() {
+            return namespace0Materialization;
+        }
+
     }
 
 }
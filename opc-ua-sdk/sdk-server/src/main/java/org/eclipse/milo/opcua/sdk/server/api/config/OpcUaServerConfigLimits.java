@@ -17,6 +17,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UShort;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl.OverloadPolicy;
 
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ushort;
@@ -39,6 +41,27 @@ public interface OpcUaServerConfigLimits {
         return ushort(UShort.MAX_VALUE);
     }
 
+    /**
+     * Browse continuation points that go unused for this long are released.
+     *
+     * @return the time, in milliseconds, after which an unused Browse continuation point expires.
+     */
+    default Double getBrowseContinuationPointTimeout() {
+        return (double) TimeUnit.MILLISECONDS.convert(60, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Only Variable nodes that have been read with a MaxAge greater than 0 are cached, up to this many; beyond that
+     * the least recently used are evicted.
+     *
+     * @return the maximum number of nodes whose values are cached to answer Reads with a MaxAge greater than 0, or 0
+     * to read every node from its Namespace.
+     * @see org.eclipse.milo.opcua.sdk.server.util.ValueCache
+     */
+    default UInteger getMaxCachedValues() {
+        return uint(10000);
+    }
+
     default UShort getMaxQueryContinuationPoints() {
         return ushort(UShort.MAX_VALUE);
     }
@@ -103,4 +126,37 @@ public interface OpcUaServerConfigLimits {
         return uint(0x1FFFF);
     }
 
+    /**
+     * @return the maximum number of requests a secure channel may have in flight, or 0 for no limit.
+     * @see AdmissionControl
+     */
+    default UInteger getMaxRequestsPerChannel() {
+        return uint(0);
+    }
+
+    /**
+     * @return the maximum encoded size, in bytes, of the requests a secure channel may have in flight, or 0 for no
+     * limit.
+     * @see AdmissionControl
+     */
+    default UInteger getMaxRequestBytesPerChannel() {
+        return uint(0);
+    }
+
+    /**
+     * @return the {@link OverloadPolicy} applied to a secure channel at its request limits.
+     */
+    default OverloadPolicy getChannelOverloadPolicy() {
+        return OverloadPolicy.PauseReads;
+    }
+
+    /**
+     * Requests received while a session is at this limit fail with Bad_TooManyOperations.
+     *
+     * @return the maximum number of requests a session may have in flight, or 0 for no limit.
+     */
+    default UInteger getMaxRequestsPerSession() {
+        return uint(0);
+    }
+
 }
@@ -13,13 +13,20 @@
 
 package org.eclipse.milo.opcua.sdk.server.items;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import com.google.common.primitives.Ints;
 import org.eclipse.milo.opcua.sdk.server.api.MonitoredItem;
-import org.eclipse.milo.opcua.sdk.server.util.RingBuffer;
+import org.eclipse.milo.opcua.sdk.server.api.config.MonitoredItemConcurrency;
+import org.eclipse.milo.opcua.sdk.server.util.MonitoredItemQueue;
+import org.eclipse.milo.opcua.sdk.server.util.RingBufferItemQueue;
+import org.eclipse.milo.opcua.sdk.server.util.SpscItemQueue;
 import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.serialization.UaStructure;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
@@ -27,6 +34,7 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.MonitoringMode;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.slf4j.LoggerFactory;
 
 public abstract class BaseMonitoredItem<T> implements MonitoredItem {
 
@@ -35,7 +43,7 @@ public abstract class BaseMonitoredItem<T> implements MonitoredItem {
     protected volatile Map<UInteger, BaseMonitoredItem<?>> triggeredItems;
     protected volatile boolean triggered = false;
 
-    protected volatile RingBuffer<T> queue;
+    protected volatile MonitoredItemQueue<T> queue;
 
     protected volatile long clientHandle;
     protected volatile int queueSize;
@@ -48,6 +56,20 @@ public abstract class BaseMonitoredItem<T> implements MonitoredItem {
     protected volatile MonitoringMode monitoringMode;
     protected volatile TimestampsToReturn timestamps;
 
+    /**
+     * {@code true} if values are queued and published without synchronizing on this item.
+     *
+     * @see MonitoredItemConcurrency#LockFree
+     */
+    protected final boolean lockFree;
+
+    /**
+     * When {@link #lockFree}, the producer tasks waiting for the thread currently producing into {@link #queue}, and
+     * a count of that thread plus the tasks it has yet to run.
+     */
+    private final Queue<Runnable> producerTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger producerCount = new AtomicInteger(0);
+
     protected BaseMonitoredItem(
         UInteger id,
         UInteger subscriptionId,
@@ -59,6 +81,22 @@ public abstract class BaseMonitoredItem<T> implements MonitoredItem {
         UInteger queueSize,
         boolean discardOldest) {
 
+        this(id, subscriptionId, readValueId, monitoringMode, timestamps,
+            clientHandle, samplingInterval, queueSize, discardOldest, MonitoredItemConcurrency.Synchronized);
+    }
+
+    protected BaseMonitoredItem(
+        UInteger id,
+        UInteger subscriptionId,
+        ReadValueId readValueId,
+        MonitoringMode monitoringMode,
+        TimestampsToReturn timestamps,
+        UInteger clientHandle,
+        double samplingInterval,
+        UInteger queueSize,
+        boolean discardOldest,
+        MonitoredItemConcurrency concurrency) {
+
         this.id = id;
         this.subscriptionId = subscriptionId;
         this.readValueId = readValueId;
@@ -67,10 +105,15 @@ public abstract class BaseMonitoredItem<T> implements MonitoredItem {
         this.clientHandle = clientHandle.longValue();
         this.samplingInterval = samplingInterval;
         this.discardOldest = discardOldest;
+        this.lockFree = concurrency == MonitoredItemConcurrency.LockFree;
 
         setQueueSize(queueSize);
 
-        queue = new RingBuffer<>(this.queueSize);
+        queue = newQueue(this.queueSize);
+    }
+
+    private MonitoredItemQueue<T> newQueue(int capacity) {
+        return lockFree ? new SpscItemQueue<>(capacity) : new RingBufferItemQueue<>(capacity);
     }
 
     protected void setQueueSize(UInteger queueSize) {
@@ -80,12 +123,25 @@ public abstract class BaseMonitoredItem<T> implements MonitoredItem {
         this.queueSize = qs;
     }
 
-    public synchronized boolean getNotifications(List<UaStructure> notifications, int max) {
-        int queueSize = queue.size();
-        int count = Math.min(queueSize, max);
+    public boolean getNotifications(List<UaStructure> notifications, int max) {
+        if (lockFree) {
+            return drainNotifications(notifications, max);
+        } else {
+            synchronized (this) {
+                return drainNotifications(notifications, max);
+            }
+        }
+    }
+
+    private boolean drainNotifications(List<UaStructure> notifications, int max) {
+        MonitoredItemQueue<T> queue = this.queue;
 
-        for (int i = 0; i < count; i++) {
-            notifications.add(wrapQueueValue(queue.remove()));
+        for (int i = 0; i < max; i++) {
+            T value = queue.poll();
+
+            if (value == null) break;
+
+            notifications.add(wrapQueueValue(value));
         }
 
         boolean queueIsEmpty = queue.isEmpty();
@@ -97,8 +153,14 @@ public abstract class BaseMonitoredItem<T> implements MonitoredItem {
         return queueIsEmpty;
     }
 
-    public synchronized boolean hasNotifications() {
-        return (queue.size() > 0 && monitoringMode == MonitoringMode.Reporting);
+    public boolean hasNotifications() {
+        if (lockFree) {
+            return (!queue.isEmpty() && monitoringMode == MonitoringMode.Reporting);
+        } else {
+            synchronized (this) {
+                return (!queue.isEmpty() && monitoringMode == MonitoringMode.Reporting);
+            }
+        }
     }
 
     public synchronized void modify(TimestampsToReturn timestamps,
@@ -118,16 +180,75 @@ public abstract class BaseMonitoredItem<T> implements MonitoredItem {
         if (queueSize.intValue() != this.queueSize) {
             setQueueSize(queueSize);
 
-            RingBuffer<T> oldQueue = queue;
-            queue = new RingBuffer<>(this.queueSize);
+            int capacity = this.queueSize;
+
+            if (lockFree) {
+                // Resize as a producer so no value can be sampled into the old queue after it has been drained.
+                produce(capacity, this::resizeQueue);
+            } else {
+                resizeQueue(capacity);
+            }
+        }
+    }
+
+    /**
+     * Replace the queue with one of {@code capacity}, moving the queued values into it. Must be called by the
+     * producer, i.e. holding this item's monitor or, when {@link #lockFree}, from {@link #produce(Object, Consumer)}.
+     */
+    private void resizeQueue(int capacity) {
+        // Fill the new queue before publishing it so it only ever has one producer.
+        MonitoredItemQueue<T> oldQueue = queue;
+        MonitoredItemQueue<T> newQueue = newQueue(capacity);
+
+        T value;
+        while ((value = oldQueue.poll()) != null) {
+            enqueue(newQueue, value);
+        }
+
+        queue = newQueue;
+    }
 
-            while (oldQueue.size() > 0) {
-                enqueue(oldQueue.remove());
+    /**
+     * Run {@code action} on {@code value} as this item's only producer when {@link #lockFree}.
+     * <p>
+     * If no other thread is producing for this item, {@code action} runs now on the calling thread. Otherwise it is
+     * left for the producing thread to run once it has finished what it is doing, so actions for an item never run
+     * concurrently and run in the order they arrived, without either thread blocking.
+     *
+     * @param value  the value to pass to {@code action}.
+     * @param action the action that filters or enqueues {@code value}.
+     */
+    protected <V> void produce(V value, Consumer<V> action) {
+        if (producerCount.compareAndSet(0, 1)) {
+            runProducerTask(value, action);
+        } else {
+            producerTasks.offer(() -> action.accept(value));
+
+            if (producerCount.getAndIncrement() != 0) {
+                return;
             }
+
+            runProducerTask(producerTasks.poll(), Runnable::run);
+        }
+
+        while (producerCount.decrementAndGet() != 0) {
+            runProducerTask(producerTasks.poll(), Runnable::run);
         }
     }
 
-    protected abstract void enqueue(T value);
+    private <V> void runProducerTask(V value, Consumer<V> action) {
+        try {
+            action.accept(value);
+        } catch (Throwable t) {
+            LoggerFactory.getLogger(getClass()).warn("Uncaught Throwable producing for MonitoredItem {}.", id, t);
+        }
+    }
+
+    protected void enqueue(T value) {
+        enqueue(queue, value);
+    }
+
+    protected abstract void enqueue(MonitoredItemQueue<T> queue, T value);
 
     public void setMonitoringMode(MonitoringMode monitoringMode) {
         this.monitoringMode = monitoringMode;
@@ -178,12 +299,12 @@ public abstract class BaseMonitoredItem<T> implements MonitoredItem {
     }
 
     public synchronized Map<UInteger, BaseMonitoredItem<?>> getTriggeredItems() {
-        if (triggeredItems == null) triggeredItems = new HashMap<>();
+        if (triggeredItems == null) triggeredItems = new ConcurrentHashMap<>();
 
         return triggeredItems;
     }
 
-    public synchronized boolean isTriggered() {
+    public boolean isTriggered() {
         return triggered;
     }
 
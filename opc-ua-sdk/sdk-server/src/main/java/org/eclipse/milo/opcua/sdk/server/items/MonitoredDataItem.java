@@ -13,8 +13,15 @@
 
 package org.eclipse.milo.opcua.sdk.server.items;
 
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
 import org.eclipse.milo.opcua.sdk.server.api.DataItem;
+import org.eclipse.milo.opcua.sdk.server.api.config.MonitoredItemConcurrency;
 import org.eclipse.milo.opcua.sdk.server.util.DataChangeMonitoringFilter;
+import org.eclipse.milo.opcua.sdk.server.util.MonitoredItemQueue;
 import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.UaException;
@@ -33,6 +40,7 @@ import org.eclipse.milo.opcua.stack.core.types.structured.DataChangeFilter;
 import org.eclipse.milo.opcua.stack.core.types.structured.EventFilter;
 import org.eclipse.milo.opcua.stack.core.types.structured.MonitoredItemNotification;
 import org.eclipse.milo.opcua.stack.core.types.structured.MonitoringFilter;
+import org.eclipse.milo.opcua.stack.core.types.structured.Range;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
 
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
@@ -48,6 +56,21 @@ public class MonitoredDataItem extends BaseMonitoredItem<DataValue> implements D
     private volatile DataValue lastValue = null;
     private volatile DataChangeFilter filter = null;
     private volatile ExtensionObject filterResult = null;
+    private volatile Range euRange = null;
+
+    private final Consumer<DataValue> filterAndEnqueue = this::filterAndEnqueue;
+
+    private final UnaryOperator<DataValue> overflow = value -> {
+        if (getQueueSize() > 1) {
+            /* Set overflow if queueSize > 1... */
+            return value.withStatus(value.getStatusCode().withOverflow());
+        } else if (value.getStatusCode().isOverflowSet()) {
+            /* But make sure it's clear otherwise. */
+            return value.withStatus(value.getStatusCode().withoutOverflow());
+        } else {
+            return value;
+        }
+    };
 
     public MonitoredDataItem(
         UInteger id,
@@ -61,21 +84,79 @@ public class MonitoredDataItem extends BaseMonitoredItem<DataValue> implements D
         UInteger queueSize,
         boolean discardOldest) throws UaException {
 
+        this(id, subscriptionId, readValueId, monitoringMode, timestamps,
+            clientHandle, samplingInterval, filter, queueSize, discardOldest, null);
+    }
+
+    /**
+     * @param euRange the EURange of the monitored node, if it has one. Required for a Percent deadband filter.
+     */
+    public MonitoredDataItem(
+        UInteger id,
+        UInteger subscriptionId,
+        ReadValueId readValueId,
+        MonitoringMode monitoringMode,
+        TimestampsToReturn timestamps,
+        UInteger clientHandle,
+        double samplingInterval,
+        ExtensionObject filter,
+        UInteger queueSize,
+        boolean discardOldest,
+        @Nullable Range euRange) throws UaException {
+
+        this(id, subscriptionId, readValueId, monitoringMode, timestamps, clientHandle,
+            samplingInterval, filter, queueSize, discardOldest, euRange, MonitoredItemConcurrency.Synchronized);
+    }
+
+    /**
+     * @param euRange     the EURange of the monitored node, if it has one. Required for a Percent deadband filter.
+     * @param concurrency how this item guards its sampling and publishing state.
+     */
+    public MonitoredDataItem(
+        UInteger id,
+        UInteger subscriptionId,
+        ReadValueId readValueId,
+        MonitoringMode monitoringMode,
+        TimestampsToReturn timestamps,
+        UInteger clientHandle,
+        double samplingInterval,
+        ExtensionObject filter,
+        UInteger queueSize,
+        boolean discardOldest,
+        @Nullable Range euRange,
+        MonitoredItemConcurrency concurrency) throws UaException {
+
         super(id, subscriptionId, readValueId, monitoringMode,
-            timestamps, clientHandle, samplingInterval, queueSize, discardOldest);
+            timestamps, clientHandle, samplingInterval, queueSize, discardOldest, concurrency);
+
+        this.euRange = euRange;
 
         installFilter(filter);
     }
 
     @Override
-    public synchronized void setValue(DataValue value) {
-        boolean valuePassesFilter = DataChangeMonitoringFilter.filter(lastValue, value, filter);
+    public void setValue(DataValue value) {
+        if (lockFree) {
+            produce(value, filterAndEnqueue);
+        } else {
+            synchronized (this) {
+                filterAndEnqueue(value);
+            }
+        }
+    }
+
+    private void filterAndEnqueue(DataValue value) {
+        DataChangeFilter filter = this.filter;
+
+        boolean valuePassesFilter = DataChangeMonitoringFilter.filter(lastValue, value, filter, euRange);
 
         if (valuePassesFilter) {
             lastValue = value;
 
             enqueue(value);
 
+            Map<UInteger, BaseMonitoredItem<?>> triggeredItems = this.triggeredItems;
+
             if (triggeredItems != null) {
                 triggeredItems.values().forEach(item -> item.triggered = true);
             }
@@ -83,28 +164,24 @@ public class MonitoredDataItem extends BaseMonitoredItem<DataValue> implements D
     }
 
     @Override
-    protected void enqueue(DataValue value) {
-        if (queue.size() < queue.maxSize()) {
-            queue.add(value);
-        } else {
-            if (getQueueSize() > 1) {
-                /* Set overflow if queueSize > 1... */
-                value = value.withStatus(value.getStatusCode().withOverflow());
-            } else if (value.getStatusCode().isOverflowSet()) {
-                /* But make sure it's clear otherwise. */
-                value = value.withStatus(value.getStatusCode().withoutOverflow());
-            }
+    protected void enqueue(MonitoredItemQueue<DataValue> queue, DataValue value) {
+        queue.offer(value, discardOldest, overflow);
+    }
 
-            if (discardOldest) {
-                queue.add(value);
-            } else {
-                queue.set(queue.maxSize() - 1, value);
+    @Override
+    public void setQuality(StatusCode quality) {
+        if (lockFree) {
+            enqueueQuality(quality);
+        } else {
+            synchronized (this) {
+                enqueueQuality(quality);
             }
         }
     }
 
-    @Override
-    public synchronized void setQuality(StatusCode quality) {
+    private void enqueueQuality(StatusCode quality) {
+        DataValue lastValue = this.lastValue;
+
         if (lastValue == null) {
             setValue(new DataValue(Variant.NULL_VALUE, quality, DateTime.now(), DateTime.now()));
         } else {
@@ -136,6 +213,37 @@ public class MonitoredDataItem extends BaseMonitoredItem<DataValue> implements D
         lastValue = null;
     }
 
+    @Nullable
+    public Range getEuRange() {
+        return euRange;
+    }
+
+    /**
+     * Modify this item and the cached EURange of the monitored node together. The EURange is used to evaluate a
+     * Percent deadband filter; if the modification fails, the previous filter and EURange both stay in place.
+     *
+     * @param euRange the EURange of the monitored node, if it has one. Required for a Percent deadband filter.
+     * @throws UaException if the modification fails.
+     */
+    public synchronized void modify(TimestampsToReturn timestamps,
+                                    UInteger clientHandle,
+                                    double samplingInterval,
+                                    ExtensionObject filter,
+                                    UInteger queueSize,
+                                    boolean discardOldest,
+                                    @Nullable Range euRange) throws UaException {
+
+        Range previousEuRange = this.euRange;
+        this.euRange = euRange;
+
+        try {
+            modify(timestamps, clientHandle, samplingInterval, filter, queueSize, discardOldest);
+        } catch (UaException e) {
+            this.euRange = previousEuRange;
+            throw e;
+        }
+    }
+
     @Override
     protected void installFilter(ExtensionObject filterXo) throws UaException {
         if (filterXo == null || filterXo.decode() == null) {
@@ -145,25 +253,35 @@ public class MonitoredDataItem extends BaseMonitoredItem<DataValue> implements D
 
             if (filterObject instanceof MonitoringFilter) {
                 if (filterObject instanceof DataChangeFilter) {
-                    this.filter = ((DataChangeFilter) filterObject);
+                    DataChangeFilter dataChangeFilter = ((DataChangeFilter) filterObject);
 
-                    DeadbandType deadbandType = DeadbandType.from(filter.getDeadbandType().intValue());
+                    DeadbandType deadbandType = DeadbandType.from(dataChangeFilter.getDeadbandType().intValue());
 
                     if (deadbandType == null) {
                         throw new UaException(StatusCodes.Bad_DeadbandFilterInvalid);
                     }
 
-                    if (deadbandType == DeadbandType.Percent) {
-                        // Percent deadband is not currently implemented
+                    if (deadbandType != DeadbandType.None &&
+                        !AttributeId.Value.isEqual(getReadValueId().getAttributeId())) {
+
+                        // Absolute and Percent deadband are only allowed for Value attributes
                         throw new UaException(StatusCodes.Bad_FilterNotAllowed);
                     }
 
-                    if (deadbandType == DeadbandType.Absolute &&
-                        !AttributeId.Value.isEqual(getReadValueId().getAttributeId())) {
+                    if (deadbandType == DeadbandType.Percent) {
+                        double deadbandValue = dataChangeFilter.getDeadbandValue();
 
-                        // Absolute deadband is only allowed for Value attributes
-                        throw new UaException(StatusCodes.Bad_FilterNotAllowed);
+                        if (deadbandValue < 0.0 || deadbandValue > 100.0) {
+                            throw new UaException(StatusCodes.Bad_DeadbandFilterInvalid);
+                        }
+
+                        if (euRange == null) {
+                            // Percent deadband is only allowed for nodes with an EURange, i.e. AnalogItems
+                            throw new UaException(StatusCodes.Bad_FilterNotAllowed);
+                        }
                     }
+
+                    this.filter = dataChangeFilter;
                 } else if (filterObject instanceof AggregateFilter) {
                     throw new UaException(StatusCodes.Bad_MonitoredItemFilterUnsupported);
                 } else if (filterObject instanceof EventFilter) {
@@ -13,8 +13,12 @@
 
 package org.eclipse.milo.opcua.sdk.server.items;
 
+import java.util.function.UnaryOperator;
+
 import org.eclipse.milo.opcua.sdk.server.api.EventItem;
+import org.eclipse.milo.opcua.sdk.server.api.config.MonitoredItemConcurrency;
 import org.eclipse.milo.opcua.sdk.server.model.types.objects.BaseEventType;
+import org.eclipse.milo.opcua.sdk.server.util.MonitoredItemQueue;
 import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
 import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
@@ -43,14 +47,38 @@ public class MonitoredEventItem extends BaseMonitoredItem<Variant[]> implements
         boolean discardOldest,
         ExtensionObject filter) throws UaException {
 
+        this(id, subscriptionId, readValueId, monitoringMode, timestamps, clientHandle,
+            samplingInterval, queueSize, discardOldest, filter, MonitoredItemConcurrency.Synchronized);
+    }
+
+    /**
+     * @param concurrency how this item guards its sampling and publishing state.
+     */
+    public MonitoredEventItem(
+        UInteger id,
+        UInteger subscriptionId,
+        ReadValueId readValueId,
+        MonitoringMode monitoringMode,
+        TimestampsToReturn timestamps,
+        UInteger clientHandle,
+        double samplingInterval,
+        UInteger queueSize,
+        boolean discardOldest,
+        ExtensionObject filter,
+        MonitoredItemConcurrency concurrency) throws UaException {
+
         super(id, subscriptionId, readValueId, monitoringMode,
-            timestamps, clientHandle, samplingInterval, queueSize, discardOldest);
+            timestamps, clientHandle, samplingInterval, queueSize, discardOldest, concurrency);
 
         installFilter(filter);
     }
 
+    /**
+     * Events may be posted from any thread, so producers always synchronize on this item; when lock-free, publishing
+     * does not.
+     */
     @Override
-    public void setEvent(BaseEventType event) {
+    public synchronized void setEvent(BaseEventType event) {
         // TODO Apply EventFilter...
 
         Variant[] variants = new Variant[]{
@@ -65,19 +93,9 @@ public class MonitoredEventItem extends BaseMonitoredItem<Variant[]> implements
     }
 
     @Override
-    protected void enqueue(Variant[] value) {
-        if (queueSize < queue.maxSize()) {
-            queue.add(value);
-        } else {
-            if (getQueueSize() > 1) {
-                // TODO Send an EventQueueOverflowEventType...
-            }
-            if (discardOldest) {
-                queue.add(value);
-            } else {
-                queue.set(queue.maxSize() - 1, value);
-            }
-        }
+    protected void enqueue(MonitoredItemQueue<Variant[]> queue, Variant[] value) {
+        // TODO Send an EventQueueOverflowEventType when the queue overflows and queueSize > 1...
+        queue.offer(value, discardOldest, UnaryOperator.identity());
     }
 
     @Override
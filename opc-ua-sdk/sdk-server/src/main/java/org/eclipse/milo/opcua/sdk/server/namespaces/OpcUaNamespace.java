@@ -18,6 +18,8 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.eclipse.milo.opcua.sdk.core.NamespaceTable;
 import org.eclipse.milo.opcua.sdk.core.Reference;
@@ -37,6 +39,7 @@ import org.eclipse.milo.opcua.sdk.server.model.nodes.objects.OperationLimitsNode
 import org.eclipse.milo.opcua.sdk.server.model.nodes.objects.ServerCapabilitiesNode;
 import org.eclipse.milo.opcua.sdk.server.model.nodes.objects.ServerNode;
 import org.eclipse.milo.opcua.sdk.server.model.nodes.variables.ServerStatusNode;
+import org.eclipse.milo.opcua.sdk.server.namespaces.loader.UaNodeImageLoader;
 import org.eclipse.milo.opcua.sdk.server.namespaces.loader.UaNodeLoader;
 import org.eclipse.milo.opcua.sdk.server.nodes.AttributeContext;
 import org.eclipse.milo.opcua.sdk.server.nodes.DerivedVariableNode;
@@ -56,6 +59,7 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UShort;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.RedundancySupport;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.ServerState;
@@ -113,6 +117,25 @@ public class OpcUaNamespace implements Namespace {
         }
     }
 
+    @Override
+    public CompletableFuture<List<Reference>> browse(
+        AccessContext context,
+        NodeId nodeId,
+        BrowseDirection direction,
+        Predicate<NodeId> referenceTypeFilter) {
+
+        org.eclipse.milo.opcua.sdk.server.nodes.ServerNode node = nodeMap.get(nodeId);
+
+        if (node != null) {
+            return CompletableFuture.completedFuture(
+                node.streamReferences(direction, referenceTypeFilter).collect(Collectors.toList()));
+        } else {
+            CompletableFuture<List<Reference>> f = new CompletableFuture<>();
+            f.completeExceptionally(new UaException(StatusCodes.Bad_NodeIdUnknown));
+            return f;
+        }
+    }
+
     @Override
     public void read(ReadContext context, Double maxAge,
                      TimestampsToReturn timestamps,
@@ -120,6 +143,8 @@ public class OpcUaNamespace implements Namespace {
 
         List<DataValue> results = newArrayListWithCapacity(readValueIds.size());
 
+        AttributeContext attributeContext = new AttributeContext(context);
+
         for (ReadValueId id : readValueIds) {
             DataValue value;
 
@@ -127,7 +152,7 @@ public class OpcUaNamespace implements Namespace {
 
             if (node != null) {
                 value = node.readAttribute(
-                    new AttributeContext(context),
+                    attributeContext,
                     id.getAttributeId(),
                     timestamps,
                     id.getIndexRange()
@@ -242,15 +267,26 @@ public class OpcUaNamespace implements Namespace {
     }
 
     private void loadNodes() {
+        if (nodeMap.containsKey(Identifiers.RootFolder)) {
+            logger.info("Nodes will be materialized on demand.");
+            return;
+        }
+
         try {
             long startTime = System.nanoTime();
 
-            new UaNodeLoader(nodeMap).loadNodes();
+            boolean fromImage = UaNodeImageLoader.isNamespace0ImageAvailable();
+
+            if (fromImage) {
+                new UaNodeImageLoader(nodeMap).loadNodes();
+            } else {
+                new UaNodeLoader(nodeMap).loadNodes();
+            }
 
             long endTime = System.nanoTime();
             long deltaMs = TimeUnit.MILLISECONDS.convert(endTime - startTime, TimeUnit.NANOSECONDS);
 
-            logger.info("Loaded nodes in {}ms.", deltaMs);
+            logger.info("Loaded nodes in {}ms{}.", deltaMs, fromImage ? " from image" : "");
         } catch (Exception e) {
             logger.error("Error loading nodes.", e);
         }
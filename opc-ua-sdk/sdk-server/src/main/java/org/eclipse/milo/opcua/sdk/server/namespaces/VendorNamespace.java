@@ -18,6 +18,8 @@ import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 import com.sun.management.UnixOperatingSystemMXBean;
@@ -43,6 +45,7 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UShort;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
 import org.eclipse.milo.opcua.stack.core.types.structured.WriteValue;
@@ -94,6 +97,25 @@ public class VendorNamespace implements Namespace {
         }
     }
 
+    @Override
+    public CompletableFuture<List<Reference>> browse(
+        AccessContext context,
+        NodeId nodeId,
+        BrowseDirection direction,
+        Predicate<NodeId> referenceTypeFilter) {
+
+        ServerNode node = nodeMap.get(nodeId);
+
+        if (node != null) {
+            return CompletableFuture.completedFuture(
+                node.streamReferences(direction, referenceTypeFilter).collect(Collectors.toList()));
+        } else {
+            CompletableFuture<List<Reference>> f = new CompletableFuture<>();
+            f.completeExceptionally(new UaException(StatusCodes.Bad_NodeIdUnknown));
+            return f;
+        }
+    }
+
     @Override
     public void read(
         ReadContext context,
@@ -103,11 +125,13 @@ public class VendorNamespace implements Namespace {
 
         List<DataValue> results = Lists.newArrayListWithCapacity(readValueIds.size());
 
+        AttributeContext attributeContext = new AttributeContext(context);
+
         for (ReadValueId id : readValueIds) {
             ServerNode node = nodeMap.get(id.getNodeId());
 
             DataValue value = (node != null) ?
-                node.readAttribute(new AttributeContext(context), id.getAttributeId()) :
+                node.readAttribute(attributeContext, id.getAttributeId()) :
                 new DataValue(StatusCodes.Bad_NodeIdUnknown);
 
             results.add(value);
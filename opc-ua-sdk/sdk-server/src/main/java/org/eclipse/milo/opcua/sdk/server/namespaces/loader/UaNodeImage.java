@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.namespaces.loader;
+
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.eclipse.milo.opcua.sdk.core.Reference;
+import org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.UaRuntimeException;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ExpandedNodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UByte;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
+
+/**
+ * An immutable table of node descriptors decoded from a binary address space image written by
+ * {@link UaNodeImageWriter}.
+ * <p>
+ * A descriptor holds a node's attributes, its references and the constructor of its class, but no node instance.
+ * Nodes are instantiated for a particular {@link ServerNodeMap} by {@link #materialize(NodeId, ServerNodeMap)}, so
+ * one table can back any number of servers in the same JVM. The namespace 0 table is decoded once and shared, see
+ * {@link #namespace0()}.
+ */
+public final class UaNodeImage {
+
+    static final int MAGIC = 0x4D4E5330;
+    static final int VERSION = 1;
+
+    private static final Class<?>[] BASE_PARAMETERS = {
+        ServerNodeMap.class, NodeId.class, QualifiedName.class, LocalizedText.class, LocalizedText.class,
+        UInteger.class, UInteger.class
+    };
+
+    private static volatile UaNodeImage namespace0;
+
+    private final ImmutableMap<NodeId, NodeDescriptor> descriptors;
+
+    private UaNodeImage(ImmutableMap<NodeId, NodeDescriptor> descriptors) {
+        this.descriptors = descriptors;
+    }
+
+    /**
+     * @return the number of nodes in this image.
+     */
+    public int size() {
+        return descriptors.size();
+    }
+
+    /**
+     * @return the {@link NodeId}s of the nodes in this image, in image order.
+     */
+    public Set<NodeId> getNodeIds() {
+        return descriptors.keySet();
+    }
+
+    /**
+     * @param nodeId the {@link NodeId} of a node.
+     * @return {@code true} if this image describes the node identified by {@code nodeId}.
+     */
+    public boolean contains(NodeId nodeId) {
+        return descriptors.containsKey(nodeId);
+    }
+
+    /**
+     * Instantiate the node identified by {@code nodeId} for {@code nodeMap}, with all of its references.
+     * <p>
+     * Adding an inverse reference adds the node to {@code nodeMap}, as it does for the generated loaders; callers
+     * that need to know whether another instance was added concurrently must serialize materialization themselves.
+     *
+     * @param nodeId  the {@link NodeId} of the node to instantiate.
+     * @param nodeMap the {@link ServerNodeMap} the node belongs to.
+     * @return a new {@link UaNode}, or {@code null} if this image does not describe {@code nodeId}.
+     */
+    public UaNode materialize(NodeId nodeId, ServerNodeMap nodeMap) {
+        NodeDescriptor descriptor = descriptors.get(nodeId);
+
+        return descriptor != null ? descriptor.materialize(nodeMap) : null;
+    }
+
+    /**
+     * Instantiate every node in this image and add it to {@code nodeMap}.
+     *
+     * @param nodeMap the {@link ServerNodeMap} to populate.
+     */
+    public void materializeAll(ServerNodeMap nodeMap) {
+        for (NodeDescriptor descriptor : descriptors.values()) {
+            nodeMap.addNode(descriptor.materialize(nodeMap));
+        }
+    }
+
+    /**
+     * Get the namespace 0 image bundled with the SDK, decoding it on first use.
+     * <p>
+     * The image is memory-mapped when it lives on the file system and read onto the heap when it is inside a jar.
+     *
+     * @return the shared namespace 0 {@link UaNodeImage}.
+     * @throws UaException if the image is not on the classpath or cannot be decoded.
+     */
+    public static UaNodeImage namespace0() throws UaException {
+        UaNodeImage image = namespace0;
+
+        if (image == null) {
+            synchronized (UaNodeImage.class) {
+                image = namespace0;
+
+                if (image == null) {
+                    namespace0 = image = readNamespace0();
+                }
+            }
+        }
+
+        return image;
+    }
+
+    private static UaNodeImage readNamespace0() throws UaException {
+        URL url = UaNodeImage.class.getResource(UaNodeImageLoader.NAMESPACE_0_IMAGE);
+
+        if (url == null) {
+            throw new UaException(StatusCodes.Bad_ResourceUnavailable,
+                "address space image not found: " + UaNodeImageLoader.NAMESPACE_0_IMAGE);
+        }
+
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return decode(Paths.get(url.toURI()));
+            } else {
+                try (InputStream inputStream = url.openStream()) {
+                    return decode(Unpooled.wrappedBuffer(ByteStreams.toByteArray(inputStream)));
+                }
+            }
+        } catch (UaException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UaException(StatusCodes.Bad_ResourceUnavailable, e);
+        }
+    }
+
+    /**
+     * Memory-map the image at {@code path} and decode it.
+     */
+    public static UaNodeImage decode(Path path) throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            return decode(Unpooled.wrappedBuffer(mapped));
+        }
+    }
+
+    /**
+     * Decode the image in {@code buffer}, starting at its reader index.
+     */
+    public static UaNodeImage decode(ByteBuf buffer) throws UaException {
+        BinaryDecoder decoder = new BinaryDecoder(Integer.MAX_VALUE, Integer.MAX_VALUE)
+            .setBuffer(buffer.order(ByteOrder.LITTLE_ENDIAN));
+
+        int magic = decoder.decodeInt32(null);
+        int version = decoder.decodeInt32(null);
+
+        if (magic != MAGIC || version != VERSION) {
+            throw new UaException(StatusCodes.Bad_DecodingError,
+                String.format("unsupported address space image (magic=%08X, version=%s)", magic, version));
+        }
+
+        String[] classNames = decoder.decodeArray(null, decoder::decodeString, String.class);
+        Constructor<?>[] constructors = new Constructor<?>[classNames.length];
+
+        int nodeCount = decoder.decodeInt32(null);
+        ImmutableMap.Builder<NodeId, NodeDescriptor> descriptors = ImmutableMap.builder();
+
+        for (int i = 0; i < nodeCount; i++) {
+            int classIndex = decoder.decodeInt32(null);
+            NodeClass nodeClass = NodeClass.from(decoder.decodeInt32(null));
+
+            Object[] arguments = decodeArguments(decoder, nodeClass);
+            NodeId nodeId = (NodeId) arguments[1];
+
+            Constructor<?> constructor = constructors[classIndex];
+            if (constructor == null) {
+                try {
+                    constructor = Class.forName(classNames[classIndex]).getConstructor(parameterTypes(nodeClass));
+                } catch (ReflectiveOperationException e) {
+                    throw new UaException(StatusCodes.Bad_DecodingError, e);
+                }
+                constructors[classIndex] = constructor;
+            }
+
+            Reference[] references = new Reference[decoder.decodeInt32(null)];
+
+            for (int j = 0; j < references.length; j++) {
+                NodeId referenceTypeId = decoder.decodeNodeId(null);
+                ExpandedNodeId targetNodeId = decoder.decodeExpandedNodeId(null);
+                NodeClass targetNodeClass = NodeClass.from(decoder.decodeInt32(null));
+                boolean forward = decoder.decodeBoolean(null);
+
+                references[j] = new Reference(nodeId, referenceTypeId, targetNodeId, targetNodeClass, forward);
+            }
+
+            descriptors.put(nodeId, new NodeDescriptor(constructor, arguments, references));
+        }
+
+        return new UaNodeImage(descriptors.build());
+    }
+
+    /**
+     * @return the arguments of the full attribute constructor for a node of {@code nodeClass}, with the
+     * {@link ServerNodeMap} left {@code null}.
+     */
+    private static Object[] decodeArguments(BinaryDecoder decoder, NodeClass nodeClass) throws UaException {
+        NodeId nodeId = decoder.decodeNodeId(null);
+        QualifiedName browseName = decoder.decodeQualifiedName(null);
+        LocalizedText displayName = decoder.decodeLocalizedText(null);
+        LocalizedText description = decoder.decodeLocalizedText(null);
+        UInteger writeMask = decoder.decodeUInt32(null);
+        UInteger userWriteMask = decoder.decodeUInt32(null);
+
+        Object[] base = {null, nodeId, browseName, displayName, description, writeMask, userWriteMask};
+
+        switch (nodeClass) {
+            case Object:
+                return append(base, decoder.decodeByte(null));
+
+            case Variable:
+                return append(
+                    base,
+                    new DataValue(decoder.decodeVariant(null)),
+                    decoder.decodeNodeId(null),
+                    decoder.decodeInt32(null),
+                    decoder.decodeArray(null, decoder::decodeUInt32, UInteger.class),
+                    decoder.decodeByte(null),
+                    decoder.decodeByte(null),
+                    decoder.decodeDouble(null),
+                    decoder.decodeBoolean(null)
+                );
+
+            case Method:
+                return append(base, decoder.decodeBoolean(null), decoder.decodeBoolean(null));
+
+            case ObjectType:
+            case DataType:
+                return append(base, decoder.decodeBoolean(null));
+
+            case VariableType:
+                return append(
+                    base,
+                    new DataValue(decoder.decodeVariant(null)),
+                    decoder.decodeNodeId(null),
+                    decoder.decodeInt32(null),
+                    decoder.decodeArray(null, decoder::decodeUInt32, UInteger.class),
+                    decoder.decodeBoolean(null)
+                );
+
+            case ReferenceType:
+                return append(
+                    base,
+                    decoder.decodeBoolean(null),
+                    decoder.decodeBoolean(null),
+                    decoder.decodeLocalizedText(null)
+                );
+
+            case View:
+                return append(base, decoder.decodeBoolean(null), decoder.decodeByte(null));
+
+            default:
+                throw new UaException(StatusCodes.Bad_NodeClassInvalid, "unexpected NodeClass: " + nodeClass);
+        }
+    }
+
+    /**
+     * @return the parameter types of the full attribute constructor for nodes of {@code nodeClass}.
+     */
+    private static Class<?>[] parameterTypes(NodeClass nodeClass) throws UaException {
+        switch (nodeClass) {
+            case Object:
+                return append(BASE_PARAMETERS, UByte.class);
+
+            case Variable:
+                return append(BASE_PARAMETERS, DataValue.class, NodeId.class, Integer.class, UInteger[].class,
+                    UByte.class, UByte.class, Double.class, boolean.class);
+
+            case Method:
+                return append(BASE_PARAMETERS, Boolean.class, Boolean.class);
+
+            case ObjectType:
+                return append(BASE_PARAMETERS, Boolean.class);
+
+            case VariableType:
+                return append(BASE_PARAMETERS, DataValue.class, NodeId.class, Integer.class, UInteger[].class,
+                    Boolean.class);
+
+            case ReferenceType:
+                return append(BASE_PARAMETERS, Boolean.class, Boolean.class, LocalizedText.class);
+
+            case DataType:
+                return append(BASE_PARAMETERS, boolean.class);
+
+            case View:
+                return append(BASE_PARAMETERS, Boolean.class, UByte.class);
+
+            default:
+                throw new UaException(StatusCodes.Bad_NodeClassInvalid, "unexpected NodeClass: " + nodeClass);
+        }
+    }
+
+    @SafeVarargs
+    private static <T> T[] append(T[] base, T... values) {
+        T[] array = Arrays.copyOf(base, base.length + values.length);
+        System.arraycopy(values, 0, array, base.length, values.length);
+        return array;
+    }
+
+    private static final class NodeDescriptor {
+
+        private final Constructor<?> constructor;
+        private final Object[] arguments;
+        private final Reference[] references;
+
+        NodeDescriptor(Constructor<?> constructor, Object[] arguments, Reference[] references) {
+            this.constructor = constructor;
+            this.arguments = arguments;
+            this.references = references;
+        }
+
+        UaNode materialize(ServerNodeMap nodeMap) {
+            Object[] args = arguments.clone();
+            args[0] = nodeMap;
+
+            UaNode node;
+            try {
+                node = (UaNode) constructor.newInstance(args);
+            } catch (ReflectiveOperationException e) {
+                throw new UaRuntimeException(StatusCodes.Bad_InternalError, e);
+            }
+
+            for (Reference reference : references) {
+                node.addReference(reference);
+            }
+
+            return node;
+        }
+
+    }
+
+}
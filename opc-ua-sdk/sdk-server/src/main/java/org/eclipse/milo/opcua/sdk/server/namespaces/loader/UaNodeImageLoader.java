@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.namespaces.loader;
+
+import java.nio.file.Path;
+
+import io.netty.buffer.ByteBuf;
+import org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap;
+
+/**
+ * Populates a {@link ServerNodeMap} from a binary image of an address space written by {@link UaNodeImageWriter}.
+ * <p>
+ * The image holds every node's attributes and references in the OPC UA binary encoding, so loading it involves no
+ * XML or string parsing. Node classes are instantiated through their full attribute constructor, the same one the
+ * generated loaders call, resolved once per class listed in the image header.
+ *
+ * @see UaNodeImage
+ */
+public class UaNodeImageLoader {
+
+    /**
+     * Name of the namespace 0 image, relative to this class, bundled with the SDK.
+     */
+    public static final String NAMESPACE_0_IMAGE = "namespace0.bin";
+
+    private final ServerNodeMap nodeMap;
+
+    public UaNodeImageLoader(ServerNodeMap nodeMap) {
+        this.nodeMap = nodeMap;
+    }
+
+    /**
+     * @return {@code true} if the namespace 0 image is present on the classpath.
+     */
+    public static boolean isNamespace0ImageAvailable() {
+        return UaNodeImageLoader.class.getResource(NAMESPACE_0_IMAGE) != null;
+    }
+
+    /**
+     * Load the namespace 0 image bundled with the SDK.
+     * <p>
+     * The image is decoded once per JVM and shared, see {@link UaNodeImage#namespace0()}.
+     *
+     * @throws org.eclipse.milo.opcua.stack.core.UaException if the image is not on the classpath.
+     */
+    public void loadNodes() throws Exception {
+        UaNodeImage.namespace0().materializeAll(nodeMap);
+    }
+
+    /**
+     * Memory-map the image at {@code path} and load its nodes.
+     */
+    public void loadNodes(Path path) throws Exception {
+        UaNodeImage.decode(path).materializeAll(nodeMap);
+    }
+
+    /**
+     * Load the nodes of the image in {@code buffer}, starting at its reader index.
+     */
+    public void loadNodes(ByteBuf buffer) throws Exception {
+        UaNodeImage.decode(buffer).materializeAll(nodeMap);
+    }
+
+}
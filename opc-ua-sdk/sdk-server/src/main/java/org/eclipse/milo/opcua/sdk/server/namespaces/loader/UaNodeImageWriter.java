@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.namespaces.loader;
+
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.eclipse.milo.opcua.sdk.core.Reference;
+import org.eclipse.milo.opcua.sdk.server.api.AbstractServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaDataTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaMethodNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaObjectNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaObjectTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaReferenceTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaViewNode;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+
+/**
+ * Serializes an address space into the binary image read by {@link UaNodeImage} and {@link UaNodeImageLoader}.
+ * <p>
+ * Nodes are written in {@link org.eclipse.milo.opcua.stack.core.types.builtin.NodeId} order so the same address
+ * space always produces the same image. Only the attributes accepted by each node's full attribute constructor and
+ * the node's references are kept; attribute delegates and observers are not part of the image.
+ * <p>
+ * Running {@link #main(String[])} regenerates the namespace 0 image from the generated {@link UaNodeLoader}s.
+ */
+public class UaNodeImageWriter {
+
+    private static final Comparator<ServerNode> NODE_ORDER = Comparator
+        .comparing((ServerNode node) -> node.getNodeId().getNamespaceIndex())
+        .thenComparing(node -> node.getNodeId().getType())
+        .thenComparing(node -> node.getNodeId().getIdentifier().toString());
+
+    /**
+     * Write the image of {@code nodes} to {@code buffer}.
+     */
+    public void write(Collection<? extends ServerNode> nodes, ByteBuf buffer) throws UaException {
+        List<UaNode> sorted = new ArrayList<>(nodes.size());
+        for (ServerNode node : nodes) {
+            if (!(node instanceof UaNode)) {
+                throw new UaException(StatusCodes.Bad_NotSupported,
+                    "not a UaNode: " + node.getNodeId());
+            }
+            sorted.add((UaNode) node);
+        }
+        sorted.sort(NODE_ORDER);
+
+        Map<Class<?>, Integer> classIndices = new LinkedHashMap<>();
+        for (UaNode node : sorted) {
+            classIndices.putIfAbsent(node.getClass(), classIndices.size());
+        }
+
+        BinaryEncoder encoder = new BinaryEncoder(Integer.MAX_VALUE, Integer.MAX_VALUE)
+            .setBuffer(buffer.order(ByteOrder.LITTLE_ENDIAN));
+
+        encoder.encodeInt32(null, UaNodeImage.MAGIC);
+        encoder.encodeInt32(null, UaNodeImage.VERSION);
+
+        String[] classNames = classIndices.keySet().stream().map(Class::getName).toArray(String[]::new);
+        encoder.encodeArray(null, classNames, encoder::encodeString);
+
+        encoder.encodeInt32(null, sorted.size());
+
+        for (UaNode node : sorted) {
+            encoder.encodeInt32(null, classIndices.get(node.getClass()));
+            encoder.encodeInt32(null, node.getNodeClass().getValue());
+            encoder.encodeNodeId(null, node.getNodeId());
+            encoder.encodeQualifiedName(null, node.getBrowseName());
+            encoder.encodeLocalizedText(null, node.getDisplayName());
+            encoder.encodeLocalizedText(null, node.getDescription());
+            encoder.encodeUInt32(null, node.getWriteMask());
+            encoder.encodeUInt32(null, node.getUserWriteMask());
+
+            encodeAttributes(encoder, node);
+
+            ImmutableList<Reference> references = node.getReferences();
+            encoder.encodeInt32(null, references.size());
+
+            for (Reference reference : references) {
+                encoder.encodeNodeId(null, reference.getReferenceTypeId());
+                encoder.encodeExpandedNodeId(null, reference.getTargetNodeId());
+                encoder.encodeInt32(null, reference.getTargetNodeClass().getValue());
+                encoder.encodeBoolean(null, reference.isForward());
+            }
+        }
+    }
+
+    private void encodeAttributes(BinaryEncoder encoder, UaNode node) throws UaException {
+        switch (node.getNodeClass()) {
+            case Object: {
+                UaObjectNode objectNode = (UaObjectNode) node;
+                encoder.encodeByte(null, objectNode.getEventNotifier());
+                break;
+            }
+
+            case Variable: {
+                UaVariableNode variableNode = (UaVariableNode) node;
+                encoder.encodeVariant(null, valueOf(variableNode.getValue()));
+                encoder.encodeNodeId(null, variableNode.getDataType());
+                encoder.encodeInt32(null, variableNode.getValueRank());
+                encoder.encodeArray(null, variableNode.getArrayDimensions(), encoder::encodeUInt32);
+                encoder.encodeByte(null, variableNode.getAccessLevel());
+                encoder.encodeByte(null, variableNode.getUserAccessLevel());
+                encoder.encodeDouble(null, variableNode.getMinimumSamplingInterval());
+                encoder.encodeBoolean(null, variableNode.getHistorizing());
+                break;
+            }
+
+            case Method: {
+                UaMethodNode methodNode = (UaMethodNode) node;
+                encoder.encodeBoolean(null, methodNode.isExecutable());
+                encoder.encodeBoolean(null, methodNode.isUserExecutable());
+                break;
+            }
+
+            case ObjectType: {
+                UaObjectTypeNode objectTypeNode = (UaObjectTypeNode) node;
+                encoder.encodeBoolean(null, objectTypeNode.getIsAbstract());
+                break;
+            }
+
+            case VariableType: {
+                UaVariableTypeNode variableTypeNode = (UaVariableTypeNode) node;
+                encoder.encodeVariant(null, valueOf(variableTypeNode.getValue()));
+                encoder.encodeNodeId(null, variableTypeNode.getDataType());
+                encoder.encodeInt32(null, variableTypeNode.getValueRank());
+                encoder.encodeArray(null, variableTypeNode.getArrayDimensions(), encoder::encodeUInt32);
+                encoder.encodeBoolean(null, variableTypeNode.getIsAbstract());
+                break;
+            }
+
+            case ReferenceType: {
+                UaReferenceTypeNode referenceTypeNode = (UaReferenceTypeNode) node;
+                encoder.encodeBoolean(null, referenceTypeNode.getIsAbstract());
+                encoder.encodeBoolean(null, referenceTypeNode.getSymmetric());
+                encoder.encodeLocalizedText(null, referenceTypeNode.getInverseName());
+                break;
+            }
+
+            case DataType: {
+                UaDataTypeNode dataTypeNode = (UaDataTypeNode) node;
+                encoder.encodeBoolean(null, dataTypeNode.getIsAbstract());
+                break;
+            }
+
+            case View: {
+                UaViewNode viewNode = (UaViewNode) node;
+                encoder.encodeBoolean(null, viewNode.getContainsNoLoops());
+                encoder.encodeByte(null, viewNode.getEventNotifier());
+                break;
+            }
+
+            default:
+                throw new UaException(StatusCodes.Bad_NodeClassInvalid,
+                    "unexpected NodeClass: " + node.getNodeClass());
+        }
+    }
+
+    private static Variant valueOf(DataValue dataValue) {
+        return dataValue != null ? dataValue.getValue() : Variant.NULL_VALUE;
+    }
+
+    /**
+     * Build namespace 0 with the generated {@link UaNodeLoader}s and write its image to the path given as the only
+     * argument, or to {@link UaNodeImageLoader#NAMESPACE_0_IMAGE} in the working directory.
+     */
+    public static void main(String[] args) throws Exception {
+        Path path = Paths.get(args.length > 0 ? args[0] : UaNodeImageLoader.NAMESPACE_0_IMAGE);
+
+        AbstractServerNodeMap nodeMap = new AbstractServerNodeMap() {};
+        new UaNodeLoader(nodeMap).loadNodes();
+
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            new UaNodeImageWriter().write(nodeMap.values(), buffer);
+
+            try (OutputStream outputStream = Files.newOutputStream(path)) {
+                buffer.readBytes(outputStream, buffer.readableBytes());
+            }
+        } finally {
+            buffer.release();
+        }
+
+        System.out.printf("Wrote %d nodes to %s%n", nodeMap.size(), path.toAbsolutePath());
+    }
+
+}
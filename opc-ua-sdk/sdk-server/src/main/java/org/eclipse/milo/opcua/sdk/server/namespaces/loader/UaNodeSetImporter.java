@@ -0,0 +1,810 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.namespaces.loader;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import org.eclipse.milo.opcua.sdk.core.NamespaceTable;
+import org.eclipse.milo.opcua.sdk.core.Reference;
+import org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaDataTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaMethodNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaObjectNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaObjectTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaReferenceTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaViewNode;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.Stack;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.UaSerializationException;
+import org.eclipse.milo.opcua.stack.core.serialization.xml.XmlDecoder;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UShort;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ubyte;
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ushort;
+
+/**
+ * Imports UANodeSet (NodeSet2) XML documents into a {@link ServerNodeMap}.
+ * <p>
+ * Each document is read in a single streaming pass with a StAX {@link XMLStreamReader}; Values are decoded by an
+ * {@link XmlDecoder} sharing the same reader. A node is added to the map, with its references, as soon as its element
+ * ends, so memory is bounded by the nodes themselves plus the references whose target has not been read yet. Those
+ * are resolved when the target is read, or in a second pass once every document has been read.
+ * <p>
+ * Namespace indices in a document are mapped to the server's {@link NamespaceTable}, registering URIs that are not
+ * in it yet. The imported nodes are only visible to clients through a
+ * {@link org.eclipse.milo.opcua.sdk.server.api.Namespace} that serves them from the node map, e.g. a
+ * {@link org.eclipse.milo.opcua.sdk.server.namespaces.VendorNamespace} registered for the same URI.
+ * <p>
+ * Every reference is also added, inverted, to its target, except HasTypeDefinition and HasModellingRule references,
+ * whose inverse would add an entry to a type or modelling rule node for every instance imported.
+ */
+public class UaNodeSetImporter {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ServerNodeMap nodeMap;
+    private final NamespaceTable namespaceTable;
+    private final ExecutorService executor;
+
+    public UaNodeSetImporter(ServerNodeMap nodeMap, NamespaceTable namespaceTable) {
+        this(nodeMap, namespaceTable, Stack.sharedExecutor());
+    }
+
+    /**
+     * @param nodeMap        the {@link ServerNodeMap} to import into.
+     * @param namespaceTable the {@link NamespaceTable} document namespace URIs are mapped to.
+     * @param executor       the {@link ExecutorService} documents are read on by
+     *                       {@link #importNodeSets(List)}.
+     */
+    public UaNodeSetImporter(ServerNodeMap nodeMap, NamespaceTable namespaceTable, ExecutorService executor) {
+        this.nodeMap = nodeMap;
+        this.namespaceTable = namespaceTable;
+        this.executor = executor;
+    }
+
+    /**
+     * Import a single NodeSet2 document on the calling thread.
+     *
+     * @param inputStream the document.
+     * @return the {@link ImportResult}.
+     * @throws UaException if the document cannot be read.
+     */
+    public ImportResult importNodeSet(InputStream inputStream) throws UaException {
+        long startTime = System.nanoTime();
+
+        NodeSetReader reader = new NodeSetReader();
+        reader.read(inputStream);
+
+        return finish(startTime, 1, reader.nodeCount, reader.referenceCount, reader.pending);
+    }
+
+    /**
+     * Import NodeSet2 documents, reading them in parallel, and then resolve the references between them.
+     * <p>
+     * Typically each document holds one namespace, e.g. a companion specification and the plant models built on it.
+     *
+     * @param paths the documents.
+     * @return the {@link ImportResult} covering every document.
+     * @throws UaException if any document cannot be read.
+     */
+    public ImportResult importNodeSets(List<Path> paths) throws UaException {
+        long startTime = System.nanoTime();
+
+        List<CompletableFuture<NodeSetReader>> futures = new ArrayList<>(paths.size());
+
+        for (Path path : paths) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                NodeSetReader reader = new NodeSetReader();
+
+                try (InputStream inputStream = Files.newInputStream(path)) {
+                    reader.read(inputStream);
+                } catch (UaException e) {
+                    throw new CompletionExceptionWrapper(e);
+                } catch (Exception e) {
+                    throw new CompletionExceptionWrapper(new UaException(StatusCodes.Bad_DecodingError, e));
+                }
+
+                return reader;
+            }, executor));
+        }
+
+        long nodeCount = 0;
+        long referenceCount = 0;
+        Map<NodeId, List<PendingReference>> pending = new HashMap<>();
+
+        for (CompletableFuture<NodeSetReader> future : futures) {
+            NodeSetReader reader;
+            try {
+                reader = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UaException(StatusCodes.Bad_Shutdown, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CompletionExceptionWrapper) {
+                    throw ((CompletionExceptionWrapper) cause).exception;
+                }
+                throw new UaException(StatusCodes.Bad_InternalError, cause);
+            }
+
+            nodeCount += reader.nodeCount;
+            referenceCount += reader.referenceCount;
+            reader.pending.forEach((targetId, references) ->
+                pending.computeIfAbsent(targetId, id -> new ArrayList<>()).addAll(references));
+        }
+
+        return finish(startTime, paths.size(), nodeCount, referenceCount, pending);
+    }
+
+    private ImportResult finish(
+        long startTime,
+        int documentCount,
+        long nodeCount,
+        long referenceCount,
+        Map<NodeId, List<PendingReference>> pending) {
+
+        long unresolvedCount = 0;
+
+        for (Map.Entry<NodeId, List<PendingReference>> entry : pending.entrySet()) {
+            ServerNode target = nodeMap.get(entry.getKey());
+
+            for (PendingReference reference : entry.getValue()) {
+                if (target != null && resolve(reference, target)) {
+                    referenceCount++;
+                } else {
+                    unresolvedCount++;
+                    logger.debug("Unresolved reference: {} -> {}", reference.sourceId, entry.getKey());
+                }
+            }
+        }
+
+        ImportResult result = new ImportResult(nodeCount, referenceCount, unresolvedCount,
+            System.nanoTime() - startTime);
+
+        logger.info("Imported {} nodes and {} references from {} NodeSet(s) in {}ms ({} nodes/s, {} unresolved).",
+            result.getNodeCount(), result.getReferenceCount(), documentCount,
+            TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()),
+            (long) result.getNodesPerSecond(), result.getUnresolvedReferenceCount());
+
+        return result;
+    }
+
+    /**
+     * Add {@code reference} to its source node and its inverse to {@code target}.
+     *
+     * @return {@code true} if the source node exists.
+     */
+    private boolean resolve(PendingReference reference, ServerNode target) {
+        ServerNode source = nodeMap.get(reference.sourceId);
+
+        if (!(source instanceof UaNode)) return false;
+
+        addReferences((UaNode) source, reference.referenceTypeId, target, reference.forward);
+
+        return true;
+    }
+
+    private static void addReferences(UaNode source, NodeId referenceTypeId, ServerNode target, boolean forward) {
+        source.addReference(new Reference(
+            source.getNodeId(),
+            referenceTypeId,
+            target.getNodeId().expanded(),
+            target.getNodeClass(),
+            forward
+        ));
+
+        boolean instanceOf = Identifiers.HasTypeDefinition.equals(referenceTypeId) ||
+            Identifiers.HasModellingRule.equals(referenceTypeId);
+
+        if (target instanceof UaNode && !instanceOf) {
+            ((UaNode) target).addReference(new Reference(
+                target.getNodeId(),
+                referenceTypeId,
+                source.getNodeId().expanded(),
+                source.getNodeClass(),
+                !forward
+            ));
+        }
+    }
+
+    /**
+     * The outcome of an import.
+     */
+    public static final class ImportResult {
+
+        private final long nodeCount;
+        private final long referenceCount;
+        private final long unresolvedReferenceCount;
+        private final long elapsedNanos;
+
+        ImportResult(long nodeCount, long referenceCount, long unresolvedReferenceCount, long elapsedNanos) {
+            this.nodeCount = nodeCount;
+            this.referenceCount = referenceCount;
+            this.unresolvedReferenceCount = unresolvedReferenceCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return the number of nodes added to the node map.
+         */
+        public long getNodeCount() {
+            return nodeCount;
+        }
+
+        /**
+         * @return the number of references added, not counting the inverse references added to their targets.
+         */
+        public long getReferenceCount() {
+            return referenceCount;
+        }
+
+        /**
+         * @return the number of references whose target was neither imported nor already in the node map.
+         */
+        public long getUnresolvedReferenceCount() {
+            return unresolvedReferenceCount;
+        }
+
+        /**
+         * @return the wall-clock time the import took, in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return the import throughput, in nodes per second.
+         */
+        public double getNodesPerSecond() {
+            return elapsedNanos > 0 ? nodeCount * 1e9 / elapsedNanos : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "ImportResult{nodes=%d, references=%d, unresolved=%d, elapsed=%dms, nodesPerSecond=%.0f}",
+                nodeCount, referenceCount, unresolvedReferenceCount,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getNodesPerSecond());
+        }
+
+    }
+
+    private static final class PendingReference {
+
+        private final NodeId sourceId;
+        private final NodeId referenceTypeId;
+        private final boolean forward;
+
+        PendingReference(NodeId sourceId, NodeId referenceTypeId, boolean forward) {
+            this.sourceId = sourceId;
+            this.referenceTypeId = referenceTypeId;
+            this.forward = forward;
+        }
+
+    }
+
+    private static final class CompletionExceptionWrapper extends RuntimeException {
+
+        private final UaException exception;
+
+        CompletionExceptionWrapper(UaException exception) {
+            super(exception);
+            this.exception = exception;
+        }
+
+    }
+
+    /**
+     * Reads one document. Not thread-safe; each document gets its own reader.
+     */
+    private final class NodeSetReader {
+
+        private final Map<String, NodeId> aliases = new HashMap<>();
+        private final Map<NodeId, List<PendingReference>> pending = new HashMap<>();
+
+        private UShort[] namespaceIndices = new UShort[]{ushort(0)};
+
+        private DepthTrackingReader reader;
+        private XmlDecoder decoder;
+
+        private long nodeCount;
+        private long referenceCount;
+
+        void read(InputStream inputStream) throws UaException {
+            try {
+                XMLInputFactory factory = XMLInputFactory.newFactory();
+                factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+                reader = new DepthTrackingReader(factory.createXMLStreamReader(inputStream));
+                decoder = new XmlDecoder(reader);
+
+                try {
+                    readDocument();
+                } finally {
+                    reader.close();
+                }
+            } catch (XMLStreamException | UaSerializationException e) {
+                throw new UaException(StatusCodes.Bad_DecodingError, e);
+            }
+        }
+
+        private void readDocument() throws XMLStreamException, UaException {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) continue;
+
+                switch (reader.getLocalName()) {
+                    case "UANodeSet":
+                        break;
+                    case "NamespaceUris":
+                        readNamespaceUris();
+                        break;
+                    case "Aliases":
+                        readAliases();
+                        break;
+                    case "UAObject":
+                        readNode(NodeClass.Object);
+                        break;
+                    case "UAVariable":
+                        readNode(NodeClass.Variable);
+                        break;
+                    case "UAMethod":
+                        readNode(NodeClass.Method);
+                        break;
+                    case "UAObjectType":
+                        readNode(NodeClass.ObjectType);
+                        break;
+                    case "UAVariableType":
+                        readNode(NodeClass.VariableType);
+                        break;
+                    case "UAReferenceType":
+                        readNode(NodeClass.ReferenceType);
+                        break;
+                    case "UADataType":
+                        readNode(NodeClass.DataType);
+                        break;
+                    case "UAView":
+                        readNode(NodeClass.View);
+                        break;
+                    default:
+                        skipElement();
+                        break;
+                }
+            }
+        }
+
+        private void readNamespaceUris() throws XMLStreamException {
+            List<UShort> indices = new ArrayList<>();
+            indices.add(ushort(0));
+
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String uri = reader.getElementText();
+
+                synchronized (namespaceTable) {
+                    UShort index = namespaceTable.getIndex(uri);
+                    indices.add(index != null ? index : namespaceTable.addUri(uri));
+                }
+            }
+
+            namespaceIndices = indices.toArray(new UShort[indices.size()]);
+        }
+
+        private void readAliases() throws XMLStreamException, UaException {
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String alias = reader.getAttributeValue(null, "Alias");
+                String nodeId = reader.getElementText();
+
+                aliases.put(alias, parseNodeId(nodeId.trim()));
+            }
+        }
+
+        private void readNode(NodeClass nodeClass) throws XMLStreamException, UaException {
+            NodeId nodeId = parseNodeId(requireAttribute("NodeId"));
+            QualifiedName browseName = parseQualifiedName(requireAttribute("BrowseName"));
+            UInteger writeMask = uint(parseLong(attribute("WriteMask"), 0L));
+            UInteger userWriteMask = uint(parseLong(attribute("UserWriteMask"), 0L));
+
+            Map<String, String> attributes = new HashMap<>();
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            }
+
+            LocalizedText displayName = null;
+            LocalizedText description = LocalizedText.NULL_VALUE;
+            LocalizedText inverseName = LocalizedText.NULL_VALUE;
+            Object value = null;
+            List<String[]> references = new ArrayList<>();
+
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "DisplayName":
+                        if (displayName == null) {
+                            displayName = readLocalizedText();
+                        } else {
+                            skipElement();
+                        }
+                        break;
+                    case "Description":
+                        description = readLocalizedText();
+                        break;
+                    case "InverseName":
+                        inverseName = readLocalizedText();
+                        break;
+                    case "References":
+                        readReferences(references);
+                        break;
+                    case "Value":
+                        value = readValue(nodeId);
+                        break;
+                    default:
+                        skipElement();
+                        break;
+                }
+            }
+
+            if (displayName == null) {
+                displayName = LocalizedText.english(browseName.getName());
+            }
+
+            UaNode node = createNode(
+                nodeClass, nodeId, browseName, displayName, description,
+                writeMask, userWriteMask, inverseName, value, attributes);
+
+            nodeMap.addNode(node);
+            nodeCount++;
+
+            for (String[] reference : references) {
+                NodeId referenceTypeId = parseNodeId(reference[0]);
+                boolean forward = !"false".equalsIgnoreCase(reference[1]);
+                NodeId targetId = parseNodeId(reference[2]);
+
+                ServerNode target = nodeMap.get(targetId);
+
+                if (target != null) {
+                    addReferences(node, referenceTypeId, target, forward);
+                    referenceCount++;
+                } else {
+                    pending.computeIfAbsent(targetId, id -> new ArrayList<>())
+                        .add(new PendingReference(nodeId, referenceTypeId, forward));
+                }
+            }
+
+            List<PendingReference> waiting = pending.remove(nodeId);
+
+            if (waiting != null) {
+                for (PendingReference reference : waiting) {
+                    if (resolve(reference, node)) {
+                        referenceCount++;
+                    }
+                }
+            }
+        }
+
+        private UaNode createNode(
+            NodeClass nodeClass,
+            NodeId nodeId,
+            QualifiedName browseName,
+            LocalizedText displayName,
+            LocalizedText description,
+            UInteger writeMask,
+            UInteger userWriteMask,
+            LocalizedText inverseName,
+            Object value,
+            Map<String, String> attributes) throws UaException {
+
+            switch (nodeClass) {
+                case Object:
+                    return new UaObjectNode(
+                        nodeMap, nodeId, browseName, displayName, description, writeMask, userWriteMask,
+                        ubyte(parseLong(attributes.get("EventNotifier"), 0L)));
+
+                case Variable:
+                    return new UaVariableNode(
+                        nodeMap, nodeId, browseName, displayName, description, writeMask, userWriteMask,
+                        new DataValue(new Variant(value)),
+                        dataType(attributes),
+                        (int) parseLong(attributes.get("ValueRank"), -1L),
+                        arrayDimensions(attributes),
+                        ubyte(parseLong(attributes.get("AccessLevel"), 1L)),
+                        ubyte(parseLong(attributes.get("UserAccessLevel"), 1L)),
+                        parseDouble(attributes.get("MinimumSamplingInterval")),
+                        parseBoolean(attributes.get("Historizing"), false));
+
+                case Method:
+                    return new UaMethodNode(
+                        nodeMap, nodeId, browseName, displayName, description, writeMask, userWriteMask,
+                        parseBoolean(attributes.get("Executable"), true),
+                        parseBoolean(attributes.get("UserExecutable"), true));
+
+                case ObjectType:
+                    return new UaObjectTypeNode(
+                        nodeMap, nodeId, browseName, displayName, description, writeMask, userWriteMask,
+                        parseBoolean(attributes.get("IsAbstract"), false));
+
+                case VariableType:
+                    return new UaVariableTypeNode(
+                        nodeMap, nodeId, browseName, displayName, description, writeMask, userWriteMask,
+                        new DataValue(new Variant(value)),
+                        dataType(attributes),
+                        (int) parseLong(attributes.get("ValueRank"), -1L),
+                        arrayDimensions(attributes),
+                        parseBoolean(attributes.get("IsAbstract"), false));
+
+                case ReferenceType:
+                    return new UaReferenceTypeNode(
+                        nodeMap, nodeId, browseName, displayName, description, writeMask, userWriteMask,
+                        parseBoolean(attributes.get("IsAbstract"), false),
+                        parseBoolean(attributes.get("Symmetric"), false),
+                        inverseName);
+
+                case DataType:
+                    return new UaDataTypeNode(
+                        nodeMap, nodeId, browseName, displayName, description, writeMask, userWriteMask,
+                        parseBoolean(attributes.get("IsAbstract"), false));
+
+                case View:
+                    return new UaViewNode(
+                        nodeMap, nodeId, browseName, displayName, description, writeMask, userWriteMask,
+                        parseBoolean(attributes.get("ContainsNoLoops"), false),
+                        ubyte(parseLong(attributes.get("EventNotifier"), 0L)));
+
+                default:
+                    throw new UaException(StatusCodes.Bad_NodeClassInvalid, "unexpected NodeClass: " + nodeClass);
+            }
+        }
+
+        /**
+         * Decode the Value element the reader is positioned on, leaving the reader on its end element. A value the
+         * {@link XmlDecoder} cannot decode is logged and skipped rather than failing the import.
+         */
+        private Object readValue(NodeId nodeId) throws XMLStreamException {
+            int depth = reader.getDepth();
+
+            try {
+                Object value = decoder.decodeVariantValue();
+                reader.nextTag();
+                return value;
+            } catch (UaSerializationException e) {
+                logger.warn("Skipping Value of {}: {}", nodeId, e.getMessage());
+
+                while (reader.getDepth() >= depth) {
+                    reader.next();
+                }
+
+                return null;
+            }
+        }
+
+        private void readReferences(List<String[]> references) throws XMLStreamException {
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String referenceType = reader.getAttributeValue(null, "ReferenceType");
+                String isForward = reader.getAttributeValue(null, "IsForward");
+                String target = reader.getElementText().trim();
+
+                references.add(new String[]{referenceType, isForward, target});
+            }
+        }
+
+        private LocalizedText readLocalizedText() throws XMLStreamException {
+            String locale = reader.getAttributeValue(null, "Locale");
+            String text = reader.getElementText();
+
+            return new LocalizedText(locale, text);
+        }
+
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+
+            while (depth > 0) {
+                int event = reader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+
+        private String attribute(String name) {
+            return reader.getAttributeValue(null, name);
+        }
+
+        private String requireAttribute(String name) throws UaException {
+            String value = reader.getAttributeValue(null, name);
+
+            if (value == null) {
+                throw new UaException(StatusCodes.Bad_DecodingError, String.format(
+                    "%s missing attribute %s at line %s",
+                    reader.getLocalName(), name, reader.getLocation().getLineNumber()));
+            }
+
+            return value;
+        }
+
+        private NodeId dataType(Map<String, String> attributes) throws UaException {
+            String dataType = attributes.get("DataType");
+
+            return dataType != null ? parseNodeId(dataType) : Identifiers.BaseDataType;
+        }
+
+        private UInteger[] arrayDimensions(Map<String, String> attributes) {
+            String arrayDimensions = attributes.get("ArrayDimensions");
+
+            if (arrayDimensions == null || arrayDimensions.trim().isEmpty()) {
+                return new UInteger[0];
+            }
+
+            String[] ss = arrayDimensions.split(",");
+            UInteger[] dimensions = new UInteger[ss.length];
+            for (int i = 0; i < ss.length; i++) {
+                dimensions[i] = uint(Long.parseLong(ss[i].trim()));
+            }
+            return dimensions;
+        }
+
+        /**
+         * Parse a NodeId or alias in document namespace indices into server namespace indices.
+         */
+        private NodeId parseNodeId(String s) throws UaException {
+            NodeId alias = aliases.get(s);
+            if (alias != null) return alias;
+
+            NodeId nodeId;
+            try {
+                nodeId = NodeId.parse(s);
+            } catch (RuntimeException e) {
+                throw new UaException(StatusCodes.Bad_NodeIdInvalid, "invalid NodeId: " + s);
+            }
+
+            UShort namespaceIndex = namespaceIndex(nodeId.getNamespaceIndex().intValue());
+
+            if (namespaceIndex.equals(nodeId.getNamespaceIndex())) {
+                return nodeId;
+            }
+
+            Object identifier = nodeId.getIdentifier();
+
+            switch (nodeId.getType()) {
+                case Numeric:
+                    return new NodeId(namespaceIndex, (UInteger) identifier);
+                case String:
+                    return new NodeId(namespaceIndex, (String) identifier);
+                case Guid:
+                    return new NodeId(namespaceIndex, (UUID) identifier);
+                case Opaque:
+                    return new NodeId(namespaceIndex, (ByteString) identifier);
+                default:
+                    throw new UaException(StatusCodes.Bad_NodeIdInvalid, "invalid NodeId: " + s);
+            }
+        }
+
+        private QualifiedName parseQualifiedName(String s) throws UaException {
+            int colon = s.indexOf(':');
+
+            if (colon > 0) {
+                String prefix = s.substring(0, colon);
+
+                if (prefix.chars().allMatch(Character::isDigit)) {
+                    int index = Integer.parseInt(prefix);
+
+                    return new QualifiedName(namespaceIndex(index), s.substring(colon + 1));
+                }
+            }
+
+            return new QualifiedName(0, s);
+        }
+
+        private UShort namespaceIndex(int documentIndex) throws UaException {
+            if (documentIndex < namespaceIndices.length) {
+                return namespaceIndices[documentIndex];
+            }
+
+            throw new UaException(StatusCodes.Bad_NodeIdInvalid,
+                "namespace index not in NamespaceUris: " + documentIndex);
+        }
+
+    }
+
+    /**
+     * Tracks element depth so an element can be skipped after the {@link XmlDecoder} gave up part way through it.
+     */
+    private static final class DepthTrackingReader extends StreamReaderDelegate {
+
+        private int depth;
+
+        DepthTrackingReader(XMLStreamReader reader) {
+            super(reader);
+        }
+
+        /**
+         * @return the number of elements open, counting the current element if positioned on its start.
+         */
+        int getDepth() {
+            return depth;
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            return track(super.next());
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            return track(super.nextTag());
+        }
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+            String text = super.getElementText();
+            depth--;
+            return text;
+        }
+
+        private int track(int event) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+            return event;
+        }
+
+    }
+
+    private static long parseLong(String s, long defaultValue) {
+        return s != null && !s.isEmpty() ? Long.parseLong(s.trim()) : defaultValue;
+    }
+
+    private static double parseDouble(String s) {
+        return s != null && !s.isEmpty() ? Double.parseDouble(s.trim()) : 0.0;
+    }
+
+    private static boolean parseBoolean(String s, boolean defaultValue) {
+        return s != null && !s.isEmpty() ? Boolean.parseBoolean(s.trim()) : defaultValue;
+    }
+
+}
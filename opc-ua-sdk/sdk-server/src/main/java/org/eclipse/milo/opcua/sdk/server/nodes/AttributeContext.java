@@ -25,6 +25,8 @@ public class AttributeContext {
     private final OpcUaServer server;
     private final Session session;
 
+    private AttributeContext internalContext;
+
     public AttributeContext(OpcUaServer server) {
         this(server, null);
     }
@@ -46,4 +48,23 @@ public class AttributeContext {
         return Optional.ofNullable(session);
     }
 
+    /**
+     * Get an {@link AttributeContext} for the same server but no session, used to check attributes such as
+     * AccessLevel without the session's restrictions applied.
+     * <p>
+     * It is created once per context, so reusing a context for every item of a request also reuses this one.
+     *
+     * @return an {@link AttributeContext} without a session.
+     */
+    public AttributeContext getInternalContext() {
+        AttributeContext context = internalContext;
+
+        if (context == null) {
+            context = new AttributeContext(server);
+            internalContext = context;
+        }
+
+        return context;
+    }
+
 }
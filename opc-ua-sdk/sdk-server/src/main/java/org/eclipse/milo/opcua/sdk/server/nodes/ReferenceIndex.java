@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.nodes;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+
+import com.google.common.collect.Iterators;
+import org.eclipse.milo.opcua.sdk.core.Reference;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ExpandedNodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
+
+/**
+ * The {@link Reference}s of a node, indexed by reference type and direction.
+ * <p>
+ * References are kept in insertion order, both overall and within each (reference type, direction) bucket, in
+ * concurrent sorted maps so they can be iterated without copying while references are added and removed. Iteration
+ * is weakly consistent. Each bucket also caches its targets by BrowseName, resolved lazily and validated on every
+ * lookup, so named lookups of properties and components don't scan every reference of the node.
+ * <p>
+ * Adding a reference that is already present only counts it; it is removed when it has been removed as many times
+ * as it was added.
+ */
+final class ReferenceIndex {
+
+    private final AtomicLong sequence = new AtomicLong(0L);
+
+    private final ConcurrentNavigableMap<Long, Reference> references = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentMap<Reference, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Add a {@link Reference}. Not safe to call concurrently with {@link #add(Reference)} or
+     * {@link #remove(Reference)}; callers synchronize writes.
+     *
+     * @param reference the {@link Reference} to add.
+     */
+    void add(Reference reference) {
+        Entry entry = entries.get(reference);
+
+        if (entry != null) {
+            entry.count++;
+        } else {
+            long position = sequence.getAndIncrement();
+
+            buckets.computeIfAbsent(BucketKey.of(reference), k -> new Bucket())
+                .references.put(position, reference);
+
+            references.put(position, reference);
+            entries.put(reference, new Entry(position));
+        }
+    }
+
+    /**
+     * Remove a {@link Reference}. Not safe to call concurrently with {@link #add(Reference)} or
+     * {@link #remove(Reference)}; callers synchronize writes.
+     *
+     * @param reference the {@link Reference} to remove.
+     * @return {@code true} if the reference was present.
+     */
+    boolean remove(Reference reference) {
+        Entry entry = entries.get(reference);
+
+        if (entry == null) {
+            return false;
+        } else if (--entry.count == 0) {
+            entries.remove(reference);
+            references.remove(entry.position);
+
+            Bucket bucket = buckets.get(BucketKey.of(reference));
+
+            if (bucket != null) {
+                bucket.references.remove(entry.position);
+            }
+        }
+
+        return true;
+    }
+
+    boolean contains(Reference reference) {
+        return entries.containsKey(reference);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return a live view of every {@link Reference}, in insertion order.
+     */
+    Iterable<Reference> references() {
+        return references.values();
+    }
+
+    /**
+     * Stream the {@link Reference}s in {@code direction} whose type matches {@code referenceTypeFilter}, in insertion
+     * order. Only the matching buckets are visited; the filter is tested once per reference type, not once per
+     * reference.
+     *
+     * @param direction           the {@link BrowseDirection} to include.
+     * @param referenceTypeFilter tests the reference type ids to include.
+     * @return a {@link Stream} of the matching {@link Reference}s.
+     */
+    Stream<Reference> stream(BrowseDirection direction, Predicate<NodeId> referenceTypeFilter) {
+        List<Iterator<Map.Entry<Long, Reference>>> iterators = new ArrayList<>();
+
+        buckets.forEach((key, bucket) -> {
+            if (key.matches(direction) && referenceTypeFilter.test(key.referenceTypeId)) {
+                iterators.add(bucket.references.entrySet().iterator());
+            }
+        });
+
+        Iterator<Reference> iterator;
+
+        if (iterators.isEmpty()) {
+            return Stream.empty();
+        } else if (iterators.size() == 1) {
+            iterator = Iterators.transform(iterators.get(0), Map.Entry::getValue);
+        } else {
+            iterator = Iterators.transform(
+                Iterators.mergeSorted(iterators, Map.Entry.comparingByKey()),
+                Map.Entry::getValue
+            );
+        }
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false
+        );
+    }
+
+    /**
+     * Stream the {@link Reference}s of exactly {@code referenceTypeId} in one direction, in insertion order.
+     *
+     * @param referenceTypeId the reference type id.
+     * @param forward         {@code true} for forward references, {@code false} for inverse.
+     * @return a {@link Stream} of the matching {@link Reference}s.
+     */
+    Stream<Reference> stream(NodeId referenceTypeId, boolean forward) {
+        Bucket bucket = buckets.get(new BucketKey(referenceTypeId, forward));
+
+        return bucket != null ? bucket.references.values().stream() : Stream.empty();
+    }
+
+    /**
+     * Find the target of a {@link Reference} of exactly {@code referenceTypeId} in one direction by its BrowseName,
+     * whatever its NodeClass.
+     *
+     * @see #findTarget(NodeId, boolean, QualifiedName, NodeClass, Function)
+     */
+    Optional<ServerNode> findTarget(
+        NodeId referenceTypeId,
+        boolean forward,
+        QualifiedName browseName,
+        Function<ExpandedNodeId, Optional<ServerNode>> resolver) {
+
+        return findTarget(referenceTypeId, forward, browseName, null, resolver);
+    }
+
+    /**
+     * Find the target of a {@link Reference} of exactly {@code referenceTypeId} in one direction by its BrowseName,
+     * considering only references whose target NodeClass is {@code targetNodeClass}.
+     * <p>
+     * A cached target is used if its reference is still present, has a matching target NodeClass, and the target
+     * still has {@code browseName}; otherwise the bucket is scanned and every target resolved along the way is
+     * cached.
+     *
+     * @param referenceTypeId the reference type id.
+     * @param forward         {@code true} for forward references, {@code false} for inverse.
+     * @param browseName      the BrowseName of the target.
+     * @param targetNodeClass the NodeClass of the target, or {@code null} for any.
+     * @param resolver        resolves a target node id to the node, if it exists.
+     * @return the first target with {@code browseName} and {@code targetNodeClass}, if there is one.
+     */
+    Optional<ServerNode> findTarget(
+        NodeId referenceTypeId,
+        boolean forward,
+        QualifiedName browseName,
+        @Nullable NodeClass targetNodeClass,
+        Function<ExpandedNodeId, Optional<ServerNode>> resolver) {
+
+        Bucket bucket = buckets.get(new BucketKey(referenceTypeId, forward));
+
+        if (bucket == null) return Optional.empty();
+
+        Reference cached = bucket.targetsByBrowseName.get(browseName);
+
+        if (cached != null && entries.containsKey(cached) && hasTargetNodeClass(cached, targetNodeClass)) {
+            Optional<ServerNode> node = resolver.apply(cached.getTargetNodeId());
+
+            if (node.isPresent() && browseName.equals(node.get().getBrowseName())) {
+                return node;
+            }
+        }
+
+        for (Reference reference : bucket.references.values()) {
+            if (!hasTargetNodeClass(reference, targetNodeClass)) continue;
+
+            Optional<ServerNode> node = resolver.apply(reference.getTargetNodeId());
+
+            if (node.isPresent()) {
+                QualifiedName targetBrowseName = node.get().getBrowseName();
+
+                if (browseName.equals(targetBrowseName)) {
+                    bucket.targetsByBrowseName.put(browseName, reference);
+                    return node;
+                } else if (targetBrowseName != null) {
+                    bucket.targetsByBrowseName.putIfAbsent(targetBrowseName, reference);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static boolean hasTargetNodeClass(Reference reference, @Nullable NodeClass targetNodeClass) {
+        return targetNodeClass == null || reference.getTargetNodeClass() == targetNodeClass;
+    }
+
+    private static final class Entry {
+
+        private final long position;
+        private int count = 1;
+
+        private Entry(long position) {
+            this.position = position;
+        }
+
+    }
+
+    private static final class Bucket {
+
+        private final ConcurrentNavigableMap<Long, Reference> references = new ConcurrentSkipListMap<>();
+
+        private final ConcurrentMap<QualifiedName, Reference> targetsByBrowseName = new ConcurrentHashMap<>();
+
+    }
+
+    private static final class BucketKey {
+
+        private final NodeId referenceTypeId;
+        private final boolean forward;
+
+        private BucketKey(NodeId referenceTypeId, boolean forward) {
+            this.referenceTypeId = referenceTypeId;
+            this.forward = forward;
+        }
+
+        private boolean matches(BrowseDirection direction) {
+            switch (direction) {
+                case Forward:
+                    return forward;
+                case Inverse:
+                    return !forward;
+                case Both:
+                default:
+                    return true;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            BucketKey that = (BucketKey) o;
+
+            return forward == that.forward && referenceTypeId.equals(that.referenceTypeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * referenceTypeId.hashCode() + (forward ? 1 : 0);
+        }
+
+        private static BucketKey of(Reference reference) {
+            return new BucketKey(reference.getReferenceTypeId(), reference.isForward());
+        }
+
+    }
+
+}
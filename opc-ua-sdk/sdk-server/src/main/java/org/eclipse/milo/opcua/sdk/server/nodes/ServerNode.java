@@ -15,6 +15,8 @@ package org.eclipse.milo.opcua.sdk.server.nodes;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 
 import com.google.common.collect.ImmutableList;
@@ -29,8 +31,10 @@ import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 
 public interface ServerNode extends Node {
@@ -72,6 +76,36 @@ public interface ServerNode extends Node {
      */
     ImmutableList<Reference> getReferences();
 
+    /**
+     * Stream this node's {@link Reference}s in {@code direction} whose reference type matches
+     * {@code referenceTypeFilter}.
+     * <p>
+     * Unlike {@link #getReferences()}, implementations may stream the references without copying them first.
+     *
+     * @param direction           the {@link BrowseDirection} of the references to include.
+     * @param referenceTypeFilter tests the reference type ids to include.
+     * @return a {@link Stream} of the matching {@link Reference}s.
+     */
+    default Stream<Reference> streamReferences(BrowseDirection direction, Predicate<NodeId> referenceTypeFilter) {
+        return getReferences().stream()
+            .filter(r -> direction == BrowseDirection.Both || r.isForward() == (direction == BrowseDirection.Forward))
+            .filter(r -> referenceTypeFilter.test(r.getReferenceTypeId()));
+    }
+
+    /**
+     * Stream this node's {@link Reference}s of exactly {@code referenceTypeId} in one direction.
+     *
+     * @param referenceTypeId the reference type id.
+     * @param forward         {@code true} for forward references, {@code false} for inverse references.
+     * @return a {@link Stream} of the matching {@link Reference}s.
+     */
+    default Stream<Reference> streamReferences(NodeId referenceTypeId, boolean forward) {
+        return streamReferences(
+            forward ? BrowseDirection.Forward : BrowseDirection.Inverse,
+            referenceTypeId::equals
+        );
+    }
+
     /**
      * Read the specified attribute.
      * <p>
@@ -102,9 +136,11 @@ public interface ServerNode extends Node {
         @Nullable TimestampsToReturn timestamps,
         @Nullable String indexRange) {
 
-        return AttributeId.from(attribute)
-            .map(attributeId -> readAttribute(context, attributeId, timestamps, indexRange))
-            .orElse(new DataValue(StatusCodes.Bad_AttributeIdInvalid));
+        AttributeId attributeId = AttributeId.from(attribute).orElse(null);
+
+        return attributeId != null ?
+            readAttribute(context, attributeId, timestamps, indexRange) :
+            new DataValue(StatusCodes.Bad_AttributeIdInvalid);
     }
 
     /**
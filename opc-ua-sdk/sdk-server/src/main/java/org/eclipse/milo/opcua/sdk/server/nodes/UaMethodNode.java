@@ -37,9 +37,6 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 import org.eclipse.milo.opcua.stack.core.types.structured.Argument;
 
-import static org.eclipse.milo.opcua.sdk.core.Reference.ALWAYS_GENERATES_EVENT_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_MODELLING_RULE_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_PROPERTY_PREDICATE;
 import static org.eclipse.milo.opcua.sdk.core.util.StreamUtil.opt2stream;
 
 public class UaMethodNode extends UaNode implements MethodNode {
@@ -92,15 +89,13 @@ public class UaMethodNode extends UaNode implements MethodNode {
     }
 
     public List<Node> getPropertyNodes() {
-        return getReferences().stream()
-            .filter(HAS_PROPERTY_PREDICATE)
+        return streamReferences(Identifiers.HasProperty, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
 
     public Optional<ObjectNode> getModellingRuleNode() {
-        Node node = getReferences().stream()
-            .filter(HAS_MODELLING_RULE_PREDICATE)
+        Node node = streamReferences(Identifiers.HasModellingRule, true)
             .findFirst()
             .flatMap(r -> getNode(r.getTargetNodeId()))
             .orElse(null);
@@ -111,8 +106,7 @@ public class UaMethodNode extends UaNode implements MethodNode {
     }
 
     public List<Node> getAlwaysGeneratesEventNodes() {
-        return getReferences().stream()
-            .filter(ALWAYS_GENERATES_EVENT_PREDICATE)
+        return streamReferences(Identifiers.AlwaysGeneratesEvent, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
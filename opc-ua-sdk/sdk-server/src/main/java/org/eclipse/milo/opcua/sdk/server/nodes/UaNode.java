@@ -19,10 +19,11 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 
 import com.google.common.base.Preconditions;
@@ -44,6 +45,7 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
 import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,7 +60,7 @@ public abstract class UaNode implements ServerNode {
 
     private final AtomicInteger refCount = new AtomicInteger(0);
 
-    private final List<Reference> references = new CopyOnWriteArrayList<>();
+    private final ReferenceIndex references = new ReferenceIndex();
 
     private final AtomicReference<AttributeDelegate> attributeDelegate =
         new AtomicReference<>(DEFAULT_ATTRIBUTE_DELEGATE);
@@ -204,7 +206,30 @@ public abstract class UaNode implements ServerNode {
     }
 
     public ImmutableList<Reference> getReferences() {
-        return ImmutableList.copyOf(references);
+        return ImmutableList.copyOf(references.references());
+    }
+
+    @Override
+    public Stream<Reference> streamReferences(BrowseDirection direction, Predicate<NodeId> referenceTypeFilter) {
+        return references.stream(direction, referenceTypeFilter);
+    }
+
+    @Override
+    public Stream<Reference> streamReferences(NodeId referenceTypeId, boolean forward) {
+        return references.stream(referenceTypeId, forward);
+    }
+
+    /**
+     * Find the target of a {@link Reference} of exactly {@code referenceTypeId} by its BrowseName, without scanning
+     * every reference of this node once the target has been resolved.
+     *
+     * @param referenceTypeId the reference type id.
+     * @param forward         {@code true} for a forward reference, {@code false} for an inverse reference.
+     * @param browseName      the BrowseName of the target.
+     * @return the target, if there is one and it is in the {@link ServerNodeMap}.
+     */
+    public Optional<ServerNode> findReferenceTarget(NodeId referenceTypeId, boolean forward, QualifiedName browseName) {
+        return references.findTarget(referenceTypeId, forward, browseName, this::getNode);
     }
 
     public synchronized void addReference(Reference reference) {
@@ -246,14 +271,12 @@ public abstract class UaNode implements ServerNode {
 
         ExpandedNodeId expanded = getNodeId().expanded();
 
-        List<ServerNode> referencedNodes = getReferences().stream()
-            .filter(Reference::isForward)
+        List<ServerNode> referencedNodes = streamReferences(BrowseDirection.Forward, referenceTypeId -> true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
 
         for (ServerNode node : referencedNodes) {
-            List<Reference> inverseReferences = node.getReferences().stream()
-                .filter(Reference::isInverse)
+            List<Reference> inverseReferences = node.streamReferences(BrowseDirection.Inverse, referenceTypeId -> true)
                 .filter(r -> r.getTargetNodeId().equals(expanded))
                 .collect(Collectors.toList());
 
@@ -314,11 +337,7 @@ public abstract class UaNode implements ServerNode {
     }
 
     public Optional<VariableNode> getPropertyNode(QualifiedName browseName) {
-        Node node = references.stream()
-            .filter(Reference.HAS_PROPERTY_PREDICATE)
-            .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
-            .filter(n -> n.getBrowseName().equals(browseName))
-            .findFirst().orElse(null);
+        Node node = findReferenceTarget(Identifiers.HasProperty, true, browseName).orElse(null);
 
         try {
             return Optional.ofNullable((VariableNode) node);
@@ -368,13 +387,8 @@ public abstract class UaNode implements ServerNode {
     }
 
     protected Optional<ObjectNode> getObjectComponent(QualifiedName browseName) {
-        ObjectNode node = (ObjectNode) references.stream()
-            .filter(Reference.HAS_COMPONENT_PREDICATE.and(r -> r.getTargetNodeClass() == NodeClass.Object))
-            .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
-            .filter(n -> n.getBrowseName().equals(browseName))
-            .findFirst().orElse(null);
-
-        return Optional.ofNullable(node);
+        return references.findTarget(Identifiers.HasComponent, true, browseName, NodeClass.Object, this::getNode)
+            .map(ObjectNode.class::cast);
     }
 
     protected Optional<VariableNode> getVariableComponent(String browseName) {
@@ -382,13 +396,8 @@ public abstract class UaNode implements ServerNode {
     }
 
     protected Optional<VariableNode> getVariableComponent(QualifiedName browseName) {
-        VariableNode node = (VariableNode) references.stream()
-            .filter(Reference.HAS_COMPONENT_PREDICATE.and(r -> r.getTargetNodeClass() == NodeClass.Variable))
-            .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
-            .filter(n -> n.getBrowseName().equals(browseName))
-            .findFirst().orElse(null);
-
-        return Optional.ofNullable(node);
+        return references.findTarget(Identifiers.HasComponent, true, browseName, NodeClass.Variable, this::getNode)
+            .map(VariableNode.class::cast);
     }
 
     public synchronized void addAttributeObserver(AttributeObserver observer) {
@@ -443,6 +452,13 @@ public abstract class UaNode implements ServerNode {
         this.attributeDelegate.set(attributeDelegate);
     }
 
+    /**
+     * @return the {@link AttributeDelegate} for this node.
+     */
+    public AttributeDelegate getAttributeDelegate() {
+        return attributeDelegate.get();
+    }
+
     @Override
     public DataValue getAttribute(AttributeContext context, AttributeId attributeId) {
         return attributeDelegate.get().getAttribute(context, this, attributeId);
@@ -42,13 +42,6 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.NamingRuleType;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_COMPONENT_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_DESCRIPTION_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_EVENT_SOURCE_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_NOTIFIER_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_PROPERTY_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_TYPE_DEFINITION_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.ORGANIZES_PREDICATE;
 import static org.eclipse.milo.opcua.sdk.core.util.StreamUtil.opt2stream;
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ubyte;
 
@@ -106,22 +99,19 @@ public class UaObjectNode extends UaNode implements ObjectNode {
     }
 
     public List<Node> getComponentNodes() {
-        return getReferences().stream()
-            .filter(HAS_COMPONENT_PREDICATE)
+        return streamReferences(Identifiers.HasComponent, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
 
     public List<Node> getPropertyNodes() {
-        return getReferences().stream()
-            .filter(HAS_PROPERTY_PREDICATE)
+        return streamReferences(Identifiers.HasProperty, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
 
     public ObjectTypeNode getTypeDefinitionNode() {
-        Node node = getReferences().stream()
-            .filter(HAS_TYPE_DEFINITION_PREDICATE)
+        Node node = streamReferences(Identifiers.HasTypeDefinition, true)
             .findFirst()
             .flatMap(r -> getNode(r.getTargetNodeId()))
             .orElse(null);
@@ -130,29 +120,25 @@ public class UaObjectNode extends UaNode implements ObjectNode {
     }
 
     public List<Node> getEventSourceNodes() {
-        return getReferences().stream()
-            .filter(HAS_EVENT_SOURCE_PREDICATE)
+        return streamReferences(Identifiers.HasEventSource, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
 
     public List<Node> getNotifierNodes() {
-        return getReferences().stream()
-            .filter(HAS_NOTIFIER_PREDICATE)
+        return streamReferences(Identifiers.HasNotifier, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
 
     public List<Node> getOrganizesNodes() {
-        return getReferences().stream()
-            .filter(ORGANIZES_PREDICATE)
+        return streamReferences(Identifiers.Organizes, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
 
     public Optional<Node> getDescriptionNode() {
-        Optional<ServerNode> node = getReferences().stream()
-            .filter(HAS_DESCRIPTION_PREDICATE)
+        Optional<ServerNode> node = streamReferences(Identifiers.HasDescription, true)
             .findFirst()
             .flatMap(r -> getNode(r.getTargetNodeId()));
 
@@ -32,6 +32,7 @@ import org.eclipse.milo.opcua.sdk.server.api.nodes.Node;
 import org.eclipse.milo.opcua.sdk.server.api.nodes.ObjectNode;
 import org.eclipse.milo.opcua.sdk.server.api.nodes.VariableNode;
 import org.eclipse.milo.opcua.sdk.server.api.nodes.VariableTypeNode;
+import org.eclipse.milo.opcua.sdk.server.util.ValueCache;
 import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.Identifiers;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
@@ -51,10 +52,6 @@ import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 import org.eclipse.milo.opcua.stack.core.types.structured.EUInformation;
 import org.eclipse.milo.opcua.stack.core.types.structured.TimeZoneDataType;
 
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_COMPONENT_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_MODELLING_RULE_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_PROPERTY_PREDICATE;
-import static org.eclipse.milo.opcua.sdk.core.Reference.HAS_TYPE_DEFINITION_PREDICATE;
 import static org.eclipse.milo.opcua.sdk.core.util.StreamUtil.opt2stream;
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ubyte;
 
@@ -170,6 +167,10 @@ public class UaVariableNode extends UaNode implements VariableNode {
     public synchronized void setValue(DataValue value) {
         this.value = value;
 
+        ServerNodeMap nodeMap = getNodeMap();
+        ValueCache valueCache = nodeMap != null ? nodeMap.getValueCache() : null;
+        if (valueCache != null) valueCache.put(this, value);
+
         fireAttributeChanged(AttributeId.Value, value);
     }
 
@@ -223,8 +224,7 @@ public class UaVariableNode extends UaNode implements VariableNode {
     }
 
     public Optional<ObjectNode> getModellingRuleNode() {
-        Node node = getReferences().stream()
-            .filter(HAS_MODELLING_RULE_PREDICATE)
+        Node node = streamReferences(Identifiers.HasModellingRule, true)
             .findFirst()
             .flatMap(r -> getNode(r.getTargetNodeId()))
             .orElse(null);
@@ -235,22 +235,19 @@ public class UaVariableNode extends UaNode implements VariableNode {
     }
 
     public List<Node> getPropertyNodes() {
-        return getReferences().stream()
-            .filter(HAS_PROPERTY_PREDICATE)
+        return streamReferences(Identifiers.HasProperty, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
 
     public List<Node> getComponentNodes() {
-        return getReferences().stream()
-            .filter(HAS_COMPONENT_PREDICATE)
+        return streamReferences(Identifiers.HasComponent, true)
             .flatMap(r -> opt2stream(getNode(r.getTargetNodeId())))
             .collect(Collectors.toList());
     }
 
     public VariableTypeNode getTypeDefinitionNode() {
-        Node node = getReferences().stream()
-            .filter(HAS_TYPE_DEFINITION_PREDICATE)
+        Node node = streamReferences(Identifiers.HasTypeDefinition, true)
             .findFirst()
             .flatMap(r -> getNode(r.getTargetNodeId()))
             .orElse(null);
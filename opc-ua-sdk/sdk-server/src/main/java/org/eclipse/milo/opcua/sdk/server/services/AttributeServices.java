@@ -23,8 +23,10 @@ import org.eclipse.milo.opcua.sdk.server.Session;
 import org.eclipse.milo.opcua.sdk.server.api.AttributeManager.ReadContext;
 import org.eclipse.milo.opcua.sdk.server.api.AttributeManager.WriteContext;
 import org.eclipse.milo.opcua.sdk.server.api.Namespace;
+import org.eclipse.milo.opcua.sdk.server.nodes.AttributeContext;
 import org.eclipse.milo.opcua.sdk.server.util.PendingRead;
 import org.eclipse.milo.opcua.sdk.server.util.PendingWrite;
+import org.eclipse.milo.opcua.sdk.server.util.ValueCache;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.application.services.AttributeServiceSet;
 import org.eclipse.milo.opcua.stack.core.application.services.ServiceRequest;
@@ -85,14 +87,28 @@ public class AttributeServices implements AttributeServiceSet {
             return;
         }
 
-
         List<PendingRead> pendingReads = newArrayListWithCapacity(nodesToRead.size());
         List<CompletableFuture<DataValue>> futures = newArrayListWithCapacity(nodesToRead.size());
 
+        // Values no older than MaxAge are read from the ValueCache; only the rest are read from their Namespace.
+
+        double maxAge = request.getMaxAge();
+        ValueCache valueCache = server.getValueCache();
+        AttributeContext attributeContext = (maxAge > 0d) ? new AttributeContext(server, session) : null;
+
         for (ReadValueId id : nodesToRead) {
             PendingRead pending = new PendingRead(id);
 
-            pendingReads.add(pending);
+            DataValue cached = (attributeContext != null) ?
+                valueCache.read(server.getNodeMap(), attributeContext, id, maxAge, request.getTimestampsToReturn()) :
+                null;
+
+            if (cached != null) {
+                pending.getFuture().complete(cached);
+            } else {
+                pendingReads.add(pending);
+            }
+
             futures.add(pending.getFuture());
         }
 
@@ -13,10 +13,12 @@
 
 package org.eclipse.milo.opcua.sdk.server.services.helpers;
 
-import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import com.google.common.collect.Lists;
 import com.google.common.primitives.Ints;
@@ -27,10 +29,13 @@ import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
 import org.eclipse.milo.opcua.sdk.server.api.AccessContext;
 import org.eclipse.milo.opcua.sdk.server.api.AttributeManager.ReadContext;
 import org.eclipse.milo.opcua.sdk.server.api.Namespace;
+import org.eclipse.milo.opcua.sdk.server.api.config.OpcUaServerConfigLimits;
 import org.eclipse.milo.opcua.sdk.server.services.ServiceAttributes;
 import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.ReferenceType;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.application.services.ServiceRequest;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
@@ -41,6 +46,7 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseResultMask;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
@@ -137,8 +143,12 @@ public class BrowseHelper {
             NamespaceManager namespaceManager = server.getNamespaceManager();
             Namespace namespace = namespaceManager.getNamespace(browseDescription.getNodeId().getNamespaceIndex());
 
-            CompletableFuture<List<Reference>> referencesFuture =
-                namespace.browse(context, browseDescription.getNodeId());
+            CompletableFuture<List<Reference>> referencesFuture = namespace.browse(
+                context,
+                browseDescription.getNodeId(),
+                browseDescription.getBrowseDirection(),
+                this::referenceTypeFilter
+            );
 
             referencesFuture.whenComplete((references, ex) -> {
                 if (references != null) {
@@ -153,66 +163,58 @@ public class BrowseHelper {
         }
 
         private CompletableFuture<BrowseResult> browse(List<Reference> references) {
-            List<CompletableFuture<ReferenceDescription>> fs = references.stream()
-                .filter(this::directionFilter)
-                .filter(this::referenceTypeFilter)
+            List<Reference> filtered = references.stream()
                 .filter(this::nodeClassFilter)
                 .distinct()
-                .map(this::referenceDescription)
                 .collect(toList());
 
-            return FutureUtils.sequence(fs).thenApply(referenceDescriptions -> {
-                int max = maxReferencesPerNode.longValue() == 0 ?
-                    Integer.MAX_VALUE :
-                    Ints.saturatedCast(maxReferencesPerNode.longValue());
+            int max = maxReferencesPerNode.longValue() == 0 ?
+                Integer.MAX_VALUE :
+                Ints.saturatedCast(maxReferencesPerNode.longValue());
 
-                return browseResult(referenceDescriptions, max);
-            });
-        }
+            ReferenceDescriber describer = new ReferenceDescriber(
+                server, context, browseResultMasks(browseDescription.getResultMask().longValue()));
 
-        private BrowseResult browseResult(List<ReferenceDescription> references, int max) {
-            if (references.size() > max) {
-                if (server.getBrowseContinuationPoints().size() >
-                    server.getConfig().getLimits().getMaxBrowseContinuationPoints().intValue()) {
+            if (filtered.size() <= max) {
+                return describe(filtered, describer)
+                    .thenApply(descriptions -> new BrowseResult(
+                        StatusCode.GOOD, null, descriptions.toArray(new ReferenceDescription[descriptions.size()])))
+                    .exceptionally(BrowseHelper::failedResult);
+            }
 
-                    return new BrowseResult(BAD_NO_CONTINUATION_POINTS, null, new ReferenceDescription[0]);
-                } else {
-                    List<ReferenceDescription> subList = references.subList(0, max);
-                    List<ReferenceDescription> current = Lists.newArrayList(subList);
-                    subList.clear();
+            BrowseContinuationPoint c = new BrowseContinuationPoint(
+                filtered, max, describer, continuationPointTimeout(server));
 
-                    BrowseContinuationPoint c = new BrowseContinuationPoint(references, max);
-                    server.getBrowseContinuationPoints().put(c.identifier, c);
+            c.claim();
 
-                    return new BrowseResult(
-                        StatusCode.GOOD, c.identifier, current.toArray(new ReferenceDescription[current.size()]));
-                }
-            } else {
-                return new BrowseResult(
-                    StatusCode.GOOD, null, references.toArray(new ReferenceDescription[references.size()]));
+            if (!register(server, c)) {
+                return CompletableFuture.completedFuture(
+                    new BrowseResult(BAD_NO_CONTINUATION_POINTS, null, new ReferenceDescription[0]));
             }
-        }
 
-        private boolean directionFilter(Reference reference) {
-            switch (browseDescription.getBrowseDirection()) {
-                case Forward:
-                    return reference.isForward();
-                case Inverse:
-                    return reference.isInverse();
-                case Both:
-                default:
-                    return true;
-            }
+            return nextPage(server, c);
         }
 
-        private boolean referenceTypeFilter(Reference reference) {
+        /**
+         * Tested once per reference type of the browsed node rather than once per reference when the namespace
+         * indexes its references by type.
+         */
+        private boolean referenceTypeFilter(NodeId typeId) {
             NodeId referenceTypeId = browseDescription.getReferenceTypeId();
 
             boolean includeAny = referenceTypeId == null || referenceTypeId.isNull();
             boolean includeSubtypes = browseDescription.getIncludeSubtypes();
 
-            return includeAny || reference.getReferenceTypeId().equals(referenceTypeId) ||
-                (includeSubtypes && reference.subtypeOf(referenceTypeId, server.getReferenceTypes()));
+            return includeAny || typeId.equals(referenceTypeId) ||
+                (includeSubtypes && subtypeOf(typeId, referenceTypeId));
+        }
+
+        private boolean subtypeOf(NodeId typeId, NodeId superTypeId) {
+            ReferenceType referenceType = server.getReferenceTypes().get(typeId);
+
+            return referenceType != null && referenceType.getSuperTypeId()
+                .map(id -> id.equals(superTypeId) || subtypeOf(id, superTypeId))
+                .orElse(false);
         }
 
         private boolean nodeClassFilter(Reference reference) {
@@ -224,16 +226,35 @@ public class BrowseHelper {
             return nodeClasses.contains(reference.getTargetNodeClass());
         }
 
-        private CompletableFuture<ReferenceDescription> referenceDescription(Reference reference) {
-            EnumSet<BrowseResultMask> masks = browseResultMasks(browseDescription.getResultMask().longValue());
+    }
+
+    /**
+     * Resolves {@link Reference}s into {@link ReferenceDescription}s.
+     * <p>
+     * Holds only what describing a target needs, so a {@link BrowseContinuationPoint} doesn't keep the rest of its
+     * Browse reachable.
+     */
+    private static class ReferenceDescriber implements Function<Reference, CompletableFuture<ReferenceDescription>> {
+
+        private final OpcUaServer server;
+        private final AccessContext context;
+        private final EnumSet<BrowseResultMask> masks;
+
+        private ReferenceDescriber(OpcUaServer server, AccessContext context, EnumSet<BrowseResultMask> masks) {
+            this.server = server;
+            this.context = context;
+            this.masks = masks;
+        }
 
+        @Override
+        public CompletableFuture<ReferenceDescription> apply(Reference reference) {
             ExpandedNodeId targetNodeId = reference.getTargetNodeId();
 
             NodeId referenceTypeId = masks.contains(BrowseResultMask.ReferenceTypeId) ?
                 reference.getReferenceTypeId() : NodeId.NULL_VALUE;
 
             return targetNodeId.local().map(nodeId -> {
-                CompletableFuture<BrowseAttributes> af = browseAttributes(nodeId, masks);
+                CompletableFuture<BrowseAttributes> af = browseAttributes(nodeId);
 
                 return af.thenCombine(getTypeDefinition(nodeId), (as, typeDefinition) ->
                     new ReferenceDescription(
@@ -249,10 +270,19 @@ public class BrowseHelper {
                     referenceTypeId, reference.isForward(), targetNodeId,
                     QualifiedName.NULL_VALUE, LocalizedText.NULL_VALUE,
                     NodeClass.Unspecified, ExpandedNodeId.NULL_VALUE))
-            );
+            ).exceptionally(ex -> {
+                // e.g. the target was deleted since the Browse; describe it from the Reference alone.
+                NodeClass nodeClass = masks.contains(BrowseResultMask.NodeClass) ?
+                    reference.getTargetNodeClass() : NodeClass.Unspecified;
+
+                return new ReferenceDescription(
+                    referenceTypeId, reference.isForward(), targetNodeId,
+                    QualifiedName.NULL_VALUE, LocalizedText.NULL_VALUE,
+                    nodeClass, ExpandedNodeId.NULL_VALUE);
+            });
         }
 
-        private CompletableFuture<BrowseAttributes> browseAttributes(NodeId nodeId, EnumSet<BrowseResultMask> masks) {
+        private CompletableFuture<BrowseAttributes> browseAttributes(NodeId nodeId) {
             List<ReadValueId> readValueIds = Lists.newArrayList();
 
             readValueIds.add(new ReadValueId(nodeId, AttributeId.BrowseName.uid(), null, QualifiedName.NULL_VALUE));
@@ -301,9 +331,10 @@ public class BrowseHelper {
         private CompletableFuture<ExpandedNodeId> getTypeDefinition(NodeId nodeId) {
             Namespace namespace = server.getNamespaceManager().getNamespace(nodeId.getNamespaceIndex());
 
-            return namespace.browse(context, nodeId).thenApply(references ->
+            return namespace.browse(
+                context, nodeId, BrowseDirection.Forward, Identifiers.HasTypeDefinition::equals
+            ).thenApply(references ->
                 references.stream()
-                    .filter(r -> Identifiers.HasTypeDefinition.equals(r.getReferenceTypeId()))
                     .findFirst()
                     .map(Reference::getTargetNodeId)
                     .orElse(ExpandedNodeId.NULL_VALUE));
@@ -327,24 +358,33 @@ public class BrowseHelper {
         public void run() {
             BrowseNextRequest request = service.getRequest();
 
-            List<BrowseResult> results = Lists.newArrayList();
+            removeExpired(server);
+
+            List<CompletableFuture<BrowseResult>> results = Lists.newArrayList();
 
             ByteString[] cs = request.getContinuationPoints() != null ?
                 request.getContinuationPoints() : new ByteString[0];
 
             for (ByteString bs : cs) {
                 if (request.getReleaseContinuationPoints()) {
-                    results.add(release(bs));
+                    results.add(CompletableFuture.completedFuture(release(bs)));
                 } else {
                     results.add(references(bs));
                 }
             }
 
-            ResponseHeader header = service.createResponseHeader();
-            BrowseNextResponse response = new BrowseNextResponse(
-                header, results.toArray(new BrowseResult[results.size()]), new DiagnosticInfo[0]);
+            FutureUtils.sequence(results).whenComplete((rs, ex) -> {
+                if (rs != null) {
+                    ResponseHeader header = service.createResponseHeader();
+                    BrowseNextResponse response = new BrowseNextResponse(
+                        header, rs.toArray(new BrowseResult[rs.size()]), new DiagnosticInfo[0]);
 
-            service.setResponse(response);
+                    service.setResponse(response);
+                } else {
+                    service.setServiceFault(UaException.extract(ex)
+                        .orElse(new UaException(StatusCodes.Bad_InternalError, ex)));
+                }
+            });
         }
 
         private BrowseResult release(ByteString bs) {
@@ -355,55 +395,205 @@ public class BrowseHelper {
                 new BrowseResult(BAD_CONTINUATION_POINT_INVALID, null, null);
         }
 
-        private BrowseResult references(ByteString bs) {
-            BrowseContinuationPoint c = server.getBrowseContinuationPoints().remove(bs);
+        private CompletableFuture<BrowseResult> references(ByteString bs) {
+            BrowseContinuationPoint c = server.getBrowseContinuationPoints().get(bs);
 
-            if (c != null) {
-                int max = c.max;
-                List<ReferenceDescription> references = c.references;
+            // Claimed rather than removed, so it keeps its place under MaxBrowseContinuationPoints while paging.
+            if (c != null && c.claim()) {
+                if (!c.isExpired()) {
+                    return nextPage(server, c);
+                }
 
-                if (references.size() > max) {
-                    List<ReferenceDescription> subList = references.subList(0, max);
-                    List<ReferenceDescription> current = Lists.newArrayList(subList);
-                    subList.clear();
+                server.getBrowseContinuationPoints().remove(bs, c);
+            }
 
-                    server.getBrowseContinuationPoints().put(c.identifier, c);
+            return CompletableFuture.completedFuture(
+                new BrowseResult(BAD_CONTINUATION_POINT_INVALID, null, null));
+        }
 
-                    return new BrowseResult(
-                        StatusCode.GOOD,
-                        c.identifier,
-                        current.toArray(new ReferenceDescription[current.size()]));
-                } else {
-                    return new BrowseResult(
-                        StatusCode.GOOD,
-                        null,
-                        references.toArray(new ReferenceDescription[references.size()]));
-                }
+    }
+
+    /**
+     * Resolve the next page of {@code c}'s references into {@link ReferenceDescription}s, then release {@code c}.
+     * <p>
+     * {@code c} must have been claimed. If references remain it stays registered under its identifier; otherwise, or
+     * if the page can't be resolved, it is unregistered.
+     */
+    private static CompletableFuture<BrowseResult> nextPage(OpcUaServer server, BrowseContinuationPoint c) {
+        Map<ByteString, BrowseContinuationPoint> continuationPoints = server.getBrowseContinuationPoints();
+
+        return describe(c.nextPage(), c.describer).thenApply(references -> {
+            ByteString identifier = null;
+
+            if (c.hasRemaining(0) && continuationPoints.get(c.identifier) == c) {
+                c.touch();
+                identifier = c.identifier;
             } else {
-                return new BrowseResult(BAD_CONTINUATION_POINT_INVALID, null, null);
+                continuationPoints.remove(c.identifier, c);
             }
+
+            return new BrowseResult(
+                StatusCode.GOOD, identifier, references.toArray(new ReferenceDescription[references.size()]));
+        }).exceptionally(ex -> {
+            continuationPoints.remove(c.identifier, c);
+
+            return failedResult(ex);
+        }).whenComplete((r, ex) -> c.release());
+    }
+
+    private static CompletableFuture<List<ReferenceDescription>> describe(
+        List<Reference> references,
+        Function<Reference, CompletableFuture<ReferenceDescription>> describer) {
+
+        try {
+            List<CompletableFuture<ReferenceDescription>> fs = references.stream()
+                .map(describer)
+                .collect(toList());
+
+            return FutureUtils.sequence(fs);
+        } catch (Throwable t) {
+            return FutureUtils.failedFuture(t);
+        }
+    }
+
+    private static BrowseResult failedResult(Throwable ex) {
+        StatusCode statusCode = UaException.extract(ex)
+            .map(UaException::getStatusCode)
+            .orElse(new StatusCode(StatusCodes.Bad_InternalError));
+
+        return new BrowseResult(statusCode, null, new ReferenceDescription[0]);
+    }
+
+    /**
+     * Register {@code c} under its identifier unless MaxBrowseContinuationPoints are already registered.
+     *
+     * @return {@code true} if {@code c} was registered.
+     */
+    private static boolean register(OpcUaServer server, BrowseContinuationPoint c) {
+        Map<ByteString, BrowseContinuationPoint> continuationPoints = server.getBrowseContinuationPoints();
+
+        int max = server.getConfig().getLimits().getMaxBrowseContinuationPoints().intValue();
+
+        // Check and register together, so concurrent Browse calls can't go over the limit.
+        synchronized (continuationPoints) {
+            removeExpired(server);
+
+            if (continuationPoints.size() >= max) {
+                return false;
+            }
+
+            continuationPoints.put(c.identifier, c);
+
+            return true;
         }
+    }
 
+    private static void removeExpired(OpcUaServer server) {
+        server.getBrowseContinuationPoints().values().removeIf(c -> c.isExpired() && !c.isClaimed());
     }
 
+    private static long continuationPointTimeout(OpcUaServer server) {
+        Double timeout = server.getConfig().getLimits().getBrowseContinuationPointTimeout();
+
+        return TimeUnit.NANOSECONDS.convert(timeout.longValue(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A cursor over the references of a Browse that didn't fit in {@code maxReferencesPerNode}.
+     * <p>
+     * Only the matching {@link Reference}s are retained; the {@link ReferenceDescription}s of a page, and the target
+     * attributes they need, are resolved when the page is returned. A continuation point expires when it hasn't been
+     * used for {@link OpcUaServerConfigLimits#getBrowseContinuationPointTimeout()}.
+     */
     public static class BrowseContinuationPoint {
 
-        private final List<ReferenceDescription> references;
+        private final List<Reference> references;
         private final int max;
+        private final Function<Reference, CompletableFuture<ReferenceDescription>> describer;
+        private final long timeoutNanos;
         private final ByteString identifier;
 
-        public BrowseContinuationPoint(List<ReferenceDescription> references, int max) {
-            this(references, max, generateId());
+        private int position = 0;
+        private boolean claimed = false;
+        private volatile long expiresAt;
+
+        public BrowseContinuationPoint(
+            List<Reference> references,
+            int max,
+            Function<Reference, CompletableFuture<ReferenceDescription>> describer,
+            long timeoutNanos) {
+
+            this(references, max, describer, timeoutNanos, generateId());
         }
 
-        public BrowseContinuationPoint(List<ReferenceDescription> references, int max, ByteString identifier) {
-            this.references = Collections.synchronizedList(references);
+        public BrowseContinuationPoint(
+            List<Reference> references,
+            int max,
+            Function<Reference, CompletableFuture<ReferenceDescription>> describer,
+            long timeoutNanos,
+            ByteString identifier) {
+
+            this.references = references;
             this.max = max;
+            this.describer = describer;
+            this.timeoutNanos = timeoutNanos;
             this.identifier = identifier;
+
+            touch();
+        }
+
+        /**
+         * @return the next page of at most {@code max} references, advancing the cursor past them.
+         */
+        synchronized List<Reference> nextPage() {
+            int end = (int) Math.min((long) position + max, references.size());
+
+            List<Reference> page = Lists.newArrayList(references.subList(position, end));
+
+            position = end;
+
+            return page;
+        }
+
+        /**
+         * @param pending the number of references about to be returned.
+         * @return {@code true} if references remain after {@code pending} more are returned.
+         */
+        synchronized boolean hasRemaining(int pending) {
+            return references.size() - position > pending;
+        }
+
+        /**
+         * Claim this continuation point for resolving its next page.
+         *
+         * @return {@code true} if claimed, {@code false} if another Browse or BrowseNext already holds it.
+         */
+        synchronized boolean claim() {
+            if (claimed) return false;
+
+            claimed = true;
+
+            return true;
+        }
+
+        synchronized void release() {
+            claimed = false;
+        }
+
+        synchronized boolean isClaimed() {
+            return claimed;
+        }
+
+        void touch() {
+            expiresAt = System.nanoTime() + timeoutNanos;
+        }
+
+        public boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
         }
 
-        public List<ReferenceDescription> getReferences() {
-            return references;
+        public synchronized int getRemaining() {
+            return references.size() - position;
         }
 
         public int getMax() {
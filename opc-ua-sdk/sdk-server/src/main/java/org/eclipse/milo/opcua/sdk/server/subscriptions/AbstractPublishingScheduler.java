@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.subscriptions;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base {@link PublishingScheduler} that keeps {@link PublishingLateness} for each publishing interval.
+ */
+public abstract class AbstractPublishingScheduler implements PublishingScheduler {
+
+    private final Map<Long, PublishingLateness> lateness = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<Long, PublishingLateness> getLateness() {
+        return Collections.unmodifiableMap(lateness);
+    }
+
+    /**
+     * Wrap {@code task} so that, when it runs, its lateness relative to {@code deadlineNanos} is recorded.
+     *
+     * @param publishingInterval the publishing interval the task belongs to.
+     * @param deadlineNanos      the {@link System#nanoTime()} the task should run at.
+     * @param task               the task to wrap.
+     * @return a {@link Runnable} that records lateness and then runs {@code task}.
+     */
+    protected Runnable timed(long publishingInterval, long deadlineNanos, Runnable task) {
+        PublishingLateness intervalLateness =
+            lateness.computeIfAbsent(publishingInterval, i -> new PublishingLateness());
+
+        return () -> {
+            intervalLateness.record(System.nanoTime() - deadlineNanos);
+
+            task.run();
+        };
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.subscriptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Preconditions;
+import org.eclipse.milo.opcua.sdk.server.DiagnosticsContext;
+import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
+import org.eclipse.milo.opcua.sdk.server.Session;
+import org.eclipse.milo.opcua.sdk.server.api.AttributeManager.ReadContext;
+import org.eclipse.milo.opcua.sdk.server.api.Namespace;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+
+/**
+ * Reads the same attributes of many nodes in a {@link Namespace} with one Read per batch of nodes, rather than one
+ * Read per node.
+ * <p>
+ * At most {@code parallelism} batches are outstanding at a time; each completed batch starts the next one.
+ */
+final class AttributeBatchReader {
+
+    static final int DEFAULT_BATCH_SIZE = 1024;
+    static final int DEFAULT_PARALLELISM = 4;
+
+    private final OpcUaServer server;
+    private final int batchSize;
+    private final int parallelism;
+
+    AttributeBatchReader(OpcUaServer server) {
+        this(server, DEFAULT_BATCH_SIZE, DEFAULT_PARALLELISM);
+    }
+
+    AttributeBatchReader(OpcUaServer server, int batchSize, int parallelism) {
+        Preconditions.checkArgument(batchSize > 0, "batchSize must be > 0");
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be > 0");
+
+        this.server = server;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Read {@code attributeIds} of every node in {@code nodeIds}.
+     *
+     * @param session      the {@link Session} to read as, or {@code null}.
+     * @param namespace    the {@link Namespace} all of {@code nodeIds} belong to.
+     * @param nodeIds      the nodes to read.
+     * @param attributeIds the attributes to read from each node.
+     * @return a future completing with one list per node, in the order of {@code nodeIds}, holding the values of
+     * {@code attributeIds} in order.
+     */
+    CompletableFuture<List<List<DataValue>>> read(@Nullable Session session,
+                                                  Namespace namespace,
+                                                  List<NodeId> nodeIds,
+                                                  List<AttributeId> attributeIds) {
+
+        if (nodeIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        BatchRead batchRead = new BatchRead(session, namespace, nodeIds, attributeIds);
+
+        for (int i = 0; i < Math.min(parallelism, batchRead.batchCount); i++) {
+            batchRead.readNextBatch();
+        }
+
+        return batchRead.future;
+    }
+
+    private final class BatchRead {
+
+        private final CompletableFuture<List<List<DataValue>>> future = new CompletableFuture<>();
+
+        private final AtomicInteger nextBatch = new AtomicInteger(0);
+        private final AtomicInteger remainingBatches;
+
+        private final List<DataValue>[] results;
+        private final int batchCount;
+
+        private final Session session;
+        private final Namespace namespace;
+        private final List<NodeId> nodeIds;
+        private final List<AttributeId> attributeIds;
+
+        @SuppressWarnings("unchecked")
+        BatchRead(@Nullable Session session,
+                  Namespace namespace,
+                  List<NodeId> nodeIds,
+                  List<AttributeId> attributeIds) {
+
+            this.session = session;
+            this.namespace = namespace;
+            this.nodeIds = nodeIds;
+            this.attributeIds = attributeIds;
+
+            results = new List[nodeIds.size()];
+            batchCount = (nodeIds.size() + batchSize - 1) / batchSize;
+            remainingBatches = new AtomicInteger(batchCount);
+        }
+
+        void readNextBatch() {
+            int batch = nextBatch.getAndIncrement();
+
+            if (batch >= batchCount || future.isDone()) {
+                return;
+            }
+
+            int from = batch * batchSize;
+            int to = Math.min(from + batchSize, nodeIds.size());
+            int attributeCount = attributeIds.size();
+
+            List<ReadValueId> readValueIds = new ArrayList<>((to - from) * attributeCount);
+
+            for (int i = from; i < to; i++) {
+                NodeId nodeId = nodeIds.get(i);
+
+                for (AttributeId attributeId : attributeIds) {
+                    readValueIds.add(new ReadValueId(nodeId, attributeId.uid(), null, QualifiedName.NULL_VALUE));
+                }
+            }
+
+            CompletableFuture<List<DataValue>> batchFuture = new CompletableFuture<>();
+
+            batchFuture.whenComplete((values, ex) -> {
+                if (values != null && values.size() != readValueIds.size()) {
+                    future.completeExceptionally(new UaException(StatusCodes.Bad_InternalError,
+                        String.format("expected %s values, read %s", readValueIds.size(), values.size())));
+                } else if (values != null) {
+                    for (int i = from; i < to; i++) {
+                        int offset = (i - from) * attributeCount;
+
+                        results[i] = values.subList(offset, offset + attributeCount);
+                    }
+
+                    if (remainingBatches.decrementAndGet() == 0) {
+                        future.complete(Arrays.asList(results));
+                    } else {
+                        readNextBatch();
+                    }
+                } else {
+                    future.completeExceptionally(ex);
+                }
+            });
+
+            ReadContext context = new ReadContext(server, session, batchFuture, new DiagnosticsContext<>());
+
+            try {
+                namespace.read(context, 0.0, TimestampsToReturn.Neither, readValueIds);
+            } catch (Throwable t) {
+                batchFuture.completeExceptionally(t);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.subscriptions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how late publishing timers for one publishing interval started running.
+ */
+public class PublishingLateness {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * @param latenessNanos how late, in nanoseconds, a publishing timer started running.
+     */
+    public void record(long latenessNanos) {
+        long lateness = Math.max(0L, latenessNanos);
+
+        count.increment();
+        totalNanos.add(lateness);
+        maxNanos.accumulate(lateness);
+    }
+
+    /**
+     * @return the number of publishing timers that have run.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} of the returned value.
+     * @return the mean lateness, in {@code unit}.
+     */
+    public double getMeanLateness(TimeUnit unit) {
+        long count = this.count.sum();
+
+        if (count == 0L) {
+            return 0.0;
+        } else {
+            return (double) totalNanos.sum() / count / unit.toNanos(1L);
+        }
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} of the returned value.
+     * @return the maximum lateness, in {@code unit}.
+     */
+    public long getMaxLateness(TimeUnit unit) {
+        return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PublishingLateness{count=%d, meanMillis=%.3f, maxMillis=%d}",
+            getCount(), getMeanLateness(TimeUnit.MILLISECONDS), getMaxLateness(TimeUnit.MILLISECONDS));
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.subscriptions;
+
+import java.util.Map;
+
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+
+/**
+ * Schedules the publishing timer of each {@link Subscription}.
+ *
+ * @see ScheduledExecutorPublishingScheduler
+ * @see TimerWheelPublishingScheduler
+ */
+public interface PublishingScheduler {
+
+    /**
+     * Schedule {@code task} to run once, {@code delay} milliseconds from now.
+     *
+     * @param subscriptionId     the id of the {@link Subscription} the task belongs to.
+     * @param publishingInterval the publishing interval, in milliseconds, of the {@link Subscription}.
+     * @param delay              the delay, in milliseconds, before {@code task} should run.
+     * @param task               the task to run.
+     */
+    void schedule(UInteger subscriptionId, long publishingInterval, long delay, Runnable task);
+
+    /**
+     * Get how late scheduled tasks started running, relative to their deadline, keyed by publishing interval in
+     * milliseconds.
+     *
+     * @return a {@link Map} of publishing interval to {@link PublishingLateness}.
+     */
+    Map<Long, PublishingLateness> getLateness();
+
+}
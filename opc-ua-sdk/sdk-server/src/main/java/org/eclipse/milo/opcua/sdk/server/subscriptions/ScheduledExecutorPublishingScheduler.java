@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.subscriptions;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+
+/**
+ * A {@link PublishingScheduler} that schedules each publishing timer individually on a
+ * {@link ScheduledExecutorService}. Publishing timers run on the scheduler's thread(s).
+ */
+public class ScheduledExecutorPublishingScheduler extends AbstractPublishingScheduler {
+
+    private final ScheduledExecutorService scheduledExecutor;
+
+    public ScheduledExecutorPublishingScheduler(ScheduledExecutorService scheduledExecutor) {
+        this.scheduledExecutor = scheduledExecutor;
+    }
+
+    @Override
+    public void schedule(UInteger subscriptionId, long publishingInterval, long delay, Runnable task) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+
+        scheduledExecutor.schedule(
+            timed(publishingInterval, deadlineNanos, task),
+            delay,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+}
@@ -615,10 +615,11 @@ public class Subscription {
 
             setState(State.Closing);
         } else {
-            subscriptionManager.getServer().getScheduledExecutorService().schedule(
-                this::onPublishingTimer,
+            subscriptionManager.getServer().getConfig().getPublishingScheduler().schedule(
+                subscriptionId,
+                DoubleMath.roundToLong(publishingInterval, RoundingMode.UP),
                 interval,
-                TimeUnit.MILLISECONDS
+                this::onPublishingTimer
             );
         }
     }
@@ -16,22 +16,22 @@ package org.eclipse.milo.opcua.sdk.server.subscriptions;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.eclipse.milo.opcua.sdk.core.AccessLevel;
 import org.eclipse.milo.opcua.sdk.core.NumericRange;
-import org.eclipse.milo.opcua.sdk.server.DiagnosticsContext;
 import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
 import org.eclipse.milo.opcua.sdk.server.Session;
-import org.eclipse.milo.opcua.sdk.server.api.AttributeManager.ReadContext;
 import org.eclipse.milo.opcua.sdk.server.api.DataItem;
 import org.eclipse.milo.opcua.sdk.server.api.EventItem;
 import org.eclipse.milo.opcua.sdk.server.api.MonitoredItem;
@@ -39,6 +39,8 @@ import org.eclipse.milo.opcua.sdk.server.api.Namespace;
 import org.eclipse.milo.opcua.sdk.server.items.BaseMonitoredItem;
 import org.eclipse.milo.opcua.sdk.server.items.MonitoredDataItem;
 import org.eclipse.milo.opcua.sdk.server.items.MonitoredEventItem;
+import org.eclipse.milo.opcua.sdk.server.model.types.variables.AnalogItemType;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
 import org.eclipse.milo.opcua.sdk.server.subscriptions.Subscription.State;
 import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
@@ -46,18 +48,21 @@ import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.application.services.ServiceRequest;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DiagnosticInfo;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
 import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UByte;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UShort;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.DeadbandType;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.MonitoringMode;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import org.eclipse.milo.opcua.stack.core.types.structured.CreateMonitoredItemsRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.CreateMonitoredItemsResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.CreateSubscriptionRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.CreateSubscriptionResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.DataChangeFilter;
 import org.eclipse.milo.opcua.stack.core.types.structured.DeleteMonitoredItemsRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.DeleteMonitoredItemsResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.DeleteSubscriptionsRequest;
@@ -74,7 +79,7 @@ import org.eclipse.milo.opcua.stack.core.types.structured.MonitoringParameters;
 import org.eclipse.milo.opcua.stack.core.types.structured.NotificationMessage;
 import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.PublishResponse;
-import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.Range;
 import org.eclipse.milo.opcua.stack.core.types.structured.RepublishRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.RepublishResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.ResponseHeader;
@@ -85,6 +90,7 @@ import org.eclipse.milo.opcua.stack.core.types.structured.SetPublishingModeRespo
 import org.eclipse.milo.opcua.stack.core.types.structured.SetTriggeringRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.SetTriggeringResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.SubscriptionAcknowledgement;
+import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -97,6 +103,7 @@ import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.
 import static org.eclipse.milo.opcua.stack.core.util.ConversionUtil.a;
 import static org.eclipse.milo.opcua.stack.core.util.ConversionUtil.l;
 import static org.eclipse.milo.opcua.stack.core.util.FutureUtils.sequence;
+import static org.jooq.lambda.tuple.Tuple.tuple;
 
 public class SubscriptionManager {
 
@@ -105,6 +112,12 @@ public class SubscriptionManager {
 
     private static final AtomicLong SUBSCRIPTION_IDS = new AtomicLong(0L);
 
+    private static final List<AttributeId> DATA_ATTRIBUTES = ImmutableList.of(
+        AttributeId.AccessLevel, AttributeId.UserAccessLevel, AttributeId.MinimumSamplingInterval);
+
+    private static final List<AttributeId> EVENT_ATTRIBUTES = ImmutableList.of(
+        AttributeId.AccessLevel, AttributeId.UserAccessLevel, AttributeId.EventNotifier);
+
     private static UInteger nextSubscriptionId() {
         return uint(SUBSCRIPTION_IDS.incrementAndGet());
     }
@@ -120,10 +133,13 @@ public class SubscriptionManager {
 
     private final Session session;
     private final OpcUaServer server;
+    private final AttributeBatchReader attributeReader;
 
     public SubscriptionManager(Session session, OpcUaServer server) {
         this.session = session;
         this.server = server;
+
+        attributeReader = new AttributeBatchReader(server);
     }
 
     public Session getSession() {
@@ -325,6 +341,9 @@ public class SubscriptionManager {
                 .map(PendingItemCreation::new)
                 .collect(toList());
 
+            Map<UShort, List<PendingItemCreation>> dataItemsByNamespace = new LinkedHashMap<>();
+            Map<UShort, List<PendingItemCreation>> eventItemsByNamespace = new LinkedHashMap<>();
+
             for (PendingItemCreation p : pending) {
                 MonitoredItemCreateRequest r = p.getRequest();
                 NodeId nodeId = r.getItemToMonitor().getNodeId();
@@ -360,125 +379,49 @@ public class SubscriptionManager {
                     }
                 }
 
-                Namespace namespace = server.getNamespaceManager().getNamespace(nodeId.getNamespaceIndex());
+                UShort namespaceIndex = nodeId.getNamespaceIndex();
 
                 if (attributeId.equals(AttributeId.EventNotifier.uid())) {
-                    readEventAttributes(namespace, nodeId).thenAccept(as -> {
-                        Optional<UByte> eventNotifier = as.v3();
-
-                        try {
-                            if (!eventNotifier.isPresent()) {
-                                throw new UaException(StatusCodes.Bad_AttributeIdInvalid);
-                            }
-
-                            MonitoredEventItem item = new MonitoredEventItem(
-                                uint(subscription.nextItemId()),
-                                subscriptionId,
-                                r.getItemToMonitor(),
-                                r.getMonitoringMode(),
-                                timestamps,
-                                r.getRequestedParameters().getClientHandle(),
-                                0.0,
-                                r.getRequestedParameters().getQueueSize(),
-                                r.getRequestedParameters().getDiscardOldest(),
-                                r.getRequestedParameters().getFilter());
-
-                            createdItems.add(item);
-
-                            MonitoredItemCreateResult result = new MonitoredItemCreateResult(
-                                StatusCode.GOOD,
-                                item.getId(),
-                                item.getSamplingInterval(),
-                                uint(item.getQueueSize()),
-                                item.getFilterResult());
-
-                            p.getResultFuture().complete(result);
-                        } catch (UaException e) {
-                            MonitoredItemCreateResult result =
-                                new MonitoredItemCreateResult(e.getStatusCode(), uint(0), 0d, uint(0), null);
-
-                            p.getResultFuture().complete(result);
-                        }
-                    });
+                    eventItemsByNamespace.computeIfAbsent(namespaceIndex, k -> newArrayList()).add(p);
                 } else {
-                    readDataAttributes(session, namespace, nodeId).thenAccept(vs -> {
-                        try {
-                            for (DataValue value : vs) {
-                                StatusCode statusCode = value.getStatusCode();
-
-                                if (statusCode.getValue() == StatusCodes.Bad_NodeIdInvalid ||
-                                    statusCode.getValue() == StatusCodes.Bad_NodeIdUnknown) {
-                                    throw new UaException(statusCode);
-                                }
-                            }
-
-                            UByte accessLevel = Optional.ofNullable(
-                                (UByte) vs.get(0).getValue().getValue()).orElse(ubyte(1));
-
-                            UByte userAccessLevel = Optional.ofNullable(
-                                (UByte) vs.get(1).getValue().getValue()).orElse(ubyte(1));
-
-                            Double minimumSamplingInterval = Optional.ofNullable(
-                                (Double) vs.get(2).getValue().getValue()).orElse(0.0);
-
-                            EnumSet<AccessLevel> accessLevels = AccessLevel.fromMask(accessLevel);
-                            EnumSet<AccessLevel> userAccessLevels = AccessLevel.fromMask(userAccessLevel);
-
-                            double samplingInterval = r.getRequestedParameters().getSamplingInterval();
-                            double minSupportedSampleRate = server.getConfig().getLimits().getMinSupportedSampleRate();
-                            double maxSupportedSampleRate = server.getConfig().getLimits().getMaxSupportedSampleRate();
-
-                            if (samplingInterval < 0) samplingInterval = subscription.getPublishingInterval();
-                            if (samplingInterval < minimumSamplingInterval) samplingInterval = minimumSamplingInterval;
-                            if (samplingInterval < minSupportedSampleRate) samplingInterval = minSupportedSampleRate;
-                            if (samplingInterval > maxSupportedSampleRate) samplingInterval = maxSupportedSampleRate;
-
-                            if (!accessLevels.contains(AccessLevel.CurrentRead)) {
-                                throw new UaException(StatusCodes.Bad_NotReadable);
-                            }
-                            if (!userAccessLevels.contains(AccessLevel.CurrentRead)) {
-                                throw new UaException(StatusCodes.Bad_UserAccessDenied);
-                            }
-
-                            String indexRange = r.getItemToMonitor().getIndexRange();
-                            if (indexRange != null) NumericRange.parse(indexRange);
-
-                            MonitoredDataItem item = new MonitoredDataItem(
-                                uint(subscription.nextItemId()),
-                                subscriptionId,
-                                r.getItemToMonitor(),
-                                r.getMonitoringMode(),
-                                timestamps,
-                                r.getRequestedParameters().getClientHandle(),
-                                samplingInterval,
-                                r.getRequestedParameters().getFilter(),
-                                r.getRequestedParameters().getQueueSize(),
-                                r.getRequestedParameters().getDiscardOldest());
-
-                            createdItems.add(item);
-
-                            MonitoredItemCreateResult result = new MonitoredItemCreateResult(
-                                StatusCode.GOOD,
-                                item.getId(),
-                                item.getSamplingInterval(),
-                                uint(item.getQueueSize()),
-                                item.getFilterResult());
-
-                            p.getResultFuture().complete(result);
-                        } catch (Throwable t) {
-                            StatusCode statusCode = UaException.extract(t)
-                                .map(UaException::getStatusCode)
-                                .orElse(StatusCode.BAD);
-
-                            MonitoredItemCreateResult result =
-                                new MonitoredItemCreateResult(statusCode, uint(0), 0d, uint(0), null);
-
-                            p.getResultFuture().complete(result);
-                        }
-                    });
+                    dataItemsByNamespace.computeIfAbsent(namespaceIndex, k -> newArrayList()).add(p);
                 }
             }
 
+            dataItemsByNamespace.forEach((namespaceIndex, items) -> {
+                Namespace namespace = server.getNamespaceManager().getNamespace(namespaceIndex);
+
+                attributeReader.read(session, namespace, nodeIds(items), DATA_ATTRIBUTES).whenComplete((vss, ex) -> {
+                    for (int i = 0; i < items.size(); i++) {
+                        PendingItemCreation p = items.get(i);
+
+                        if (vss != null) {
+                            createDataItem(subscription, timestamps, p, vss.get(i), createdItems);
+                        } else {
+                            p.getResultFuture().complete(
+                                new MonitoredItemCreateResult(statusCode(ex), uint(0), 0d, uint(0), null));
+                        }
+                    }
+                });
+            });
+
+            eventItemsByNamespace.forEach((namespaceIndex, items) -> {
+                Namespace namespace = server.getNamespaceManager().getNamespace(namespaceIndex);
+
+                attributeReader.read(null, namespace, nodeIds(items), EVENT_ATTRIBUTES).whenComplete((vss, ex) -> {
+                    for (int i = 0; i < items.size(); i++) {
+                        PendingItemCreation p = items.get(i);
+
+                        if (vss != null) {
+                            createEventItem(subscription, timestamps, p, vss.get(i), createdItems);
+                        } else {
+                            p.getResultFuture().complete(
+                                new MonitoredItemCreateResult(statusCode(ex), uint(0), 0d, uint(0), null));
+                        }
+                    }
+                });
+            });
+
             List<CompletableFuture<MonitoredItemCreateResult>> futures = pending.stream()
                 .map(PendingItemCreation::getResultFuture)
                 .collect(toList());
@@ -553,6 +496,9 @@ public class SubscriptionManager {
             List<BaseMonitoredItem<?>> modifiedItems =
                 Collections.synchronizedList(newArrayListWithCapacity(itemsToModify.size()));
 
+            Map<UShort, List<Tuple2<PendingItemModification, BaseMonitoredItem<?>>>> itemsByNamespace =
+                new LinkedHashMap<>();
+
             /*
              * Modify requested items and prepare results.
              */
@@ -560,7 +506,6 @@ public class SubscriptionManager {
             for (PendingItemModification p : pending) {
                 MonitoredItemModifyRequest r = p.getRequest();
                 UInteger itemId = r.getMonitoredItemId();
-                MonitoringParameters parameters = r.getRequestedParameters();
 
                 BaseMonitoredItem<?> item = subscription.getMonitoredItems().get(itemId);
 
@@ -571,75 +516,29 @@ public class SubscriptionManager {
 
                     p.getResultFuture().complete(result);
                 } else {
-                    NodeId nodeId = item.getReadValueId().getNodeId();
-                    Namespace namespace = server.getNamespaceManager().getNamespace(nodeId.getNamespaceIndex());
-
-                    readDataAttributes(session, namespace, nodeId).thenAccept(vs -> {
-                        try {
-                            for (DataValue value : vs) {
-                                StatusCode statusCode = value.getStatusCode();
-
-                                if (statusCode.getValue() == StatusCodes.Bad_NodeIdInvalid ||
-                                    statusCode.getValue() == StatusCodes.Bad_NodeIdUnknown) {
-                                    throw new UaException(statusCode);
-                                }
-                            }
-
-                            UByte accessLevel = Optional.ofNullable(
-                                (UByte) vs.get(0).getValue().getValue()).orElse(ubyte(1));
-
-                            UByte userAccessLevel = Optional.ofNullable(
-                                (UByte) vs.get(1).getValue().getValue()).orElse(ubyte(1));
-
-                            Double minimumSamplingInterval = Optional.ofNullable(
-                                (Double) vs.get(2).getValue().getValue()).orElse(0.0);
-
-                            EnumSet<AccessLevel> accessLevels = AccessLevel.fromMask(accessLevel);
-                            EnumSet<AccessLevel> userAccessLevels = AccessLevel.fromMask(userAccessLevel);
-
-                            double samplingInterval = parameters.getSamplingInterval();
-                            double minSupportedSampleRate = server.getConfig().getLimits().getMinSupportedSampleRate();
-                            double maxSupportedSampleRate = server.getConfig().getLimits().getMaxSupportedSampleRate();
-
-                            if (samplingInterval < 0) samplingInterval = subscription.getPublishingInterval();
-                            if (samplingInterval < minimumSamplingInterval) samplingInterval = minimumSamplingInterval;
-                            if (samplingInterval < minSupportedSampleRate) samplingInterval = minSupportedSampleRate;
-                            if (samplingInterval > maxSupportedSampleRate) samplingInterval = maxSupportedSampleRate;
-
-                            item.modify(
-                                timestamps,
-                                parameters.getClientHandle(),
-                                samplingInterval,
-                                parameters.getFilter(),
-                                parameters.getQueueSize(),
-                                parameters.getDiscardOldest());
-
-                            modifiedItems.add(item);
-
-                            MonitoredItemModifyResult result = new MonitoredItemModifyResult(
-                                StatusCode.GOOD,
-                                item.getSamplingInterval(),
-                                uint(item.getQueueSize()),
-                                item.getFilterResult());
-
-                            p.getResultFuture().complete(result);
-                        } catch (Throwable t) {
-                            StatusCode statusCode = UaException.extract(t)
-                                .map(UaException::getStatusCode)
-                                .orElse(StatusCode.BAD);
-
-                            MonitoredItemModifyResult result = new MonitoredItemModifyResult(
-                                statusCode,
-                                item.getSamplingInterval(),
-                                uint(item.getQueueSize()),
-                                item.getFilterResult());
-
-                            p.getResultFuture().complete(result);
-                        }
-                    });
+                    UShort namespaceIndex = item.getReadValueId().getNodeId().getNamespaceIndex();
+
+                    itemsByNamespace.computeIfAbsent(namespaceIndex, k -> newArrayList()).add(tuple(p, item));
                 }
             }
 
+            itemsByNamespace.forEach((namespaceIndex, items) -> {
+                Namespace namespace = server.getNamespaceManager().getNamespace(namespaceIndex);
+
+                List<NodeId> nodeIds = items.stream()
+                    .map(t -> t.v2().getReadValueId().getNodeId())
+                    .collect(toList());
+
+                attributeReader.read(session, namespace, nodeIds, DATA_ATTRIBUTES).whenComplete((vss, ex) -> {
+                    for (int i = 0; i < items.size(); i++) {
+                        Tuple2<PendingItemModification, BaseMonitoredItem<?>> t = items.get(i);
+
+                        modifyItem(subscription, timestamps, t.v1(), t.v2(),
+                            vss != null ? vss.get(i) : null, ex, modifiedItems);
+                    }
+                });
+            });
+
             subscription.resetLifetimeCounter();
 
             /*
@@ -693,51 +592,259 @@ public class SubscriptionManager {
         }
     }
 
-    private CompletableFuture<List<DataValue>> readDataAttributes(Session session, Namespace namespace, NodeId itemId) {
-        Function<AttributeId, ReadValueId> f = id ->
-            new ReadValueId(itemId, id.uid(), null, QualifiedName.NULL_VALUE);
+    private void createDataItem(Subscription subscription,
+                                TimestampsToReturn timestamps,
+                                PendingItemCreation p,
+                                List<DataValue> vs,
+                                List<BaseMonitoredItem<?>> createdItems) {
 
-        CompletableFuture<List<DataValue>> future = new CompletableFuture<>();
+        MonitoredItemCreateRequest r = p.getRequest();
 
-        ReadContext readContext = new ReadContext(
-            server, session, future, new DiagnosticsContext<>());
+        try {
+            double minimumSamplingInterval = checkDataAttributes(vs);
+
+            UByte accessLevel = Optional.ofNullable(
+                (UByte) vs.get(0).getValue().getValue()).orElse(ubyte(1));
+
+            UByte userAccessLevel = Optional.ofNullable(
+                (UByte) vs.get(1).getValue().getValue()).orElse(ubyte(1));
 
-        List<ReadValueId> attributes = newArrayList(
-            f.apply(AttributeId.AccessLevel),
-            f.apply(AttributeId.UserAccessLevel),
-            f.apply(AttributeId.MinimumSamplingInterval));
+            EnumSet<AccessLevel> accessLevels = AccessLevel.fromMask(accessLevel);
+            EnumSet<AccessLevel> userAccessLevels = AccessLevel.fromMask(userAccessLevel);
 
-        namespace.read(readContext, 0.0, TimestampsToReturn.Neither, attributes);
+            double samplingInterval = revisedSamplingInterval(
+                subscription, r.getRequestedParameters().getSamplingInterval(), minimumSamplingInterval);
+
+            if (!accessLevels.contains(AccessLevel.CurrentRead)) {
+                throw new UaException(StatusCodes.Bad_NotReadable);
+            }
+            if (!userAccessLevels.contains(AccessLevel.CurrentRead)) {
+                throw new UaException(StatusCodes.Bad_UserAccessDenied);
+            }
 
-        return future;
+            String indexRange = r.getItemToMonitor().getIndexRange();
+            if (indexRange != null) NumericRange.parse(indexRange);
+
+            MonitoredDataItem item = new MonitoredDataItem(
+                uint(subscription.nextItemId()),
+                subscription.getId(),
+                r.getItemToMonitor(),
+                r.getMonitoringMode(),
+                timestamps,
+                r.getRequestedParameters().getClientHandle(),
+                samplingInterval,
+                r.getRequestedParameters().getFilter(),
+                r.getRequestedParameters().getQueueSize(),
+                r.getRequestedParameters().getDiscardOldest(),
+                euRange(r.getItemToMonitor().getNodeId(), r.getRequestedParameters().getFilter()),
+                server.getConfig().getMonitoredItemConcurrency());
+
+            createdItems.add(item);
+
+            MonitoredItemCreateResult result = new MonitoredItemCreateResult(
+                StatusCode.GOOD,
+                item.getId(),
+                item.getSamplingInterval(),
+                uint(item.getQueueSize()),
+                item.getFilterResult());
+
+            p.getResultFuture().complete(result);
+        } catch (Throwable t) {
+            MonitoredItemCreateResult result =
+                new MonitoredItemCreateResult(statusCode(t), uint(0), 0d, uint(0), null);
+
+            p.getResultFuture().complete(result);
+        }
     }
 
-    private CompletableFuture<EventAttributes> readEventAttributes(Namespace namespace, NodeId nodeId) {
-        Function<AttributeId, ReadValueId> f = id ->
-            new ReadValueId(nodeId, id.uid(), null, QualifiedName.NULL_VALUE);
+    private void createEventItem(Subscription subscription,
+                                 TimestampsToReturn timestamps,
+                                 PendingItemCreation p,
+                                 List<DataValue> vs,
+                                 List<BaseMonitoredItem<?>> createdItems) {
 
-        CompletableFuture<List<DataValue>> future = new CompletableFuture<>();
+        MonitoredItemCreateRequest r = p.getRequest();
 
-        ReadContext readContext = new ReadContext(
-            server, null, future, new DiagnosticsContext<>());
+        try {
+            Optional<UByte> eventNotifier = eventAttributes(vs).v3();
 
-        List<ReadValueId> readValueIds = newArrayList(
-            f.apply(AttributeId.AccessLevel),
-            f.apply(AttributeId.UserAccessLevel),
-            f.apply(AttributeId.EventNotifier));
+            if (!eventNotifier.isPresent()) {
+                throw new UaException(StatusCodes.Bad_AttributeIdInvalid);
+            }
 
-        namespace.read(readContext, 0.0, TimestampsToReturn.Neither, readValueIds);
+            MonitoredEventItem item = new MonitoredEventItem(
+                uint(subscription.nextItemId()),
+                subscription.getId(),
+                r.getItemToMonitor(),
+                r.getMonitoringMode(),
+                timestamps,
+                r.getRequestedParameters().getClientHandle(),
+                0.0,
+                r.getRequestedParameters().getQueueSize(),
+                r.getRequestedParameters().getDiscardOldest(),
+                r.getRequestedParameters().getFilter(),
+                server.getConfig().getMonitoredItemConcurrency());
+
+            createdItems.add(item);
+
+            MonitoredItemCreateResult result = new MonitoredItemCreateResult(
+                StatusCode.GOOD,
+                item.getId(),
+                item.getSamplingInterval(),
+                uint(item.getQueueSize()),
+                item.getFilterResult());
+
+            p.getResultFuture().complete(result);
+        } catch (Throwable t) {
+            MonitoredItemCreateResult result =
+                new MonitoredItemCreateResult(statusCode(t), uint(0), 0d, uint(0), null);
+
+            p.getResultFuture().complete(result);
+        }
+    }
 
-        return future.thenApply(values -> {
-            UByte accessLevel = Optional.ofNullable((UByte) values.get(0).getValue().getValue()).orElse(ubyte(1));
-            UByte userAccessLevel = Optional.ofNullable((UByte) values.get(1).getValue().getValue()).orElse(ubyte(1));
-            Optional<UByte> eventNotifier = Optional.ofNullable((UByte) values.get(2).getValue().getValue());
+    private void modifyItem(Subscription subscription,
+                            TimestampsToReturn timestamps,
+                            PendingItemModification p,
+                            BaseMonitoredItem<?> item,
+                            @Nullable List<DataValue> vs,
+                            @Nullable Throwable readFailure,
+                            List<BaseMonitoredItem<?>> modifiedItems) {
 
-            return new EventAttributes(
-                AccessLevel.fromMask(accessLevel),
-                AccessLevel.fromMask(userAccessLevel),
-                eventNotifier);
-        });
+        MonitoringParameters parameters = p.getRequest().getRequestedParameters();
+
+        try {
+            if (vs == null) {
+                throw readFailure;
+            }
+
+            double minimumSamplingInterval = checkDataAttributes(vs);
+
+            double samplingInterval = revisedSamplingInterval(
+                subscription, parameters.getSamplingInterval(), minimumSamplingInterval);
+
+            if (item instanceof MonitoredDataItem) {
+                ((MonitoredDataItem) item).modify(
+                    timestamps,
+                    parameters.getClientHandle(),
+                    samplingInterval,
+                    parameters.getFilter(),
+                    parameters.getQueueSize(),
+                    parameters.getDiscardOldest(),
+                    euRange(item.getReadValueId().getNodeId(), parameters.getFilter()));
+            } else {
+                item.modify(
+                    timestamps,
+                    parameters.getClientHandle(),
+                    samplingInterval,
+                    parameters.getFilter(),
+                    parameters.getQueueSize(),
+                    parameters.getDiscardOldest());
+            }
+
+            modifiedItems.add(item);
+
+            MonitoredItemModifyResult result = new MonitoredItemModifyResult(
+                StatusCode.GOOD,
+                item.getSamplingInterval(),
+                uint(item.getQueueSize()),
+                item.getFilterResult());
+
+            p.getResultFuture().complete(result);
+        } catch (Throwable t) {
+            MonitoredItemModifyResult result = new MonitoredItemModifyResult(
+                statusCode(t),
+                item.getSamplingInterval(),
+                uint(item.getQueueSize()),
+                item.getFilterResult());
+
+            p.getResultFuture().complete(result);
+        }
+    }
+
+    /**
+     * Check the AccessLevel, UserAccessLevel and MinimumSamplingInterval values read for a data item.
+     *
+     * @return the MinimumSamplingInterval, or 0.0 if it is not set.
+     * @throws UaException if the node does not exist.
+     */
+    private static double checkDataAttributes(List<DataValue> vs) throws UaException {
+        for (DataValue value : vs) {
+            StatusCode statusCode = value.getStatusCode();
+
+            if (statusCode.getValue() == StatusCodes.Bad_NodeIdInvalid ||
+                statusCode.getValue() == StatusCodes.Bad_NodeIdUnknown) {
+                throw new UaException(statusCode);
+            }
+        }
+
+        return Optional.ofNullable((Double) vs.get(2).getValue().getValue()).orElse(0.0);
+    }
+
+    /**
+     * Look up the EURange property of a node being monitored with a Percent deadband filter.
+     *
+     * @return the node's EURange, or {@code null} if the filter is not a Percent deadband filter, the node is not in
+     * the server's node map, or it has no EURange.
+     */
+    @Nullable
+    private Range euRange(NodeId nodeId, @Nullable ExtensionObject filterXo) {
+        Object filter = filterXo != null ? filterXo.decode() : null;
+
+        if (!(filter instanceof DataChangeFilter) ||
+            ((DataChangeFilter) filter).getDeadbandType().intValue() != DeadbandType.Percent.getValue()) {
+
+            return null;
+        }
+
+        Object euRange = server.getNodeMap().getNode(nodeId)
+            .filter(node -> node instanceof UaNode)
+            .flatMap(node -> ((UaNode) node).getProperty(AnalogItemType.E_U_RANGE.getBrowseName()))
+            .orElse(null);
+
+        if (euRange instanceof ExtensionObject) {
+            euRange = ((ExtensionObject) euRange).decode();
+        }
+
+        return euRange instanceof Range ? (Range) euRange : null;
+    }
+
+    private double revisedSamplingInterval(Subscription subscription,
+                                           double samplingInterval,
+                                           double minimumSamplingInterval) {
+
+        double minSupportedSampleRate = server.getConfig().getLimits().getMinSupportedSampleRate();
+        double maxSupportedSampleRate = server.getConfig().getLimits().getMaxSupportedSampleRate();
+
+        if (samplingInterval < 0) samplingInterval = subscription.getPublishingInterval();
+        if (samplingInterval < minimumSamplingInterval) samplingInterval = minimumSamplingInterval;
+        if (samplingInterval < minSupportedSampleRate) samplingInterval = minSupportedSampleRate;
+        if (samplingInterval > maxSupportedSampleRate) samplingInterval = maxSupportedSampleRate;
+
+        return samplingInterval;
+    }
+
+    private static List<NodeId> nodeIds(List<PendingItemCreation> items) {
+        return items.stream()
+            .map(p -> p.getRequest().getItemToMonitor().getNodeId())
+            .collect(toList());
+    }
+
+    private static StatusCode statusCode(Throwable t) {
+        return UaException.extract(t)
+            .map(UaException::getStatusCode)
+            .orElse(StatusCode.BAD);
+    }
+
+    private static EventAttributes eventAttributes(List<DataValue> values) {
+        UByte accessLevel = Optional.ofNullable((UByte) values.get(0).getValue().getValue()).orElse(ubyte(1));
+        UByte userAccessLevel = Optional.ofNullable((UByte) values.get(1).getValue().getValue()).orElse(ubyte(1));
+        Optional<UByte> eventNotifier = Optional.ofNullable((UByte) values.get(2).getValue().getValue());
+
+        return new EventAttributes(
+            AccessLevel.fromMask(accessLevel),
+            AccessLevel.fromMask(userAccessLevel),
+            eventNotifier);
     }
 
     private static class EventAttributes extends Tuple3<EnumSet<AccessLevel>, EnumSet<AccessLevel>, Optional<UByte>> {
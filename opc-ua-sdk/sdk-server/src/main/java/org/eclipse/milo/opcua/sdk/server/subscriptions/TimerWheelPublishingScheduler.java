@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.subscriptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.HashedWheelTimer;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link PublishingScheduler} backed by a fixed number of {@link HashedWheelTimer}s, one per shard.
+ * <p>
+ * Each {@link Subscription} is assigned to a shard by its id. Within a shard, publishing timers with the same
+ * publishing interval that fall due in the same tick share a single wheel timeout, so thousands of subscriptions at
+ * the same interval cost a handful of timeouts rather than one heap entry each. When a timeout fires, the publishing
+ * timers in it are dispatched to an {@link ExecutorService} rather than run on the wheel thread.
+ */
+public class TimerWheelPublishingScheduler extends AbstractPublishingScheduler {
+
+    public static final long DEFAULT_TICK_DURATION_MILLIS = 5L;
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private static final AtomicInteger SCHEDULER_NUMBER = new AtomicInteger(0);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final long originNanos = System.nanoTime();
+
+    private final ExecutorService executor;
+    private final long tickNanos;
+    private final Shard[] shards;
+
+    /**
+     * Create a {@link TimerWheelPublishingScheduler} with one shard per available processor and a tick duration of
+     * {@link #DEFAULT_TICK_DURATION_MILLIS}.
+     *
+     * @param executor the {@link ExecutorService} publishing timers run on.
+     */
+    public TimerWheelPublishingScheduler(ExecutorService executor) {
+        this(
+            executor,
+            Runtime.getRuntime().availableProcessors(),
+            DEFAULT_TICK_DURATION_MILLIS,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * @param executor     the {@link ExecutorService} publishing timers run on.
+     * @param shardCount   the number of timer wheels. Must be greater than 0.
+     * @param tickDuration the duration of one wheel tick. Must be greater than 0.
+     * @param unit         the {@link TimeUnit} of {@code tickDuration}.
+     */
+    public TimerWheelPublishingScheduler(
+        ExecutorService executor,
+        int shardCount,
+        long tickDuration,
+        TimeUnit unit) {
+
+        Preconditions.checkArgument(shardCount > 0, "shardCount must be greater than 0");
+        Preconditions.checkArgument(tickDuration > 0, "tickDuration must be greater than 0");
+
+        this.executor = executor;
+        this.tickNanos = unit.toNanos(tickDuration);
+
+        int schedulerNumber = SCHEDULER_NUMBER.getAndIncrement();
+
+        shards = new Shard[shardCount];
+
+        for (int i = 0; i < shardCount; i++) {
+            String threadName = String.format("ua-publishing-timer-%d-%d", schedulerNumber, i);
+
+            HashedWheelTimer timer = new HashedWheelTimer(r -> {
+                Thread thread = new Thread(r, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }, tickDuration, unit, TICKS_PER_WHEEL);
+
+            shards[i] = new Shard(timer);
+        }
+    }
+
+    @Override
+    public void schedule(UInteger subscriptionId, long publishingInterval, long delay, Runnable task) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+
+        Shard shard = shards[Math.floorMod(subscriptionId.hashCode(), shards.length)];
+
+        shard.schedule(publishingInterval, deadlineNanos, timed(publishingInterval, deadlineNanos, task));
+    }
+
+    /**
+     * @return the number of timer wheels.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Stop every timer wheel. Publishing timers that have not yet fired are discarded.
+     */
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.timer.stop();
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Publishing timer rejected by executor.", e);
+        }
+    }
+
+    private class Shard {
+
+        private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+        private final HashedWheelTimer timer;
+
+        Shard(HashedWheelTimer timer) {
+            this.timer = timer;
+        }
+
+        void schedule(long publishingInterval, long deadlineNanos, Runnable task) {
+            long tick = Math.max(0L, deadlineNanos - originNanos + tickNanos - 1) / tickNanos;
+
+            BucketKey key = new BucketKey(publishingInterval, tick);
+
+            while (true) {
+                Bucket bucket = buckets.computeIfAbsent(key, this::newBucket);
+
+                if (bucket.add(task)) {
+                    return;
+                } else {
+                    // fired between lookup and add; make sure it's gone and try again
+                    buckets.remove(key, bucket);
+                }
+            }
+        }
+
+        private Bucket newBucket(BucketKey key) {
+            Bucket bucket = new Bucket();
+
+            long delayNanos = originNanos + key.tick * tickNanos - System.nanoTime();
+
+            timer.newTimeout(
+                timeout -> fire(key, bucket),
+                Math.max(0L, delayNanos),
+                TimeUnit.NANOSECONDS
+            );
+
+            return bucket;
+        }
+
+        private void fire(BucketKey key, Bucket bucket) {
+            List<Runnable> tasks = bucket.close();
+
+            buckets.remove(key, bucket);
+
+            tasks.forEach(TimerWheelPublishingScheduler.this::execute);
+        }
+
+    }
+
+    private static class Bucket {
+
+        private List<Runnable> tasks = new ArrayList<>();
+
+        synchronized boolean add(Runnable task) {
+            if (tasks != null) {
+                tasks.add(task);
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        synchronized List<Runnable> close() {
+            List<Runnable> closed = tasks;
+            tasks = null;
+            return closed;
+        }
+
+    }
+
+    private static class BucketKey {
+
+        private final long publishingInterval;
+        private final long tick;
+
+        BucketKey(long publishingInterval, long tick) {
+            this.publishingInterval = publishingInterval;
+            this.tick = tick;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            BucketKey that = (BucketKey) o;
+
+            return publishingInterval == that.publishingInterval && tick == that.tick;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(publishingInterval) + Long.hashCode(tick);
+        }
+
+    }
+
+}
@@ -13,7 +13,8 @@
 
 package org.eclipse.milo.opcua.sdk.server.util;
 
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.annotation.Nullable;
 
 import org.eclipse.milo.opcua.sdk.core.AccessLevel;
@@ -28,11 +29,29 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 
-import static org.eclipse.milo.opcua.sdk.server.util.AttributeUtil.getAccessLevels;
-import static org.eclipse.milo.opcua.sdk.server.util.AttributeUtil.getUserAccessLevels;
+import static org.eclipse.milo.opcua.sdk.server.util.AttributeUtil.getAccessLevelMask;
+import static org.eclipse.milo.opcua.sdk.server.util.AttributeUtil.getUserAccessLevelMask;
 
+/**
+ * Reads node attributes on behalf of the Read service.
+ * <p>
+ * Reading allocates little beyond the value returned: access levels are checked as masks, parsed index ranges are
+ * cached, and timestamps are applied with {@link DataValue#derivedValue(DataValue, TimestampsToReturn)}, which
+ * reuses values already derived. Callers reading many nodes should pass the same {@link AttributeContext} for every
+ * node of a request.
+ */
 public class AttributeReader {
 
+    private static final int CURRENT_READ = AccessLevel.CurrentRead.getValue();
+
+    /**
+     * Parsed index ranges. Clients read the same few ranges over and over; the cache is simply cleared if a client
+     * sends enough distinct ranges to fill it.
+     */
+    private static final ConcurrentMap<String, NumericRange> RANGES = new ConcurrentHashMap<>();
+
+    private static final int MAX_CACHED_RANGES = 1024;
+
     public static DataValue readAttribute(AttributeContext context,
                                           ServerNode node,
                                           AttributeId attributeId,
@@ -40,18 +59,14 @@ public class AttributeReader {
                                           @Nullable String indexRange) {
 
         try {
-            AttributeContext internalContext = new AttributeContext(context.getServer());
-
             NodeClass nodeClass = node.getNodeClass();
 
             if (attributeId == AttributeId.Value && nodeClass == NodeClass.Variable) {
-                Set<AccessLevel> accessLevels = getAccessLevels(node, internalContext);
-                if (!accessLevels.contains(AccessLevel.CurrentRead)) {
+                if ((getAccessLevelMask(node, context.getInternalContext()) & CURRENT_READ) == 0) {
                     throw new UaException(StatusCodes.Bad_NotWritable);
                 }
 
-                Set<AccessLevel> userAccessLevels = getUserAccessLevels(node, context);
-                if (!userAccessLevels.contains(AccessLevel.CurrentRead)) {
+                if ((getUserAccessLevelMask(node, context) & CURRENT_READ) == 0) {
                     throw new UaException(StatusCodes.Bad_UserAccessDenied);
                 }
             }
@@ -59,7 +74,7 @@ public class AttributeReader {
             DataValue value = node.getAttribute(context, attributeId);
 
             if (indexRange != null) {
-                NumericRange range = NumericRange.parse(indexRange);
+                NumericRange range = parseRange(indexRange);
 
                 Object valueAtRange = NumericRange.readFromValueAtRange(value.getValue(), range);
 
@@ -83,4 +98,19 @@ public class AttributeReader {
         }
     }
 
+    static NumericRange parseRange(String indexRange) throws UaException {
+        NumericRange range = RANGES.get(indexRange);
+
+        if (range == null) {
+            range = NumericRange.parse(indexRange);
+
+            if (RANGES.size() >= MAX_CACHED_RANGES) {
+                RANGES.clear();
+            }
+            RANGES.put(indexRange, range);
+        }
+
+        return range;
+    }
+
 }
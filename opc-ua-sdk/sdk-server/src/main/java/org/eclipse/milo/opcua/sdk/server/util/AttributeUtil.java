@@ -18,8 +18,11 @@ import java.util.function.Supplier;
 
 import org.eclipse.milo.opcua.sdk.core.AccessLevel;
 import org.eclipse.milo.opcua.sdk.core.WriteMask;
+import org.eclipse.milo.opcua.sdk.server.api.nodes.VariableNode;
 import org.eclipse.milo.opcua.sdk.server.nodes.AttributeContext;
 import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
 import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.UaException;
@@ -83,6 +86,34 @@ public class AttributeUtil {
         return AccessLevel.fromMask(userAccessLevel);
     }
 
+    /**
+     * Get the AccessLevel of a Variable node as a mask, without the {@link Set} built by
+     * {@link #getAccessLevels(ServerNode, AttributeContext)}.
+     *
+     * @return the AccessLevel mask, or 0 if the node has none.
+     */
+    public static int getAccessLevelMask(ServerNode node, AttributeContext context) throws UaException {
+        UByte accessLevel = (node instanceof UaVariableNode) ?
+            ((UaNode) node).getAttributeDelegate().getAccessLevel(context, (VariableNode) node) :
+            extract(node.getAttribute(context, AttributeId.AccessLevel));
+
+        return accessLevel != null ? accessLevel.intValue() : 0;
+    }
+
+    /**
+     * Get the UserAccessLevel of a Variable node as a mask, without the {@link Set} built by
+     * {@link #getUserAccessLevels(ServerNode, AttributeContext)}.
+     *
+     * @return the UserAccessLevel mask, or 0 if the node has none.
+     */
+    public static int getUserAccessLevelMask(ServerNode node, AttributeContext context) throws UaException {
+        UByte userAccessLevel = (node instanceof UaVariableNode) ?
+            ((UaNode) node).getAttributeDelegate().getUserAccessLevel(context, (VariableNode) node) :
+            extract(node.getAttribute(context, AttributeId.UserAccessLevel));
+
+        return userAccessLevel != null ? userAccessLevel.intValue() : 0;
+    }
+
     public static Set<WriteMask> getWriteMasks(
         ServerNode node,
         AttributeContext internalContext) throws UaException {
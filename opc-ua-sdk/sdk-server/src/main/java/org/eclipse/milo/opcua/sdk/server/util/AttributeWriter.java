@@ -52,7 +52,7 @@ public class AttributeWriter {
                                       DataValue value,
                                       @Nullable String indexRange) throws UaException {
 
-        AttributeContext internalContext = new AttributeContext(context.getServer());
+        AttributeContext internalContext = context.getInternalContext();
 
         NodeClass nodeClass = node.getNodeClass();
 
@@ -83,7 +83,7 @@ public class AttributeWriter {
         Variant updateVariant = value.getValue();
 
         if (indexRange != null) {
-            NumericRange range = NumericRange.parse(indexRange);
+            NumericRange range = AttributeReader.parseRange(indexRange);
 
             DataValue current = node.getAttribute(
                 internalContext,
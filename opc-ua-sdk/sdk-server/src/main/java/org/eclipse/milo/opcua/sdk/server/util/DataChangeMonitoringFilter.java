@@ -14,16 +14,35 @@
 package org.eclipse.milo.opcua.sdk.server.util;
 
 import java.util.Objects;
+import javax.annotation.Nullable;
 
 import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.DataChangeTrigger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.DeadbandType;
 import org.eclipse.milo.opcua.stack.core.types.structured.DataChangeFilter;
+import org.eclipse.milo.opcua.stack.core.types.structured.Range;
 
 public class DataChangeMonitoringFilter {
 
     public static boolean filter(DataValue lastValue, DataValue currentValue, DataChangeFilter filter) {
-        return triggerFilter(lastValue, currentValue, filter) && deadbandFilter(lastValue, currentValue, filter);
+        return filter(lastValue, currentValue, filter, null);
+    }
+
+    /**
+     * @param lastValue    the last value that passed the filter, or {@code null} if there is none.
+     * @param currentValue the value to filter.
+     * @param filter       the {@link DataChangeFilter}.
+     * @param euRange      the EURange of the monitored node, needed for a {@link DeadbandType#Percent} deadband.
+     * @return {@code true} if {@code currentValue} passes the filter.
+     */
+    public static boolean filter(
+        DataValue lastValue,
+        DataValue currentValue,
+        DataChangeFilter filter,
+        @Nullable Range euRange) {
+
+        return triggerFilter(lastValue, currentValue, filter) &&
+            deadbandFilter(lastValue, currentValue, filter, euRange);
     }
 
     private static boolean triggerFilter(DataValue lastValue, DataValue currentValue, DataChangeFilter filter) {
@@ -43,14 +62,27 @@ public class DataChangeMonitoringFilter {
         }
     }
 
-    private static boolean deadbandFilter(DataValue lastValue, DataValue currentValue, DataChangeFilter filter) {
+    private static boolean deadbandFilter(
+        DataValue lastValue,
+        DataValue currentValue,
+        DataChangeFilter filter,
+        @Nullable Range euRange) {
+
         if (lastValue == null) return true;
 
         int index = filter.getDeadbandType().intValue();
         if (index < 0 || index >= DeadbandType.values().length) return true;
         DeadbandType deadbandType = DeadbandType.values()[index];
 
-        if (deadbandType != DeadbandType.Absolute) return true;
+        double deadband;
+
+        if (deadbandType == DeadbandType.Absolute) {
+            deadband = filter.getDeadbandValue();
+        } else if (deadbandType == DeadbandType.Percent && euRange != null) {
+            deadband = percentDeadband(filter.getDeadbandValue(), euRange);
+        } else {
+            return true;
+        }
 
         Object last = lastValue.getValue().getValue();
         Object current = currentValue.getValue().getValue();
@@ -58,26 +90,52 @@ public class DataChangeMonitoringFilter {
         if (last == null || current == null) {
             return true;
         } else if (last.getClass().isArray() && current.getClass().isArray()) {
-            return compareArrayDeadband(last, current, filter.getDeadbandValue());
+            return compareArrayDeadband(last, current, deadband);
         } else {
-            return compareScalarDeadband(last, current, filter.getDeadbandValue());
+            return compareScalarDeadband(last, current, deadband);
         }
     }
 
-    private static boolean compareArrayDeadband(Object last, Object current, double deadband) {
-        Object[] lastA = Object[].class.cast(last);
-        Object[] currentA = Object[].class.cast(current);
+    /**
+     * @param percent the deadband, as a percentage of {@code euRange}.
+     * @param euRange the EURange of the monitored node.
+     * @return the absolute deadband that is {@code percent} of the span of {@code euRange}.
+     */
+    public static double percentDeadband(double percent, Range euRange) {
+        double low = euRange.getLow() != null ? euRange.getLow() : 0.0;
+        double high = euRange.getHigh() != null ? euRange.getHigh() : 0.0;
 
-        if (lastA.length != currentA.length) {
-            return true;
-        } else {
-            boolean exceeds = false;
+        return (percent / 100.0) * Math.abs(high - low);
+    }
+
+    private static boolean compareArrayDeadband(Object last, Object current, double deadband) {
+        if (last instanceof double[] && current instanceof double[]) {
+            return exceedsDeadband((double[]) last, (double[]) current, deadband);
+        } else if (last instanceof float[] && current instanceof float[]) {
+            return exceedsDeadband((float[]) last, (float[]) current, deadband);
+        } else if (last instanceof long[] && current instanceof long[]) {
+            return exceedsDeadband((long[]) last, (long[]) current, deadband);
+        } else if (last instanceof int[] && current instanceof int[]) {
+            return exceedsDeadband((int[]) last, (int[]) current, deadband);
+        } else if (last instanceof short[] && current instanceof short[]) {
+            return exceedsDeadband((short[]) last, (short[]) current, deadband);
+        } else if (last instanceof byte[] && current instanceof byte[]) {
+            return exceedsDeadband((byte[]) last, (byte[]) current, deadband);
+        } else if (last instanceof Number[] && current instanceof Number[]) {
+            return exceedsDeadband((Number[]) last, (Number[]) current, deadband);
+        } else if (last instanceof Object[] && current instanceof Object[]) {
+            Object[] lastA = (Object[]) last;
+            Object[] currentA = (Object[]) current;
+
+            if (lastA.length != currentA.length) return true;
 
             for (int i = 0; i < lastA.length; i++) {
-                exceeds = exceeds || exceedsDeadband(lastA[i], currentA[i], deadband);
+                if (exceedsDeadband(lastA[i], currentA[i], deadband)) return true;
             }
 
-            return exceeds;
+            return false;
+        } else {
+            return true;
         }
     }
 
@@ -86,16 +144,93 @@ public class DataChangeMonitoringFilter {
     }
 
     private static boolean exceedsDeadband(Object last, Object current, double deadband) {
-        try {
-            double lastD = Number.class.cast(last).doubleValue();
-            double currentD = Number.class.cast(current).doubleValue();
-
-            return Math.abs(lastD - currentD) > deadband;
-        } catch (Throwable t) {
+        if (last instanceof Number && current instanceof Number) {
+            return exceedsDeadband(((Number) last).doubleValue(), ((Number) current).doubleValue(), deadband);
+        } else if (last != null && current != null && last.getClass().isArray() && current.getClass().isArray()) {
+            // multi-dimensional arrays
+            return compareArrayDeadband(last, current, deadband);
+        } else {
             return true;
         }
     }
 
+    private static boolean exceedsDeadband(double last, double current, double deadband) {
+        return Math.abs(last - current) > deadband;
+    }
+
+    private static boolean exceedsDeadband(double[] last, double[] current, double deadband) {
+        if (last.length != current.length) return true;
+
+        for (int i = 0; i < last.length; i++) {
+            if (Math.abs(last[i] - current[i]) > deadband) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean exceedsDeadband(float[] last, float[] current, double deadband) {
+        if (last.length != current.length) return true;
+
+        for (int i = 0; i < last.length; i++) {
+            if (Math.abs((double) last[i] - current[i]) > deadband) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean exceedsDeadband(long[] last, long[] current, double deadband) {
+        if (last.length != current.length) return true;
+
+        for (int i = 0; i < last.length; i++) {
+            if (Math.abs((double) last[i] - current[i]) > deadband) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean exceedsDeadband(int[] last, int[] current, double deadband) {
+        if (last.length != current.length) return true;
+
+        for (int i = 0; i < last.length; i++) {
+            if (Math.abs((double) last[i] - current[i]) > deadband) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean exceedsDeadband(short[] last, short[] current, double deadband) {
+        if (last.length != current.length) return true;
+
+        for (int i = 0; i < last.length; i++) {
+            if (Math.abs((double) last[i] - current[i]) > deadband) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean exceedsDeadband(byte[] last, byte[] current, double deadband) {
+        if (last.length != current.length) return true;
+
+        for (int i = 0; i < last.length; i++) {
+            if (Math.abs((double) last[i] - current[i]) > deadband) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean exceedsDeadband(Number[] last, Number[] current, double deadband) {
+        if (last.length != current.length) return true;
+
+        for (int i = 0; i < last.length; i++) {
+            Number l = last[i];
+            Number c = current[i];
+
+            if (l == null || c == null || Math.abs(l.doubleValue() - c.doubleValue()) > deadband) return true;
+        }
+
+        return false;
+    }
+
     private static boolean statusChanged(DataValue lastValue, DataValue currentValue) {
         return !Objects.equals(lastValue.getStatusCode(), currentValue.getStatusCode());
     }
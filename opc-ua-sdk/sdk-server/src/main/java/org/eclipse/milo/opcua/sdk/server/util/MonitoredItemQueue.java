@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * The bounded queue of values a MonitoredItem holds between publishing cycles.
+ *
+ * @param <T> the type of value queued.
+ */
+public interface MonitoredItemQueue<T> {
+
+    /**
+     * Add a value to the queue. If the queue is full, {@code onOverflow} is applied to the value and it either
+     * replaces the oldest value ({@code discardOldest}) or the newest value in the queue.
+     *
+     * @param value         the value to add.
+     * @param discardOldest {@code true} to discard the oldest value when full, {@code false} to replace the newest.
+     * @param onOverflow    applied to the value when the queue is full, e.g. to set the overflow bit.
+     * @return {@code true} if the queue was full and a value was discarded.
+     */
+    boolean offer(T value, boolean discardOldest, UnaryOperator<T> onOverflow);
+
+    /**
+     * @return the next (oldest) value in the queue, or {@code null} if the queue is empty.
+     */
+    @Nullable
+    T poll();
+
+    /**
+     * @return the number of values in the queue.
+     */
+    int size();
+
+    /**
+     * @return {@code true} if the queue is empty.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the maximum number of values the queue holds.
+     */
+    int capacity();
+
+    /**
+     * Remove all values from the queue.
+     */
+    void clear();
+
+}
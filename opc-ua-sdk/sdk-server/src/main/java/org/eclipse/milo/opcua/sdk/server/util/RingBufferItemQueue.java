@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link MonitoredItemQueue} backed by a {@link RingBuffer}.
+ * <p>
+ * Not thread-safe; callers synchronize access.
+ *
+ * @param <T> the type of value queued.
+ */
+public class RingBufferItemQueue<T> implements MonitoredItemQueue<T> {
+
+    private final RingBuffer<T> buffer;
+
+    public RingBufferItemQueue(int capacity) {
+        buffer = new RingBuffer<>(capacity);
+    }
+
+    @Override
+    public boolean offer(T value, boolean discardOldest, UnaryOperator<T> onOverflow) {
+        if (buffer.size() < buffer.maxSize()) {
+            buffer.add(value);
+            return false;
+        } else {
+            value = onOverflow.apply(value);
+
+            if (discardOldest) {
+                buffer.add(value);
+            } else {
+                buffer.set(buffer.maxSize() - 1, value);
+            }
+
+            return true;
+        }
+    }
+
+    @Nullable
+    @Override
+    public T poll() {
+        return buffer.isEmpty() ? null : buffer.remove();
+    }
+
+    @Override
+    public int size() {
+        return buffer.size();
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.maxSize();
+    }
+
+    @Override
+    public void clear() {
+        buffer.clear();
+    }
+
+}
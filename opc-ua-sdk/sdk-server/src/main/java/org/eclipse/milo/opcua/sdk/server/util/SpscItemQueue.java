@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * A lock-free {@link MonitoredItemQueue} for a single producer.
+ * <p>
+ * {@link #offer(Object, boolean, UnaryOperator)} must not be called concurrently with itself: callers that may have
+ * several producing threads must serialize them first, as a lock-free MonitoredItem does. {@link #poll()} and
+ * {@link #clear()} may be called from any thread at any time.
+ * <p>
+ * Each slot holds its value together with its position in the queue. A consumer claims the oldest value by swapping
+ * its slot to {@code null} and then advances the head; a producer discarding the oldest value of a full queue claims
+ * it the same way, so a value is either delivered once or discarded, never both. Anyone who finds the head slot
+ * claimed but the head not yet advanced helps advance it.
+ *
+ * @param <T> the type of value queued.
+ */
+public class SpscItemQueue<T> implements MonitoredItemQueue<T> {
+
+    private final AtomicLong head = new AtomicLong(0L);
+    private volatile long tail = 0L;
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int capacity;
+
+    public SpscItemQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity=" + capacity);
+        }
+
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public boolean offer(T value, boolean discardOldest, UnaryOperator<T> onOverflow) {
+        boolean overflow = false;
+
+        while (true) {
+            long t = tail;
+            long h = head.get();
+
+            if (t - h < capacity) {
+                slots.set(index(t), new Slot<>(t, value));
+                tail = t + 1;
+                return overflow;
+            }
+
+            Slot<T> oldest = slots.get(index(h));
+
+            if (oldest == null) {
+                // claimed by a consumer that hasn't advanced the head yet
+                head.compareAndSet(h, h + 1);
+            } else if (discardOldest) {
+                if (slots.compareAndSet(index(h), oldest, null)) {
+                    head.compareAndSet(h, h + 1);
+
+                    if (!overflow) {
+                        value = onOverflow.apply(value);
+                        overflow = true;
+                    }
+                }
+            } else {
+                long newest = t - 1;
+                Slot<T> slot = slots.get(index(newest));
+
+                if (slot != null && slot.position == newest &&
+                    slots.compareAndSet(index(newest), slot, new Slot<>(newest, onOverflow.apply(value)))) {
+
+                    return true;
+                }
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public T poll() {
+        while (true) {
+            long h = head.get();
+
+            if (h >= tail) {
+                return null;
+            }
+
+            Slot<T> slot = slots.get(index(h));
+
+            if (slot == null) {
+                head.compareAndSet(h, h + 1);
+            } else if (slot.position == h && slots.compareAndSet(index(h), slot, null)) {
+                head.compareAndSet(h, h + 1);
+                return slot.value;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        long h = head.get();
+        long t = tail;
+
+        return (int) Math.max(0L, Math.min(t - h, capacity));
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void clear() {
+        int polled = 0;
+
+        while (polled < capacity && poll() != null) {
+            polled++;
+        }
+    }
+
+    private int index(long position) {
+        return (int) (position % capacity);
+    }
+
+    private static final class Slot<T> {
+
+        private final long position;
+        private final T value;
+
+        private Slot(long position, T value) {
+            this.position = position;
+            this.value = value;
+        }
+
+    }
+
+}
@@ -14,18 +14,18 @@
 package org.eclipse.milo.opcua.sdk.server.util;
 
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.math.DoubleMath;
 import org.eclipse.milo.opcua.sdk.server.DiagnosticsContext;
@@ -41,11 +41,28 @@ import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
 import org.eclipse.milo.opcua.stack.core.util.ExecutionQueue;
 
+/**
+ * Samples {@link DataItem}s by reading their attributes from an {@link AttributeManager} at each item's sampling
+ * interval.
+ * <p>
+ * Items are kept in one {@link SamplingGroup} per sampling interval. Creating, modifying or deleting items only
+ * moves those items between groups; groups that are unaffected keep their schedule. Each group reuses the arrays
+ * it reads with until its membership changes, and groups start at a phase offset within their interval so they
+ * don't all fire at the same moment.
+ */
 public class SubscriptionModel {
 
+    /**
+     * Spreads group phase offsets evenly over the interval, no matter how many groups there are.
+     */
+    private static final double PHASE_STEP = 0.6180339887498949;
+
     private final Set<DataItem> itemSet = Collections.newSetFromMap(Maps.newConcurrentMap());
 
-    private final List<ScheduledUpdate> schedule = Lists.newCopyOnWriteArrayList();
+    // itemGroups, groups and groupSequence are only accessed from executionQueue.
+    private final Map<DataItem, SamplingGroup> itemGroups = Maps.newHashMap();
+    private final Map<Long, SamplingGroup> groups = Maps.newHashMap();
+    private long groupSequence = 0L;
 
     private final ExecutorService executor;
     private final ScheduledExecutorService scheduler;
@@ -55,12 +72,21 @@ public class SubscriptionModel {
     private final AttributeManager attributeServices;
 
     public SubscriptionModel(OpcUaServer server, AttributeManager attributeServices) {
+        this(server, attributeServices, server.getExecutorService(), server.getScheduledExecutorService());
+    }
+
+    SubscriptionModel(
+        OpcUaServer server,
+        AttributeManager attributeServices,
+        ExecutorService executor,
+        ScheduledExecutorService scheduler) {
+
         this.server = server;
 
         this.attributeServices = attributeServices;
 
-        executor = server.getExecutorService();
-        scheduler = server.getScheduledExecutorService();
+        this.executor = executor;
+        this.scheduler = scheduler;
 
         executionQueue = new ExecutionQueue(executor);
     }
@@ -68,82 +94,132 @@ public class SubscriptionModel {
     public void onDataItemsCreated(List<DataItem> items) {
         executionQueue.submit(() -> {
             itemSet.addAll(items);
-            reschedule();
+            update(items);
         });
     }
 
     public void onDataItemsModified(List<DataItem> items) {
-        executionQueue.submit(this::reschedule);
+        executionQueue.submit(() -> update(items));
     }
 
     public void onDataItemsDeleted(List<DataItem> items) {
         executionQueue.submit(() -> {
             itemSet.removeAll(items);
-            reschedule();
+            update(items);
         });
     }
 
     public void onMonitoringModeChanged(List<MonitoredItem> items) {
-        executionQueue.submit(this::reschedule);
+        executionQueue.submit(() -> {
+            List<DataItem> dataItems = new ArrayList<>(items.size());
+
+            for (MonitoredItem item : items) {
+                if (item instanceof DataItem) {
+                    dataItems.add((DataItem) item);
+                }
+            }
+
+            update(dataItems);
+        });
     }
 
-    private void reschedule() {
-        Map<Double, List<DataItem>> bySamplingInterval = itemSet.stream()
-            .filter(DataItem::isSamplingEnabled)
-            .collect(Collectors.groupingBy(DataItem::getSamplingInterval));
+    /**
+     * @return a snapshot of the items in each {@link SamplingGroup}, keyed by sampling interval.
+     */
+    CompletableFuture<Map<Long, List<DataItem>>> getSamplingGroups() {
+        CompletableFuture<Map<Long, List<DataItem>>> future = new CompletableFuture<>();
 
-        List<ScheduledUpdate> updates = bySamplingInterval.keySet().stream()
-            .map(samplingInterval -> {
-                List<DataItem> items = bySamplingInterval.get(samplingInterval);
+        executionQueue.submit(() -> {
+            Map<Long, List<DataItem>> snapshot = Maps.newHashMap();
 
-                return new ScheduledUpdate(samplingInterval, items);
-            })
-            .collect(Collectors.toList());
+            groups.forEach((samplingInterval, group) -> snapshot.put(samplingInterval, new ArrayList<>(group.items)));
 
-        schedule.forEach(ScheduledUpdate::cancel);
-        schedule.clear();
-        schedule.addAll(updates);
-        schedule.forEach(scheduler::execute);
+            future.complete(snapshot);
+        });
+
+        return future;
     }
 
-    private class ScheduledUpdate implements Runnable {
+    /**
+     * Move each of {@code items} into the group for its current sampling interval, or out of any group if it has
+     * been deleted or has sampling disabled, then sample the items that were added to a group right away.
+     */
+    private void update(List<DataItem> items) {
+        Map<Long, List<DataItem>> added = Maps.newHashMap();
 
-        private volatile boolean cancelled = false;
+        for (DataItem item : items) {
+            boolean sampled = item.isSamplingEnabled() && itemSet.contains(item);
+            long samplingInterval = DoubleMath.roundToLong(item.getSamplingInterval(), RoundingMode.UP);
 
-        private final long samplingInterval;
-        private final List<DataItem> items;
+            SamplingGroup current = itemGroups.get(item);
+
+            if (current != null) {
+                if (sampled && current.samplingInterval == samplingInterval) {
+                    continue;
+                }
+
+                itemGroups.remove(item);
+                current.remove(item);
+
+                if (current.isEmpty()) {
+                    current.cancel();
+                    groups.remove(current.samplingInterval);
+                }
+            }
 
-        private ScheduledUpdate(double samplingInterval, List<DataItem> items) {
-            this.samplingInterval = DoubleMath.roundToLong(samplingInterval, RoundingMode.UP);
-            this.items = items;
+            if (sampled) {
+                added.computeIfAbsent(samplingInterval, i -> new ArrayList<>()).add(item);
+            }
         }
 
-        private void cancel() {
-            cancelled = true;
+        List<DataItem> initial = new ArrayList<>();
+
+        added.forEach((samplingInterval, groupItems) -> {
+            SamplingGroup group = groups.get(samplingInterval);
+
+            if (group == null) {
+                group = new SamplingGroup(samplingInterval, groupItems.size());
+                groups.put(samplingInterval, group);
+                group.addAll(groupItems);
+                group.start();
+            } else {
+                group.addAll(groupItems);
+            }
+
+            for (DataItem item : groupItems) {
+                itemGroups.put(item, group);
+            }
+
+            initial.addAll(groupItems);
+        });
+
+        if (!initial.isEmpty()) {
+            DataItem[] initialItems = initial.toArray(new DataItem[initial.size()]);
+
+            read(initialItems, readValueIds(initialItems), null);
         }
+    }
 
-        @Override
-        public void run() {
-            List<PendingRead> pending = items.stream()
-                .map(item -> new PendingRead(item.getReadValueId()))
-                .collect(Collectors.toList());
+    private void read(DataItem[] items, List<ReadValueId> ids, Runnable onComplete) {
+        CompletableFuture<List<DataValue>> future = new CompletableFuture<>();
 
-            List<ReadValueId> ids = pending.stream()
-                .map(PendingRead::getInput)
-                .collect(Collectors.toList());
+        ReadContext context = new ReadContext(
+            server, null, future, new DiagnosticsContext<>());
 
-            CompletableFuture<List<DataValue>> future = new CompletableFuture<>();
+        future.whenCompleteAsync((values, ex) -> {
+            if (values != null) {
+                int count = Math.min(items.length, values.size());
 
-            ReadContext context = new ReadContext(
-                server, null, future, new DiagnosticsContext<>());
+                ValueCache valueCache = server.getValueCache();
 
-            future.thenAcceptAsync(values -> {
-                Iterator<DataItem> ii = items.iterator();
-                Iterator<DataValue> vi = values.iterator();
+                for (int i = 0; i < count; i++) {
+                    DataItem item = items[i];
+                    DataValue value = values.get(i);
 
-                while (ii.hasNext() && vi.hasNext()) {
-                    DataItem item = ii.next();
-                    DataValue value = vi.next();
+                    ReadValueId readValueId = ids.get(i);
+                    if (ValueCache.isCacheable(readValueId)) {
+                        valueCache.put(readValueId.getNodeId(), value);
+                    }
 
                     TimestampsToReturn timestamps = item.getTimestampsToReturn();
 
@@ -157,13 +233,133 @@ public class SubscriptionModel {
 
                     item.setValue(value);
                 }
+            }
+
+            if (onComplete != null) {
+                onComplete.run();
+            }
+        }, executor);
+
+        executor.execute(() -> attributeServices.read(context, 0d, TimestampsToReturn.Both, ids));
+    }
+
+    private static List<ReadValueId> readValueIds(DataItem[] items) {
+        ReadValueId[] ids = new ReadValueId[items.length];
+
+        for (int i = 0; i < items.length; i++) {
+            ids[i] = items[i].getReadValueId();
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(ids));
+    }
 
-                if (!cancelled) {
-                    scheduler.schedule(this, samplingInterval, TimeUnit.MILLISECONDS);
+    private class SamplingGroup implements Runnable {
+
+        // items, indices, sampledItems, sampledIds and dirty are only accessed from executionQueue.
+        private final List<DataItem> items;
+        private final Map<DataItem, Integer> indices;
+
+        private DataItem[] sampledItems = new DataItem[0];
+        private List<ReadValueId> sampledIds = Collections.emptyList();
+        private boolean dirty = false;
+
+        private volatile boolean cancelled = false;
+        private volatile boolean reading = false;
+        private volatile ScheduledFuture<?> future;
+
+        // only accessed from the scheduler once started.
+        private long deadlineNanos;
+
+        private final long samplingInterval;
+        private final long intervalNanos;
+
+        private SamplingGroup(long samplingInterval, int expectedSize) {
+            this.samplingInterval = samplingInterval;
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, samplingInterval));
+
+            items = new ArrayList<>(expectedSize);
+            indices = Maps.newHashMapWithExpectedSize(expectedSize);
+        }
+
+        private void addAll(List<DataItem> added) {
+            for (DataItem item : added) {
+                indices.put(item, items.size());
+                items.add(item);
+            }
+
+            dirty = true;
+        }
+
+        private void remove(DataItem item) {
+            Integer index = indices.remove(item);
+
+            if (index != null) {
+                DataItem last = items.remove(items.size() - 1);
+
+                if (last != item) {
+                    items.set(index, last);
+                    indices.put(last, index);
                 }
-            }, executor);
 
-            executor.execute(() -> attributeServices.read(context, 0d, TimestampsToReturn.Both, ids));
+                dirty = true;
+            }
+        }
+
+        private boolean isEmpty() {
+            return items.isEmpty();
+        }
+
+        private void start() {
+            long phaseNanos = (long) (intervalNanos * ((groupSequence++ * PHASE_STEP) % 1.0));
+
+            // the initial read in update() covers the first sample, so the first tick is a full interval away.
+            deadlineNanos = System.nanoTime() + intervalNanos + phaseNanos;
+
+            future = scheduler.schedule(this, intervalNanos + phaseNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void cancel() {
+            cancelled = true;
+
+            ScheduledFuture<?> f = future;
+            if (f != null) f.cancel(false);
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) return;
+
+            executionQueue.submit(this::sample);
+
+            deadlineNanos += intervalNanos;
+
+            long now = System.nanoTime();
+
+            if (deadlineNanos < now) {
+                // fell behind; skip the missed ticks but stay in phase
+                deadlineNanos += ((now - deadlineNanos) / intervalNanos + 1) * intervalNanos;
+            }
+
+            if (!cancelled) {
+                future = scheduler.schedule(this, deadlineNanos - now, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void sample() {
+            // skip this tick if the previous read hasn't completed yet
+            if (cancelled || reading) return;
+
+            if (dirty) {
+                sampledItems = items.toArray(new DataItem[items.size()]);
+                sampledIds = readValueIds(sampledItems);
+                dirty = false;
+            }
+
+            if (sampledItems.length > 0) {
+                reading = true;
+
+                read(sampledItems, sampledIds, () -> reading = false);
+            }
         }
 
     }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+import com.codahale.metrics.Counter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.eclipse.milo.opcua.sdk.core.AccessLevel;
+import org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.nodes.AttributeContext;
+import org.eclipse.milo.opcua.sdk.server.nodes.DerivedVariableNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.delegates.AttributeDelegate;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+
+import static org.eclipse.milo.opcua.sdk.server.util.AttributeUtil.getAccessLevelMask;
+import static org.eclipse.milo.opcua.sdk.server.util.AttributeUtil.getUserAccessLevelMask;
+
+/**
+ * The last known Value of Variable nodes, used to answer Read requests with a MaxAge greater than 0 without reading
+ * from the {@link org.eclipse.milo.opcua.sdk.server.api.Namespace}.
+ * <p>
+ * Only nodes that have been read with a MaxAge greater than 0 are cached: the first such read of a node misses and
+ * registers it, after which the values sampled by {@link SubscriptionModel} and the values set with
+ * {@link UaVariableNode#setValue(DataValue)} are kept for it. Values of any other node are ignored without allocating.
+ * At most {@code maxSize} nodes are registered; once full, registering another node evicts the least recently used
+ * one. A node is also unregistered when it is removed from, or replaced in, the server's node map.
+ * <p>
+ * A value is only returned for a node in the server's node map, after the same AccessLevel and UserAccessLevel checks
+ * the {@link AttributeReader} makes; reads of any other node are left to its Namespace.
+ * <p>
+ * The age of a value is measured from when it was put in the cache, not from its timestamps.
+ */
+public class ValueCache {
+
+    private static final int CURRENT_READ = AccessLevel.CurrentRead.getValue();
+
+    private final Cache<NodeId, Entry> entries;
+
+    private final int maxSize;
+
+    private final Counter hitCounter = new Counter();
+    private final Counter missCounter = new Counter();
+
+    /**
+     * @param maxSize the maximum number of nodes whose values are cached, or 0 to cache nothing.
+     */
+    public ValueCache(int maxSize) {
+        this.maxSize = maxSize;
+
+        entries = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    /**
+     * Put a value sampled from the node identified by {@code nodeId}, if it is cached.
+     *
+     * @param nodeId the {@link NodeId} of the Variable node.
+     * @param value  the {@link DataValue} of its Value attribute.
+     */
+    public void put(NodeId nodeId, DataValue value) {
+        put(nodeId, value, null);
+    }
+
+    /**
+     * Put the value set on {@code node}, if it is cached.
+     * <p>
+     * Only returned while {@code node} is still the node in the server's node map and has the default
+     * {@link AttributeDelegate}, i.e. while the value set is the value a Read would return.
+     *
+     * @param node  the {@link UaVariableNode}.
+     * @param value the {@link DataValue} set as its value.
+     */
+    public void put(UaVariableNode node, DataValue value) {
+        // a DerivedVariableNode computes its value rather than returning the value set
+        if (node instanceof DerivedVariableNode) return;
+
+        put(node.getNodeId(), value, node);
+    }
+
+    private void put(NodeId nodeId, DataValue value, @Nullable UaVariableNode source) {
+        ConcurrentMap<NodeId, Entry> map = entries.asMap();
+
+        if (!map.containsKey(nodeId)) return;
+
+        if (value.getStatusCode() == null || value.getStatusCode().isBad()) {
+            map.replace(nodeId, Entry.EMPTY);
+        } else {
+            map.replace(nodeId, new Entry(value, System.nanoTime(), source));
+        }
+    }
+
+    /**
+     * Stop caching the value of the node identified by {@code nodeId}, e.g. because it was removed from the node map.
+     *
+     * @param nodeId the {@link NodeId} of the Variable node.
+     */
+    public void invalidate(NodeId nodeId) {
+        entries.invalidate(nodeId);
+    }
+
+    /**
+     * Read the Value identified by {@code readValueId} from the cache, if there is a value no older than
+     * {@code maxAge}.
+     * <p>
+     * A miss registers the node, evicting the least recently used one if the cache is full, so that its values are
+     * cached from then on.
+     *
+     * @param nodeMap     the server's {@link ServerNodeMap}.
+     * @param context     the {@link AttributeContext} of the request, used to check the UserAccessLevel.
+     * @param readValueId the {@link ReadValueId} to read.
+     * @param maxAge      the maximum age of the value, in milliseconds.
+     * @param timestamps  the {@link TimestampsToReturn}.
+     * @return the cached value, or {@code null} if the Namespace must be read instead.
+     */
+    @Nullable
+    public DataValue read(
+        ServerNodeMap nodeMap,
+        AttributeContext context,
+        ReadValueId readValueId,
+        double maxAge,
+        TimestampsToReturn timestamps) {
+
+        if (!isCacheable(readValueId)) return null;
+
+        NodeId nodeId = readValueId.getNodeId();
+        ServerNode node = nodeMap.get(nodeId);
+        Entry entry = entries.getIfPresent(nodeId);
+
+        if (entry != null && isFresh(entry, maxAge) && isReadable(context, node, entry)) {
+            hitCounter.inc();
+
+            return DataValue.derivedValue(entry.value, timestamps);
+        } else {
+            missCounter.inc();
+
+            if (entry == null && node != null && node.getNodeClass() == NodeClass.Variable) {
+                entries.asMap().putIfAbsent(nodeId, Entry.EMPTY);
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of nodes whose values are cached.
+     */
+    public int size() {
+        return (int) entries.size();
+    }
+
+    /**
+     * @return a {@link Counter} of the Value reads answered from the cache.
+     */
+    public Counter getHitCounter() {
+        return hitCounter;
+    }
+
+    /**
+     * @return a {@link Counter} of the Value reads with a MaxAge greater than 0 that had to be forwarded to a
+     * Namespace because the cache held no value fresh enough.
+     */
+    public Counter getMissCounter() {
+        return missCounter;
+    }
+
+    /**
+     * @return whether the Value identified by {@code readValueId} is put in the cache when sampled.
+     */
+    static boolean isCacheable(ReadValueId readValueId) {
+        QualifiedName dataEncoding = readValueId.getDataEncoding();
+
+        return AttributeId.Value.isEqual(readValueId.getAttributeId()) &&
+            readValueId.getIndexRange() == null &&
+            (dataEncoding == null || dataEncoding.isNull());
+    }
+
+    private static boolean isFresh(Entry entry, double maxAge) {
+        if (entry.value == null) return false;
+
+        long ageNanos = System.nanoTime() - entry.nanoTime;
+
+        return ageNanos <= maxAge * TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+
+    private static boolean isReadable(AttributeContext context, @Nullable ServerNode node, Entry entry) {
+        if (node == null || node.getNodeClass() != NodeClass.Variable) return false;
+
+        if (entry.source != null) {
+            if (entry.source != node || entry.source.getAttributeDelegate() != AttributeDelegate.DEFAULT) {
+                return false;
+            }
+        }
+
+        try {
+            return (getAccessLevelMask(node, context.getInternalContext()) & CURRENT_READ) != 0 &&
+                (getUserAccessLevelMask(node, context) & CURRENT_READ) != 0;
+        } catch (UaException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ValueCache{size=%d, maxSize=%d, hits=%d, misses=%d}",
+            size(), maxSize, hitCounter.getCount(), missCounter.getCount());
+    }
+
+    private static final class Entry {
+
+        /**
+         * A registered node without a usable value.
+         */
+        static final Entry EMPTY = new Entry(null, 0L, null);
+
+        private final DataValue value;
+        private final long nanoTime;
+        private final UaVariableNode source;
+
+        Entry(@Nullable DataValue value, long nanoTime, @Nullable UaVariableNode source) {
+            this.value = value;
+            this.nanoTime = nanoTime;
+            this.source = source;
+        }
+
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.api;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
+import org.eclipse.milo.opcua.sdk.server.api.config.NodeMaterialization;
+import org.eclipse.milo.opcua.sdk.server.api.config.OpcUaServerConfig;
+import org.eclipse.milo.opcua.sdk.server.namespaces.loader.UaNodeImage;
+import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateManager;
+import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateValidator;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class AbstractServerNodeMapTest {
+
+    private UaNodeImage image;
+
+    @BeforeClass
+    public void decodeImage() throws Exception {
+        image = UaNodeImage.namespace0();
+    }
+
+    @Test
+    public void testMaterializeOnGet() {
+        LazyNodeMap nodeMap = new LazyNodeMap(image);
+
+        assertTrue(nodeMap.containsKey(Identifiers.Server));
+        assertEquals(nodeMap.size(), 0);
+
+        ServerNode server = nodeMap.get(Identifiers.Server);
+
+        assertNotNull(server);
+        assertSame(nodeMap.get(Identifiers.Server), server);
+        assertEquals(nodeMap.size(), 1);
+        assertEquals(nodeMap.materialized, 1);
+
+        UaNode eager = image.materialize(Identifiers.Server, new LazyNodeMap(image));
+        assertEquals(ImmutableSet.copyOf(((UaNode) server).getReferences()), ImmutableSet.copyOf(eager.getReferences()));
+
+        assertFalse(nodeMap.containsKey(new NodeId(1, "unknown")));
+        assertNull(nodeMap.get(new NodeId(1, "unknown")));
+    }
+
+    @Test
+    public void testNodesArePerMap() {
+        LazyNodeMap nodeMap1 = new LazyNodeMap(image);
+        LazyNodeMap nodeMap2 = new LazyNodeMap(image);
+
+        ServerNode node1 = nodeMap1.get(Identifiers.ObjectsFolder);
+        ServerNode node2 = nodeMap2.get(Identifiers.ObjectsFolder);
+
+        assertNotSame(node1, node2);
+        assertSame(((UaNode) node1).getNodeMap(), nodeMap1);
+        assertSame(((UaNode) node2).getNodeMap(), nodeMap2);
+    }
+
+    @Test
+    public void testRemovedNodeIsNotMaterializedAgain() {
+        LazyNodeMap nodeMap = new LazyNodeMap(image);
+
+        ServerNode node = nodeMap.get(Identifiers.Server_ServerStatus);
+        assertSame(nodeMap.remove(Identifiers.Server_ServerStatus), node);
+
+        assertFalse(nodeMap.containsKey(Identifiers.Server_ServerStatus));
+        assertNull(nodeMap.get(Identifiers.Server_ServerStatus));
+
+        nodeMap.remove(Identifiers.Server_ServiceLevel);
+        assertNull(nodeMap.get(Identifiers.Server_ServiceLevel));
+
+        nodeMap.addNode(node);
+        assertSame(nodeMap.get(Identifiers.Server_ServerStatus), node);
+        assertEquals(nodeMap.materialized, 1);
+    }
+
+    @Test
+    public void testPutIfAbsentReturnsMaterializedNode() {
+        LazyNodeMap nodeMap = new LazyNodeMap(image);
+        UaNode other = image.materialize(Identifiers.RootFolder, nodeMap);
+
+        ServerNode existing = nodeMap.putIfAbsent(Identifiers.RootFolder, other);
+
+        assertNotNull(existing);
+        assertNotSame(existing, other);
+        assertSame(nodeMap.get(Identifiers.RootFolder), existing);
+    }
+
+    @Test
+    public void testConcurrentMaterialization() throws Exception {
+        LazyNodeMap nodeMap = new LazyNodeMap(image);
+
+        int threads = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<CompletableFuture<ServerNode>> futures = IntStream.range(0, threads)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        barrier.await();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    return nodeMap.get(Identifiers.Server_ServerCapabilities);
+                }, executor))
+                .collect(Collectors.toList());
+
+            ServerNode first = futures.get(0).get();
+            for (CompletableFuture<ServerNode> future : futures) {
+                assertSame(future.get(), first);
+            }
+            assertEquals(nodeMap.materialized, 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLazyServer() throws Exception {
+        OpcUaServerConfig config = OpcUaServerConfig.builder()
+            .setCertificateManager(new DefaultCertificateManager())
+            .setCertificateValidator(new DefaultCertificateValidator(Files.createTempDir()))
+            .setNamespace0Materialization(NodeMaterialization.Lazy)
+            .build();
+
+        OpcUaServer server = new OpcUaServer(config);
+        ServerNodeMap nodeMap = server.getNodeMap();
+
+        assertTrue(nodeMap.size() < image.size() / 4, "materialized " + nodeMap.size());
+        assertNotNull(server.getUaNamespace().getServerNode());
+        assertNotNull(nodeMap.get(Identifiers.TypesFolder));
+    }
+
+    private static class LazyNodeMap extends AbstractServerNodeMap {
+
+        private final UaNodeImage image;
+
+        private volatile int materialized;
+
+        LazyNodeMap(UaNodeImage image) {
+            this.image = image;
+        }
+
+        @Override
+        protected boolean isMaterializable(NodeId nodeId) {
+            return image.contains(nodeId);
+        }
+
+        @Override
+        protected ServerNode materialize(NodeId nodeId) {
+            materialized++;
+            return image.materialize(nodeId, this);
+        }
+
+    }
+
+}
@@ -14,17 +14,25 @@
 package org.eclipse.milo.opcua.sdk.server.api.config;
 
 import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.Lists;
 import com.google.common.io.Files;
 import org.eclipse.milo.opcua.sdk.server.identity.AnonymousIdentityValidator;
+import org.eclipse.milo.opcua.sdk.server.subscriptions.ScheduledExecutorPublishingScheduler;
+import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateManager;
 import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateValidator;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.structured.BuildInfo;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl.OverloadPolicy;
+import org.eclipse.milo.opcua.stack.server.config.FlushCoalescing;
 import org.testng.annotations.Test;
 
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 import static org.testng.Assert.assertEquals;
 
 public class OpcUaServerConfigTest {
@@ -41,6 +49,10 @@ public class OpcUaServerConfigTest {
             .setIdentityValidator(AnonymousIdentityValidator.INSTANCE)
             .setBuildInfo(new BuildInfo("a", "b", "c", "d", "e", DateTime.MIN_VALUE))
             .setLimits(new OpcUaServerConfigLimits() {})
+            .setPublishingScheduler(new ScheduledExecutorPublishingScheduler(Stack.sharedScheduledExecutor()))
+            .setFlushCoalescing(FlushCoalescing.window(1, TimeUnit.MILLISECONDS))
+            .setMonitoredItemConcurrency(MonitoredItemConcurrency.LockFree)
+            .setNamespace0Materialization(NodeMaterialization.Lazy)
             .build();
 
         OpcUaServerConfig copy = OpcUaServerConfig.copy(original).build();
@@ -51,6 +63,71 @@ public class OpcUaServerConfigTest {
         assertEquals(copy.getIdentityValidator(), original.getIdentityValidator());
         assertEquals(copy.getBuildInfo(), original.getBuildInfo());
         assertEquals(copy.getLimits(), original.getLimits());
+        assertEquals(copy.getPublishingScheduler(), original.getPublishingScheduler());
+        assertEquals(copy.getMonitoredItemConcurrency(), original.getMonitoredItemConcurrency());
+        assertEquals(copy.getNamespace0Materialization(), original.getNamespace0Materialization());
+        assertEquals(copy.getFlushCoalescing(), original.getFlushCoalescing());
+        assertEquals(copy.getAdmissionControl(), original.getAdmissionControl());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testAdmissionControlFromLimits() {
+        OpcUaServerConfig config = OpcUaServerConfig.builder()
+            .setCertificateManager(new DefaultCertificateManager())
+            .setCertificateValidator(new DefaultCertificateValidator(Files.createTempDir()))
+            .setLimits(new OpcUaServerConfigLimits() {
+                @Override
+                public UInteger getMaxRequestsPerChannel() {
+                    return uint(16);
+                }
+
+                @Override
+                public UInteger getMaxRequestBytesPerChannel() {
+                    return uint(1 << 20);
+                }
+
+                @Override
+                public OverloadPolicy getChannelOverloadPolicy() {
+                    return OverloadPolicy.RejectServerTooBusy;
+                }
+            })
+            .build();
+
+        AdmissionControl admissionControl = config.getAdmissionControl();
+
+        assertEquals(admissionControl.getMaxRequests(), 16);
+        assertEquals(admissionControl.getMaxRequestBytes(), 1 << 20);
+        assertEquals(admissionControl.getOverloadPolicy(), OverloadPolicy.RejectServerTooBusy);
+    }
+
+    @Test
+    public void testAdmissionControlTracksLimitsAfterBuildAndCopy() {
+        OpcUaServerConfigBuilder builder = OpcUaServerConfig.builder()
+            .setCertificateManager(new DefaultCertificateManager())
+            .setCertificateValidator(new DefaultCertificateValidator(Files.createTempDir()));
+
+        builder.build();
+
+        OpcUaServerConfigLimits limits = new OpcUaServerConfigLimits() {
+            @Override
+            public UInteger getMaxRequestsPerChannel() {
+                return uint(8);
+            }
+        };
+
+        OpcUaServerConfig config = builder.setLimits(limits).build();
+        assertEquals(config.getAdmissionControl().getMaxRequests(), 8);
+
+        OpcUaServerConfig copy = OpcUaServerConfig.copy(config)
+            .setLimits(new OpcUaServerConfigLimits() {
+                @Override
+                public UInteger getMaxRequestsPerChannel() {
+                    return uint(4);
+                }
+            })
+            .build();
+
+        assertEquals(copy.getAdmissionControl().getMaxRequests(), 4);
+    }
+
+}
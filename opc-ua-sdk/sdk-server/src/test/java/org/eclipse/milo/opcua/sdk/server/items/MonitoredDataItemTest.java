@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.items;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.milo.opcua.sdk.server.api.config.MonitoredItemConcurrency;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.serialization.UaStructure;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.DataChangeTrigger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.DeadbandType;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.MonitoringMode;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.AggregateFilter;
+import org.eclipse.milo.opcua.stack.core.types.structured.DataChangeFilter;
+import org.eclipse.milo.opcua.stack.core.types.structured.Range;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+public class MonitoredDataItemTest {
+
+    private static final DataChangeFilter PERCENT_10 = new DataChangeFilter(
+        DataChangeTrigger.StatusValue, uint(DeadbandType.Percent.getValue()), 10.0);
+
+    private static final Range EU_RANGE = new Range(-50.0, 50.0);
+
+    @Test
+    public void testFailedModifyKeepsEuRange() throws Exception {
+        MonitoredDataItem item = new MonitoredDataItem(
+            uint(1),
+            uint(1),
+            new ReadValueId(new NodeId(1, "foo"), AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE),
+            MonitoringMode.Reporting,
+            TimestampsToReturn.Both,
+            uint(1),
+            100.0,
+            ExtensionObject.encode(PERCENT_10),
+            uint(10),
+            true,
+            EU_RANGE
+        );
+
+        try {
+            item.modify(
+                TimestampsToReturn.Both,
+                uint(1),
+                100.0,
+                ExtensionObject.encode(new AggregateFilter(null, NodeId.NULL_VALUE, 0.0, null)),
+                uint(10),
+                true,
+                null
+            );
+
+            fail("expected AggregateFilter to be rejected");
+        } catch (UaException e) {
+            assertEquals(e.getStatusCode().getValue(), StatusCodes.Bad_MonitoredItemFilterUnsupported);
+        }
+
+        assertSame(item.getEuRange(), EU_RANGE);
+
+        // 10% of [-50, 50] is 10.0, so only the first and last values pass the deadband
+        item.setValue(new DataValue(new Variant(0.0)));
+        item.setValue(new DataValue(new Variant(5.0)));
+        item.setValue(new DataValue(new Variant(11.0)));
+
+        List<UaStructure> notifications = new ArrayList<>();
+        item.getNotifications(notifications, Integer.MAX_VALUE);
+
+        assertEquals(notifications.size(), 2);
+    }
+
+    @Test
+    public void testLockFreeOverlappingReads() throws Exception {
+        MonitoredDataItem item = lockFreeItem(uint(20000));
+
+        int count = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            // an initial read of the item completing while the periodic sample of its group also completes
+            Future<?> initial = executor.submit(() -> setValues(item, start, count, 0));
+            Future<?> periodic = executor.submit(() -> setValues(item, start, count, 1));
+
+            start.countDown();
+            initial.get();
+            periodic.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        List<UaStructure> notifications = new ArrayList<>();
+        item.getNotifications(notifications, Integer.MAX_VALUE);
+
+        assertEquals(notifications.size(), count * 2);
+    }
+
+    @Test
+    public void testLockFreeResizeWhileSampling() throws Exception {
+        MonitoredDataItem item = lockFreeItem(uint(10000));
+
+        int count = 5000;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            Future<?> sampling = executor.submit(() -> setValues(item, start, count, 0));
+
+            start.countDown();
+
+            // bounded: each resize queued behind the sampler copies the whole queue, so resizing until sampling
+            // finishes could outpace it indefinitely
+            for (int i = 0; i < 1000 && !sampling.isDone(); i++) {
+                item.modify(TimestampsToReturn.Both, uint(1), 100.0, null, uint(10000 + (i % 2)), true);
+            }
+
+            sampling.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        List<UaStructure> notifications = new ArrayList<>();
+        item.getNotifications(notifications, Integer.MAX_VALUE);
+
+        assertEquals(notifications.size(), count);
+    }
+
+    private static MonitoredDataItem lockFreeItem(UInteger queueSize) throws UaException {
+        return new MonitoredDataItem(
+            uint(1),
+            uint(1),
+            new ReadValueId(new NodeId(1, "foo"), AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE),
+            MonitoringMode.Reporting,
+            TimestampsToReturn.Both,
+            uint(1),
+            100.0,
+            null,
+            queueSize,
+            true,
+            null,
+            MonitoredItemConcurrency.LockFree
+        );
+    }
+
+    /**
+     * Set {@code count} values that are all distinct from each other and from those set with another {@code offset}.
+     */
+    private static Void setValues(MonitoredDataItem item, CountDownLatch start, int count, int offset)
+        throws InterruptedException {
+
+        start.await();
+
+        for (int i = 0; i < count; i++) {
+            item.setValue(new DataValue(new Variant(i * 2 + offset)));
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.namespaces.loader;
+
+import java.io.InputStream;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.eclipse.milo.opcua.sdk.server.api.AbstractServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+public class UaNodeImageLoaderTest {
+
+    private final AbstractServerNodeMap generatedNodes = new AbstractServerNodeMap() {};
+    private final AbstractServerNodeMap imageNodes = new AbstractServerNodeMap() {};
+
+    private byte[] image;
+
+    @BeforeClass
+    public void loadNodes() throws Exception {
+        new UaNodeLoader(generatedNodes).loadNodes();
+
+        try (InputStream inputStream =
+                 UaNodeImageLoader.class.getResourceAsStream(UaNodeImageLoader.NAMESPACE_0_IMAGE)) {
+
+            assertNotNull(inputStream);
+            image = ByteStreams.toByteArray(inputStream);
+        }
+
+        new UaNodeImageLoader(imageNodes).loadNodes();
+    }
+
+    @Test
+    public void testImageIsUpToDate() throws Exception {
+        assertEquals(writeImage(generatedNodes), image,
+            "namespace0.bin is stale; regenerate it with UaNodeImageWriter");
+    }
+
+    @Test
+    public void testImageRoundTrips() throws Exception {
+        assertEquals(imageNodes.size(), generatedNodes.size());
+        assertEquals(writeImage(imageNodes), image);
+    }
+
+    @Test
+    public void testNodesMatchGeneratedLoaders() {
+        for (ServerNode generated : generatedNodes.values()) {
+            UaNode loaded = (UaNode) imageNodes.get(generated.getNodeId());
+
+            assertNotNull(loaded, generated.getNodeId().toString());
+            assertEquals(loaded.getClass(), generated.getClass());
+            assertEquals(loaded.getBrowseName(), generated.getBrowseName());
+            assertEquals(loaded.getDisplayName(), generated.getDisplayName());
+            assertEquals(
+                ImmutableSet.copyOf(loaded.getReferences()),
+                ImmutableSet.copyOf(((UaNode) generated).getReferences()));
+
+            if (generated instanceof UaVariableNode) {
+                // structured values don't implement equals(); testImageRoundTrips covers their encoding
+                assertEquals(
+                    valueClass((UaVariableNode) loaded),
+                    valueClass((UaVariableNode) generated));
+            }
+        }
+    }
+
+    private static Class<?> valueClass(UaVariableNode node) {
+        Object value = node.getValue().getValue().getValue();
+
+        return value != null ? value.getClass() : null;
+    }
+
+    private static byte[] writeImage(AbstractServerNodeMap nodeMap) throws Exception {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            new UaNodeImageWriter().write(nodeMap.values(), buffer);
+
+            byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.readBytes(bytes);
+            return bytes;
+        } finally {
+            buffer.release();
+        }
+    }
+
+}
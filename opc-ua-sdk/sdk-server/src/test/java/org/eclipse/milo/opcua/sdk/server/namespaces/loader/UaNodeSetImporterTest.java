@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.namespaces.loader;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.milo.opcua.sdk.core.NamespaceTable;
+import org.eclipse.milo.opcua.sdk.core.Reference;
+import org.eclipse.milo.opcua.sdk.server.api.AbstractServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.namespaces.loader.UaNodeSetImporter.ImportResult;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaObjectNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaObjectTypeNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UShort;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class UaNodeSetImporterTest {
+
+    private static final String HEADER =
+        "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" +
+            "<UANodeSet xmlns=\"http://opcfoundation.org/UA/2011/03/UANodeSet.xsd\" " +
+            "xmlns:uax=\"http://opcfoundation.org/UA/2008/02/Types.xsd\">\n";
+
+    private static final String ALIASES =
+        "  <Aliases>\n" +
+            "    <Alias Alias=\"Int32\">i=6</Alias>\n" +
+            "    <Alias Alias=\"Organizes\">i=35</Alias>\n" +
+            "    <Alias Alias=\"HasComponent\">i=47</Alias>\n" +
+            "    <Alias Alias=\"HasTypeDefinition\">i=40</Alias>\n" +
+            "    <Alias Alias=\"HasSubtype\">i=45</Alias>\n" +
+            "  </Aliases>\n";
+
+    private static final String TYPES = HEADER +
+        "  <NamespaceUris><Uri>urn:test:types</Uri></NamespaceUris>\n" +
+        ALIASES +
+        "  <UAObjectType NodeId=\"ns=1;i=1000\" BrowseName=\"1:DeviceType\">\n" +
+        "    <DisplayName>DeviceType</DisplayName>\n" +
+        "    <References>\n" +
+        "      <Reference ReferenceType=\"HasSubtype\" IsForward=\"false\">i=58</Reference>\n" +
+        "    </References>\n" +
+        "  </UAObjectType>\n" +
+        "</UANodeSet>\n";
+
+    private static final String INSTANCES = HEADER +
+        "  <NamespaceUris><Uri>urn:test:types</Uri><Uri>urn:test:instances</Uri></NamespaceUris>\n" +
+        ALIASES +
+        // Device1 is read before its Temperature component: the HasComponent reference is resolved forward
+        "  <UAObject NodeId=\"ns=2;s=Device1\" BrowseName=\"2:Device1\">\n" +
+        "    <DisplayName Locale=\"en\">Device 1</DisplayName>\n" +
+        "    <Description>A device</Description>\n" +
+        "    <References>\n" +
+        "      <Reference ReferenceType=\"Organizes\" IsForward=\"false\">i=85</Reference>\n" +
+        "      <Reference ReferenceType=\"HasTypeDefinition\">ns=1;i=1000</Reference>\n" +
+        "      <Reference ReferenceType=\"HasComponent\">ns=2;s=Device1.Temperature</Reference>\n" +
+        "    </References>\n" +
+        "  </UAObject>\n" +
+        "  <UAVariable NodeId=\"ns=2;s=Device1.Temperature\" BrowseName=\"2:Temperature\" DataType=\"Int32\" " +
+        "AccessLevel=\"3\">\n" +
+        "    <DisplayName>Temperature</DisplayName>\n" +
+        "    <References>\n" +
+        "      <Reference ReferenceType=\"HasTypeDefinition\">i=63</Reference>\n" +
+        "    </References>\n" +
+        "    <Value><uax:Int32>42</uax:Int32></Value>\n" +
+        "  </UAVariable>\n" +
+        "  <UAVariable NodeId=\"ns=2;s=Device1.Setpoints\" BrowseName=\"2:Setpoints\" DataType=\"Int32\" " +
+        "ValueRank=\"1\" ArrayDimensions=\"3\">\n" +
+        "    <DisplayName>Setpoints</DisplayName>\n" +
+        "    <References>\n" +
+        "      <Reference ReferenceType=\"HasComponent\" IsForward=\"false\">ns=2;s=Device1</Reference>\n" +
+        "      <Reference ReferenceType=\"Organizes\">ns=2;s=Missing</Reference>\n" +
+        "    </References>\n" +
+        "    <Value><uax:ListOfInt32><uax:Int32>1</uax:Int32><uax:Int32>2</uax:Int32><uax:Int32>3</uax:Int32>" +
+        "</uax:ListOfInt32></Value>\n" +
+        "  </UAVariable>\n" +
+        "</UANodeSet>\n";
+
+    private AbstractServerNodeMap nodeMap;
+    private NamespaceTable namespaceTable;
+    private UaNodeSetImporter importer;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        nodeMap = new AbstractServerNodeMap() {};
+        new UaNodeImageLoader(nodeMap).loadNodes();
+
+        namespaceTable = new NamespaceTable();
+        namespaceTable.addUri("urn:test:other");
+
+        importer = new UaNodeSetImporter(nodeMap, namespaceTable);
+    }
+
+    @Test
+    public void testImportNodeSet() throws Exception {
+        ImportResult types = importer.importNodeSet(stream(TYPES));
+        ImportResult instances = importer.importNodeSet(stream(INSTANCES));
+
+        assertEquals(types.getNodeCount(), 1);
+        assertEquals(instances.getNodeCount(), 3);
+        assertEquals(instances.getReferenceCount(), 5);
+        assertEquals(instances.getUnresolvedReferenceCount(), 1);
+
+        // document indices 1 and 2 are remapped after the server's existing namespace 1
+        UShort typesIndex = namespaceTable.getIndex("urn:test:types");
+        UShort instancesIndex = namespaceTable.getIndex("urn:test:instances");
+        assertEquals(typesIndex.intValue(), 2);
+        assertEquals(instancesIndex.intValue(), 3);
+
+        UaObjectNode device = (UaObjectNode) nodeMap.get(new NodeId(instancesIndex, "Device1"));
+        assertNotNull(device);
+        assertEquals(device.getBrowseName(), new QualifiedName(instancesIndex, "Device1"));
+        assertEquals(device.getDisplayName().getLocale(), "en");
+        assertEquals(device.getDisplayName().getText(), "Device 1");
+        assertEquals(device.getDescription().getText(), "A device");
+        assertEquals(device.getTypeDefinitionNode().getNodeId(), new NodeId(typesIndex, 1000));
+
+        UaVariableNode temperature = (UaVariableNode) nodeMap.get(new NodeId(instancesIndex, "Device1.Temperature"));
+        assertEquals(temperature.getDataType(), Identifiers.Int32);
+        assertEquals(temperature.getAccessLevel().intValue(), 3);
+        assertEquals(temperature.getValue().getValue().getValue(), 42);
+        assertTrue(hasComponent(device, temperature));
+
+        UaVariableNode setpoints = (UaVariableNode) nodeMap.get(new NodeId(instancesIndex, "Device1.Setpoints"));
+        assertEquals(setpoints.getValueRank().intValue(), 1);
+        assertEquals(setpoints.getArrayDimensions().length, 1);
+        assertEquals((Integer[]) setpoints.getValue().getValue().getValue(), new Integer[]{1, 2, 3});
+        assertTrue(hasComponent(device, setpoints));
+
+        // inverse references are added to existing namespace 0 nodes, but not to type definitions
+        UaNode objectsFolder = (UaNode) nodeMap.get(Identifiers.ObjectsFolder);
+        assertTrue(objectsFolder.getReferences().contains(
+            new Reference(Identifiers.ObjectsFolder, Identifiers.Organizes,
+                device.getNodeId().expanded(), device.getNodeClass(), true)));
+
+        UaObjectTypeNode deviceType = (UaObjectTypeNode) nodeMap.get(new NodeId(typesIndex, 1000));
+        assertTrue(deviceType.getReferences().stream().noneMatch(r -> r.isInverse() &&
+            r.getReferenceTypeId().equals(Identifiers.HasTypeDefinition)));
+    }
+
+    @Test
+    public void testImportNodeSetsResolvesReferencesAcrossDocuments() throws Exception {
+        Path dir = Files.createTempDirectory("nodesets");
+        Path instances = Files.write(dir.resolve("instances.xml"), INSTANCES.getBytes(StandardCharsets.UTF_8));
+        Path types = Files.write(dir.resolve("types.xml"), TYPES.getBytes(StandardCharsets.UTF_8));
+
+        try {
+            List<Path> paths = ImmutableList.of(instances, types);
+            ImportResult result = importer.importNodeSets(paths);
+
+            assertEquals(result.getNodeCount(), 4);
+            assertEquals(result.getReferenceCount(), 6);
+            assertEquals(result.getUnresolvedReferenceCount(), 1);
+            assertTrue(result.getNodesPerSecond() > 0);
+
+            UShort typesIndex = namespaceTable.getIndex("urn:test:types");
+            UShort instancesIndex = namespaceTable.getIndex("urn:test:instances");
+
+            UaObjectNode device = (UaObjectNode) nodeMap.get(new NodeId(instancesIndex, "Device1"));
+            assertNotNull(device.getTypeDefinitionNode());
+            assertEquals(device.getTypeDefinitionNode().getNodeId(), new NodeId(typesIndex, 1000));
+        } finally {
+            Files.delete(instances);
+            Files.delete(types);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testUndecodableValueIsSkipped() throws Exception {
+        String nodeSet = HEADER +
+            "  <UAVariable NodeId=\"i=100000\" BrowseName=\"Unknown\">\n" +
+            "    <Value><uax:Matrix><uax:Dimensions><uax:Int32>1</uax:Int32></uax:Dimensions></uax:Matrix></Value>\n" +
+            "    <References>\n" +
+            "      <Reference ReferenceType=\"i=47\" IsForward=\"false\">i=85</Reference>\n" +
+            "    </References>\n" +
+            "  </UAVariable>\n" +
+            "</UANodeSet>\n";
+
+        ImportResult result = importer.importNodeSet(stream(nodeSet));
+
+        assertEquals(result.getNodeCount(), 1);
+        assertEquals(result.getReferenceCount(), 1);
+
+        UaVariableNode node = (UaVariableNode) nodeMap.get(new NodeId(0, 100000));
+        assertNull(node.getValue().getValue().getValue());
+        assertTrue(hasComponent((UaNode) nodeMap.get(Identifiers.ObjectsFolder), node));
+    }
+
+    private static boolean hasComponent(UaNode parent, UaNode child) {
+        return parent.getReferences().contains(new Reference(parent.getNodeId(), Identifiers.HasComponent,
+            child.getNodeId().expanded(), child.getNodeClass(), true)) &&
+            child.getReferences().contains(new Reference(child.getNodeId(), Identifiers.HasComponent,
+                parent.getNodeId().expanded(), parent.getNodeClass(), false));
+    }
+
+    private static ByteArrayInputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.nodes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.Lists;
+import org.eclipse.milo.opcua.sdk.core.Reference;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ExpandedNodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
+import org.testng.annotations.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ReferenceIndexTest {
+
+    private static final NodeId SOURCE = new NodeId(1, "source");
+
+    private final Map<ExpandedNodeId, ServerNode> nodes = new HashMap<>();
+
+    @Test
+    public void testInsertionOrderAcrossTypes() {
+        ReferenceIndex index = new ReferenceIndex();
+
+        Reference r0 = reference(Identifiers.Organizes, "a", true);
+        Reference r1 = reference(Identifiers.HasComponent, "b", true);
+        Reference r2 = reference(Identifiers.Organizes, "c", true);
+        Reference r3 = reference(Identifiers.Organizes, "d", false);
+        Reference r4 = reference(Identifiers.HasProperty, "e", true);
+
+        Lists.newArrayList(r0, r1, r2, r3, r4).forEach(index::add);
+
+        assertEquals(Lists.newArrayList(index.references()), Lists.newArrayList(r0, r1, r2, r3, r4));
+
+        assertEquals(
+            index.stream(BrowseDirection.Both, id -> true).collect(toList()),
+            Lists.newArrayList(r0, r1, r2, r3, r4));
+
+        assertEquals(
+            index.stream(BrowseDirection.Forward, id -> !id.equals(Identifiers.HasProperty)).collect(toList()),
+            Lists.newArrayList(r0, r1, r2));
+
+        assertEquals(
+            index.stream(BrowseDirection.Inverse, id -> true).collect(toList()),
+            Lists.newArrayList(r3));
+
+        assertEquals(index.stream(Identifiers.Organizes, true).collect(toList()), Lists.newArrayList(r0, r2));
+        assertEquals(index.stream(Identifiers.HasNotifier, true).count(), 0L);
+    }
+
+    @Test
+    public void testDuplicatesAreCounted() {
+        ReferenceIndex index = new ReferenceIndex();
+
+        Reference r0 = reference(Identifiers.Organizes, "a", true);
+
+        index.add(r0);
+        index.add(r0);
+        assertEquals(index.size(), 1);
+
+        assertTrue(index.remove(r0));
+        assertTrue(index.contains(r0));
+
+        assertTrue(index.remove(r0));
+        assertFalse(index.contains(r0));
+        assertFalse(index.remove(r0));
+        assertEquals(index.stream(Identifiers.Organizes, true).count(), 0L);
+    }
+
+    @Test
+    public void testIterationDuringModification() {
+        ReferenceIndex index = new ReferenceIndex();
+
+        for (int i = 0; i < 100; i++) {
+            index.add(reference(Identifiers.Organizes, "n" + i, true));
+        }
+
+        int count = 0;
+        for (Reference reference : index.references()) {
+            index.remove(reference);
+            count++;
+        }
+
+        assertEquals(count, 100);
+        assertEquals(index.size(), 0);
+    }
+
+    @Test
+    public void testFindTarget() {
+        ReferenceIndex index = new ReferenceIndex();
+
+        for (int i = 0; i < 100; i++) {
+            index.add(reference(Identifiers.HasProperty, "p" + i, true));
+            index.add(reference(Identifiers.HasComponent, "c" + i, true));
+        }
+
+        Optional<ServerNode> p42 = index.findTarget(
+            Identifiers.HasProperty, true, new QualifiedName(1, "p42"), this::resolve);
+
+        assertTrue(p42.isPresent());
+        assertEquals(p42.get().getNodeId(), new NodeId(1, "p42"));
+
+        assertFalse(index.findTarget(
+            Identifiers.HasProperty, true, new QualifiedName(1, "c42"), this::resolve).isPresent());
+        assertFalse(index.findTarget(
+            Identifiers.HasProperty, false, new QualifiedName(1, "p42"), this::resolve).isPresent());
+
+        // A renamed target is no longer found under its old name, even though it was cached.
+        ((UaNode) p42.get()).setBrowseName(new QualifiedName(1, "renamed"));
+
+        assertFalse(index.findTarget(
+            Identifiers.HasProperty, true, new QualifiedName(1, "p42"), this::resolve).isPresent());
+        assertTrue(index.findTarget(
+            Identifiers.HasProperty, true, new QualifiedName(1, "renamed"), this::resolve).isPresent());
+
+        // A removed reference is no longer followed, even though it was cached.
+        Reference p7 = reference(Identifiers.HasProperty, "p7", true);
+        assertTrue(index.findTarget(
+            Identifiers.HasProperty, true, new QualifiedName(1, "p7"), this::resolve).isPresent());
+
+        index.remove(p7);
+
+        assertFalse(index.findTarget(
+            Identifiers.HasProperty, true, new QualifiedName(1, "p7"), this::resolve).isPresent());
+    }
+
+    @Test
+    public void testFindTargetByNodeClass() {
+        ReferenceIndex index = new ReferenceIndex();
+
+        // an Object and a Variable component that share a BrowseName
+        NodeId objectNodeId = new NodeId(1, "object");
+        QualifiedName browseName = new QualifiedName(1, "shared");
+
+        nodes.put(objectNodeId.expanded(), new UaObjectNode(
+            null, objectNodeId, browseName, LocalizedText.english("shared")));
+
+        index.add(new Reference(
+            SOURCE, Identifiers.HasComponent, objectNodeId.expanded(), NodeClass.Object, true));
+
+        NodeId variableNodeId = new NodeId(1, "variable");
+
+        nodes.put(variableNodeId.expanded(), new UaVariableNode(
+            null, variableNodeId, browseName, LocalizedText.english("shared")));
+
+        index.add(new Reference(
+            SOURCE, Identifiers.HasComponent, variableNodeId.expanded(), NodeClass.Variable, true));
+
+        for (int i = 0; i < 2; i++) {
+            // the second pass goes through the BrowseName cache
+            Optional<ServerNode> variable = index.findTarget(
+                Identifiers.HasComponent, true, browseName, NodeClass.Variable, this::resolve);
+
+            assertTrue(variable.isPresent());
+            assertEquals(variable.get().getNodeId(), variableNodeId);
+
+            Optional<ServerNode> object = index.findTarget(
+                Identifiers.HasComponent, true, browseName, NodeClass.Object, this::resolve);
+
+            assertTrue(object.isPresent());
+            assertEquals(object.get().getNodeId(), objectNodeId);
+        }
+
+        assertFalse(index.findTarget(
+            Identifiers.HasComponent, true, browseName, NodeClass.Method, this::resolve).isPresent());
+    }
+
+    private Optional<ServerNode> resolve(ExpandedNodeId nodeId) {
+        return Optional.ofNullable(nodes.get(nodeId));
+    }
+
+    private Reference reference(NodeId referenceTypeId, String target, boolean forward) {
+        NodeId targetNodeId = new NodeId(1, target);
+
+        nodes.computeIfAbsent(targetNodeId.expanded(), id -> new UaVariableNode(
+            null, targetNodeId, new QualifiedName(1, target), LocalizedText.english(target)));
+
+        return new Reference(SOURCE, referenceTypeId, targetNodeId.expanded(), NodeClass.Variable, forward);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.subscriptions;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.milo.opcua.sdk.server.api.AttributeManager.ReadContext;
+import org.eclipse.milo.opcua.sdk.server.util.NoOpNamespace;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AttributeBatchReaderTest {
+
+    private static final List<AttributeId> ATTRIBUTES =
+        ImmutableList.of(AttributeId.AccessLevel, AttributeId.MinimumSamplingInterval);
+
+    @Test
+    public void testReadsInBatches() throws Exception {
+        RecordingNamespace namespace = new RecordingNamespace();
+        AttributeBatchReader reader = new AttributeBatchReader(null, 2, 1);
+
+        List<List<DataValue>> values = reader.read(null, namespace, nodeIds(5), ATTRIBUTES).get();
+
+        assertEquals(namespace.reads.size(), 3);
+        assertEquals(namespace.reads.get(0).size(), 4);
+        assertEquals(namespace.reads.get(2).size(), 2);
+
+        assertEquals(values.size(), 5);
+        for (int i = 0; i < values.size(); i++) {
+            List<DataValue> nodeValues = values.get(i);
+
+            assertEquals(nodeValues.size(), ATTRIBUTES.size());
+            assertEquals(nodeValues.get(0).getValue().getValue(), "ns=2;i=" + i + "/" + AttributeId.AccessLevel);
+            assertEquals(nodeValues.get(1).getValue().getValue(),
+                "ns=2;i=" + i + "/" + AttributeId.MinimumSamplingInterval);
+        }
+    }
+
+    @Test
+    public void testBoundedParallelism() throws Exception {
+        DeferredNamespace namespace = new DeferredNamespace();
+        AttributeBatchReader reader = new AttributeBatchReader(null, 1, 2);
+
+        CompletableFuture<List<List<DataValue>>> future = reader.read(null, namespace, nodeIds(4), ATTRIBUTES);
+
+        assertEquals(namespace.pending.size(), 2);
+
+        namespace.completeNext();
+        assertEquals(namespace.pending.size(), 2);
+
+        namespace.completeNext();
+        namespace.completeNext();
+        assertFalse(future.isDone());
+
+        namespace.completeNext();
+        assertTrue(future.isDone());
+        assertEquals(future.get().size(), 4);
+    }
+
+    @Test(expectedExceptions = ExecutionException.class)
+    public void testReadFailure() throws Exception {
+        NoOpNamespace namespace = new NoOpNamespace() {
+            @Override
+            public void read(ReadContext context, Double maxAge,
+                             TimestampsToReturn timestamps,
+                             List<ReadValueId> readValueIds) {
+
+                throw new IllegalStateException("read failed");
+            }
+        };
+
+        new AttributeBatchReader(null, 2, 2).read(null, namespace, nodeIds(5), ATTRIBUTES).get();
+    }
+
+    private static List<NodeId> nodeIds(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new NodeId(2, i))
+            .collect(Collectors.toList());
+    }
+
+    private static List<DataValue> values(List<ReadValueId> readValueIds) {
+        return readValueIds.stream()
+            .map(id -> new DataValue(new Variant(
+                id.getNodeId().toParseableString() + "/" + AttributeId.from(id.getAttributeId()).orElse(null))))
+            .collect(Collectors.toList());
+    }
+
+    private static class RecordingNamespace extends NoOpNamespace {
+
+        final List<List<ReadValueId>> reads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void read(ReadContext context, Double maxAge,
+                         TimestampsToReturn timestamps,
+                         List<ReadValueId> readValueIds) {
+
+            reads.add(readValueIds);
+
+            context.complete(values(readValueIds));
+        }
+
+    }
+
+    private static class DeferredNamespace extends NoOpNamespace {
+
+        final List<Runnable> pending = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void read(ReadContext context, Double maxAge,
+                         TimestampsToReturn timestamps,
+                         List<ReadValueId> readValueIds) {
+
+            pending.add(() -> context.complete(values(readValueIds)));
+        }
+
+        void completeNext() {
+            pending.remove(0).run();
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.subscriptions;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TimerWheelPublishingSchedulerTest {
+
+    private ExecutorService executor;
+    private TimerWheelPublishingScheduler scheduler;
+
+    @BeforeClass
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        scheduler = new TimerWheelPublishingScheduler(executor, 2, 5, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        scheduler.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testEveryTaskRunsOnceAfterItsDelay() throws Exception {
+        int taskCount = 1000;
+
+        Set<Integer> executed = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(taskCount);
+
+        long startNanos = System.nanoTime();
+
+        for (int i = 0; i < taskCount; i++) {
+            int id = i;
+            long publishingInterval = i % 2 == 0 ? 50L : 100L;
+
+            scheduler.schedule(uint(i), publishingInterval, publishingInterval, () -> {
+                if (System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(publishingInterval)) {
+                    executed.add(id);
+                }
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(executed.size(), taskCount);
+
+        assertEquals(scheduler.getLateness().get(50L).getCount(), taskCount / 2);
+        assertEquals(scheduler.getLateness().get(100L).getCount(), taskCount / 2);
+    }
+
+    @Test
+    public void testRescheduleFromTask() throws Exception {
+        CountDownLatch latch = new CountDownLatch(10);
+
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+
+                if (latch.getCount() > 0) {
+                    scheduler.schedule(uint(1), 10L, 10L, this);
+                }
+            }
+        };
+
+        scheduler.schedule(uint(1), 10L, 10L, task);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(scheduler.getLateness().get(10L).getMaxLateness(TimeUnit.MILLISECONDS) < 1000L);
+    }
+
+}
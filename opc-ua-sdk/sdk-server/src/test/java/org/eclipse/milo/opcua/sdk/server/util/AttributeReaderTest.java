@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import org.eclipse.milo.opcua.sdk.core.AccessLevel;
+import org.eclipse.milo.opcua.sdk.server.api.nodes.VariableNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.AttributeContext;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.delegates.AttributeDelegate;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UByte;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ubyte;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class AttributeReaderTest {
+
+    private static final DateTime SOURCE_TIME = new DateTime(1000L);
+    private static final DateTime SERVER_TIME = new DateTime(2000L);
+
+    private final AttributeContext context = new AttributeContext(null, null);
+
+    @Test
+    public void testAccessLevelIsChecked() {
+        UaVariableNode node = createNode(new DataValue(new Variant(42)));
+
+        node.setAccessLevel(ubyte(AccessLevel.getMask(AccessLevel.NONE)));
+        assertEquals(read(node, null, null).getStatusCode().getValue(), StatusCodes.Bad_NotWritable);
+
+        node.setAccessLevel(ubyte(AccessLevel.getMask(AccessLevel.READ_ONLY)));
+        node.setUserAccessLevel(ubyte(AccessLevel.getMask(AccessLevel.HISTORY_READ_ONLY)));
+        assertEquals(read(node, null, null).getStatusCode().getValue(), StatusCodes.Bad_UserAccessDenied);
+
+        node.setUserAccessLevel(ubyte(AccessLevel.getMask(AccessLevel.READ_WRITE)));
+        assertEquals(read(node, null, null).getValue().getValue(), 42);
+    }
+
+    @Test
+    public void testUserAccessLevelComesFromDelegate() {
+        UaVariableNode node = createNode(new DataValue(new Variant(42)));
+
+        node.setAttributeDelegate(new AttributeDelegate() {
+            @Override
+            public UByte getUserAccessLevel(AttributeContext context, VariableNode node) {
+                return ubyte(0);
+            }
+        });
+
+        assertEquals(read(node, null, null).getStatusCode().getValue(), StatusCodes.Bad_UserAccessDenied);
+    }
+
+    @Test
+    public void testIndexRange() {
+        UaVariableNode node = createNode(new DataValue(new Variant(new Integer[]{1, 2, 3, 4, 5})));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals((Integer[]) read(node, null, "1:2").getValue().getValue(), new Integer[]{2, 3});
+        }
+
+        assertEquals(read(node, null, "1:x").getStatusCode().getValue(), StatusCodes.Bad_IndexRangeInvalid);
+    }
+
+    @Test
+    public void testDerivedValuesAreReused() {
+        DataValue value = new DataValue(new Variant(42), StatusCode.GOOD, SOURCE_TIME, SERVER_TIME);
+        UaVariableNode node = createNode(value);
+
+        assertSame(read(node, TimestampsToReturn.Both, null), value);
+
+        DataValue neither = read(node, TimestampsToReturn.Neither, null);
+        assertNotSame(neither, value);
+        assertNull(neither.getSourceTime());
+        assertNull(neither.getServerTime());
+        assertSame(read(node, TimestampsToReturn.Neither, null), neither);
+
+        DataValue source = read(node, TimestampsToReturn.Source, null);
+        assertSame(source.getSourceTime(), SOURCE_TIME);
+        assertNull(source.getServerTime());
+
+        DataValue server = read(node, TimestampsToReturn.Server, null);
+        assertNull(server.getSourceTime());
+        assertSame(server.getServerTime(), SERVER_TIME);
+    }
+
+    @Test
+    public void testInternalContextIsReused() {
+        AttributeContext internalContext = context.getInternalContext();
+
+        assertSame(context.getInternalContext(), internalContext);
+        assertFalse(internalContext.getSession().isPresent());
+    }
+
+    private DataValue read(UaVariableNode node, TimestampsToReturn timestamps, String indexRange) {
+        return AttributeReader.readAttribute(context, node, AttributeId.Value, timestamps, indexRange);
+    }
+
+    private static UaVariableNode createNode(DataValue value) {
+        UaVariableNode node = new UaVariableNode(
+            null, new NodeId(0, "test"), new QualifiedName(0, "test"), LocalizedText.english("test"));
+
+        UByte accessLevel = ubyte(AccessLevel.getMask(AccessLevel.READ_WRITE));
+        node.setAccessLevel(accessLevel);
+        node.setUserAccessLevel(accessLevel);
+        node.setValue(value);
+
+        return node;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.DataChangeTrigger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.DeadbandType;
+import org.eclipse.milo.opcua.stack.core.types.structured.DataChangeFilter;
+import org.eclipse.milo.opcua.stack.core.types.structured.Range;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class DataChangeMonitoringFilterTest {
+
+    private static final DataChangeFilter ABSOLUTE_1 = new DataChangeFilter(
+        DataChangeTrigger.StatusValue, uint(DeadbandType.Absolute.getValue()), 1.0);
+
+    private static final DataChangeFilter PERCENT_10 = new DataChangeFilter(
+        DataChangeTrigger.StatusValue, uint(DeadbandType.Percent.getValue()), 10.0);
+
+    private static final Range EU_RANGE = new Range(-50.0, 50.0);
+
+    @Test
+    public void testAbsoluteScalar() {
+        assertFalse(filter(10.0, 10.5, ABSOLUTE_1, null));
+        assertTrue(filter(10.0, 11.5, ABSOLUTE_1, null));
+    }
+
+    @Test
+    public void testPercentScalar() {
+        // 10% of [-50, 50] is 10.0
+        assertEquals(DataChangeMonitoringFilter.percentDeadband(10.0, EU_RANGE), 10.0, 0.0);
+
+        assertFalse(filter(10.0, 19.0, PERCENT_10, EU_RANGE));
+        assertTrue(filter(10.0, 21.0, PERCENT_10, EU_RANGE));
+    }
+
+    @Test
+    public void testPercentWithoutEURangePasses() {
+        assertTrue(filter(10.0, 10.1, PERCENT_10, null));
+    }
+
+    @Test
+    public void testPrimitiveArrays() {
+        assertFalse(filter(new double[]{1.0, 2.0}, new double[]{1.5, 2.5}, ABSOLUTE_1, null));
+        assertTrue(filter(new double[]{1.0, 2.0}, new double[]{1.5, 3.5}, ABSOLUTE_1, null));
+
+        assertFalse(filter(new float[]{1f, 2f}, new float[]{1.5f, 2.5f}, ABSOLUTE_1, null));
+        assertTrue(filter(new float[]{1f, 2f}, new float[]{3f, 2f}, ABSOLUTE_1, null));
+
+        assertFalse(filter(new int[]{1, 2}, new int[]{2, 3}, ABSOLUTE_1, null));
+        assertTrue(filter(new int[]{1, 2}, new int[]{1, 4}, ABSOLUTE_1, null));
+
+        assertFalse(filter(new long[]{1L, 2L}, new long[]{2L, 3L}, ABSOLUTE_1, null));
+        assertTrue(filter(new long[]{Long.MIN_VALUE}, new long[]{Long.MAX_VALUE}, ABSOLUTE_1, null));
+
+        assertFalse(filter(new short[]{1, 2}, new short[]{2, 1}, ABSOLUTE_1, null));
+        assertTrue(filter(new byte[]{1, 2}, new byte[]{1, 5}, ABSOLUTE_1, null));
+    }
+
+    @Test
+    public void testBoxedArrays() {
+        assertFalse(filter(new Double[]{1.0, 2.0}, new Double[]{1.5, 2.5}, ABSOLUTE_1, null));
+        assertTrue(filter(new Double[]{1.0, 2.0}, new Double[]{1.5, 3.5}, ABSOLUTE_1, null));
+        assertTrue(filter(new Integer[]{1, 2}, new Integer[]{1, null}, ABSOLUTE_1, null));
+    }
+
+    @Test
+    public void testPercentArray() {
+        assertFalse(filter(new double[]{0.0, 0.0}, new double[]{9.0, -9.0}, PERCENT_10, EU_RANGE));
+        assertTrue(filter(new double[]{0.0, 0.0}, new double[]{9.0, -11.0}, PERCENT_10, EU_RANGE));
+    }
+
+    @Test
+    public void testMultiDimensionalArray() {
+        double[][] last = {{1.0, 2.0}, {3.0, 4.0}};
+
+        assertFalse(filter(last, new double[][]{{1.5, 2.5}, {3.5, 4.5}}, ABSOLUTE_1, null));
+        assertTrue(filter(last, new double[][]{{1.5, 2.5}, {3.5, 5.5}}, ABSOLUTE_1, null));
+    }
+
+    @Test
+    public void testArrayLengthChanged() {
+        assertTrue(filter(new double[]{1.0}, new double[]{1.0, 2.0}, ABSOLUTE_1, null));
+        assertTrue(filter(new Double[]{1.0}, new Double[]{1.0, 2.0}, ABSOLUTE_1, null));
+    }
+
+    private static boolean filter(Object last, Object current, DataChangeFilter filter, Range euRange) {
+        return DataChangeMonitoringFilter.filter(
+            new DataValue(new Variant(last)),
+            new DataValue(new Variant(current)),
+            filter,
+            euRange);
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class SpscItemQueueTest {
+
+    private static final UnaryOperator<Integer> NEGATE = v -> -v;
+
+    @Test
+    public void testOfferAndPoll() {
+        SpscItemQueue<Integer> queue = new SpscItemQueue<>(3);
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        assertFalse(queue.offer(1, true, NEGATE));
+        assertFalse(queue.offer(2, true, NEGATE));
+        assertEquals(queue.size(), 2);
+
+        assertEquals(queue.poll(), Integer.valueOf(1));
+        assertEquals(queue.poll(), Integer.valueOf(2));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDiscardOldest() {
+        SpscItemQueue<Integer> queue = new SpscItemQueue<>(2);
+
+        queue.offer(1, true, NEGATE);
+        queue.offer(2, true, NEGATE);
+        assertTrue(queue.offer(3, true, NEGATE));
+        assertEquals(queue.size(), 2);
+
+        assertEquals(queue.poll(), Integer.valueOf(2));
+        assertEquals(queue.poll(), Integer.valueOf(-3));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testReplaceNewest() {
+        SpscItemQueue<Integer> queue = new SpscItemQueue<>(2);
+
+        queue.offer(1, false, NEGATE);
+        queue.offer(2, false, NEGATE);
+        assertTrue(queue.offer(3, false, NEGATE));
+        assertTrue(queue.offer(4, false, NEGATE));
+        assertEquals(queue.size(), 2);
+
+        assertEquals(queue.poll(), Integer.valueOf(1));
+        assertEquals(queue.poll(), Integer.valueOf(-4));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testCapacityOne() {
+        SpscItemQueue<Integer> queue = new SpscItemQueue<>(1);
+
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i, true, UnaryOperator.identity());
+        }
+
+        assertEquals(queue.poll(), Integer.valueOf(9));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testMatchesRingBufferItemQueue() {
+        for (boolean discardOldest : new boolean[]{true, false}) {
+            SpscItemQueue<Integer> spsc = new SpscItemQueue<>(4);
+            RingBufferItemQueue<Integer> ring = new RingBufferItemQueue<>(4);
+
+            for (int i = 1; i <= 100; i++) {
+                assertEquals(spsc.offer(i, discardOldest, NEGATE), ring.offer(i, discardOldest, NEGATE));
+
+                if (i % 7 == 0) {
+                    assertEquals(spsc.poll(), ring.poll());
+                }
+
+                assertEquals(spsc.size(), ring.size());
+            }
+
+            while (!ring.isEmpty()) {
+                assertEquals(spsc.poll(), ring.poll());
+            }
+
+            assertNull(spsc.poll());
+        }
+    }
+
+    @Test
+    public void testClear() {
+        SpscItemQueue<Integer> queue = new SpscItemQueue<>(4);
+
+        for (int i = 0; i < 6; i++) {
+            queue.offer(i, true, NEGATE);
+        }
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        queue.offer(42, true, NEGATE);
+        assertEquals(queue.poll(), Integer.valueOf(42));
+    }
+
+    @Test(timeOut = 30000)
+    public void testConcurrentProducerAndConsumer() throws InterruptedException {
+        int count = 1_000_000;
+
+        SpscItemQueue<Integer> queue = new SpscItemQueue<>(16);
+
+        AtomicBoolean done = new AtomicBoolean(false);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> received = new ArrayList<>();
+        int[] discarded = new int[1];
+
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= count; i++) {
+                if (queue.offer(i, true, NEGATE)) {
+                    discarded[0]++;
+                }
+            }
+            done.set(true);
+        });
+
+        Thread consumer = new Thread(() -> {
+            while (!done.get() || !queue.isEmpty()) {
+                Integer value = queue.poll();
+                if (value != null) received.add(value);
+            }
+            latch.countDown();
+        });
+
+        consumer.start();
+        producer.start();
+        producer.join();
+        latch.await();
+
+        // Every value is either delivered exactly once, in order, or discarded.
+        assertEquals(received.size() + discarded[0], count);
+
+        int last = 0;
+        for (Integer value : received) {
+            int v = Math.abs(value);
+            assertTrue(v > last, "out of order: " + v + " after " + last);
+            last = v;
+        }
+    }
+
+}
@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
+import org.eclipse.milo.opcua.sdk.server.api.AttributeManager;
+import org.eclipse.milo.opcua.sdk.server.api.DataItem;
+import org.eclipse.milo.opcua.sdk.server.api.config.OpcUaServerConfig;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateManager;
+import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateValidator;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.WriteValue;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SubscriptionModelTest {
+
+    private ManualScheduler scheduler;
+    private PendingReads reads;
+    private SubscriptionModel model;
+
+    @BeforeMethod
+    public void setUp() {
+        OpcUaServerConfig config = OpcUaServerConfig.builder()
+            .setCertificateManager(new DefaultCertificateManager())
+            .setCertificateValidator(new DefaultCertificateValidator(Files.createTempDir()))
+            .build();
+
+        scheduler = new ManualScheduler();
+        reads = new PendingReads();
+
+        model = new SubscriptionModel(
+            new OpcUaServer(config), reads, MoreExecutors.newDirectExecutorService(), scheduler);
+    }
+
+    @Test
+    public void testNewItemsSampledOnce() throws Exception {
+        TestItem a = new TestItem("a", 100.0);
+        TestItem b = new TestItem("b", 100.0);
+
+        model.onDataItemsCreated(Arrays.asList(a, b));
+
+        assertEquals(reads.take(), Arrays.asList(a.nodeId, b.nodeId));
+        assertEquals(a.values.size(), 1);
+        assertEquals(b.values.size(), 1);
+
+        // only the new item is read, even though it joins the existing group
+        TestItem c = new TestItem("c", 100.0);
+        model.onDataItemsCreated(Collections.singletonList(c));
+
+        assertEquals(reads.take(), Collections.singletonList(c.nodeId));
+        assertTrue(reads.isEmpty());
+
+        // a modification that leaves the item in its group doesn't sample it again
+        model.onDataItemsModified(Collections.singletonList(a));
+        assertTrue(reads.isEmpty());
+
+        assertEquals(a.values.size(), 1);
+        assertEquals(b.values.size(), 1);
+        assertEquals(c.values.size(), 1);
+        assertEquals(groups().get(100L).size(), 3);
+    }
+
+    @Test
+    public void testModifyMovesItemBetweenGroups() throws Exception {
+        TestItem a = new TestItem("a", 100.0);
+        TestItem b = new TestItem("b", 100.0);
+
+        model.onDataItemsCreated(Arrays.asList(a, b));
+        reads.take();
+
+        ScheduledFuture<?> group100 = scheduler.lastScheduled();
+
+        a.samplingInterval = 250.0;
+        model.onDataItemsModified(Collections.singletonList(a));
+
+        Map<Long, List<DataItem>> groups = groups();
+        assertEquals(groups.get(100L), Collections.singletonList(b));
+        assertEquals(groups.get(250L), Collections.singletonList(a));
+
+        // the moved item is sampled right away; the group it left keeps its schedule
+        assertEquals(reads.take(), Collections.singletonList(a.nodeId));
+        assertFalse(group100.isCancelled());
+
+        scheduler.tick();
+
+        List<List<NodeId>> sampled = Arrays.asList(reads.take(), reads.take());
+        assertTrue(sampled.contains(Collections.singletonList(a.nodeId)));
+        assertTrue(sampled.contains(Collections.singletonList(b.nodeId)));
+        assertTrue(reads.isEmpty());
+    }
+
+    @Test
+    public void testGroupCancelledWhenLastItemRemoved() throws Exception {
+        TestItem a = new TestItem("a", 100.0);
+
+        model.onDataItemsCreated(Collections.singletonList(a));
+        reads.take();
+
+        ScheduledFuture<?> group = scheduler.lastScheduled();
+
+        model.onDataItemsDeleted(Collections.singletonList(a));
+
+        assertTrue(groups().isEmpty());
+        assertTrue(group.isCancelled());
+
+        scheduler.tick();
+        assertTrue(reads.isEmpty());
+    }
+
+    @Test
+    public void testMonitoringModeDisablesSampling() throws Exception {
+        TestItem a = new TestItem("a", 100.0);
+        TestItem b = new TestItem("b", 100.0);
+
+        model.onDataItemsCreated(Arrays.asList(a, b));
+        reads.take();
+
+        a.samplingEnabled = false;
+        model.onMonitoringModeChanged(Collections.singletonList(a));
+
+        assertEquals(groups().get(100L), Collections.singletonList(b));
+
+        scheduler.tick();
+        assertEquals(reads.take(), Collections.singletonList(b.nodeId));
+
+        // re-enabled items rejoin their group with one initial sample
+        a.samplingEnabled = true;
+        model.onMonitoringModeChanged(Collections.singletonList(a));
+
+        assertEquals(reads.take(), Collections.singletonList(a.nodeId));
+        assertEquals(groups().get(100L).size(), 2);
+    }
+
+    @Test
+    public void testTickSkippedWhileReadOutstanding() throws Exception {
+        TestItem a = new TestItem("a", 100.0);
+
+        model.onDataItemsCreated(Collections.singletonList(a));
+        reads.take();
+
+        scheduler.tick();
+        assertEquals(reads.size(), 1);
+
+        // the previous sample hasn't completed; this tick is skipped but the group stays scheduled
+        scheduler.tick();
+        assertEquals(reads.size(), 1);
+
+        reads.take();
+        assertEquals(a.values.size(), 2);
+
+        scheduler.tick();
+        assertEquals(reads.take(), Collections.singletonList(a.nodeId));
+        assertEquals(a.values.size(), 3);
+    }
+
+    private Map<Long, List<DataItem>> groups() throws Exception {
+        return model.getSamplingGroups().get();
+    }
+
+    private static class TestItem implements DataItem {
+
+        private final List<DataValue> values = new ArrayList<>();
+
+        private final NodeId nodeId;
+
+        private volatile double samplingInterval;
+        private volatile boolean samplingEnabled = true;
+
+        TestItem(String name, double samplingInterval) {
+            this.nodeId = new NodeId(2, name);
+            this.samplingInterval = samplingInterval;
+        }
+
+        @Override
+        public void setValue(DataValue value) {
+            values.add(value);
+        }
+
+        @Override
+        public void setQuality(StatusCode quality) {}
+
+        @Override
+        public double getSamplingInterval() {
+            return samplingInterval;
+        }
+
+        @Override
+        public UInteger getId() {
+            return uint(0);
+        }
+
+        @Override
+        public UInteger getSubscriptionId() {
+            return uint(0);
+        }
+
+        @Override
+        public ReadValueId getReadValueId() {
+            return new ReadValueId(nodeId, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE);
+        }
+
+        @Override
+        public TimestampsToReturn getTimestampsToReturn() {
+            return TimestampsToReturn.Both;
+        }
+
+        @Override
+        public boolean isSamplingEnabled() {
+            return samplingEnabled;
+        }
+
+        @Override
+        public String toString() {
+            return nodeId.toString();
+        }
+
+    }
+
+    /**
+     * An {@link AttributeManager} that holds on to reads until the test completes them.
+     */
+    private static class PendingReads implements AttributeManager {
+
+        private final List<ReadContext> contexts = new ArrayList<>();
+        private final List<List<ReadValueId>> readValueIds = new ArrayList<>();
+
+        @Override
+        public synchronized void read(
+            ReadContext context,
+            Double maxAge,
+            TimestampsToReturn timestamps,
+            List<ReadValueId> readValueIds) {
+
+            this.contexts.add(context);
+            this.readValueIds.add(readValueIds);
+        }
+
+        @Override
+        public void write(WriteContext context, List<WriteValue> writeValues) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Complete the oldest pending read.
+         *
+         * @return the {@link NodeId}s it read.
+         */
+        List<NodeId> take() {
+            ReadContext context;
+            List<ReadValueId> ids;
+
+            synchronized (this) {
+                assertFalse(contexts.isEmpty(), "no pending read");
+
+                context = contexts.remove(0);
+                ids = readValueIds.remove(0);
+            }
+
+            context.complete(ids.stream()
+                .map(id -> new DataValue(new Variant(42)))
+                .collect(Collectors.toList()));
+
+            return ids.stream().map(ReadValueId::getNodeId).collect(Collectors.toList());
+        }
+
+        synchronized int size() {
+            return contexts.size();
+        }
+
+        synchronized boolean isEmpty() {
+            return contexts.isEmpty();
+        }
+
+    }
+
+    /**
+     * A {@link ScheduledExecutorService} whose scheduled tasks only run when the test calls {@link #tick()}.
+     */
+    private static class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+        private final List<ManualFuture> scheduled = new ArrayList<>();
+
+        private ManualFuture last;
+
+        /**
+         * Run every task scheduled so far; tasks they schedule run on the next tick.
+         */
+        void tick() {
+            List<ManualFuture> due = new ArrayList<>(scheduled);
+            scheduled.clear();
+
+            due.stream().filter(f -> !f.isCancelled()).forEach(f -> f.task.run());
+        }
+
+        ScheduledFuture<?> lastScheduled() {
+            return last;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            last = new ManualFuture(command);
+            scheduled.add(last);
+            return last;
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(
+            Runnable command, long initialDelay, long period, TimeUnit unit) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(
+            Runnable command, long initialDelay, long delay, TimeUnit unit) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {}
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+
+    }
+
+    private static class ManualFuture implements ScheduledFuture<Object> {
+
+        private final Runnable task;
+
+        private volatile boolean cancelled = false;
+
+        ManualFuture(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return 0L;
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cancelled;
+        }
+
+        @Override
+        public Object get() {
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import com.google.common.io.Files;
+import org.eclipse.milo.opcua.sdk.core.AccessLevel;
+import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
+import org.eclipse.milo.opcua.sdk.server.api.AbstractServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap;
+import org.eclipse.milo.opcua.sdk.server.api.config.OpcUaServerConfig;
+import org.eclipse.milo.opcua.sdk.server.nodes.AttributeContext;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.delegates.AttributeDelegate;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateManager;
+import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateValidator;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ubyte;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class ValueCacheTest {
+
+    private static final NodeId NODE_ID = new NodeId(2, "test");
+
+    private static final ReadValueId READ_VALUE =
+        new ReadValueId(NODE_ID, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE);
+
+    private final AttributeContext context = new AttributeContext(null, null);
+
+    private ValueCache valueCache;
+    private ServerNodeMap nodeMap;
+    private UaVariableNode node;
+
+    @BeforeMethod
+    public void setUp() {
+        valueCache = new ValueCache(10);
+
+        nodeMap = new AbstractServerNodeMap() {
+            @Override
+            public ValueCache getValueCache() {
+                return valueCache;
+            }
+        };
+
+        node = createNode(nodeMap);
+        nodeMap.addNode(node);
+    }
+
+    @Test
+    public void testFreshValueIsReturned() throws Exception {
+        register();
+
+        DataValue value = new DataValue(new Variant(42));
+        valueCache.put(NODE_ID, value);
+
+        assertSame(read(1000.0, TimestampsToReturn.Both), value);
+        assertEquals(valueCache.getHitCounter().getCount(), 1L);
+
+        Thread.sleep(20);
+
+        assertNull(read(10.0, TimestampsToReturn.Both));
+        assertEquals(valueCache.getMissCounter().getCount(), 2L);
+    }
+
+    @Test
+    public void testOnlyNodesReadWithMaxAgeAreCached() {
+        valueCache.put(NODE_ID, new DataValue(new Variant(42)));
+        node.setValue(new DataValue(new Variant(43)));
+
+        assertEquals(valueCache.size(), 0);
+
+        // a miss registers the node, the next value is kept
+        assertNull(read(1000.0, TimestampsToReturn.Both));
+        assertEquals(valueCache.size(), 1);
+
+        node.setValue(new DataValue(new Variant(44)));
+        assertEquals(read(1000.0, TimestampsToReturn.Both).getValue().getValue(), 44);
+    }
+
+    @Test
+    public void testFullCacheEvictsLeastRecentlyUsed() {
+        UaVariableNode other = createNode(nodeMap, new NodeId(2, "other"));
+        nodeMap.addNode(other);
+
+        ReadValueId readOther =
+            new ReadValueId(other.getNodeId(), AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE);
+
+        valueCache = new ValueCache(1);
+
+        register();
+        node.setValue(new DataValue(new Variant(42)));
+        assertNotNull(read(1000.0, TimestampsToReturn.Both));
+
+        // the cache is full; a newly read node still becomes cacheable, evicting the old one
+        assertNull(valueCache.read(nodeMap, context, readOther, 1000.0, TimestampsToReturn.Both));
+        other.setValue(new DataValue(new Variant(43)));
+
+        DataValue value = valueCache.read(nodeMap, context, readOther, 1000.0, TimestampsToReturn.Both);
+        assertNotNull(value);
+        assertEquals(value.getValue().getValue(), 43);
+
+        assertEquals(valueCache.size(), 1);
+        assertNull(read(1000.0, TimestampsToReturn.Both));
+    }
+
+    @Test
+    public void testRemovedNodeIsInvalidated() {
+        register();
+        node.setValue(new DataValue(new Variant(42)));
+
+        nodeMap.removeNode(NODE_ID);
+
+        assertEquals(valueCache.size(), 0);
+    }
+
+    @Test
+    public void testTimestampsAreApplied() {
+        register();
+        valueCache.put(NODE_ID, new DataValue(new Variant(42), StatusCode.GOOD, DateTime.now()));
+
+        DataValue value = read(1000.0, TimestampsToReturn.Neither);
+
+        assertEquals(value.getValue().getValue(), 42);
+        assertNull(value.getSourceTime());
+        assertNull(value.getServerTime());
+    }
+
+    @Test
+    public void testOnlyValueIsCached() {
+        valueCache.put(NODE_ID, new DataValue(new Variant(42)));
+
+        ReadValueId browseName = new ReadValueId(NODE_ID, AttributeId.BrowseName.uid(), null, QualifiedName.NULL_VALUE);
+        ReadValueId indexRange = new ReadValueId(NODE_ID, AttributeId.Value.uid(), "0", QualifiedName.NULL_VALUE);
+
+        assertNull(valueCache.read(nodeMap, context, browseName, 1000.0, TimestampsToReturn.Both));
+        assertNull(valueCache.read(nodeMap, context, indexRange, 1000.0, TimestampsToReturn.Both));
+        assertEquals(valueCache.getMissCounter().getCount(), 0L);
+        assertEquals(valueCache.size(), 0);
+    }
+
+    @Test
+    public void testBadValueIsNotCached() {
+        register();
+
+        valueCache.put(NODE_ID, new DataValue(new Variant(42)));
+        valueCache.put(NODE_ID, new DataValue(StatusCodes.Bad_CommunicationError));
+
+        assertNull(read(1000.0, TimestampsToReturn.Both));
+    }
+
+    @Test
+    public void testAccessLevelIsChecked() {
+        register();
+        valueCache.put(NODE_ID, new DataValue(new Variant(42)));
+
+        node.setUserAccessLevel(ubyte(AccessLevel.getMask(AccessLevel.NONE)));
+
+        assertNull(read(1000.0, TimestampsToReturn.Both));
+    }
+
+    @Test
+    public void testSetValueIsCached() {
+        register();
+        DataValue value = new DataValue(new Variant(42));
+        node.setValue(value);
+
+        assertSame(read(1000.0, TimestampsToReturn.Both), value);
+
+        // not the value a Read returns once a delegate computes it...
+        node.setAttributeDelegate(new AttributeDelegate() {});
+        assertNull(read(1000.0, TimestampsToReturn.Both));
+
+        // ...or once the node is replaced
+        node.setAttributeDelegate(AttributeDelegate.DEFAULT);
+        nodeMap.addNode(createNode(nodeMap));
+        assertNull(read(1000.0, TimestampsToReturn.Both));
+    }
+
+    @Test
+    public void testServerNodesFeedServerCache() throws Exception {
+        OpcUaServerConfig config = OpcUaServerConfig.builder()
+            .setCertificateManager(new DefaultCertificateManager())
+            .setCertificateValidator(new DefaultCertificateValidator(Files.createTempDir()))
+            .build();
+
+        OpcUaServer server = new OpcUaServer(config);
+
+        UaVariableNode serverNode = createNode(server.getNodeMap());
+        server.getNodeMap().addNode(serverNode);
+
+        AttributeContext serverContext = new AttributeContext(server);
+
+        assertNull(server.getValueCache().read(
+            server.getNodeMap(), serverContext, READ_VALUE, 1000.0, TimestampsToReturn.Both));
+
+        serverNode.setValue(new DataValue(new Variant(42)));
+
+        DataValue value = server.getValueCache().read(
+            server.getNodeMap(), serverContext, READ_VALUE, 1000.0, TimestampsToReturn.Both);
+
+        assertNotNull(value);
+        assertEquals(value.getValue().getValue(), 42);
+    }
+
+    private void register() {
+        assertNull(read(1000.0, TimestampsToReturn.Both));
+    }
+
+    private DataValue read(double maxAge, TimestampsToReturn timestamps) {
+        return valueCache.read(nodeMap, context, READ_VALUE, maxAge, timestamps);
+    }
+
+    private static UaVariableNode createNode(ServerNodeMap nodeMap) {
+        return createNode(nodeMap, NODE_ID);
+    }
+
+    private static UaVariableNode createNode(ServerNodeMap nodeMap, NodeId nodeId) {
+        UaVariableNode node = new UaVariableNode(
+            nodeMap, nodeId, new QualifiedName(2, "test"), LocalizedText.english("test"));
+
+        node.setAccessLevel(ubyte(AccessLevel.getMask(AccessLevel.READ_ONLY)));
+        node.setUserAccessLevel(ubyte(AccessLevel.getMask(AccessLevel.READ_ONLY)));
+
+        return node;
+    }
+
+}
@@ -22,6 +22,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -29,19 +30,27 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.eclipse.milo.opcua.sdk.client.api.UaSession;
+import org.eclipse.milo.opcua.sdk.client.api.config.NotificationDelivery;
 import org.eclipse.milo.opcua.sdk.client.api.config.OpcUaClientConfig;
+import org.eclipse.milo.opcua.sdk.client.api.config.RequestBatching;
 import org.eclipse.milo.opcua.sdk.client.api.identity.UsernameProvider;
 import org.eclipse.milo.opcua.sdk.client.api.identity.X509IdentityProvider;
 import org.eclipse.milo.opcua.sdk.client.api.nodes.VariableNode;
 import org.eclipse.milo.opcua.sdk.client.api.subscriptions.UaMonitoredItem;
 import org.eclipse.milo.opcua.sdk.client.api.subscriptions.UaSubscription;
 import org.eclipse.milo.opcua.sdk.client.api.subscriptions.UaSubscriptionManager;
+import org.eclipse.milo.opcua.sdk.client.subscriptions.OpcUaSubscription;
+import org.eclipse.milo.opcua.sdk.core.Reference;
 import org.eclipse.milo.opcua.sdk.server.OpcUaServer;
+import org.eclipse.milo.opcua.sdk.server.api.ServerNodeMap;
 import org.eclipse.milo.opcua.sdk.server.api.config.OpcUaServerConfig;
 import org.eclipse.milo.opcua.sdk.server.identity.CompositeValidator;
 import org.eclipse.milo.opcua.sdk.server.identity.UsernameIdentityValidator;
 import org.eclipse.milo.opcua.sdk.server.identity.X509IdentityValidator;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaFolderNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
 import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
 import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.Identifiers;
@@ -50,6 +59,7 @@ import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.UaServiceFaultException;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
@@ -57,13 +67,21 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UShort;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseDirection;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.BrowseResultMask;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.MonitoringMode;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.NodeClass;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.BrowseDescription;
+import org.eclipse.milo.opcua.stack.core.types.structured.BrowseResult;
 import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.MonitoredItemCreateRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.MonitoringParameters;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReferenceDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.UserTokenPolicy;
+import org.eclipse.milo.opcua.stack.core.types.structured.ViewDescription;
 import org.eclipse.milo.opcua.stack.core.util.FutureUtils;
 import org.eclipse.milo.opcua.stack.server.tcp.SocketServers;
 import org.jooq.lambda.tuple.Tuple2;
@@ -74,6 +92,7 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
@@ -210,6 +229,152 @@ public class OpcUaClientIT {
         assertNotNull(currentTimeNode.getValue().get());
     }
 
+    @Test
+    public void testBrowseNext() throws Exception {
+        logger.info("testBrowseNext()");
+
+        BrowseDescription browseDescription = new BrowseDescription(
+            Identifiers.Server,
+            BrowseDirection.Forward,
+            Identifiers.HierarchicalReferences,
+            true,
+            uint(NodeClass.Object.getValue() | NodeClass.Variable.getValue() | NodeClass.Method.getValue()),
+            uint(BrowseResultMask.All.getValue())
+        );
+
+        int continuationPoints = server.getBrowseContinuationPoints().size();
+
+        BrowseResult all = client.browse(
+            new ViewDescription(), uint(0), newArrayList(browseDescription)).get().getResults()[0];
+
+        assertTrue(all.getReferences().length > 3);
+        assertTrue(all.getContinuationPoint() == null || all.getContinuationPoint().isNull());
+
+        // a result that fits in one page never registers a continuation point
+        assertEquals(server.getBrowseContinuationPoints().size(), continuationPoints);
+
+        List<ReferenceDescription> paged = new ArrayList<>();
+
+        BrowseResult result = client.browse(
+            new ViewDescription(), uint(3), newArrayList(browseDescription)).get().getResults()[0];
+
+        while (true) {
+            assertTrue(result.getStatusCode().isGood());
+            assertTrue(result.getReferences().length <= 3);
+            paged.addAll(Arrays.asList(result.getReferences()));
+
+            ByteString continuationPoint = result.getContinuationPoint();
+
+            if (continuationPoint == null || continuationPoint.isNull()) break;
+
+            result = client.browseNext(false, newArrayList(continuationPoint)).get().getResults()[0];
+        }
+
+        assertEquals(
+            paged.stream().map(ReferenceDescription::getNodeId).collect(toList()),
+            Arrays.stream(all.getReferences()).map(ReferenceDescription::getNodeId).collect(toList()));
+
+        assertEquals(
+            paged.stream().map(ReferenceDescription::getBrowseName).collect(toList()),
+            Arrays.stream(all.getReferences()).map(ReferenceDescription::getBrowseName).collect(toList()));
+
+        // a released continuation point is no longer valid
+        ByteString continuationPoint = client.browse(
+            new ViewDescription(), uint(1), newArrayList(browseDescription)).get().getResults()[0]
+            .getContinuationPoint();
+
+        StatusCode released = client.browseNext(true, newArrayList(continuationPoint)).get()
+            .getResults()[0].getStatusCode();
+        assertTrue(released.isGood());
+
+        StatusCode invalid = client.browseNext(false, newArrayList(continuationPoint)).get()
+            .getResults()[0].getStatusCode();
+        assertEquals(invalid.getValue(), StatusCodes.Bad_ContinuationPointInvalid);
+    }
+
+    @Test
+    public void testBrowseNextTargetRemoved() throws Exception {
+        logger.info("testBrowseNextTargetRemoved()");
+
+        UShort namespaceIndex = server.getNamespaceManager().getNamespaceTable()
+            .getIndex(TestNamespace.NAMESPACE_URI);
+
+        ServerNodeMap nodeMap = server.getNodeMap();
+
+        UaFolderNode folder = new UaFolderNode(
+            nodeMap,
+            new NodeId(namespaceIndex, "BrowseNextTargetRemoved"),
+            new QualifiedName(namespaceIndex, "BrowseNextTargetRemoved"),
+            LocalizedText.english("BrowseNextTargetRemoved")
+        );
+
+        nodeMap.put(folder.getNodeId(), folder);
+
+        List<NodeId> children = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            String name = "Child" + i;
+
+            UaVariableNode node = new UaVariableNode.UaVariableNodeBuilder(nodeMap)
+                .setNodeId(new NodeId(namespaceIndex, "BrowseNextTargetRemoved/" + name))
+                .setBrowseName(new QualifiedName(namespaceIndex, name))
+                .setDisplayName(LocalizedText.english(name))
+                .setDataType(Identifiers.Int32)
+                .setTypeDefinition(Identifiers.BaseDataVariableType)
+                .build();
+
+            folder.addReference(new Reference(
+                folder.getNodeId(),
+                Identifiers.Organizes,
+                node.getNodeId().expanded(),
+                node.getNodeClass(),
+                true
+            ));
+
+            nodeMap.put(node.getNodeId(), node);
+            children.add(node.getNodeId());
+        }
+
+        BrowseDescription browseDescription = new BrowseDescription(
+            folder.getNodeId(),
+            BrowseDirection.Forward,
+            Identifiers.HierarchicalReferences,
+            true,
+            uint(0),
+            uint(BrowseResultMask.All.getValue())
+        );
+
+        BrowseResult first = client.browse(
+            new ViewDescription(), uint(1), newArrayList(browseDescription)).get().getResults()[0];
+
+        assertTrue(first.getStatusCode().isGood());
+        assertEquals(first.getReferences().length, 1);
+        assertEquals(first.getReferences()[0].getNodeId().local().orElse(null), children.get(0));
+
+        // the next target disappears while the client holds the continuation point
+        nodeMap.remove(children.get(1));
+
+        BrowseResult second = client.browseNext(false, newArrayList(first.getContinuationPoint()))
+            .get(5, TimeUnit.SECONDS).getResults()[0];
+
+        assertTrue(second.getStatusCode().isGood());
+        assertEquals(second.getReferences().length, 1);
+
+        ReferenceDescription removed = second.getReferences()[0];
+        assertEquals(removed.getNodeId().local().orElse(null), children.get(1));
+        assertEquals(removed.getNodeClass(), NodeClass.Variable);
+        assertTrue(removed.getBrowseName().isNull());
+
+        BrowseResult third = client.browseNext(false, newArrayList(second.getContinuationPoint()))
+            .get(5, TimeUnit.SECONDS).getResults()[0];
+
+        assertTrue(third.getStatusCode().isGood());
+        assertEquals(third.getReferences().length, 1);
+        assertEquals(third.getReferences()[0].getNodeId().local().orElse(null), children.get(2));
+        assertEquals(third.getReferences()[0].getBrowseName(), new QualifiedName(namespaceIndex, "Child2"));
+        assertTrue(third.getContinuationPoint() == null || third.getContinuationPoint().isNull());
+    }
+
     @Test
     public void testWrite() throws Exception {
         logger.info("testWrite()");
@@ -234,6 +399,56 @@ public class OpcUaClientIT {
         assertNotEquals(valueBefore, valueAfter);
     }
 
+    @Test
+    public void testReadAndWriteBatched() throws Exception {
+        logger.info("testReadAndWriteBatched()");
+
+        EndpointDescription[] endpoints = UaTcpStackClient.getEndpoints("opc.tcp://localhost:12686/test-server").get();
+
+        EndpointDescription endpoint = Arrays.stream(endpoints)
+            .filter(e -> e.getSecurityPolicyUri().equals(SecurityPolicy.None.getSecurityPolicyUri()))
+            .findFirst().orElseThrow(() -> new Exception("no desired endpoints returned"));
+
+        OpcUaClientConfig clientConfig = OpcUaClientConfig.builder()
+            .setApplicationName(LocalizedText.english("digitalpetri opc-ua client"))
+            .setApplicationUri("urn:digitalpetri:opcua:client")
+            .setEndpoint(endpoint)
+            .setRequestTimeout(uint(60000))
+            .setRequestBatching(RequestBatching.window(50, TimeUnit.MILLISECONDS))
+            .build();
+
+        OpcUaClient client = new OpcUaClient(clientConfig);
+        client.connect().get();
+
+        try {
+            NodeId nodeId = new NodeId(2, "/Static/AllProfiles/Scalar/Int32");
+            VariableNode variableNode = client.getAddressSpace().createVariableNode(nodeId);
+
+            List<CompletableFuture<StatusCode>> writes = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                writes.add(variableNode.writeValue(new DataValue(new Variant(i))));
+            }
+            for (CompletableFuture<StatusCode> write : writes) {
+                assertTrue(write.get().isGood());
+            }
+
+            List<CompletableFuture<DataValue>> reads = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                reads.add(variableNode.readValue());
+            }
+            for (CompletableFuture<DataValue> read : reads) {
+                assertEquals(read.get().getValue().getValue(), 9);
+            }
+
+            RequestBatchingMetrics metrics = client.getRequestBatchingMetrics();
+            assertEquals(metrics.getOperationCount(), 20L);
+            assertTrue(metrics.getBatchCount() < 20L);
+            assertTrue(metrics.getMaxBatchSize() > 1);
+        } finally {
+            client.disconnect().get();
+        }
+    }
+
     @Test
     public void testSubscribe() throws Exception {
         logger.info("testSubscribe()");
@@ -280,6 +495,72 @@ public class OpcUaClientIT {
         assertNotNull(FutureUtils.sequence(cfs).get(5, TimeUnit.SECONDS));
     }
 
+    @Test
+    public void testSubscribe_PerSubscriptionDelivery() throws Exception {
+        logger.info("testSubscribe_PerSubscriptionDelivery()");
+
+        EndpointDescription[] endpoints = UaTcpStackClient.getEndpoints("opc.tcp://localhost:12686/test-server").get();
+
+        EndpointDescription endpoint = Arrays.stream(endpoints)
+            .filter(e -> e.getSecurityPolicyUri().equals(SecurityPolicy.None.getSecurityPolicyUri()))
+            .findFirst().orElseThrow(() -> new Exception("no desired endpoints returned"));
+
+        OpcUaClientConfig clientConfig = OpcUaClientConfig.builder()
+            .setApplicationName(LocalizedText.english("digitalpetri opc-ua client"))
+            .setApplicationUri("urn:digitalpetri:opcua:client")
+            .setEndpoint(endpoint)
+            .setRequestTimeout(uint(60000))
+            .setNotificationDelivery(NotificationDelivery.PerSubscription)
+            .build();
+
+        OpcUaClient client = new OpcUaClient(clientConfig);
+        client.connect().get();
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(3);
+
+        try {
+            OpcUaSubscription slowSubscription = (OpcUaSubscription)
+                client.getSubscriptionManager().createSubscription(100.0).get();
+            OpcUaSubscription fastSubscription = (OpcUaSubscription)
+                client.getSubscriptionManager().createSubscription(100.0).get();
+
+            slowSubscription.createMonitoredItems(
+                TimestampsToReturn.Both,
+                newArrayList(currentTimeRequest()),
+                (item, idx) -> item.setValueConsumer(v -> Uninterruptibles.awaitUninterruptibly(blocked))
+            ).get();
+
+            fastSubscription.createMonitoredItems(
+                TimestampsToReturn.Both,
+                newArrayList(currentTimeRequest()),
+                (item, idx) -> item.setValueConsumer(v -> received.countDown())
+            ).get();
+
+            // the blocked listener on slowSubscription must not hold up delivery to fastSubscription
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            assertTrue(fastSubscription.getDeliveryMetrics().getDeliveredCount() >= 3);
+        } finally {
+            blocked.countDown();
+            client.disconnect().get();
+        }
+    }
+
+    private static MonitoredItemCreateRequest currentTimeRequest() {
+        ReadValueId readValueId = new ReadValueId(
+            Identifiers.Server_ServerStatus_CurrentTime,
+            AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE);
+
+        MonitoringParameters parameters = new MonitoringParameters(
+            uint(0),    // client handle
+            100.0,      // sampling interval
+            null,       // no (default) filter
+            uint(10),   // queue size
+            true);      // discard oldest
+
+        return new MonitoredItemCreateRequest(readValueId, MonitoringMode.Reporting, parameters);
+    }
+
     @Test
     public void testSubscribe_DataChangeNotification() throws Exception {
         CompletableFuture<Void> future = new CompletableFuture<>();
@@ -13,7 +13,12 @@
 
 package org.eclipse.milo.opcua.sdk.client.config;
 
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.sdk.client.api.config.NotificationDelivery;
 import org.eclipse.milo.opcua.sdk.client.api.config.OpcUaClientConfig;
+import org.eclipse.milo.opcua.sdk.client.api.config.PublishPipelining;
+import org.eclipse.milo.opcua.sdk.client.api.config.RequestBatching;
 import org.eclipse.milo.opcua.sdk.client.api.identity.AnonymousProvider;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.testng.annotations.Test;
@@ -33,6 +38,9 @@ public class OpcUaClientConfigTest {
             .setMaxResponseMessageSize(UInteger.MAX)
             .setMaxPendingPublishRequests(uint(2))
             .setIdentityProvider(new AnonymousProvider())
+            .setRequestBatching(RequestBatching.window(10, TimeUnit.MILLISECONDS))
+            .setNotificationDelivery(NotificationDelivery.PerSubscription)
+            .setPublishPipelining(PublishPipelining.adaptive(2, 10))
             .build();
 
         OpcUaClientConfig copy = OpcUaClientConfig.copy(original).build();
@@ -43,6 +51,9 @@ public class OpcUaClientConfigTest {
         assertEquals(copy.getMaxResponseMessageSize(), original.getMaxResponseMessageSize());
         assertEquals(copy.getMaxPendingPublishRequests(), original.getMaxPendingPublishRequests());
         assertEquals(copy.getIdentityProvider(), original.getIdentityProvider());
+        assertEquals(copy.getRequestBatching(), original.getRequestBatching());
+        assertEquals(copy.getNotificationDelivery(), original.getNotificationDelivery());
+        assertEquals(copy.getPublishPipelining(), original.getPublishPipelining());
     }
 
     @Test
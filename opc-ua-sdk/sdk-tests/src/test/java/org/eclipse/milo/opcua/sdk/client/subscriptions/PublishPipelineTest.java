@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client.subscriptions;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.milo.opcua.sdk.client.api.config.PublishPipelining;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class PublishPipelineTest {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    @Test
+    public void testNoSubscriptions() {
+        PublishPipeline pipeline = new PublishPipeline(PublishPipelining.adaptive(1, 100));
+
+        assertEquals(pipeline.getTarget(Collections.emptyList(), UNLIMITED), 0L);
+    }
+
+    @Test
+    public void testOnePerSubscriptionOnFastLink() {
+        PublishPipeline pipeline = new PublishPipeline(PublishPipelining.adaptive(1, 100));
+
+        pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(1), false);
+
+        assertEquals(pipeline.getTarget(ImmutableList.of(1000.0, 1000.0, 500.0), UNLIMITED), 4L);
+    }
+
+    @Test
+    public void testRoundTripLongerThanPublishingInterval() {
+        PublishPipeline pipeline = new PublishPipeline(PublishPipelining.adaptive(1, 100));
+
+        pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(250), false);
+
+        // ceil(250 / 100) = 3 per subscription, plus one
+        assertEquals(pipeline.getTarget(ImmutableList.of(100.0, 100.0), UNLIMITED), 7L);
+    }
+
+    @Test
+    public void testRoundTripFollowsLowerEnvelope() {
+        PublishPipeline pipeline = new PublishPipeline(PublishPipelining.adaptive(1, 100));
+
+        pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(800), false);
+        pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(100), false);
+        assertEquals(pipeline.getRoundTrip(TimeUnit.MILLISECONDS), 100L);
+
+        pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(900), false);
+        assertEquals(pipeline.getRoundTrip(TimeUnit.MILLISECONDS), 200L);
+    }
+
+    @Test
+    public void testMoreNotificationsGrowsTarget() {
+        PublishPipeline pipeline = new PublishPipeline(PublishPipelining.adaptive(1, 100));
+
+        pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(1), false);
+        long before = pipeline.getTarget(ImmutableList.of(1000.0, 1000.0, 1000.0), UNLIMITED);
+
+        for (int i = 0; i < 50; i++) {
+            pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(1), true);
+        }
+        long after = pipeline.getTarget(ImmutableList.of(1000.0, 1000.0, 1000.0), UNLIMITED);
+
+        assertEquals(before, 4L);
+        assertEquals(after, 8L);
+    }
+
+    @Test
+    public void testBounds() {
+        PublishPipeline pipeline = new PublishPipeline(PublishPipelining.adaptive(3, 5));
+
+        pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(1000), false);
+
+        assertEquals(pipeline.getTarget(ImmutableList.of(1000.0), UNLIMITED), 3L);
+        assertEquals(pipeline.getTarget(ImmutableList.of(100.0, 100.0), UNLIMITED), 5L);
+        assertEquals(pipeline.getTarget(ImmutableList.of(100.0, 100.0), 4L), 4L);
+    }
+
+    @Test
+    public void testTooManyPublishRequests() {
+        PublishPipeline pipeline = new PublishPipeline(PublishPipelining.adaptive(1, 100));
+
+        pipeline.onPublishResponse(TimeUnit.MILLISECONDS.toNanos(500), false);
+        assertEquals(pipeline.getTarget(ImmutableList.of(100.0, 100.0), UNLIMITED), 11L);
+
+        pipeline.onTooManyPublishRequests(9);
+        assertEquals(pipeline.getTarget(ImmutableList.of(100.0, 100.0), UNLIMITED), 8L);
+
+        pipeline.reset();
+        assertEquals(pipeline.getTarget(ImmutableList.of(100.0, 100.0), UNLIMITED), 11L);
+    }
+
+}
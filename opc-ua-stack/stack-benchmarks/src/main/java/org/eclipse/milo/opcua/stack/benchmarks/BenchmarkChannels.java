@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.benchmarks;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+
+import org.eclipse.milo.opcua.stack.core.channel.ChannelSecurity;
+import org.eclipse.milo.opcua.stack.core.channel.ClientSecureChannel;
+import org.eclipse.milo.opcua.stack.core.channel.ServerSecureChannel;
+import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import org.eclipse.milo.opcua.stack.core.types.structured.ChannelSecurityToken;
+import org.eclipse.milo.opcua.stack.core.util.CryptoRestrictions;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.eclipse.milo.opcua.stack.core.util.NonceUtil.generateNonce;
+import static org.eclipse.milo.opcua.stack.core.util.NonceUtil.getNonceLength;
+
+/**
+ * Builds a connected pair of {@link ClientSecureChannel} and {@link ServerSecureChannel} without a transport, so
+ * benchmarks can drive the chunk encoder and decoder directly.
+ */
+public final class BenchmarkChannels {
+
+    private static final String CLIENT_ALIAS = "client-test-certificate";
+    private static final String SERVER_ALIAS = "server-test-certificate";
+    private static final char[] PASSWORD = "test".toCharArray();
+
+    static {
+        CryptoRestrictions.remove();
+    }
+
+    private final KeyPair clientKeyPair;
+    private final X509Certificate clientCertificate;
+
+    private final KeyPair serverKeyPair;
+    private final X509Certificate serverCertificate;
+
+    public BenchmarkChannels() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(getClass().getClassLoader().getResourceAsStream("benchmark-keystore.pfx"), PASSWORD);
+
+        Key clientPrivateKey = keyStore.getKey(CLIENT_ALIAS, PASSWORD);
+        clientCertificate = (X509Certificate) keyStore.getCertificate(CLIENT_ALIAS);
+        clientKeyPair = new KeyPair(clientCertificate.getPublicKey(), (PrivateKey) clientPrivateKey);
+
+        Key serverPrivateKey = keyStore.getKey(SERVER_ALIAS, PASSWORD);
+        serverCertificate = (X509Certificate) keyStore.getCertificate(SERVER_ALIAS);
+        serverKeyPair = new KeyPair(serverCertificate.getPublicKey(), (PrivateKey) serverPrivateKey);
+    }
+
+    public KeyPair getClientKeyPair() {
+        return clientKeyPair;
+    }
+
+    public X509Certificate getClientCertificate() {
+        return clientCertificate;
+    }
+
+    public KeyPair getServerKeyPair() {
+        return serverKeyPair;
+    }
+
+    public X509Certificate getServerCertificate() {
+        return serverCertificate;
+    }
+
+    /**
+     * Create a client/server channel pair that share symmetric keys derived from freshly generated nonces.
+     *
+     * @param securityPolicy  the {@link SecurityPolicy} of both channels.
+     * @param messageSecurity the {@link MessageSecurityMode} of both channels.
+     * @return a {@link ChannelPair}.
+     */
+    public ChannelPair createChannels(
+        SecurityPolicy securityPolicy,
+        MessageSecurityMode messageSecurity) throws Exception {
+
+        boolean secured = securityPolicy != SecurityPolicy.None;
+
+        ByteString clientNonce = generateNonce(getNonceLength(securityPolicy.getSymmetricEncryptionAlgorithm()));
+        ByteString serverNonce = generateNonce(getNonceLength(securityPolicy.getSymmetricEncryptionAlgorithm()));
+
+        ClientSecureChannel clientChannel = new ClientSecureChannel(
+            secured ? clientKeyPair : null,
+            secured ? clientCertificate : null,
+            secured ? newArrayList(clientCertificate) : null,
+            secured ? serverCertificate : null,
+            secured ? newArrayList(serverCertificate) : null,
+            securityPolicy,
+            messageSecurity
+        );
+
+        clientChannel.setLocalNonce(clientNonce);
+        clientChannel.setRemoteNonce(serverNonce);
+
+        ServerSecureChannel serverChannel = new ServerSecureChannel();
+        serverChannel.setSecurityPolicy(securityPolicy);
+        serverChannel.setMessageSecurityMode(messageSecurity);
+        serverChannel.setLocalNonce(serverNonce);
+        serverChannel.setRemoteNonce(clientNonce);
+
+        if (secured) {
+            serverChannel.setKeyPair(serverKeyPair);
+            serverChannel.setLocalCertificate(serverCertificate);
+            serverChannel.setLocalCertificateChain(new X509Certificate[]{serverCertificate});
+            serverChannel.setRemoteCertificate(clientCertificate.getEncoded());
+
+            if (messageSecurity != MessageSecurityMode.None) {
+                ChannelSecurity.SecuritySecrets clientSecrets = ChannelSecurity.generateKeyPair(
+                    clientChannel,
+                    clientChannel.getLocalNonce(),
+                    clientChannel.getRemoteNonce()
+                );
+
+                clientChannel.setChannelSecurity(new ChannelSecurity(clientSecrets, newToken()));
+
+                ChannelSecurity.SecuritySecrets serverSecrets = ChannelSecurity.generateKeyPair(
+                    serverChannel,
+                    serverChannel.getRemoteNonce(),
+                    serverChannel.getLocalNonce()
+                );
+
+                serverChannel.setChannelSecurity(new ChannelSecurity(serverSecrets, newToken()));
+            }
+        }
+
+        return new ChannelPair(clientChannel, serverChannel);
+    }
+
+    private static ChannelSecurityToken newToken() {
+        return new ChannelSecurityToken(uint(0), uint(1), DateTime.now(), uint(60000));
+    }
+
+    public static final class ChannelPair {
+
+        private final ClientSecureChannel clientChannel;
+        private final ServerSecureChannel serverChannel;
+
+        ChannelPair(ClientSecureChannel clientChannel, ServerSecureChannel serverChannel) {
+            this.clientChannel = clientChannel;
+            this.serverChannel = serverChannel;
+        }
+
+        public ClientSecureChannel getClientChannel() {
+            return clientChannel;
+        }
+
+        public ServerSecureChannel getServerChannel() {
+            return serverChannel;
+        }
+
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.benchmarks;
+
+import java.lang.reflect.Array;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.primitives.Primitives;
+import io.netty.buffer.ByteBuf;
+import org.eclipse.milo.opcua.stack.core.BuiltinDataType;
+import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ExpandedNodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
+import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.XmlElement;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ubyte;
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ulong;
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ushort;
+
+/**
+ * Measures {@link BinaryEncoder#encodeVariant} and {@link BinaryDecoder#decodeVariant} for a scalar or an array
+ * value of every {@link BuiltinDataType} that may appear in a {@link Variant}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BinarySerializationBenchmark {
+
+    @Param({
+        "Boolean", "SByte", "Byte", "Int16", "UInt16", "Int32", "UInt32", "Int64", "UInt64", "Float", "Double",
+        "String", "DateTime", "Guid", "ByteString", "XmlElement", "NodeId", "ExpandedNodeId", "StatusCode",
+        "QualifiedName", "LocalizedText", "ExtensionObject"})
+    public BuiltinDataType dataType;
+
+    /**
+     * Number of array elements, or 0 to encode a scalar value.
+     */
+    @Param({"0", "1024"})
+    public int arrayLength;
+
+    /**
+     * Whether numeric and Boolean arrays are held as primitive arrays, both when encoding and when decoding.
+     */
+    @Param({"false", "true"})
+    public boolean primitiveArrays;
+
+    private final BinaryEncoder encoder = new BinaryEncoder();
+    private BinaryDecoder decoder;
+
+    private Variant variant;
+
+    private ByteBuf encodeBuffer;
+    private ByteBuf decodeBuffer;
+
+    @Setup
+    public void setup() {
+        Object value = sampleValue(dataType);
+
+        if (arrayLength > 0) {
+            Class<?> componentType = primitiveArrays ?
+                Primitives.unwrap(dataType.getBackingClass()) : dataType.getBackingClass();
+
+            Object array = Array.newInstance(componentType, arrayLength);
+            for (int i = 0; i < arrayLength; i++) {
+                Array.set(array, i, value);
+            }
+            value = array;
+        }
+
+        variant = new Variant(value);
+
+        decoder = new BinaryDecoder(
+            ChannelConfig.DEFAULT_MAX_ARRAY_LENGTH,
+            ChannelConfig.DEFAULT_MAX_STRING_LENGTH,
+            primitiveArrays
+        );
+
+        encodeBuffer = BufferUtil.buffer();
+
+        decodeBuffer = BufferUtil.buffer();
+        encoder.setBuffer(decodeBuffer).encodeVariant(null, variant);
+        decoder.setBuffer(decodeBuffer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encodeBuffer.release();
+        decodeBuffer.release();
+    }
+
+    @Benchmark
+    public ByteBuf encodeVariant() {
+        encodeBuffer.clear();
+        encoder.setBuffer(encodeBuffer).encodeVariant(null, variant);
+
+        return encodeBuffer;
+    }
+
+    @Benchmark
+    public Variant decodeVariant() {
+        decodeBuffer.readerIndex(0);
+
+        return decoder.decodeVariant(null);
+    }
+
+    static Object sampleValue(BuiltinDataType dataType) {
+        switch (dataType) {
+            case Boolean:
+                return true;
+            case SByte:
+                return (byte) 1;
+            case Byte:
+                return ubyte(1);
+            case Int16:
+                return (short) 1;
+            case UInt16:
+                return ushort(1);
+            case Int32:
+                return 1;
+            case UInt32:
+                return uint(1);
+            case Int64:
+                return 1L;
+            case UInt64:
+                return ulong(1L);
+            case Float:
+                return 3.14f;
+            case Double:
+                return 6.12d;
+            case String:
+                return "hello, world";
+            case DateTime:
+                return DateTime.now();
+            case Guid:
+                return UUID.randomUUID();
+            case ByteString:
+                return ByteString.of(new byte[]{1, 2, 3, 4});
+            case XmlElement:
+                return new XmlElement("<tag>hello</tag>");
+            case NodeId:
+                return new NodeId(2, "Channel1.Device1.Tag1");
+            case ExpandedNodeId:
+                return new ExpandedNodeId(1, 42, "uri", 1);
+            case StatusCode:
+                return StatusCode.GOOD;
+            case QualifiedName:
+                return new QualifiedName(0, "QualifiedName");
+            case LocalizedText:
+                return LocalizedText.english("LocalizedText");
+            case ExtensionObject:
+                return ExtensionObject.encode(new ReadValueId(
+                    NodeId.NULL_VALUE, uint(13), null, QualifiedName.NULL_VALUE));
+            default:
+                throw new IllegalArgumentException("dataType: " + dataType);
+        }
+    }
+
+}
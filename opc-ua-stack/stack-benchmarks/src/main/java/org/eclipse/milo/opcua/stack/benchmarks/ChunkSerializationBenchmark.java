@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+import org.eclipse.milo.opcua.stack.benchmarks.BenchmarkChannels.ChannelPair;
+import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.ChannelParameters;
+import org.eclipse.milo.opcua.stack.core.channel.ChunkDecoder;
+import org.eclipse.milo.opcua.stack.core.channel.ChunkEncoder;
+import org.eclipse.milo.opcua.stack.core.channel.ClientSecureChannel;
+import org.eclipse.milo.opcua.stack.core.channel.ServerSecureChannel;
+import org.eclipse.milo.opcua.stack.core.channel.messages.MessageType;
+import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ChunkEncoder#encodeSymmetric} and {@link ChunkDecoder#decodeSymmetric} for each supported
+ * {@link SecurityPolicy} and {@link MessageSecurityMode} combination.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkSerializationBenchmark {
+
+    @Benchmark
+    public List<ByteBuf> encodeSymmetric(Codec codec) throws Exception {
+        List<ByteBuf> chunks = codec.encode();
+
+        chunks.forEach(ByteBuf::release);
+
+        return chunks;
+    }
+
+    @Benchmark
+    public int decodeSymmetric(EncodedChunks encoded) throws Exception {
+        Codec codec = encoded.codec;
+
+        ByteBuf decoded = codec.decoder.decodeSymmetric(codec.serverChannel, encoded.chunks);
+
+        // the decoded composite now owns the chunk buffers
+        encoded.chunks = null;
+
+        int readable = decoded.readableBytes();
+        decoded.release();
+
+        return readable;
+    }
+
+    /**
+     * A connected channel pair plus the encoder and decoder used by both benchmarks.
+     */
+    @State(Scope.Thread)
+    public static class Codec {
+
+        @Param({
+            "None_None",
+            "Basic128Rsa15_Sign", "Basic128Rsa15_SignAndEncrypt",
+            "Basic256_Sign", "Basic256_SignAndEncrypt",
+            "Basic256Sha256_Sign", "Basic256Sha256_SignAndEncrypt"})
+        public String security;
+
+        @Param({"1024", "65536", "2097152"})
+        public int messageSize;
+
+        /**
+         * See {@link ChannelConfig#getParallelChunkThreshold()}; 0 secures chunks serially.
+         */
+        @Param({"0", "4"})
+        public int parallelChunkThreshold;
+
+        /**
+         * The {@link BufferAllocator} chunk buffers are allocated from.
+         */
+        @Param({"pooledHeap", "pooledDirect", "unpooledHeap"})
+        public String allocator;
+
+        private ChunkEncoder encoder;
+        private ChunkDecoder decoder;
+
+        private ClientSecureChannel clientChannel;
+        private ServerSecureChannel serverChannel;
+
+        private ByteBuf messageBuffer;
+
+        private long requestId = 1L;
+
+        @Setup
+        public void setup() throws Exception {
+            String[] ss = security.split("_");
+            SecurityPolicy securityPolicy = SecurityPolicy.valueOf(ss[0]);
+            MessageSecurityMode messageSecurity = MessageSecurityMode.valueOf(ss[1]);
+
+            ChannelPair channels = new BenchmarkChannels().createChannels(securityPolicy, messageSecurity);
+            clientChannel = channels.getClientChannel();
+            serverChannel = channels.getServerChannel();
+
+            ChannelParameters parameters = new ChannelParameters(
+                ChannelConfig.DEFAULT_MAX_MESSAGE_SIZE,
+                ChannelConfig.DEFAULT_MAX_CHUNK_SIZE,
+                ChannelConfig.DEFAULT_MAX_CHUNK_SIZE,
+                ChannelConfig.DEFAULT_MAX_CHUNK_COUNT,
+                ChannelConfig.DEFAULT_MAX_MESSAGE_SIZE,
+                ChannelConfig.DEFAULT_MAX_CHUNK_SIZE,
+                ChannelConfig.DEFAULT_MAX_CHUNK_SIZE,
+                ChannelConfig.DEFAULT_MAX_CHUNK_COUNT
+            );
+
+            BufferAllocator bufferAllocator = bufferAllocator(allocator);
+
+            encoder = new ChunkEncoder(parameters, parallelChunkThreshold, ForkJoinPool.commonPool(), bufferAllocator);
+            decoder = new ChunkDecoder(parameters, parallelChunkThreshold, ForkJoinPool.commonPool(), bufferAllocator);
+
+            byte[] messageBytes = new byte[messageSize];
+            for (int i = 0; i < messageBytes.length; i++) {
+                messageBytes[i] = (byte) i;
+            }
+
+            messageBuffer = bufferAllocator.buffer(messageSize).writeBytes(messageBytes);
+        }
+
+        @TearDown
+        public void tearDown() {
+            messageBuffer.release();
+        }
+
+        private static BufferAllocator bufferAllocator(String allocator) {
+            int arenaCount = Runtime.getRuntime().availableProcessors() * 2;
+
+            switch (allocator) {
+                case "pooledHeap":
+                    return BufferAllocator.pooled(false, arenaCount, true);
+                case "pooledDirect":
+                    return BufferAllocator.pooled(true, arenaCount, true);
+                case "unpooledHeap":
+                    return BufferAllocator.unpooled(false);
+                default:
+                    throw new IllegalArgumentException("allocator: " + allocator);
+            }
+        }
+
+        List<ByteBuf> encode() throws Exception {
+            messageBuffer.readerIndex(0);
+
+            return encoder.encodeSymmetric(
+                clientChannel,
+                MessageType.SecureMessage,
+                messageBuffer,
+                requestId++
+            );
+        }
+
+    }
+
+    /**
+     * Chunks encoded outside of the measured region, consumed by {@link #decodeSymmetric(EncodedChunks)}.
+     * <p>
+     * Holds on to the {@link Codec} that produced the chunks; JMH may hand a dependent state its own {@link Codec}
+     * instance, and decoding must use the server channel whose keys match the encoding client channel.
+     */
+    @State(Scope.Thread)
+    public static class EncodedChunks {
+
+        Codec codec;
+        List<ByteBuf> chunks;
+
+        @Setup(Level.Invocation)
+        public void encodeChunks(Codec codec) throws Exception {
+            this.codec = codec;
+            this.chunks = codec.encode();
+        }
+
+        @TearDown(Level.Invocation)
+        public void releaseChunks() {
+            if (chunks != null) {
+                chunks.forEach(ReferenceCountUtil::safeRelease);
+                chunks = null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.benchmarks;
+
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
+import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.Stack;
+import org.eclipse.milo.opcua.stack.core.application.CertificateValidator;
+import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateManager;
+import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfig;
+import org.eclipse.milo.opcua.stack.server.tcp.SocketServers;
+import org.eclipse.milo.opcua.stack.server.tcp.UaTcpStackServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * Measures a complete Read service round trip between an in-process {@link UaTcpStackClient} and
+ * {@link UaTcpStackServer}: request encoding, chunking, transport, dispatch to the service handler and back.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientServerBenchmark {
+
+    private static final String ENDPOINT_URL = "opc.tcp://localhost:12695/benchmark";
+
+    @Param({"None_None", "Basic256Sha256_SignAndEncrypt"})
+    public String security;
+
+    @Param({"1", "1000"})
+    public int itemCount;
+
+    private UaTcpStackServer server;
+    private UaTcpStackClient client;
+
+    private ReadRequest request;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkChannels channels = new BenchmarkChannels();
+
+        String[] ss = security.split("_");
+        SecurityPolicy securityPolicy = SecurityPolicy.valueOf(ss[0]);
+        MessageSecurityMode messageSecurity = MessageSecurityMode.valueOf(ss[1]);
+
+        UaTcpStackServerConfig serverConfig = UaTcpStackServerConfig.builder()
+            .setServerName("benchmark")
+            .setCertificateManager(new DefaultCertificateManager(
+                channels.getServerKeyPair(), channels.getServerCertificate()))
+            .setCertificateValidator(new TrustingCertificateValidator())
+            .build();
+
+        server = new UaTcpStackServer(serverConfig);
+
+        server.addEndpoint(ENDPOINT_URL, null);
+
+        for (SecurityPolicy policy : SecurityPolicy.values()) {
+            if (policy != SecurityPolicy.None) {
+                server.addEndpoint(ENDPOINT_URL, null,
+                    channels.getServerCertificate(), policy, MessageSecurityMode.Sign);
+                server.addEndpoint(ENDPOINT_URL, null,
+                    channels.getServerCertificate(), policy, MessageSecurityMode.SignAndEncrypt);
+            }
+        }
+
+        server.addRequestHandler(ReadRequest.class, service -> {
+            ReadRequest request = service.getRequest();
+            ReadValueId[] nodesToRead = request.getNodesToRead();
+
+            DataValue[] results = new DataValue[nodesToRead.length];
+            for (int i = 0; i < nodesToRead.length; i++) {
+                results[i] = new DataValue(new Variant((double) i), StatusCode.GOOD, DateTime.now(), DateTime.now());
+            }
+
+            service.setResponse(new ReadResponse(service.createResponseHeader(), results, null));
+        });
+
+        server.startup().get();
+
+        EndpointDescription[] endpoints = UaTcpStackClient.getEndpoints(ENDPOINT_URL).get();
+
+        EndpointDescription endpoint = Arrays.stream(endpoints)
+            .filter(e -> e.getSecurityPolicyUri().equals(securityPolicy.getSecurityPolicyUri()))
+            .filter(e -> e.getSecurityMode() == messageSecurity)
+            .findFirst()
+            .orElseThrow(() -> new Exception("no matching endpoint"));
+
+        UaTcpStackClientConfig clientConfig = UaTcpStackClientConfig.builder()
+            .setEndpoint(endpoint)
+            .setKeyPair(channels.getClientKeyPair())
+            .setCertificate(channels.getClientCertificate())
+            .build();
+
+        client = new UaTcpStackClient(clientConfig);
+        client.connect().get();
+
+        ReadValueId[] nodesToRead = new ReadValueId[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            nodesToRead[i] = new ReadValueId(
+                new NodeId(2, i), AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE);
+        }
+
+        RequestHeader header = new RequestHeader(
+            NodeId.NULL_VALUE, DateTime.now(), uint(0), uint(0), null, uint(60000), null);
+
+        request = new ReadRequest(header, 0.0, TimestampsToReturn.Both, nodesToRead);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.disconnect().get();
+        server.shutdown().get();
+        SocketServers.shutdownAll().get();
+        Stack.releaseSharedResources();
+    }
+
+    @Benchmark
+    public ReadResponse read() throws Exception {
+        return client.<ReadResponse>sendRequest(request).get();
+    }
+
+    private static class TrustingCertificateValidator implements CertificateValidator {
+
+        @Override
+        public void validate(X509Certificate certificate) {}
+
+        @Override
+        public void verifyTrustChain(X509Certificate certificate, List<X509Certificate> chain) {}
+
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.benchmarks;
+
+import java.util.LinkedList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.milo.opcua.stack.core.util.ExecutionQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures end-to-end throughput of 64 producer threads submitting to a single {@link ExecutionQueue}, compared
+ * against the previous {@code synchronized}/{@link LinkedList} implementation.
+ * <p>
+ * The number of tasks in flight is bounded so the queue can't grow without limit when producers outrun the
+ * consumer; each operation is therefore one task submitted and, eventually, executed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class ExecutionQueueBenchmark {
+
+    private static final int MAX_IN_FLIGHT = 4096;
+
+    @Param({"lockFree", "synchronized"})
+    public String implementation;
+
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+    private final Runnable task = inFlight::release;
+
+    private ExecutorService executor;
+
+    private Consumer<Runnable> queue;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+
+        switch (implementation) {
+            case "lockFree":
+                queue = new ExecutionQueue(executor)::submit;
+                break;
+            case "synchronized":
+                queue = new SynchronizedExecutionQueue(executor)::submit;
+                break;
+            default:
+                throw new IllegalArgumentException("implementation: " + implementation);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        inFlight.acquire(MAX_IN_FLIGHT);
+
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void submit() throws InterruptedException {
+        inFlight.acquire();
+
+        queue.accept(task);
+    }
+
+    /**
+     * The {@link ExecutionQueue} implementation that guarded a {@link LinkedList} with a monitor and resubmitted
+     * itself to the executor after every task, kept here as the baseline.
+     */
+    private static class SynchronizedExecutionQueue {
+
+        private final Object queueLock = new Object();
+        private final LinkedList<Runnable> queue = new LinkedList<>();
+
+        private volatile boolean pollSubmitted = false;
+
+        private final ExecutorService service;
+
+        SynchronizedExecutionQueue(ExecutorService service) {
+            this.service = service;
+        }
+
+        void submit(Runnable runnable) {
+            synchronized (queueLock) {
+                queue.add(runnable);
+
+                if (!pollSubmitted) {
+                    service.submit(this::pollAndExecute);
+                    pollSubmitted = true;
+                }
+            }
+        }
+
+        private void pollAndExecute() {
+            Runnable runnable;
+
+            synchronized (queueLock) {
+                runnable = queue.poll();
+            }
+
+            runnable.run();
+
+            synchronized (queueLock) {
+                if (queue.isEmpty()) {
+                    pollSubmitted = false;
+                } else {
+                    service.submit(this::pollAndExecute);
+                }
+            }
+        }
+
+    }
+
+}
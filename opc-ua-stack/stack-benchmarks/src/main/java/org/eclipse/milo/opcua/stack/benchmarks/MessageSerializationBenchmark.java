@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.serialization.UaStructure;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.DataChangeNotification;
+import org.eclipse.milo.opcua.stack.core.types.structured.MonitoredItemNotification;
+import org.eclipse.milo.opcua.stack.core.types.structured.NotificationMessage;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.eclipse.milo.opcua.stack.core.types.structured.ResponseHeader;
+import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * Measures encoding and decoding of large {@link ReadRequest}, {@link ReadResponse} and {@link PublishResponse}
+ * messages through {@link BinaryEncoder#encodeMessage} and {@link BinaryDecoder#decodeMessage}.
+ * <p>
+ * The {@link PublishResponse} carries its {@link DataChangeNotification} as an already-encoded
+ * {@link ExtensionObject}, as the server does, so only the outer message is measured.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageSerializationBenchmark {
+
+    @Param({"ReadRequest", "ReadResponse", "PublishResponse"})
+    public String messageType;
+
+    @Param({"100", "10000"})
+    public int itemCount;
+
+    private final BinaryEncoder encoder = new BinaryEncoder();
+    private final BinaryDecoder decoder = new BinaryDecoder();
+
+    private UaStructure message;
+
+    private ByteBuf encodeBuffer;
+    private ByteBuf decodeBuffer;
+
+    @Setup
+    public void setup() {
+        switch (messageType) {
+            case "ReadRequest":
+                message = readRequest(itemCount);
+                break;
+            case "ReadResponse":
+                message = readResponse(itemCount);
+                break;
+            case "PublishResponse":
+                message = publishResponse(itemCount);
+                break;
+            default:
+                throw new IllegalArgumentException("messageType: " + messageType);
+        }
+
+        encodeBuffer = BufferUtil.buffer();
+
+        decodeBuffer = BufferUtil.buffer();
+        encoder.setBuffer(decodeBuffer).encodeMessage(null, message);
+        decoder.setBuffer(decodeBuffer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encodeBuffer.release();
+        decodeBuffer.release();
+    }
+
+    @Benchmark
+    public ByteBuf encodeMessage() {
+        encodeBuffer.clear();
+        encoder.setBuffer(encodeBuffer).encodeMessage(null, message);
+
+        return encodeBuffer;
+    }
+
+    @Benchmark
+    public UaStructure decodeMessage() {
+        decodeBuffer.readerIndex(0);
+
+        return decoder.decodeMessage(null);
+    }
+
+    private static ReadRequest readRequest(int itemCount) {
+        ReadValueId[] nodesToRead = new ReadValueId[itemCount];
+
+        for (int i = 0; i < itemCount; i++) {
+            nodesToRead[i] = new ReadValueId(
+                new NodeId(2, "Channel1.Device1.Tag" + i),
+                AttributeId.Value.uid(),
+                null,
+                QualifiedName.NULL_VALUE
+            );
+        }
+
+        RequestHeader header = new RequestHeader(
+            NodeId.NULL_VALUE, DateTime.now(), uint(1), uint(0), null, uint(60000), null);
+
+        return new ReadRequest(header, 0.0, TimestampsToReturn.Both, nodesToRead);
+    }
+
+    private static ReadResponse readResponse(int itemCount) {
+        DataValue[] results = new DataValue[itemCount];
+
+        for (int i = 0; i < itemCount; i++) {
+            results[i] = sampleValue(i);
+        }
+
+        return new ReadResponse(responseHeader(), results, null);
+    }
+
+    private static PublishResponse publishResponse(int itemCount) {
+        MonitoredItemNotification[] notifications = new MonitoredItemNotification[itemCount];
+
+        for (int i = 0; i < itemCount; i++) {
+            notifications[i] = new MonitoredItemNotification(uint(i), sampleValue(i));
+        }
+
+        NotificationMessage notificationMessage = new NotificationMessage(
+            uint(1),
+            DateTime.now(),
+            new ExtensionObject[]{ExtensionObject.encode(new DataChangeNotification(notifications, null))}
+        );
+
+        return new PublishResponse(
+            responseHeader(),
+            uint(1),
+            new UInteger[]{uint(1)},
+            false,
+            notificationMessage,
+            null,
+            null
+        );
+    }
+
+    private static ResponseHeader responseHeader() {
+        return new ResponseHeader(DateTime.now(), uint(1), StatusCode.GOOD, null, null, null);
+    }
+
+    private static DataValue sampleValue(int i) {
+        return new DataValue(new Variant((double) i), StatusCode.GOOD, DateTime.now(), DateTime.now());
+    }
+
+}
@@ -23,9 +23,11 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.HashedWheelTimer;
 import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 
 public interface UaTcpStackClientConfig {
 
@@ -100,6 +102,16 @@ public interface UaTcpStackClientConfig {
      */
     ExecutorService getExecutor();
 
+    /**
+     * @return the {@link SerializationScheduler} that the channel's encoding and decoding runs on.
+     */
+    SerializationScheduler getSerializationScheduler();
+
+    /**
+     * @return the {@link BufferAllocator} that message and chunk buffers are allocated from.
+     */
+    BufferAllocator getBufferAllocator();
+
     /**
      * @return the {@link NioEventLoopGroup} the {@link UaTcpStackClient} will use.
      */
@@ -151,6 +163,8 @@ public interface UaTcpStackClientConfig {
         builder.setChannelConfig(config.getChannelConfig());
         builder.setChannelLifetime(config.getChannelLifetime());
         builder.setExecutor(config.getExecutor());
+        builder.setSerializationScheduler(config.getSerializationScheduler());
+        builder.setBufferAllocator(config.getBufferAllocator());
         builder.setEventLoop(config.getEventLoop());
         builder.setWheelTimer(config.getWheelTimer());
         builder.setSecureChannelReauthenticationEnabled(config.isSecureChannelReauthenticationEnabled());
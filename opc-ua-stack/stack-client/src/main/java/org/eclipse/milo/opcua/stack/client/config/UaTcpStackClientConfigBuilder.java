@@ -23,9 +23,11 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.HashedWheelTimer;
 import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 
@@ -44,6 +46,8 @@ public class UaTcpStackClientConfigBuilder {
     private ChannelConfig channelConfig = ChannelConfig.DEFAULT;
     private UInteger channelLifetime = uint(60 * 60 * 1000);
     private ExecutorService executor;
+    private SerializationScheduler serializationScheduler;
+    private BufferAllocator bufferAllocator = BufferAllocator.DEFAULT;
     private NioEventLoopGroup eventLoop;
     private HashedWheelTimer wheelTimer;
 
@@ -104,6 +108,39 @@ public class UaTcpStackClientConfigBuilder {
         return this;
     }
 
+    /**
+     * Set the {@link SerializationScheduler} that the channel's encoding and decoding runs on.
+     * <p>
+     * If not set, encoding and decoding run on the configured executor.
+     * <p>
+     * The caller owns {@code serializationScheduler}: the client never shuts it down, so the caller must do so, e.g.
+     * {@link org.eclipse.milo.opcua.stack.core.channel.ShardedSerializationScheduler#shutdown()}, once every client
+     * using it has disconnected for the last time.
+     *
+     * @param serializationScheduler the {@link SerializationScheduler} to use.
+     * @return this {@link UaTcpStackClientConfigBuilder}.
+     * @see org.eclipse.milo.opcua.stack.core.channel.ShardedSerializationScheduler
+     */
+    public UaTcpStackClientConfigBuilder setSerializationScheduler(SerializationScheduler serializationScheduler) {
+        this.serializationScheduler = serializationScheduler;
+        return this;
+    }
+
+    /**
+     * Set the {@link BufferAllocator} that message and chunk buffers are allocated from.
+     * <p>
+     * If not set, {@link BufferAllocator#DEFAULT} is used.
+     *
+     * @param bufferAllocator the {@link BufferAllocator} to use.
+     * @return this {@link UaTcpStackClientConfigBuilder}.
+     * @see BufferAllocator#pooled(boolean, int, int, int, boolean)
+     * @see BufferAllocator#unpooled(boolean)
+     */
+    public UaTcpStackClientConfigBuilder setBufferAllocator(BufferAllocator bufferAllocator) {
+        this.bufferAllocator = bufferAllocator;
+        return this;
+    }
+
     public UaTcpStackClientConfigBuilder setEventLoop(NioEventLoopGroup eventLoop) {
         this.eventLoop = eventLoop;
         return this;
@@ -125,6 +162,9 @@ public class UaTcpStackClientConfigBuilder {
         if (executor == null) {
             executor = Stack.sharedExecutor();
         }
+        if (serializationScheduler == null) {
+            serializationScheduler = SerializationScheduler.fromExecutor(executor);
+        }
         if (eventLoop == null) {
             eventLoop = Stack.sharedEventLoop();
         }
@@ -144,6 +184,8 @@ public class UaTcpStackClientConfigBuilder {
             channelConfig,
             channelLifetime,
             executor,
+            serializationScheduler,
+            bufferAllocator,
             eventLoop,
             wheelTimer,
             secureChannelReauthenticationEnabled);
@@ -164,6 +206,8 @@ public class UaTcpStackClientConfigBuilder {
         private final ChannelConfig channelConfig;
         private final UInteger channelLifetime;
         private final ExecutorService executor;
+        private final SerializationScheduler serializationScheduler;
+        private final BufferAllocator bufferAllocator;
         private final NioEventLoopGroup eventLoop;
         private final HashedWheelTimer wheelTimer;
 
@@ -181,6 +225,8 @@ public class UaTcpStackClientConfigBuilder {
             ChannelConfig channelConfig,
             UInteger channelLifetime,
             ExecutorService executor,
+            SerializationScheduler serializationScheduler,
+            BufferAllocator bufferAllocator,
             NioEventLoopGroup eventLoop,
             HashedWheelTimer wheelTimer,
             boolean secureChannelReauthenticationEnabled) {
@@ -196,6 +242,8 @@ public class UaTcpStackClientConfigBuilder {
             this.channelConfig = channelConfig;
             this.channelLifetime = channelLifetime;
             this.executor = executor;
+            this.serializationScheduler = serializationScheduler;
+            this.bufferAllocator = bufferAllocator;
             this.eventLoop = eventLoop;
             this.wheelTimer = wheelTimer;
             this.secureChannelReauthenticationEnabled = secureChannelReauthenticationEnabled;
@@ -264,6 +312,16 @@ public class UaTcpStackClientConfigBuilder {
             return executor;
         }
 
+        @Override
+        public SerializationScheduler getSerializationScheduler() {
+            return serializationScheduler;
+        }
+
+        @Override
+        public BufferAllocator getBufferAllocator() {
+            return bufferAllocator;
+        }
+
         @Override
         public NioEventLoopGroup getEventLoop() {
             return eventLoop;
@@ -189,14 +189,12 @@ public class UaTcpClientAcknowledgeHandler extends ByteToMessageCodec<UaRequestF
         ctx.channel().attr(KEY_AWAITING_HANDSHAKE).set(awaitingHandshake);
 
         ctx.executor().execute(() -> {
-            int maxArrayLength = client.getChannelConfig().getMaxArrayLength();
-            int maxStringLength = client.getChannelConfig().getMaxStringLength();
-
             SerializationQueue serializationQueue = new SerializationQueue(
-                client.getConfig().getExecutor(),
+                client.getConfig().getSerializationScheduler(),
+                ctx.channel(),
                 parameters,
-                maxArrayLength,
-                maxStringLength
+                client.getChannelConfig(),
+                client.getConfig().getBufferAllocator()
             );
 
             UaTcpClientMessageHandler handler = new UaTcpClientMessageHandler(
@@ -58,7 +58,7 @@ import org.eclipse.milo.opcua.stack.core.types.structured.OpenSecureChannelReque
 import org.eclipse.milo.opcua.stack.core.types.structured.OpenSecureChannelResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
 import org.eclipse.milo.opcua.stack.core.types.structured.ServiceFault;
-import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 import org.eclipse.milo.opcua.stack.core.util.LongSequence;
 import org.eclipse.milo.opcua.stack.core.util.NonceUtil;
 import org.jooq.lambda.tuple.Tuple2;
@@ -282,13 +282,18 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
         CompletableFuture<Tuple2<Long, List<ByteBuf>>> future = new CompletableFuture<>();
 
         serializationQueue.encode((binaryEncoder, chunkEncoder) -> {
+            BufferAllocator bufferAllocator = client.getConfig().getBufferAllocator();
+            Class<?> requestType = request.getClass();
+
             ByteBuf messageBuffer = null;
 
             try {
-                messageBuffer = BufferUtil.buffer();
+                messageBuffer = bufferAllocator.messageBuffer(requestType);
                 binaryEncoder.setBuffer(messageBuffer);
                 binaryEncoder.encodeMessage(null, request);
 
+                bufferAllocator.recordMessageSize(requestType, messageBuffer.readableBytes());
+
                 List<ByteBuf> chunks;
 
                 if (messageType == MessageType.OpenSecureChannel) {
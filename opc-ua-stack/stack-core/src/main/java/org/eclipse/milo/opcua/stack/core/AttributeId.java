@@ -101,6 +101,17 @@ public enum AttributeId {
             EnumSet.of(ContainsNoLoops, EventNotifier))
     );
 
+    private static final AttributeId[] VALUES = values();
+
+    @SuppressWarnings("unchecked")
+    private static final Optional<AttributeId>[] OPTIONAL_VALUES = new Optional[VALUES.length];
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            OPTIONAL_VALUES[i] = Optional.of(VALUES[i]);
+        }
+    }
+
     private final int id;
 
     AttributeId(int id) {
@@ -120,8 +131,8 @@ public enum AttributeId {
     }
 
     public static Optional<AttributeId> from(int attributeId) {
-        if (attributeId > 0 && attributeId <= values().length) {
-            return Optional.of(values()[attributeId - 1]);
+        if (attributeId > 0 && attributeId <= VALUES.length) {
+            return OPTIONAL_VALUES[attributeId - 1];
         } else {
             return Optional.empty();
         }
@@ -41,11 +41,18 @@ public class ChannelConfig {
     public static final int DEFAULT_MAX_ARRAY_LENGTH = 65535;
     public static final int DEFAULT_MAX_STRING_LENGTH = 65535;
 
+    /**
+     * By default the chunks of a message are always secured serially.
+     */
+    public static final int DEFAULT_PARALLEL_CHUNK_THRESHOLD = 0;
+
     private final int maxChunkSize;
     private final int maxChunkCount;
     private final int maxMessageSize;
     private final int maxArrayLength;
     private final int maxStringLength;
+    private final boolean decodePrimitiveArrays;
+    private final int parallelChunkThreshold;
 
     /**
      * Create a {@link ChannelConfig} using the default parameters.
@@ -75,14 +82,63 @@ public class ChannelConfig {
                          int maxArrayLength,
                          int maxStringLength) {
 
+        this(maxChunkSize, maxChunkCount, maxMessageSize, maxArrayLength, maxStringLength, false);
+    }
+
+    /**
+     * @param maxChunkSize          The maximum size of a single chunk. Must be greater than or equal to 8192.
+     * @param maxChunkCount         The maximum number of chunks that a message can break down into.
+     * @param maxMessageSize        The maximum size of a message after all chunks have been assembled.
+     * @param maxArrayLength        The maximum length of any decoded array.
+     * @param maxStringLength       The maximum length of any decoded String.
+     * @param decodePrimitiveArrays If true, numeric and Boolean arrays received in a Variant are decoded as
+     *                              primitive arrays (e.g. {@code double[]}) instead of boxed arrays.
+     */
+    public ChannelConfig(int maxChunkSize,
+                         int maxChunkCount,
+                         int maxMessageSize,
+                         int maxArrayLength,
+                         int maxStringLength,
+                         boolean decodePrimitiveArrays) {
+
+        this(maxChunkSize, maxChunkCount, maxMessageSize, maxArrayLength, maxStringLength,
+            decodePrimitiveArrays, DEFAULT_PARALLEL_CHUNK_THRESHOLD);
+    }
+
+    /**
+     * @param maxChunkSize           The maximum size of a single chunk. Must be greater than or equal to 8192.
+     * @param maxChunkCount          The maximum number of chunks that a message can break down into.
+     * @param maxMessageSize         The maximum size of a message after all chunks have been assembled.
+     * @param maxArrayLength         The maximum length of any decoded array.
+     * @param maxStringLength        The maximum length of any decoded String.
+     * @param decodePrimitiveArrays  If true, numeric and Boolean arrays received in a Variant are decoded as
+     *                               primitive arrays (e.g. {@code double[]}) instead of boxed arrays.
+     * @param parallelChunkThreshold The minimum number of chunks a symmetrically secured message must have before its
+     *                               chunks are signed and encrypted (or verified and decrypted) in parallel on the
+     *                               common {@link java.util.concurrent.ForkJoinPool}. 0 disables parallel chunk
+     *                               security.
+     */
+    public ChannelConfig(int maxChunkSize,
+                         int maxChunkCount,
+                         int maxMessageSize,
+                         int maxArrayLength,
+                         int maxStringLength,
+                         boolean decodePrimitiveArrays,
+                         int parallelChunkThreshold) {
+
         Preconditions.checkArgument(maxChunkSize >= 8196,
             "maxChunkSize must be greater than or equal to 8196");
 
+        Preconditions.checkArgument(parallelChunkThreshold >= 0,
+            "parallelChunkThreshold must be greater than or equal to 0");
+
         this.maxChunkSize = maxChunkSize;
         this.maxChunkCount = maxChunkCount;
         this.maxMessageSize = maxMessageSize;
         this.maxArrayLength = maxArrayLength;
         this.maxStringLength = maxStringLength;
+        this.decodePrimitiveArrays = decodePrimitiveArrays;
+        this.parallelChunkThreshold = parallelChunkThreshold;
     }
 
     public int getMaxChunkSize() {
@@ -105,4 +161,12 @@ public class ChannelConfig {
         return maxStringLength;
     }
 
+    public boolean isDecodePrimitiveArrays() {
+        return decodePrimitiveArrays;
+    }
+
+    public int getParallelChunkThreshold() {
+        return parallelChunkThreshold;
+    }
+
 }
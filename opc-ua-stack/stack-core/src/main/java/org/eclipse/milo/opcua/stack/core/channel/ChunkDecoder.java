@@ -20,11 +20,10 @@ import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.Signature;
 import java.security.SignatureException;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import javax.crypto.Cipher;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
@@ -36,9 +35,7 @@ import org.eclipse.milo.opcua.stack.core.channel.headers.SecureMessageHeader;
 import org.eclipse.milo.opcua.stack.core.channel.headers.SequenceHeader;
 import org.eclipse.milo.opcua.stack.core.channel.headers.SymmetricSecurityHeader;
 import org.eclipse.milo.opcua.stack.core.channel.messages.ErrorMessage;
-import org.eclipse.milo.opcua.stack.core.security.SecurityAlgorithm;
-import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
-import org.eclipse.milo.opcua.stack.core.util.SignatureUtil;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,15 +44,45 @@ public class ChunkDecoder {
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final Delegate asymmetricDelegate = new AsymmetricDelegate();
-    private final Delegate symmetricDelegate = new SymmetricDelegate();
+    private final SymmetricDelegate symmetricDelegate;
 
     private volatile long lastSequenceNumber = -1L;
     private volatile long lastRequestId;
 
     private final ChannelParameters parameters;
+    private final int parallelChunkThreshold;
+    private final ForkJoinPool pool;
+    private final BufferAllocator allocator;
 
     public ChunkDecoder(ChannelParameters parameters) {
+        this(parameters, 0, ForkJoinPool.commonPool());
+    }
+
+    public ChunkDecoder(ChannelParameters parameters, int parallelChunkThreshold, ForkJoinPool pool) {
+        this(parameters, parallelChunkThreshold, pool, BufferAllocator.DEFAULT);
+    }
+
+    /**
+     * @param parameters             the {@link ChannelParameters} for the channel.
+     * @param parallelChunkThreshold the minimum number of chunks a symmetrically secured message must have before
+     *                               its chunks are decrypted and verified in parallel on {@code pool}. 0 disables
+     *                               parallel chunk security.
+     * @param pool                   the {@link ForkJoinPool} to decrypt and verify chunks on.
+     * @param allocator              the {@link BufferAllocator} to allocate chunk and message buffers from.
+     */
+    public ChunkDecoder(
+        ChannelParameters parameters,
+        int parallelChunkThreshold,
+        ForkJoinPool pool,
+        BufferAllocator allocator) {
+
         this.parameters = parameters;
+        this.parallelChunkThreshold = parallelChunkThreshold;
+        this.pool = pool;
+        this.allocator = allocator;
+
+        symmetricDelegate = new SymmetricDelegate(
+            parallelChunkThreshold > 0 ? ParallelChunkSecurity.getMaxWorkerCount(pool) : 1);
     }
 
     public ByteBuf decodeAsymmetric(SecureChannel channel, List<ByteBuf> chunkBuffers) throws UaException {
@@ -67,7 +94,7 @@ public class ChunkDecoder {
     }
 
     private ByteBuf decode(Delegate delegate, SecureChannel channel, List<ByteBuf> chunkBuffers) throws UaException {
-        CompositeByteBuf composite = BufferUtil.compositeBuffer();
+        CompositeByteBuf composite = allocator.compositeBuffer();
 
         int signatureSize = delegate.getSignatureSize(channel);
         int cipherTextBlockSize = delegate.getCipherTextBlockSize(channel);
@@ -75,24 +102,36 @@ public class ChunkDecoder {
         boolean encrypted = delegate.isEncryptionEnabled(channel);
         boolean signed = delegate.isSigningEnabled(channel);
 
+        boolean parallel = delegate == symmetricDelegate &&
+            parallelChunkThreshold > 0 &&
+            chunkBuffers.size() >= parallelChunkThreshold &&
+            (encrypted || signed) &&
+            readSecurityHeaders(channel, chunkBuffers);
+
+        if (parallel) {
+            List<ParallelChunkSecurity.ChunkTask> tasks = new ArrayList<>(chunkBuffers.size());
+
+            for (ByteBuf chunkBuffer : chunkBuffers) {
+                tasks.add(worker -> unsecureChunk(delegate, channel, worker, chunkBuffer, encrypted, signed));
+            }
+
+            ParallelChunkSecurity.run(tasks, pool);
+        }
+
         for (ByteBuf chunkBuffer : chunkBuffers) {
             final char chunkType = (char) chunkBuffer.getByte(3);
 
-            chunkBuffer.skipBytes(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE);
+            if (!parallel) {
+                chunkBuffer.skipBytes(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE);
 
-            delegate.readSecurityHeader(channel, chunkBuffer);
+                delegate.readSecurityHeader(channel, chunkBuffer);
 
-            if (encrypted) {
-                decryptChunk(delegate, channel, chunkBuffer);
+                unsecureChunk(delegate, channel, 0, chunkBuffer, encrypted, signed);
             }
 
             int encryptedStart = chunkBuffer.readerIndex();
             chunkBuffer.readerIndex(0);
 
-            if (signed) {
-                delegate.verifyChunk(channel, chunkBuffer);
-            }
-
             final int paddingSize = encrypted ? getPaddingSize(cipherTextBlockSize, signatureSize, chunkBuffer) : 0;
             final int bodyEnd = chunkBuffer.readableBytes() - signatureSize - paddingSize;
 
@@ -140,24 +179,102 @@ public class ChunkDecoder {
         return lastRequestId;
     }
 
-    private void decryptChunk(Delegate delegate, SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
+    /**
+     * Read the security header of every chunk ahead of decrypting and verifying them in parallel.
+     *
+     * @return {@code true} if every chunk is secured with the same keys. If not, the reader index of every chunk is
+     * reset so the chunks can be decoded serially instead.
+     */
+    private boolean readSecurityHeaders(SecureChannel channel, List<ByteBuf> chunkBuffers) throws UaException {
+        ChannelSecurity.SecuritySecrets securitySecrets = null;
+
+        for (int i = 0; i < chunkBuffers.size(); i++) {
+            ByteBuf chunkBuffer = chunkBuffers.get(i);
+
+            chunkBuffer.skipBytes(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE);
+
+            symmetricDelegate.readSecurityHeader(channel, chunkBuffer);
+
+            if (i == 0) {
+                securitySecrets = symmetricDelegate.securitySecrets;
+            } else if (symmetricDelegate.securitySecrets != securitySecrets) {
+                chunkBuffers.forEach(b -> b.readerIndex(0));
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Decrypt and/or verify {@code chunkBuffer}, whose reader index is at the end of its security header.
+     */
+    private void unsecureChunk(
+        Delegate delegate,
+        SecureChannel channel,
+        int worker,
+        ByteBuf chunkBuffer,
+        boolean encrypted,
+        boolean signed) throws UaException {
+
+        if (encrypted) {
+            decryptChunk(delegate, channel, worker, chunkBuffer);
+        }
+
+        if (signed) {
+            delegate.verifyChunk(channel, worker, chunkBuffer);
+        }
+    }
+
+    private void decryptChunk(
+        Delegate delegate,
+        SecureChannel channel,
+        int worker,
+        ByteBuf chunkBuffer) throws UaException {
+
         int cipherTextBlockSize = delegate.getCipherTextBlockSize(channel);
         int blockCount = chunkBuffer.readableBytes() / cipherTextBlockSize;
 
-        int plainTextBufferSize = cipherTextBlockSize * blockCount;
+        assert (chunkBuffer.readableBytes() % cipherTextBlockSize == 0);
 
-        ByteBuf plainTextBuffer = BufferUtil.buffer(plainTextBufferSize);
+        try {
+            Cipher cipher = delegate.getCipher(channel, worker);
+
+            if (delegate instanceof SymmetricDelegate && chunkBuffer.nioBufferCount() == 1) {
+                /*
+                 * Symmetric decryption doesn't change the size of the data, so decrypt in place.
+                 * Cipher.doFinal(ByteBuffer, ByteBuffer) is copy-safe when input and output share memory.
+                 */
+                ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer();
+                ByteBuffer plainTextNioBuffer = chunkBuffer.nioBuffer();
+
+                cipher.doFinal(chunkNioBuffer, plainTextNioBuffer);
+            } else {
+                decryptChunk(delegate, cipher, chunkBuffer, cipherTextBlockSize, blockCount);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+        }
+    }
 
-        ByteBuffer plainTextNioBuffer = plainTextBuffer
-            .writerIndex(plainTextBufferSize)
-            .nioBuffer();
+    private void decryptChunk(
+        Delegate delegate,
+        Cipher cipher,
+        ByteBuf chunkBuffer,
+        int cipherTextBlockSize,
+        int blockCount) throws GeneralSecurityException {
 
-        ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer();
+        int plainTextBufferSize = cipherTextBlockSize * blockCount;
+
+        ByteBuf plainTextBuffer = allocator.buffer(plainTextBufferSize);
 
         try {
-            Cipher cipher = delegate.getCipher(channel);
+            ByteBuffer plainTextNioBuffer = plainTextBuffer
+                .writerIndex(plainTextBufferSize)
+                .nioBuffer();
 
-            assert (chunkBuffer.readableBytes() % cipherTextBlockSize == 0);
+            ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer();
 
             if (delegate instanceof AsymmetricDelegate) {
                 for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
@@ -168,17 +285,15 @@ public class ChunkDecoder {
             } else {
                 cipher.doFinal(chunkNioBuffer, plainTextNioBuffer);
             }
-        } catch (GeneralSecurityException e) {
-            throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
-        }
 
-        /* Write plainTextBuffer back into the chunk buffer we decrypted from. */
-        plainTextNioBuffer.flip(); // limit = pos, pos = 0
+            /* Write plainTextBuffer back into the chunk buffer we decrypted from. */
+            plainTextNioBuffer.flip(); // limit = pos, pos = 0
 
-        chunkBuffer.writerIndex(chunkBuffer.readerIndex());
-        chunkBuffer.writeBytes(plainTextNioBuffer);
-
-        plainTextBuffer.release();
+            chunkBuffer.writerIndex(chunkBuffer.readerIndex());
+            chunkBuffer.writeBytes(plainTextNioBuffer);
+        } finally {
+            plainTextBuffer.release();
+        }
     }
 
     private int getPaddingSize(int cipherTextBlockSize, int signatureSize, ByteBuf buffer) {
@@ -189,16 +304,21 @@ public class ChunkDecoder {
             buffer.getUnsignedShort(lastPaddingByteOffset - 1) + 2;
     }
 
+    /**
+     * The {@code worker} parameters identify the thread unsecuring the chunk when chunks are decrypted and verified
+     * in parallel; see {@link ParallelChunkSecurity}. Delegates whose crypto primitives are reused keep one set per
+     * worker.
+     */
     private static interface Delegate {
         void readSecurityHeader(SecureChannel channel, ByteBuf chunkBuffer) throws UaException;
 
-        Cipher getCipher(SecureChannel channel) throws UaException;
+        Cipher getCipher(SecureChannel channel, int worker) throws UaException;
 
         int getCipherTextBlockSize(SecureChannel channel);
 
         int getSignatureSize(SecureChannel channel);
 
-        void verifyChunk(SecureChannel channel, ByteBuf chunkBuffer) throws UaException;
+        void verifyChunk(SecureChannel channel, int worker, ByteBuf chunkBuffer) throws UaException;
 
         boolean isEncryptionEnabled(SecureChannel channel);
 
@@ -214,7 +334,7 @@ public class ChunkDecoder {
         }
 
         @Override
-        public Cipher getCipher(SecureChannel channel) throws UaException {
+        public Cipher getCipher(SecureChannel channel, int worker) throws UaException {
             try {
                 String transformation = channel.getSecurityPolicy()
                     .getAsymmetricEncryptionAlgorithm().getTransformation();
@@ -237,7 +357,7 @@ public class ChunkDecoder {
         }
 
         @Override
-        public void verifyChunk(SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
+        public void verifyChunk(SecureChannel channel, int worker, ByteBuf chunkBuffer) throws UaException {
             String transformation = channel.getSecurityPolicy().getAsymmetricSignatureAlgorithm().getTransformation();
             int signatureSize = channel.getRemoteAsymmetricSignatureSize();
 
@@ -282,6 +402,21 @@ public class ChunkDecoder {
 
         private volatile ChannelSecurity.SecuritySecrets securitySecrets;
 
+        /**
+         * Contexts for the two most recently used sets of keys, one pair per worker; while a token is being renewed
+         * chunks may arrive secured with either the current or the previous token.
+         * <p>
+         * Worker 0 is the thread decoding the message; each other slot is only touched by the fork-join worker it
+         * was handed to, with the fork and join ordering accesses between messages.
+         */
+        private final SymmetricCryptoContext[] cryptoContexts;
+        private final SymmetricCryptoContext[] previousCryptoContexts;
+
+        SymmetricDelegate(int workerCount) {
+            cryptoContexts = new SymmetricCryptoContext[workerCount];
+            previousCryptoContexts = new SymmetricCryptoContext[workerCount];
+        }
+
         @Override
         public void readSecurityHeader(SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
             long receivedTokenId = SymmetricSecurityHeader.decode(chunkBuffer).getTokenId();
@@ -322,23 +457,8 @@ public class ChunkDecoder {
         }
 
         @Override
-        public Cipher getCipher(SecureChannel channel) throws UaException {
-            try {
-                String transformation = channel.getSecurityPolicy()
-                    .getSymmetricEncryptionAlgorithm().getTransformation();
-
-                ChannelSecurity.SecretKeys decryptionKeys = channel.getDecryptionKeys(securitySecrets);
-
-                SecretKeySpec keySpec = new SecretKeySpec(decryptionKeys.getEncryptionKey(), "AES");
-                IvParameterSpec ivSpec = new IvParameterSpec(decryptionKeys.getInitializationVector());
-
-                Cipher cipher = Cipher.getInstance(transformation);
-                cipher.init(Cipher.DECRYPT_MODE, keySpec, ivSpec);
-
-                return cipher;
-            } catch (GeneralSecurityException e) {
-                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
-            }
+        public Cipher getCipher(SecureChannel channel, int worker) throws UaException {
+            return getCryptoContext(channel, worker).getCipher();
         }
 
         @Override
@@ -352,23 +472,33 @@ public class ChunkDecoder {
         }
 
         @Override
-        public void verifyChunk(SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
-            SecurityAlgorithm securityAlgorithm = channel.getSecurityPolicy().getSymmetricSignatureAlgorithm();
-            byte[] secretKey = channel.getDecryptionKeys(securitySecrets).getSignatureKey();
-            int signatureSize = channel.getSymmetricSignatureSize();
+        public void verifyChunk(SecureChannel channel, int worker, ByteBuf chunkBuffer) throws UaException {
+            getCryptoContext(channel, worker).verify(chunkBuffer, channel.getSymmetricSignatureSize());
+        }
 
-            ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex());
-            chunkNioBuffer.position(0).limit(chunkBuffer.writerIndex() - signatureSize);
+        /**
+         * Get the {@link SymmetricCryptoContext} of {@code worker} for the keys selected by the last security header
+         * read, creating a new one only when that worker hasn't seen those keys before.
+         */
+        private SymmetricCryptoContext getCryptoContext(SecureChannel channel, int worker) throws UaException {
+            ChannelSecurity.SecretKeys secretKeys = channel.getDecryptionKeys(securitySecrets);
 
-            byte[] signature = SignatureUtil.hmac(securityAlgorithm, secretKey, chunkNioBuffer);
+            SymmetricCryptoContext context = cryptoContexts[worker];
 
-            byte[] signatureBytes = new byte[signatureSize];
-            chunkNioBuffer.limit(chunkNioBuffer.position() + signatureSize);
-            chunkNioBuffer.get(signatureBytes);
+            if (context == null || !context.isFor(secretKeys)) {
+                SymmetricCryptoContext previous = previousCryptoContexts[worker];
 
-            if (!Arrays.equals(signature, signatureBytes)) {
-                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, "could not verify signature");
+                if (previous != null && previous.isFor(secretKeys)) {
+                    context = previous;
+                } else {
+                    context = SymmetricCryptoContext.create(channel, secretKeys, Cipher.DECRYPT_MODE);
+                }
+
+                previousCryptoContexts[worker] = cryptoContexts[worker];
+                cryptoContexts[worker] = context;
             }
+
+            return context;
         }
 
         @Override
@@ -14,15 +14,16 @@
 package org.eclipse.milo.opcua.stack.core.channel;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.security.GeneralSecurityException;
 import java.security.cert.Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import javax.crypto.Cipher;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.channel.headers.AsymmetricSecurityHeader;
@@ -30,8 +31,7 @@ import org.eclipse.milo.opcua.stack.core.channel.headers.SecureMessageHeader;
 import org.eclipse.milo.opcua.stack.core.channel.headers.SequenceHeader;
 import org.eclipse.milo.opcua.stack.core.channel.headers.SymmetricSecurityHeader;
 import org.eclipse.milo.opcua.stack.core.channel.messages.MessageType;
-import org.eclipse.milo.opcua.stack.core.security.SecurityAlgorithm;
-import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 import org.eclipse.milo.opcua.stack.core.util.LongSequence;
 import org.eclipse.milo.opcua.stack.core.util.SignatureUtil;
 
@@ -41,7 +41,7 @@ import static org.eclipse.milo.opcua.stack.core.channel.headers.SequenceHeader.S
 public class ChunkEncoder {
 
     private final Delegate asymmetricDelegate = new AsymmetricDelegate();
-    private final Delegate symmetricDelegate = new SymmetricDelegate();
+    private final Delegate symmetricDelegate;
 
     // Wrap after UInt32.MAX - 1024
     private final LongSequence sequenceNumber = new LongSequence(1L, 4294966271L);
@@ -49,9 +49,39 @@ public class ChunkEncoder {
     private volatile long lastRequestId = 1L;
 
     private final ChannelParameters parameters;
+    private final int parallelChunkThreshold;
+    private final ForkJoinPool pool;
+    private final BufferAllocator allocator;
 
     public ChunkEncoder(ChannelParameters parameters) {
+        this(parameters, 0, ForkJoinPool.commonPool());
+    }
+
+    public ChunkEncoder(ChannelParameters parameters, int parallelChunkThreshold, ForkJoinPool pool) {
+        this(parameters, parallelChunkThreshold, pool, BufferAllocator.DEFAULT);
+    }
+
+    /**
+     * @param parameters             the {@link ChannelParameters} for the channel.
+     * @param parallelChunkThreshold the minimum number of chunks a symmetrically secured message must have before
+     *                               its chunks are signed and encrypted in parallel on {@code pool}. 0 disables
+     *                               parallel chunk security.
+     * @param pool                   the {@link ForkJoinPool} to secure chunks on.
+     * @param allocator              the {@link BufferAllocator} to allocate chunk and message buffers from.
+     */
+    public ChunkEncoder(
+        ChannelParameters parameters,
+        int parallelChunkThreshold,
+        ForkJoinPool pool,
+        BufferAllocator allocator) {
+
         this.parameters = parameters;
+        this.parallelChunkThreshold = parallelChunkThreshold;
+        this.pool = pool;
+        this.allocator = allocator;
+
+        symmetricDelegate = new SymmetricDelegate(
+            parallelChunkThreshold > 0 ? ParallelChunkSecurity.getMaxWorkerCount(pool) : 1);
     }
 
     public List<ByteBuf> encodeAsymmetric(
@@ -98,6 +128,23 @@ public class ChunkEncoder {
 
         assert (maxPlainTextSize + securityHeaderSize + SECURE_MESSAGE_HEADER_SIZE <= maxChunkSize);
 
+        boolean signed = delegate.isSigningEnabled(channel);
+
+        /*
+         * Large symmetric messages are secured in parallel once every chunk has its headers, body, and padding.
+         * Otherwise each chunk is secured as soon as it's written.
+         */
+        int chunkCount = (messageBuffer.readableBytes() + maxBodySize - 1) / maxBodySize;
+
+        boolean parallel = delegate == symmetricDelegate &&
+            parallelChunkThreshold > 0 &&
+            chunkCount >= parallelChunkThreshold &&
+            (encrypted || signed);
+
+        List<ParallelChunkSecurity.ChunkTask> tasks = parallel ? new ArrayList<>(chunkCount) : null;
+
+        ByteBuf firstChunkBuffer = null;
+
         while (messageBuffer.readableBytes() > 0) {
             int bodySize = Math.min(messageBuffer.readableBytes(), maxBodySize);
 
@@ -119,7 +166,9 @@ public class ChunkEncoder {
 
             assert (chunkSize <= maxChunkSize);
 
-            ByteBuf chunkBuffer = BufferUtil.buffer(chunkSize);
+            ByteBuf chunkBuffer = encrypted ?
+                allocator.buffer(chunkSize) :
+                allocator.buffer(SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize + SEQUENCE_HEADER_SIZE);
 
             /* Message Header */
             SecureMessageHeader messageHeader = new SecureMessageHeader(
@@ -132,7 +181,14 @@ public class ChunkEncoder {
             SecureMessageHeader.encode(messageHeader, chunkBuffer);
 
             /* Security Header */
-            delegate.encodeSecurityHeader(channel, chunkBuffer);
+            if (parallel && firstChunkBuffer != null) {
+                // Every chunk secured in parallel uses the same keys, so they must all carry the same token.
+                chunkBuffer.writeBytes(firstChunkBuffer, SECURE_MESSAGE_HEADER_SIZE, securityHeaderSize);
+            } else {
+                delegate.encodeSecurityHeader(channel, chunkBuffer);
+
+                firstChunkBuffer = chunkBuffer;
+            }
 
             /* Sequence Header */
             SequenceHeader sequenceHeader = new SequenceHeader(
@@ -142,67 +198,133 @@ public class ChunkEncoder {
 
             SequenceHeader.encode(sequenceHeader, chunkBuffer);
 
-            /* Message Body */
-            chunkBuffer.writeBytes(messageBuffer, bodySize);
+            ParallelChunkSecurity.ChunkTask task = null;
 
-            /* Padding and Signature */
             if (encrypted) {
+                /* Message Body and Padding */
+                chunkBuffer.writeBytes(messageBuffer, bodySize);
+
                 writePadding(cipherTextBlockSize, paddingSize, chunkBuffer);
-            }
 
-            if (delegate.isSigningEnabled(channel)) {
-                ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex());
+                /* Signature and Encryption */
+                final ByteBuf encryptedBuffer = chunkBuffer;
 
-                byte[] signature = delegate.signChunk(channel, chunkNioBuffer);
+                task = worker -> {
+                    if (signed) {
+                        byte[] signature = delegate.signChunk(
+                            channel, worker, encryptedBuffer.nioBuffers(0, encryptedBuffer.writerIndex()));
 
-                chunkBuffer.writeBytes(signature);
+                        encryptedBuffer.writeBytes(signature);
+                    }
+
+                    encryptChunk(
+                        delegate, channel, worker, encryptedBuffer,
+                        securityHeaderSize, plainTextBlockSize, cipherTextBlockSize);
+
+                    encryptedBuffer.readerIndex(0).writerIndex(chunkSize);
+                };
+            } else {
+                /*
+                 * Without encryption the body goes out unmodified, so rather than copying it into the chunk the
+                 * headers, a slice of the message buffer, and the signature are composed into a single buffer.
+                 */
+                final CompositeByteBuf composite = allocator.compositeBuffer();
+
+                composite.addComponent(chunkBuffer);
+                composite.addComponent(messageBuffer.readSlice(bodySize).retain());
+                composite.writerIndex(composite.writerIndex() + chunkBuffer.readableBytes() + bodySize);
+
+                /* Signature */
+                if (signed) {
+                    task = worker -> {
+                        byte[] signature = delegate.signChunk(channel, worker, composite.nioBuffers());
+
+                        ByteBuf signatureBuffer = allocator.buffer(signature.length).writeBytes(signature);
+
+                        composite.addComponent(signatureBuffer);
+                        composite.writerIndex(composite.writerIndex() + signatureBuffer.readableBytes());
+                    };
+                }
+
+                chunkBuffer = composite.order(ByteOrder.LITTLE_ENDIAN);
             }
 
-            /* Encryption */
-            if (encrypted) {
-                chunkBuffer.readerIndex(SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize);
+            if (task != null) {
+                if (parallel) {
+                    tasks.add(task);
+                } else {
+                    task.run(0);
+                }
+            }
 
-                assert (chunkBuffer.readableBytes() % plainTextBlockSize == 0);
+            chunks.add(chunkBuffer);
+        }
 
-                try {
-                    int blockCount = chunkBuffer.readableBytes() / plainTextBlockSize;
+        if (parallel) {
+            ParallelChunkSecurity.run(tasks, pool);
+        }
 
-                    ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(
-                        chunkBuffer.readerIndex(), blockCount * cipherTextBlockSize);
+        assert (chunks.stream().allMatch(c -> c.readableBytes() == c.getInt(4)));
 
-                    ByteBuf copyBuffer = chunkBuffer.copy();
-                    ByteBuffer plainTextNioBuffer = copyBuffer.nioBuffer();
+        lastRequestId = requestId;
 
-                    Cipher cipher = delegate.getAndInitializeCipher(channel);
+        return chunks;
+    }
 
-                    if (delegate instanceof AsymmetricDelegate) {
-                        for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
-                            int position = blockNumber * plainTextBlockSize;
-                            int limit = (blockNumber + 1) * plainTextBlockSize;
-                            plainTextNioBuffer.position(position).limit(limit);
+    /**
+     * Encrypt everything after the security header of {@code chunkBuffer}.
+     * <p>
+     * Symmetric encryption doesn't change the size of the data, so it's done in place. Asymmetric encryption expands
+     * each plaintext block, so it still needs a copy of the plaintext to read from.
+     */
+    private void encryptChunk(
+        Delegate delegate,
+        SecureChannel channel,
+        int worker,
+        ByteBuf chunkBuffer,
+        int securityHeaderSize,
+        int plainTextBlockSize,
+        int cipherTextBlockSize) throws UaException {
 
-                            int bytesWritten = cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
+        chunkBuffer.readerIndex(SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize);
 
-                            assert (bytesWritten == cipherTextBlockSize);
-                        }
-                    } else {
-                        cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
-                    }
+        assert (chunkBuffer.readableBytes() % plainTextBlockSize == 0);
 
-                    copyBuffer.release();
-                } catch (GeneralSecurityException e) {
-                    throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
-                }
-            }
+        try {
+            int blockCount = chunkBuffer.readableBytes() / plainTextBlockSize;
 
-            chunkBuffer.readerIndex(0).writerIndex(chunkSize);
+            ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(
+                chunkBuffer.readerIndex(), blockCount * cipherTextBlockSize);
 
-            chunks.add(chunkBuffer);
-        }
+            Cipher cipher = delegate.getAndInitializeCipher(channel, worker);
 
-        lastRequestId = requestId;
+            if (delegate instanceof AsymmetricDelegate) {
+                ByteBuf copyBuffer = chunkBuffer.copy();
+                ByteBuffer plainTextNioBuffer = copyBuffer.nioBuffer();
 
-        return chunks;
+                try {
+                    for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
+                        int position = blockNumber * plainTextBlockSize;
+                        int limit = (blockNumber + 1) * plainTextBlockSize;
+                        plainTextNioBuffer.position(position).limit(limit);
+
+                        int bytesWritten = cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
+
+                        assert (bytesWritten == cipherTextBlockSize);
+                    }
+                } finally {
+                    copyBuffer.release();
+                }
+            } else {
+                // Cipher.doFinal(ByteBuffer, ByteBuffer) is copy-safe when input and output share memory.
+                ByteBuffer plainTextNioBuffer = chunkBuffer.nioBuffer(
+                    chunkBuffer.readerIndex(), chunkBuffer.readableBytes());
+
+                cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+        }
     }
 
     public long getLastRequestId() {
@@ -228,12 +350,16 @@ public class ChunkEncoder {
         }
     }
 
+    /**
+     * The {@code worker} parameters identify the thread securing the chunk when chunks are secured in parallel; see
+     * {@link ParallelChunkSecurity}. Delegates whose crypto primitives are reused keep one set per worker.
+     */
     private static interface Delegate {
-        byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException;
+        byte[] signChunk(SecureChannel channel, int worker, ByteBuffer... chunkNioBuffers) throws UaException;
 
         void encodeSecurityHeader(SecureChannel channel, ByteBuf buffer) throws UaException;
 
-        Cipher getAndInitializeCipher(SecureChannel channel) throws UaException;
+        Cipher getAndInitializeCipher(SecureChannel channel, int worker) throws UaException;
 
         int getSecurityHeaderSize(SecureChannel channel) throws UaException;
 
@@ -252,16 +378,16 @@ public class ChunkEncoder {
     private static class AsymmetricDelegate implements Delegate {
 
         @Override
-        public byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException {
+        public byte[] signChunk(SecureChannel channel, int worker, ByteBuffer... chunkNioBuffers) throws UaException {
             return SignatureUtil.sign(
                 channel.getSecurityPolicy().getAsymmetricSignatureAlgorithm(),
                 channel.getKeyPair().getPrivate(),
-                chunkNioBuffer
+                chunkNioBuffers
             );
         }
 
         @Override
-        public Cipher getAndInitializeCipher(SecureChannel channel) throws UaException {
+        public Cipher getAndInitializeCipher(SecureChannel channel, int worker) throws UaException {
             Certificate remoteCertificate = channel.getRemoteCertificate();
 
             assert (remoteCertificate != null);
@@ -330,6 +456,16 @@ public class ChunkEncoder {
 
         private volatile ChannelSecurity.SecuritySecrets securitySecrets;
 
+        /**
+         * One context per worker. Worker 0 is the thread encoding the message; each other slot is only touched by
+         * the fork-join worker it was handed to, with the fork and join ordering accesses between messages.
+         */
+        private final SymmetricCryptoContext[] cryptoContexts;
+
+        SymmetricDelegate(int workerCount) {
+            cryptoContexts = new SymmetricCryptoContext[workerCount];
+        }
+
         @Override
         public void encodeSecurityHeader(SecureChannel channel, ByteBuf buffer) {
             ChannelSecurity channelSecurity = channel.getChannelSecurity();
@@ -341,36 +477,30 @@ public class ChunkEncoder {
         }
 
         @Override
-        public byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException {
-            SecurityAlgorithm signatureAlgorithm = channel.getSecurityPolicy().getSymmetricSignatureAlgorithm();
-            byte[] signatureKey = channel.getEncryptionKeys(securitySecrets).getSignatureKey();
-
-            return SignatureUtil.hmac(
-                signatureAlgorithm,
-                signatureKey,
-                chunkNioBuffer
-            );
+        public byte[] signChunk(SecureChannel channel, int worker, ByteBuffer... chunkNioBuffers) throws UaException {
+            return getCryptoContext(channel, worker).sign(chunkNioBuffers);
         }
 
         @Override
-        public Cipher getAndInitializeCipher(SecureChannel channel) throws UaException {
-            try {
-                String transformation = channel.getSecurityPolicy()
-                    .getSymmetricEncryptionAlgorithm().getTransformation();
-                ChannelSecurity.SecretKeys secretKeys = channel.getEncryptionKeys(securitySecrets);
-
-                SecretKeySpec keySpec = new SecretKeySpec(secretKeys.getEncryptionKey(), "AES");
-                IvParameterSpec ivSpec = new IvParameterSpec(secretKeys.getInitializationVector());
+        public Cipher getAndInitializeCipher(SecureChannel channel, int worker) throws UaException {
+            return getCryptoContext(channel, worker).getCipher();
+        }
 
-                Cipher cipher = Cipher.getInstance(transformation);
-                cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
+        /**
+         * Get the {@link SymmetricCryptoContext} of {@code worker} for the keys of the current token, creating a new
+         * one only when the token has been renewed since that worker last secured a chunk.
+         */
+        private SymmetricCryptoContext getCryptoContext(SecureChannel channel, int worker) throws UaException {
+            ChannelSecurity.SecretKeys secretKeys = channel.getEncryptionKeys(securitySecrets);
 
-                assert (cipher.getBlockSize() == channel.getSymmetricCipherTextBlockSize());
+            SymmetricCryptoContext context = cryptoContexts[worker];
 
-                return cipher;
-            } catch (GeneralSecurityException e) {
-                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+            if (context == null || !context.isFor(secretKeys)) {
+                context = SymmetricCryptoContext.create(channel, secretKeys, Cipher.ENCRYPT_MODE);
+                cryptoContexts[worker] = context;
             }
+
+            return context;
         }
 
         @Override
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+
+/**
+ * Runs the per-chunk security work (signing and encryption, or decryption and verification) of a single message on
+ * a {@link ForkJoinPool}.
+ * <p>
+ * Each participating thread is identified by a worker index in {@code [0, getMaxWorkerCount(pool))} so that callers
+ * can give every worker its own, non thread-safe, crypto primitives. Worker 0 is always the calling thread.
+ */
+final class ParallelChunkSecurity {
+
+    private ParallelChunkSecurity() {}
+
+    /**
+     * The security work for one chunk.
+     */
+    @FunctionalInterface
+    interface ChunkTask {
+        void run(int worker) throws UaException;
+    }
+
+    /**
+     * @param pool the {@link ForkJoinPool} tasks will be run on.
+     * @return the maximum number of distinct worker indices {@link #run(List, ForkJoinPool)} will use.
+     */
+    static int getMaxWorkerCount(ForkJoinPool pool) {
+        return pool.getParallelism() + 1;
+    }
+
+    /**
+     * Run {@code tasks}, spread across the calling thread and {@code pool}, and wait for all of them to finish.
+     * <p>
+     * Tasks are assigned to workers round-robin; the order they run in is unspecified.
+     *
+     * @param tasks the {@link ChunkTask}s to run.
+     * @param pool  the {@link ForkJoinPool} to run tasks on.
+     * @throws UaException the first exception thrown by any task.
+     */
+    static void run(List<ChunkTask> tasks, ForkJoinPool pool) throws UaException {
+        int workerCount = Math.min(tasks.size(), getMaxWorkerCount(pool));
+
+        List<ForkJoinTask<?>> forks = new ArrayList<>(workerCount);
+
+        for (int i = 1; i < workerCount; i++) {
+            final int worker = i;
+
+            forks.add(pool.submit(() -> {
+                runWorker(tasks, worker, workerCount);
+                return null;
+            }));
+        }
+
+        UaException failure = null;
+
+        try {
+            runWorker(tasks, 0, workerCount);
+        } catch (UaException e) {
+            failure = e;
+        }
+
+        // Wait for every fork, even after a failure; they're still working on the caller's buffers.
+        for (ForkJoinTask<?> fork : forks) {
+            fork.quietlyJoin();
+
+            Throwable ex = fork.getException();
+
+            if (ex != null && failure == null) {
+                if (ex instanceof UaException) {
+                    failure = (UaException) ex;
+                } else if (ex.getCause() instanceof UaException) {
+                    failure = (UaException) ex.getCause();
+                } else {
+                    failure = new UaException(StatusCodes.Bad_InternalError, ex);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void runWorker(List<ChunkTask> tasks, int worker, int workerCount) throws UaException {
+        for (int i = worker; i < tasks.size(); i += workerCount) {
+            tasks.get(i).run(worker);
+        }
+    }
+
+}
@@ -14,11 +14,13 @@
 package org.eclipse.milo.opcua.stack.core.channel;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 
+import io.netty.channel.Channel;
 import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
 import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder;
-import org.eclipse.milo.opcua.stack.core.util.ExecutionQueue;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 
 public class SerializationQueue {
 
@@ -28,8 +30,8 @@ public class SerializationQueue {
     private final ChunkEncoder chunkEncoder;
     private final ChunkDecoder chunkDecoder;
 
-    private final ExecutionQueue encodingQueue;
-    private final ExecutionQueue decodingQueue;
+    private final SerializationScheduler.SerialQueue encodingQueue;
+    private final SerializationScheduler.SerialQueue decodingQueue;
 
     private final ChannelParameters parameters;
 
@@ -38,16 +40,69 @@ public class SerializationQueue {
                               int maxArrayLength,
                               int maxStringLength) {
 
+        this(executor, parameters, maxArrayLength, maxStringLength, false);
+    }
+
+    public SerializationQueue(ExecutorService executor,
+                              ChannelParameters parameters,
+                              int maxArrayLength,
+                              int maxStringLength,
+                              boolean decodePrimitiveArrays) {
+
+        this(SerializationScheduler.fromExecutor(executor), null, parameters, maxArrayLength, maxStringLength,
+            decodePrimitiveArrays, ChannelConfig.DEFAULT_PARALLEL_CHUNK_THRESHOLD, BufferAllocator.DEFAULT);
+    }
+
+    /**
+     * @param scheduler  the {@link SerializationScheduler} to run encoding and decoding on.
+     * @param channel    the Netty {@link Channel} being serialized for.
+     * @param parameters the negotiated {@link ChannelParameters}.
+     * @param config     the {@link ChannelConfig} of the client or server.
+     */
+    public SerializationQueue(SerializationScheduler scheduler,
+                              Channel channel,
+                              ChannelParameters parameters,
+                              ChannelConfig config) {
+
+        this(scheduler, channel, parameters, config, BufferAllocator.DEFAULT);
+    }
+
+    /**
+     * @param scheduler  the {@link SerializationScheduler} to run encoding and decoding on.
+     * @param channel    the Netty {@link Channel} being serialized for.
+     * @param parameters the negotiated {@link ChannelParameters}.
+     * @param config     the {@link ChannelConfig} of the client or server.
+     * @param allocator  the {@link BufferAllocator} to allocate chunk buffers from.
+     */
+    public SerializationQueue(SerializationScheduler scheduler,
+                              Channel channel,
+                              ChannelParameters parameters,
+                              ChannelConfig config,
+                              BufferAllocator allocator) {
+
+        this(scheduler, channel, parameters, config.getMaxArrayLength(), config.getMaxStringLength(),
+            config.isDecodePrimitiveArrays(), config.getParallelChunkThreshold(), allocator);
+    }
+
+    private SerializationQueue(SerializationScheduler scheduler,
+                               Channel channel,
+                               ChannelParameters parameters,
+                               int maxArrayLength,
+                               int maxStringLength,
+                               boolean decodePrimitiveArrays,
+                               int parallelChunkThreshold,
+                               BufferAllocator allocator) {
+
         this.parameters = parameters;
 
         binaryEncoder = new BinaryEncoder(maxArrayLength, maxStringLength);
-        binaryDecoder = new BinaryDecoder(maxArrayLength, maxStringLength);
+        binaryDecoder = new BinaryDecoder(maxArrayLength, maxStringLength, decodePrimitiveArrays);
 
-        chunkEncoder = new ChunkEncoder(parameters);
-        chunkDecoder = new ChunkDecoder(parameters);
+        chunkEncoder = new ChunkEncoder(parameters, parallelChunkThreshold, ForkJoinPool.commonPool(), allocator);
+        chunkDecoder = new ChunkDecoder(parameters, parallelChunkThreshold, ForkJoinPool.commonPool(), allocator);
 
-        encodingQueue = new ExecutionQueue(executor);
-        decodingQueue = new ExecutionQueue(executor);
+        encodingQueue = scheduler.newQueue(channel);
+        decodingQueue = scheduler.newQueue(channel);
     }
 
     public void encode(BiConsumer<BinaryEncoder, ChunkEncoder> consumer) {
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.concurrent.ExecutorService;
+
+import io.netty.channel.Channel;
+import org.eclipse.milo.opcua.stack.core.util.ExecutionQueue;
+
+/**
+ * Decides where the encoding and decoding work of each channel's {@link SerializationQueue} runs.
+ */
+public interface SerializationScheduler {
+
+    /**
+     * Create a new {@link SerialQueue} for {@code channel}. Each {@link SerializationQueue} creates two: one for
+     * encoding and one for decoding.
+     *
+     * @param channel the Netty {@link Channel} the queue will serialize work for.
+     * @return a new {@link SerialQueue}.
+     */
+    SerialQueue newQueue(Channel channel);
+
+    /**
+     * Runs submitted tasks one at a time, in submission order.
+     */
+    interface SerialQueue {
+
+        /**
+         * Submit a task to be run after every previously submitted task.
+         *
+         * @param task the task to run.
+         */
+        void submit(Runnable task);
+
+        /**
+         * Stop running tasks. Tasks that have been submitted but haven't started, and any submitted afterwards,
+         * won't be run.
+         */
+        void pause();
+
+    }
+
+    /**
+     * A {@link SerializationScheduler} that runs each queue as an {@link ExecutionQueue} on {@code executor}.
+     * <p>
+     * This is the default, using the executor configured for the client or server.
+     *
+     * @param executor the {@link ExecutorService} to run tasks on.
+     * @return a {@link SerializationScheduler} backed by {@code executor}.
+     */
+    static SerializationScheduler fromExecutor(ExecutorService executor) {
+        return channel -> {
+            ExecutionQueue queue = new ExecutionQueue(executor);
+
+            return new SerialQueue() {
+                @Override
+                public void submit(Runnable task) {
+                    queue.submit(task);
+                }
+
+                @Override
+                public void pause() {
+                    queue.pause();
+                }
+            };
+        };
+    }
+
+    /**
+     * A {@link SerializationScheduler} that runs each queue on the event loop of its {@link Channel}.
+     * <p>
+     * This avoids any hand-off between threads, but encoding and decoding (including signing and encryption) then
+     * compete with I/O for the event loop.
+     *
+     * @return a {@link SerializationScheduler} that runs tasks on each channel's event loop.
+     */
+    static SerializationScheduler eventLoop() {
+        return channel -> new SerialQueue() {
+            private volatile boolean paused = false;
+
+            @Override
+            public void submit(Runnable task) {
+                channel.eventLoop().execute(() -> {
+                    if (!paused) {
+                        task.run();
+                    }
+                });
+            }
+
+            @Override
+            public void pause() {
+                paused = true;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SerializationScheduler} with a fixed number of worker threads, each draining its own lock-free queue.
+ * <p>
+ * Every {@link SerialQueue} is pinned to one worker, assigned round-robin, so work for a channel always runs on the
+ * same thread and in submission order without any per-queue locking or task resubmission. The number of threads
+ * stays fixed no matter how many channels are open.
+ * <p>
+ * Whoever creates a scheduler owns its threads and must {@link #shutdown()} it once it's no longer used. A scheduler
+ * passed to a client or server config builder is never shut down by the client or server; one the server creates
+ * because a serialization shard count was configured is shut down when the server shuts down.
+ */
+public class ShardedSerializationScheduler implements SerializationScheduler {
+
+    private static final AtomicInteger SCHEDULER_NUMBER = new AtomicInteger(0);
+
+    private final AtomicInteger nextShard = new AtomicInteger(0);
+
+    private final Shard[] shards;
+
+    /**
+     * Create a {@link ShardedSerializationScheduler} with one worker per available processor.
+     */
+    public ShardedSerializationScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param shardCount the number of worker threads. Must be greater than 0.
+     */
+    public ShardedSerializationScheduler(int shardCount) {
+        Preconditions.checkArgument(shardCount > 0, "shardCount must be greater than 0");
+
+        int schedulerNumber = SCHEDULER_NUMBER.getAndIncrement();
+
+        shards = new Shard[shardCount];
+
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(String.format("ua-serialization-%d-%d", schedulerNumber, i));
+        }
+    }
+
+    @Override
+    public SerialQueue newQueue(Channel channel) {
+        Shard shard = shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)];
+
+        return new ShardQueue(shard);
+    }
+
+    /**
+     * @return the number of worker threads.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Stop every worker thread once it has run the tasks already submitted to it.
+     */
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    /**
+     * Wait for every worker thread to stop after {@link #shutdown()}.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the {@link TimeUnit} of {@code timeout}.
+     * @return {@code true} if every worker thread stopped, {@code false} if the timeout elapsed first.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        for (Shard shard : shards) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+            if (remaining > 0) {
+                shard.thread.join(remaining);
+            }
+
+            if (shard.thread.isAlive()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static class ShardQueue implements SerialQueue {
+
+        private volatile boolean paused = false;
+
+        private final Shard shard;
+
+        ShardQueue(Shard shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public void submit(Runnable task) {
+            shard.execute(() -> {
+                if (!paused) {
+                    task.run();
+                }
+            });
+        }
+
+        @Override
+        public void pause() {
+            paused = true;
+        }
+
+    }
+
+    private static class Shard implements Runnable {
+
+        private final Logger logger = LoggerFactory.getLogger(getClass());
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+        private volatile boolean waiting = false;
+        private volatile boolean running = true;
+
+        private final Thread thread;
+
+        Shard(String name) {
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void execute(Runnable task) {
+            queue.offer(task);
+
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        void shutdown() {
+            running = false;
+
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable task = queue.poll();
+
+                if (task != null) {
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        logger.warn("Uncaught Throwable during execution.", t);
+                    }
+                } else if (running) {
+                    waiting = true;
+
+                    // re-check after publishing waiting=true so a concurrent execute() can't be missed
+                    if (queue.isEmpty() && running) {
+                        LockSupport.park(this);
+                    }
+
+                    waiting = false;
+                } else {
+                    break;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import io.netty.buffer.ByteBuf;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+
+/**
+ * The initialized symmetric {@link Cipher} and {@link Mac} for one direction of a {@link SecureChannel} under one
+ * set of {@link ChannelSecurity.SecretKeys}.
+ * <p>
+ * Provider lookup and key setup happen once, when the context is created; {@link Cipher#doFinal} and
+ * {@link Mac#doFinal} return both primitives to their initialized state, so they are reused for every chunk until
+ * the channel's security token is renewed and new keys are in use.
+ * <p>
+ * Instances are not thread-safe; each {@link ChunkEncoder} and {@link ChunkDecoder} keeps its own.
+ */
+class SymmetricCryptoContext {
+
+    private final ChannelSecurity.SecretKeys secretKeys;
+
+    private final Cipher cipher;
+    private final Mac mac;
+    private final byte[] macBytes;
+
+    private SymmetricCryptoContext(ChannelSecurity.SecretKeys secretKeys, Cipher cipher, Mac mac) {
+        this.secretKeys = secretKeys;
+        this.cipher = cipher;
+        this.mac = mac;
+        this.macBytes = mac != null ? new byte[mac.getMacLength()] : null;
+    }
+
+    /**
+     * @param secretKeys the {@link ChannelSecurity.SecretKeys} to compare against.
+     * @return {@code true} if this context was initialized with {@code secretKeys}.
+     */
+    boolean isFor(ChannelSecurity.SecretKeys secretKeys) {
+        return this.secretKeys == secretKeys;
+    }
+
+    /**
+     * @return the initialized {@link Cipher}, or {@code null} if encryption is not enabled on the channel.
+     */
+    Cipher getCipher() {
+        return cipher;
+    }
+
+    /**
+     * Compute the HMAC of the remaining bytes in {@code buffers}.
+     * <p>
+     * The returned array is reused by the next call to {@link #sign(ByteBuffer...)} or {@link #verify(ByteBuf, int)}.
+     *
+     * @param buffers the bytes to sign.
+     * @return the signature bytes.
+     */
+    byte[] sign(ByteBuffer... buffers) throws UaException {
+        try {
+            for (ByteBuffer buffer : buffers) {
+                mac.update(buffer);
+            }
+            mac.doFinal(macBytes, 0);
+
+            return macBytes;
+        } catch (GeneralSecurityException e) {
+            throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+        }
+    }
+
+    /**
+     * Verify the signature that occupies the last {@code signatureSize} bytes before the writer index of
+     * {@code chunkBuffer}, computed over every byte from index 0 up to the signature.
+     *
+     * @param chunkBuffer   the chunk to verify.
+     * @param signatureSize the size of the signature at the end of the chunk.
+     * @throws UaException if the signature does not match.
+     */
+    void verify(ByteBuf chunkBuffer, int signatureSize) throws UaException {
+        int signatureStart = chunkBuffer.writerIndex() - signatureSize;
+
+        byte[] signature = sign(chunkBuffer.nioBuffers(0, signatureStart));
+
+        int diff = signature.length ^ signatureSize;
+        for (int i = 0; i < Math.min(signature.length, signatureSize); i++) {
+            diff |= signature[i] ^ chunkBuffer.getByte(signatureStart + i);
+        }
+
+        if (diff != 0) {
+            throw new UaException(StatusCodes.Bad_SecurityChecksFailed, "could not verify signature");
+        }
+    }
+
+    /**
+     * Create a context for {@code channel} using {@code secretKeys}.
+     *
+     * @param channel    the {@link SecureChannel} whose security policy and mode select the algorithms.
+     * @param secretKeys the keys to initialize the {@link Cipher} and {@link Mac} with.
+     * @param cipherMode {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}.
+     * @return a new {@link SymmetricCryptoContext}.
+     * @throws UaException if either primitive cannot be created or initialized.
+     */
+    static SymmetricCryptoContext create(
+        SecureChannel channel,
+        ChannelSecurity.SecretKeys secretKeys,
+        int cipherMode) throws UaException {
+
+        try {
+            Cipher cipher = null;
+
+            if (channel.isSymmetricEncryptionEnabled()) {
+                String transformation = channel.getSecurityPolicy()
+                    .getSymmetricEncryptionAlgorithm().getTransformation();
+
+                SecretKeySpec keySpec = new SecretKeySpec(secretKeys.getEncryptionKey(), "AES");
+                IvParameterSpec ivSpec = new IvParameterSpec(secretKeys.getInitializationVector());
+
+                cipher = Cipher.getInstance(transformation);
+                cipher.init(cipherMode, keySpec, ivSpec);
+
+                assert (cipher.getBlockSize() == channel.getSymmetricCipherTextBlockSize());
+            }
+
+            Mac mac = null;
+
+            if (channel.isSymmetricSigningEnabled()) {
+                String transformation = channel.getSecurityPolicy()
+                    .getSymmetricSignatureAlgorithm().getTransformation();
+
+                mac = Mac.getInstance(transformation);
+                mac.init(new SecretKeySpec(secretKeys.getSignatureKey(), transformation));
+            }
+
+            return new SymmetricCryptoContext(secretKeys, cipher, mac);
+        } catch (GeneralSecurityException e) {
+            throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+        }
+    }
+
+}
@@ -15,6 +15,7 @@ package org.eclipse.milo.opcua.stack.core.serialization.binary;
 
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.UUID;
@@ -59,14 +60,28 @@ public class BinaryDecoder implements UaDecoder {
 
     private final int maxArrayLength;
     private final int maxStringLength;
+    private final boolean decodePrimitiveArrays;
 
     public BinaryDecoder() {
         this(ChannelConfig.DEFAULT_MAX_ARRAY_LENGTH, ChannelConfig.DEFAULT_MAX_STRING_LENGTH);
     }
 
     public BinaryDecoder(int maxArrayLength, int maxStringLength) {
+        this(maxArrayLength, maxStringLength, false);
+    }
+
+    /**
+     * @param maxArrayLength        the maximum length of any decoded array.
+     * @param maxStringLength       the maximum length of any decoded String.
+     * @param decodePrimitiveArrays if {@code true}, Boolean, SByte, Int16, Int32, Int64, Float and Double arrays
+     *                              inside a {@link Variant} are decoded as {@code boolean[]}, {@code byte[]},
+     *                              {@code short[]}, {@code int[]}, {@code long[]}, {@code float[]} and
+     *                              {@code double[]} rather than as arrays of their boxed types.
+     */
+    public BinaryDecoder(int maxArrayLength, int maxStringLength, boolean decodePrimitiveArrays) {
         this.maxArrayLength = maxArrayLength;
         this.maxStringLength = maxStringLength;
+        this.decodePrimitiveArrays = decodePrimitiveArrays;
     }
 
     public BinaryDecoder setBuffer(ByteBuf buffer) {
@@ -319,7 +334,6 @@ public class BinaryDecoder implements UaDecoder {
             boolean arrayEncoded = (encodingMask & 0x80) == 0x80;
 
             if (arrayEncoded) {
-                Class<?> backingClass = TypeUtil.getBackingClass(typeId);
                 int length = decodeInt32(null);
 
                 if (length == -1) {
@@ -330,13 +344,7 @@ public class BinaryDecoder implements UaDecoder {
                             String.format("max array length exceeded (length=%s, max=%s)", length, maxArrayLength));
                     }
 
-                    Object flatArray = Array.newInstance(backingClass, length);
-
-                    for (int i = 0; i < length; i++) {
-                        Object element = decodeBuiltinType(typeId);
-
-                        Array.set(flatArray, i, element);
-                    }
+                    Object flatArray = decodeFlatArray(typeId, length);
 
                     int[] dimensions = dimensionsEncoded ? decodeDimensions() : new int[]{length};
                     Object array = dimensions.length > 1 ? ArrayUtil.unflatten(flatArray, dimensions) : flatArray;
@@ -456,6 +464,191 @@ public class BinaryDecoder implements UaDecoder {
         }
     }
 
+    /**
+     * Decode the flattened elements of a {@link Variant} array.
+     * <p>
+     * Fixed-size numeric types are read straight into an array of the right type, in bulk where the element type
+     * allows it, instead of decoding and storing each element reflectively.
+     *
+     * @param typeId the builtin type id of the elements.
+     * @param length the number of elements.
+     * @return the decoded array.
+     */
+    private Object decodeFlatArray(int typeId, int length) throws UaSerializationException {
+        switch (typeId) {
+            case 1: {
+                checkReadable(length, 1);
+                if (decodePrimitiveArrays) {
+                    boolean[] array = new boolean[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = buffer.readBoolean();
+                    }
+                    return array;
+                } else {
+                    Boolean[] array = new Boolean[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = buffer.readBoolean();
+                    }
+                    return array;
+                }
+            }
+            case 2: {
+                checkReadable(length, 1);
+                byte[] bytes = new byte[length];
+                buffer.readBytes(bytes);
+                if (decodePrimitiveArrays) {
+                    return bytes;
+                } else {
+                    Byte[] array = new Byte[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = bytes[i];
+                    }
+                    return array;
+                }
+            }
+            case 3: {
+                checkReadable(length, 1);
+                UByte[] array = new UByte[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = Unsigned.ubyte(buffer.readUnsignedByte());
+                }
+                return array;
+            }
+            case 4: {
+                checkReadable(length, 2);
+                if (decodePrimitiveArrays) {
+                    short[] array = new short[length];
+                    nioBuffer(length, 2).asShortBuffer().get(array);
+                    return array;
+                } else {
+                    Short[] array = new Short[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = buffer.readShort();
+                    }
+                    return array;
+                }
+            }
+            case 5: {
+                checkReadable(length, 2);
+                UShort[] array = new UShort[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = Unsigned.ushort(buffer.readUnsignedShort());
+                }
+                return array;
+            }
+            case 6: {
+                checkReadable(length, 4);
+                if (decodePrimitiveArrays) {
+                    int[] array = new int[length];
+                    nioBuffer(length, 4).asIntBuffer().get(array);
+                    return array;
+                } else {
+                    Integer[] array = new Integer[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = buffer.readInt();
+                    }
+                    return array;
+                }
+            }
+            case 7: {
+                checkReadable(length, 4);
+                UInteger[] array = new UInteger[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = Unsigned.uint(buffer.readUnsignedInt());
+                }
+                return array;
+            }
+            case 8: {
+                checkReadable(length, 8);
+                if (decodePrimitiveArrays) {
+                    long[] array = new long[length];
+                    nioBuffer(length, 8).asLongBuffer().get(array);
+                    return array;
+                } else {
+                    Long[] array = new Long[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = buffer.readLong();
+                    }
+                    return array;
+                }
+            }
+            case 9: {
+                checkReadable(length, 8);
+                ULong[] array = new ULong[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = Unsigned.ulong(buffer.readLong());
+                }
+                return array;
+            }
+            case 10: {
+                checkReadable(length, 4);
+                if (decodePrimitiveArrays) {
+                    float[] array = new float[length];
+                    nioBuffer(length, 4).asFloatBuffer().get(array);
+                    return array;
+                } else {
+                    Float[] array = new Float[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = buffer.readFloat();
+                    }
+                    return array;
+                }
+            }
+            case 11: {
+                checkReadable(length, 8);
+                if (decodePrimitiveArrays) {
+                    double[] array = new double[length];
+                    nioBuffer(length, 8).asDoubleBuffer().get(array);
+                    return array;
+                } else {
+                    Double[] array = new Double[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = buffer.readDouble();
+                    }
+                    return array;
+                }
+            }
+            default: {
+                Class<?> backingClass = TypeUtil.getBackingClass(typeId);
+
+                if (backingClass == null) {
+                    throw new UaSerializationException(StatusCodes.Bad_DecodingError,
+                        "unknown builtin type: " + typeId);
+                }
+
+                Object[] array = (Object[]) Array.newInstance(backingClass, length);
+                for (int i = 0; i < length; i++) {
+                    array[i] = decodeBuiltinType(typeId);
+                }
+                return array;
+            }
+        }
+    }
+
+    /**
+     * Fail before allocating an array whose fixed-size elements can't all be present in the buffer.
+     */
+    private void checkReadable(int length, int elementSize) throws UaSerializationException {
+        long required = (long) length * elementSize;
+
+        if (required > buffer.readableBytes()) {
+            throw new UaSerializationException(StatusCodes.Bad_DecodingError,
+                String.format("array length exceeds remaining bytes (length=%s, remaining=%s)",
+                    length, buffer.readableBytes()));
+        }
+    }
+
+    /**
+     * Consume {@code length * elementSize} bytes, returning them as a {@link ByteBuffer} in the byte order of the
+     * underlying buffer so they can be bulk-copied into a primitive array.
+     */
+    private ByteBuffer nioBuffer(int length, int elementSize) {
+        int size = length * elementSize;
+        ByteBuffer nioBuffer = buffer.nioBuffer(buffer.readerIndex(), size).order(buffer.order());
+        buffer.skipBytes(size);
+        return nioBuffer;
+    }
+
     private int[] decodeDimensions() {
         int length = decodeInt32(null);
 
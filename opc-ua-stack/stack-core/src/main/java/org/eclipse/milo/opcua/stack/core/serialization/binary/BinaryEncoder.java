@@ -14,7 +14,6 @@
 package org.eclipse.milo.opcua.stack.core.serialization.binary;
 
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.Array;
 import java.nio.ByteOrder;
 import java.util.UUID;
 import java.util.function.BiConsumer;
@@ -514,26 +513,13 @@ public class BinaryEncoder implements UaEncoder {
                 if (dimensions.length == 1) {
                     buffer.writeByte(typeId | 0x80);
 
-                    int length = Array.getLength(value);
-                    buffer.writeInt(length);
-
-                    for (int i = 0; i < length; i++) {
-                        Object o = Array.get(value, i);
-
-                        encodeValue(o, typeId, structure, enumeration);
-                    }
+                    encodeFlatArray(value, typeId, structure, enumeration);
                 } else {
                     buffer.writeByte(typeId | 0xC0);
 
                     Object flattened = ArrayUtil.flatten(value);
-                    int length = Array.getLength(flattened);
-                    buffer.writeInt(length);
 
-                    for (int i = 0; i < length; i++) {
-                        Object o = Array.get(flattened, i);
-
-                        encodeValue(o, typeId, structure, enumeration);
-                    }
+                    encodeFlatArray(flattened, typeId, structure, enumeration);
 
                     encodeInt32(null, dimensions.length);
                     for (int dimension : dimensions) {
@@ -548,6 +534,81 @@ public class BinaryEncoder implements UaEncoder {
         }
     }
 
+    /**
+     * Encode the length and elements of a one-dimensional {@link Variant} array.
+     * <p>
+     * Primitive arrays and Integer, Float and Double arrays are written straight to the buffer rather than through
+     * {@link #encodeBuiltinType(int, Object)} one reflectively-fetched element at a time. Null elements of boxed
+     * arrays are written as 0, as {@link #encodeInt32(String, Integer)} and friends do.
+     */
+    private void encodeFlatArray(Object array, int typeId, boolean structure, boolean enumeration) {
+        if (array instanceof boolean[]) {
+            boolean[] values = (boolean[]) array;
+            buffer.writeInt(values.length);
+            for (boolean v : values) {
+                buffer.writeBoolean(v);
+            }
+        } else if (array instanceof byte[]) {
+            byte[] values = (byte[]) array;
+            buffer.writeInt(values.length);
+            buffer.writeBytes(values);
+        } else if (array instanceof short[]) {
+            short[] values = (short[]) array;
+            buffer.writeInt(values.length);
+            for (short v : values) {
+                buffer.writeShort(v);
+            }
+        } else if (array instanceof int[]) {
+            int[] values = (int[]) array;
+            buffer.writeInt(values.length);
+            for (int v : values) {
+                buffer.writeInt(v);
+            }
+        } else if (array instanceof long[]) {
+            long[] values = (long[]) array;
+            buffer.writeInt(values.length);
+            for (long v : values) {
+                buffer.writeLong(v);
+            }
+        } else if (array instanceof float[]) {
+            float[] values = (float[]) array;
+            buffer.writeInt(values.length);
+            for (float v : values) {
+                buffer.writeFloat(v);
+            }
+        } else if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            buffer.writeInt(values.length);
+            for (double v : values) {
+                buffer.writeDouble(v);
+            }
+        } else if (array instanceof Integer[]) {
+            Integer[] values = (Integer[]) array;
+            buffer.writeInt(values.length);
+            for (Integer v : values) {
+                buffer.writeInt(v != null ? v : 0);
+            }
+        } else if (array instanceof Float[]) {
+            Float[] values = (Float[]) array;
+            buffer.writeInt(values.length);
+            for (Float v : values) {
+                buffer.writeFloat(v != null ? v : 0f);
+            }
+        } else if (array instanceof Double[]) {
+            Double[] values = (Double[]) array;
+            buffer.writeInt(values.length);
+            for (Double v : values) {
+                buffer.writeDouble(v != null ? v : 0d);
+            }
+        } else {
+            Object[] values = (Object[]) array;
+            buffer.writeInt(values.length);
+            for (Object o : values) {
+                encodeValue(o, typeId, structure, enumeration);
+            }
+        }
+    }
+
     private void encodeValue(Object value, int typeId, boolean structure, boolean enumeration) {
         if (structure) {
             ExtensionObject extensionObject = ExtensionObject.encode((UaStructure) value);
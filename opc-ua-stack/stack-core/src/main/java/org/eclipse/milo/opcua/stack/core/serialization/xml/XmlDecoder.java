@@ -71,6 +71,14 @@ public class XmlDecoder implements UaDecoder {
         setInput(reader);
     }
 
+    /**
+     * @param streamReader an {@link XMLStreamReader} shared with the caller; decoding continues from its current
+     *                     position and leaves it after the decoded element.
+     */
+    public XmlDecoder(XMLStreamReader streamReader) {
+        setInput(streamReader);
+    }
+
     public XmlDecoder setInput(InputStream inputStream) throws XMLStreamException {
         streamReader = factory.createXMLStreamReader(inputStream);
 
@@ -83,6 +91,12 @@ public class XmlDecoder implements UaDecoder {
         return this;
     }
 
+    public XmlDecoder setInput(XMLStreamReader streamReader) {
+        this.streamReader = streamReader;
+
+        return this;
+    }
+
     public void skipElement() throws XMLStreamException {
         streamReader.nextTag();
     }
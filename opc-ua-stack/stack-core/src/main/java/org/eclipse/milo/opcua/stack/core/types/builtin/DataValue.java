@@ -30,6 +30,12 @@ public final class DataValue {
     private final DateTime serverTime;
     private final UShort serverPicoseconds;
 
+    /**
+     * The most recent value derived from this one; derived values are cached because the same value is typically
+     * read by many clients with the same {@link TimestampsToReturn}.
+     */
+    private DataValue derived;
+
     public DataValue(long statusCode) {
         this(new StatusCode(statusCode));
     }
@@ -144,6 +150,9 @@ public final class DataValue {
 
     /**
      * Derive a new {@link DataValue} from a given {@link DataValue}.
+     * <p>
+     * {@code from} itself, or a value previously derived from it, is returned if it already has the requested
+     * timestamps.
      *
      * @param from       the {@link DataValue} to derive from.
      * @param timestamps the timestamps to return in the derived value.
@@ -153,12 +162,7 @@ public final class DataValue {
         boolean includeSource = timestamps == TimestampsToReturn.Source || timestamps == TimestampsToReturn.Both;
         boolean includeServer = timestamps == TimestampsToReturn.Server || timestamps == TimestampsToReturn.Both;
 
-        return new DataValue(
-            from.value,
-            from.status,
-            includeSource ? from.sourceTime : null,
-            includeServer ? from.serverTime : null
-        );
+        return derive(from, includeSource ? from.sourceTime : null, includeServer ? from.serverTime : null);
     }
 
     /**
@@ -173,12 +177,25 @@ public final class DataValue {
     public static DataValue derivedNonValue(DataValue from, TimestampsToReturn timestamps) {
         boolean includeServer = timestamps == TimestampsToReturn.Server || timestamps == TimestampsToReturn.Both;
 
-        return new DataValue(
-            from.value,
-            from.status,
-            null,
-            includeServer ? from.serverTime : null
-        );
+        return derive(from, null, includeServer ? from.serverTime : null);
+    }
+
+    private static DataValue derive(DataValue from, @Nullable DateTime sourceTime, @Nullable DateTime serverTime) {
+        if (from.sourceTime == sourceTime && from.serverTime == serverTime &&
+            from.sourcePicoseconds == null && from.serverPicoseconds == null) {
+
+            return from;
+        }
+
+        // racy but benign: DataValue is immutable, so any thread may see and reuse any value cached here
+        DataValue derived = from.derived;
+
+        if (derived == null || derived.sourceTime != sourceTime || derived.serverTime != serverTime) {
+            derived = new DataValue(from.value, from.status, sourceTime, serverTime);
+            from.derived = derived;
+        }
+
+        return derived;
     }
 
     /**
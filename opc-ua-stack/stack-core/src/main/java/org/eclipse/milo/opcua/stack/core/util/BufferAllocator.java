@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.util;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * The strategy used to allocate message and chunk buffers.
+ * <p>
+ * Wraps a Netty {@link ByteBufAllocator} and, for message buffers, sizes the initial capacity from the encoded size
+ * of previous messages of the same type so that large messages don't repeatedly grow their buffer while encoding.
+ *
+ * @see BufferAllocatorMetrics
+ */
+public class BufferAllocator {
+
+    /**
+     * Allocates from {@link PooledByteBufAllocator#DEFAULT}, with adaptive message buffer capacity.
+     */
+    public static final BufferAllocator DEFAULT = new BufferAllocator(PooledByteBufAllocator.DEFAULT);
+
+    static final int MIN_MESSAGE_CAPACITY = 256;
+    static final int MAX_MESSAGE_CAPACITY = 1 << 24;
+
+    private final ConcurrentMap<Class<?>, AdaptiveCapacity> capacities = new ConcurrentHashMap<>();
+
+    private final LongAdder allocations = new LongAdder();
+
+    private final ByteBufAllocator allocator;
+    private final boolean adaptiveCapacity;
+    private final boolean directPreferred;
+    private final boolean directAllocated;
+
+    public BufferAllocator(ByteBufAllocator allocator) {
+        this(allocator, true);
+    }
+
+    /**
+     * Wrap an allocator whose preference for direct buffers isn't known; it is taken to prefer whichever kind of
+     * buffer it allocates by default.
+     *
+     * @param allocator        the Netty {@link ByteBufAllocator} to allocate from.
+     * @param adaptiveCapacity {@code true} if message buffers should be sized from the history of each message type.
+     */
+    public BufferAllocator(ByteBufAllocator allocator, boolean adaptiveCapacity) {
+        this(allocator, adaptiveCapacity, isDirectByDefault(allocator));
+    }
+
+    /**
+     * @param allocator        the Netty {@link ByteBufAllocator} to allocate from.
+     * @param adaptiveCapacity {@code true} if message buffers should be sized from the history of each message type.
+     * @param directPreferred  {@code true} if {@code allocator} was configured to prefer direct buffers.
+     */
+    public BufferAllocator(ByteBufAllocator allocator, boolean adaptiveCapacity, boolean directPreferred) {
+        this.allocator = allocator;
+        this.adaptiveCapacity = adaptiveCapacity;
+        this.directPreferred = directPreferred;
+
+        directAllocated = isDirectByDefault(allocator);
+    }
+
+    /**
+     * Create a {@link BufferAllocator} backed by a new {@link PooledByteBufAllocator}.
+     *
+     * @param preferDirect      {@code true} to prefer direct buffers over heap buffers.
+     * @param arenaCount        the number of heap and of direct arenas; usually about twice the number of event loop
+     *                          and serialization threads.
+     * @param pageSize          the arena page size. Must be a power of 2 and at least 4096.
+     * @param maxOrder          the arena chunk size is {@code pageSize << maxOrder}.
+     * @param threadLocalCaches {@code true} to cache recently released buffers per thread.
+     * @return a pooled {@link BufferAllocator}.
+     */
+    public static BufferAllocator pooled(
+        boolean preferDirect,
+        int arenaCount,
+        int pageSize,
+        int maxOrder,
+        boolean threadLocalCaches) {
+
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(
+            preferDirect,
+            arenaCount,
+            arenaCount,
+            pageSize,
+            maxOrder,
+            threadLocalCaches ? PooledByteBufAllocator.defaultTinyCacheSize() : 0,
+            threadLocalCaches ? PooledByteBufAllocator.defaultSmallCacheSize() : 0,
+            threadLocalCaches ? PooledByteBufAllocator.defaultNormalCacheSize() : 0
+        );
+
+        return new BufferAllocator(allocator, true, preferDirect);
+    }
+
+    /**
+     * Create a {@link BufferAllocator} backed by a new {@link PooledByteBufAllocator} with Netty's default page size
+     * and chunk size.
+     *
+     * @param preferDirect      {@code true} to prefer direct buffers over heap buffers.
+     * @param arenaCount        the number of heap and of direct arenas.
+     * @param threadLocalCaches {@code true} to cache recently released buffers per thread.
+     * @return a pooled {@link BufferAllocator}.
+     */
+    public static BufferAllocator pooled(boolean preferDirect, int arenaCount, boolean threadLocalCaches) {
+        return pooled(
+            preferDirect,
+            arenaCount,
+            PooledByteBufAllocator.defaultPageSize(),
+            PooledByteBufAllocator.defaultMaxOrder(),
+            threadLocalCaches
+        );
+    }
+
+    /**
+     * Create a {@link BufferAllocator} that doesn't pool buffers.
+     *
+     * @param preferDirect {@code true} to prefer direct buffers over heap buffers.
+     * @return an unpooled {@link BufferAllocator}.
+     */
+    public static BufferAllocator unpooled(boolean preferDirect) {
+        return new BufferAllocator(new UnpooledByteBufAllocator(preferDirect), false, preferDirect);
+    }
+
+    /**
+     * @return the underlying Netty {@link ByteBufAllocator}.
+     */
+    public ByteBufAllocator getByteBufAllocator() {
+        return allocator;
+    }
+
+    public ByteBuf buffer() {
+        allocations.increment();
+
+        return allocator.buffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public ByteBuf buffer(int initialCapacity) {
+        allocations.increment();
+
+        return allocator.buffer(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public CompositeByteBuf compositeBuffer() {
+        allocations.increment();
+
+        return allocator.compositeBuffer();
+    }
+
+    /**
+     * Allocate a buffer to encode a message of type {@code messageType} into.
+     * <p>
+     * Once the message is encoded, report its size with {@link #recordMessageSize(Class, int)}.
+     *
+     * @param messageType the type of message that will be encoded.
+     * @return a little-endian {@link ByteBuf}.
+     */
+    public ByteBuf messageBuffer(Class<?> messageType) {
+        if (adaptiveCapacity) {
+            AdaptiveCapacity capacity = capacities.get(messageType);
+
+            if (capacity != null) {
+                return buffer(capacity.next());
+            }
+        }
+
+        return buffer();
+    }
+
+    /**
+     * Record the encoded size of a message so future message buffers for the same type can be sized from it.
+     *
+     * @param messageType the type of message that was encoded.
+     * @param size        the encoded size, in bytes.
+     */
+    public void recordMessageSize(Class<?> messageType, int size) {
+        if (adaptiveCapacity) {
+            capacities.computeIfAbsent(messageType, t -> new AdaptiveCapacity()).record(size);
+        }
+    }
+
+    /**
+     * @return a snapshot of {@link BufferAllocatorMetrics} for this allocator.
+     */
+    public BufferAllocatorMetrics getMetrics() {
+        return BufferAllocatorMetrics.of(allocator, directPreferred, directAllocated, allocations.sum());
+    }
+
+    /**
+     * @return {@code true} if {@code allocator} allocates direct buffers by default, which it may not do even when it
+     * prefers them, e.g. when the platform doesn't support direct buffers without {@code sun.misc.Unsafe}.
+     */
+    private static boolean isDirectByDefault(ByteBufAllocator allocator) {
+        ByteBuf probe = allocator.buffer(0);
+
+        try {
+            return probe.isDirect();
+        } finally {
+            probe.release();
+        }
+    }
+
+    /**
+     * Tracks a moving average of the encoded size of one message type.
+     */
+    static class AdaptiveCapacity {
+
+        private volatile int average = 0;
+
+        void record(int size) {
+            int previous = average;
+
+            // racy updates may drop a sample; that's fine for an estimate
+            average = previous == 0 ? size : (int) ((previous * 7L + size) >>> 3);
+        }
+
+        int next() {
+            // leave headroom so a message slightly larger than average doesn't have to grow its buffer
+            long capacity = (long) average + (average >>> 2);
+
+            if (capacity <= MIN_MESSAGE_CAPACITY) {
+                return MIN_MESSAGE_CAPACITY;
+            } else if (capacity >= MAX_MESSAGE_CAPACITY) {
+                return MAX_MESSAGE_CAPACITY;
+            } else {
+                return Integer.highestOneBit((int) capacity - 1) << 1;
+            }
+        }
+
+    }
+
+}
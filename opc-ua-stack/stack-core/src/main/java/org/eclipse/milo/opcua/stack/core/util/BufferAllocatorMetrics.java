@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.util;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PoolChunkListMetric;
+import io.netty.buffer.PoolChunkMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+
+/**
+ * A snapshot of buffer allocation and pool usage for a {@link BufferAllocator}.
+ * <p>
+ * {@link #getActiveAllocations()} counts pooled buffers that have not been released. If it keeps growing under a
+ * steady load, buffers are leaking; {@link #getLeakDetectionLevel()} reports whether Netty's
+ * {@link ResourceLeakDetector} is sampling buffers and will log where they were allocated.
+ */
+public class BufferAllocatorMetrics {
+
+    private final boolean pooled;
+    private final boolean directPreferred;
+    private final boolean directAllocated;
+    private final long allocations;
+    private final int heapArenaCount;
+    private final int directArenaCount;
+    private final int threadLocalCacheCount;
+    private final long activeAllocations;
+    private final long usedMemory;
+    private final ResourceLeakDetector.Level leakDetectionLevel;
+
+    BufferAllocatorMetrics(
+        boolean pooled,
+        boolean directPreferred,
+        boolean directAllocated,
+        long allocations,
+        int heapArenaCount,
+        int directArenaCount,
+        int threadLocalCacheCount,
+        long activeAllocations,
+        long usedMemory,
+        ResourceLeakDetector.Level leakDetectionLevel) {
+
+        this.pooled = pooled;
+        this.directPreferred = directPreferred;
+        this.directAllocated = directAllocated;
+        this.allocations = allocations;
+        this.heapArenaCount = heapArenaCount;
+        this.directArenaCount = directArenaCount;
+        this.threadLocalCacheCount = threadLocalCacheCount;
+        this.activeAllocations = activeAllocations;
+        this.usedMemory = usedMemory;
+        this.leakDetectionLevel = leakDetectionLevel;
+    }
+
+    /**
+     * @return {@code true} if the allocator pools buffers.
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * @return {@code true} if the allocator was configured to prefer direct buffers.
+     */
+    public boolean isDirectPreferred() {
+        return directPreferred;
+    }
+
+    /**
+     * @return {@code true} if the allocator actually allocates direct buffers by default. This can be {@code false}
+     * even though direct buffers are preferred, when the platform doesn't support them.
+     */
+    public boolean isDirectAllocated() {
+        return directAllocated;
+    }
+
+    /**
+     * @return the number of buffers allocated through the {@link BufferAllocator}.
+     */
+    public long getAllocations() {
+        return allocations;
+    }
+
+    /**
+     * @return the number of heap arenas, or 0 if not pooled.
+     */
+    public int getHeapArenaCount() {
+        return heapArenaCount;
+    }
+
+    /**
+     * @return the number of direct arenas, or 0 if not pooled.
+     */
+    public int getDirectArenaCount() {
+        return directArenaCount;
+    }
+
+    /**
+     * @return the number of thread-local caches in use, or 0 if not pooled.
+     */
+    public int getThreadLocalCacheCount() {
+        return threadLocalCacheCount;
+    }
+
+    /**
+     * @return the number of pooled buffers allocated and not yet released, across all arenas.
+     */
+    public long getActiveAllocations() {
+        return activeAllocations;
+    }
+
+    /**
+     * @return the approximate number of bytes in use in pooled chunks, across all arenas.
+     */
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * @return the current {@link ResourceLeakDetector.Level}.
+     */
+    public ResourceLeakDetector.Level getLeakDetectionLevel() {
+        return leakDetectionLevel;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "BufferAllocatorMetrics{pooled=%s, directPreferred=%s, directAllocated=%s, allocations=%d, " +
+                "heapArenas=%d, directArenas=%d, threadLocalCaches=%d, activeAllocations=%d, usedMemory=%d, " +
+                "leakDetection=%s}",
+            pooled, directPreferred, directAllocated, allocations, heapArenaCount, directArenaCount,
+            threadLocalCacheCount, activeAllocations, usedMemory, leakDetectionLevel);
+    }
+
+    static BufferAllocatorMetrics of(
+        ByteBufAllocator allocator,
+        boolean directPreferred,
+        boolean directAllocated,
+        long allocations) {
+
+        ResourceLeakDetector.Level leakDetectionLevel = ResourceLeakDetector.getLevel();
+
+        if (allocator instanceof PooledByteBufAllocator) {
+            PooledByteBufAllocator pooled = (PooledByteBufAllocator) allocator;
+
+            List<PoolArenaMetric> heapArenas = pooled.heapArenas();
+            List<PoolArenaMetric> directArenas = pooled.directArenas();
+
+            return new BufferAllocatorMetrics(
+                true,
+                directPreferred,
+                directAllocated,
+                allocations,
+                heapArenas.size(),
+                directArenas.size(),
+                pooled.numThreadLocalCaches(),
+                activeAllocations(heapArenas) + activeAllocations(directArenas),
+                usedMemory(heapArenas) + usedMemory(directArenas),
+                leakDetectionLevel
+            );
+        } else {
+            return new BufferAllocatorMetrics(
+                false,
+                directPreferred,
+                directAllocated,
+                allocations,
+                0,
+                0,
+                0,
+                0L,
+                0L,
+                leakDetectionLevel
+            );
+        }
+    }
+
+    private static long activeAllocations(List<PoolArenaMetric> arenas) {
+        long active = 0L;
+
+        for (PoolArenaMetric arena : arenas) {
+            active += arena.numActiveAllocations();
+        }
+
+        return active;
+    }
+
+    private static long usedMemory(List<PoolArenaMetric> arenas) {
+        long used = 0L;
+
+        for (PoolArenaMetric arena : arenas) {
+            for (PoolChunkListMetric chunkList : arena.chunkLists()) {
+                for (PoolChunkMetric chunk : chunkList) {
+                    used += chunk.chunkSize() - chunk.freeBytes();
+                }
+            }
+        }
+
+        return used;
+    }
+
+}
@@ -13,27 +13,27 @@
 
 package org.eclipse.milo.opcua.stack.core.util;
 
-import java.nio.ByteOrder;
-
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
-import io.netty.buffer.PooledByteBufAllocator;
 
+/**
+ * Allocates buffers from {@link BufferAllocator#DEFAULT}.
+ * <p>
+ * Code with access to a client or server config should allocate from its configured {@link BufferAllocator}
+ * instead.
+ */
 public class BufferUtil {
 
-    private static final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
-
     public static ByteBuf buffer() {
-        return allocator.buffer().order(ByteOrder.LITTLE_ENDIAN);
+        return BufferAllocator.DEFAULT.buffer();
     }
 
     public static ByteBuf buffer(int initialCapacity) {
-        return allocator.buffer(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+        return BufferAllocator.DEFAULT.buffer(initialCapacity);
     }
 
     public static CompositeByteBuf compositeBuffer() {
-        return allocator.compositeBuffer();
+        return BufferAllocator.DEFAULT.compositeBuffer();
     }
 
 }
@@ -13,30 +13,58 @@
 
 package org.eclipse.milo.opcua.stack.core.util;
 
-import java.util.LinkedList;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Queues up submitted {@link java.lang.Runnable}s and executes them in serial on an
  * {@link java.util.concurrent.ExecutorService}.
+ * <p>
+ * Submission is lock-free: producers offer to a concurrent queue and at most one of them wins the atomic running
+ * flag and schedules a drain on the executor. A drain runs up to {@code maxBatchSize} tasks before yielding the
+ * executor thread back to other work.
  */
 public class ExecutionQueue {
 
+    public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
-    private final Object queueLock = new Object();
-    private final LinkedList<Runnable> queue = new LinkedList<>();
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final Deque<Runnable> headQueue = new ConcurrentLinkedDeque<>();
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
 
-    private volatile boolean pollSubmitted = false;
     private volatile boolean paused = false;
 
+    private final PollAndExecute pollAndExecute = new PollAndExecute();
+
     private final ExecutorService service;
+    private final int maxBatchSize;
 
     public ExecutionQueue(ExecutorService service) {
+        this(service, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * @param service      the {@link ExecutorService} to execute on.
+     * @param maxBatchSize the maximum number of {@link Runnable}s to execute before yielding the executor thread.
+     *                     Must be greater than 0.
+     */
+    public ExecutionQueue(ExecutorService service, int maxBatchSize) {
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+
         this.service = service;
+        this.maxBatchSize = maxBatchSize;
     }
 
     /**
@@ -45,11 +73,9 @@ public class ExecutionQueue {
      * @param runnable the {@link Runnable} to be executed.
      */
     public void submit(Runnable runnable) {
-        synchronized (queueLock) {
-            queue.add(runnable);
+        queue.offer(runnable);
 
-            maybeSubmitPoll();
-        }
+        maybeSubmitPoll();
     }
 
     /**
@@ -58,38 +84,38 @@ public class ExecutionQueue {
      * @param runnable the {@link Runnable} to be executed.
      */
     public void submitToHead(Runnable runnable) {
-        synchronized (queueLock) {
-            queue.addFirst(runnable);
+        headQueue.offerFirst(runnable);
 
-            maybeSubmitPoll();
-        }
+        maybeSubmitPoll();
     }
 
     /**
      * Pause execution of queued {@link java.lang.Runnable}s.
      */
     public void pause() {
-        synchronized (queueLock) {
-            paused = true;
-        }
+        paused = true;
     }
 
     /**
      * Resume execution of queued {@link java.lang.Runnable}s.
      */
     public void resume() {
-        synchronized (queueLock) {
-            paused = false;
+        paused = false;
 
-            maybeSubmitPoll();
-        }
+        maybeSubmitPoll();
+    }
+
+    private boolean isEmpty() {
+        return headQueue.isEmpty() && queue.isEmpty();
     }
 
     private void maybeSubmitPoll() {
-        synchronized (queueLock) {
-            if (!pollSubmitted && !paused && !queue.isEmpty()) {
-                service.submit(new PollAndExecute());
-                pollSubmitted = true;
+        if (!paused && !isEmpty() && running.compareAndSet(false, true)) {
+            try {
+                service.execute(pollAndExecute);
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+                throw e;
             }
         }
     }
@@ -97,26 +123,28 @@ public class ExecutionQueue {
     private class PollAndExecute implements Runnable {
         @Override
         public void run() {
-            Runnable runnable;
+            for (int i = 0; i < maxBatchSize && !paused; i++) {
+                Runnable runnable = headQueue.pollFirst();
 
-            synchronized (queueLock) {
-                runnable = queue.poll();
-            }
+                if (runnable == null) {
+                    runnable = queue.poll();
+                }
 
-            try {
-                runnable.run();
-            } catch (Throwable throwable) {
-                log.warn("Uncaught Throwable during execution.", throwable);
-            }
+                if (runnable == null) {
+                    break;
+                }
 
-            synchronized (queueLock) {
-                if (queue.isEmpty() || paused) {
-                    pollSubmitted = false;
-                } else {
-                    // polling remains true
-                    service.submit(new PollAndExecute());
+                try {
+                    runnable.run();
+                } catch (Throwable throwable) {
+                    log.warn("Uncaught Throwable during execution.", throwable);
                 }
             }
+
+            running.set(false);
+
+            // a producer that lost the race for the running flag relies on this re-check to get its work scheduled
+            maybeSubmitPoll();
         }
     }
 
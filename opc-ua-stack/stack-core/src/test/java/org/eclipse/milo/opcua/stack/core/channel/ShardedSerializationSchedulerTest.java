@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler.SerialQueue;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ShardedSerializationSchedulerTest {
+
+    private ShardedSerializationScheduler scheduler;
+
+    @BeforeClass
+    public void setUp() {
+        scheduler = new ShardedSerializationScheduler(2);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testTasksRunInSubmissionOrder() throws Exception {
+        List<SerialQueue> queues = new ArrayList<>();
+        List<List<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            queues.add(scheduler.newQueue(null));
+            results.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        CountDownLatch latch = new CountDownLatch(queues.size() * 1000);
+
+        for (int n = 0; n < 1000; n++) {
+            for (int i = 0; i < queues.size(); i++) {
+                List<Integer> result = results.get(i);
+                int value = n;
+
+                queues.get(i).submit(() -> {
+                    result.add(value);
+                    latch.countDown();
+                });
+            }
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        for (List<Integer> result : results) {
+            assertEquals(result.size(), 1000);
+
+            for (int n = 0; n < 1000; n++) {
+                assertEquals(result.get(n).intValue(), n);
+            }
+        }
+    }
+
+    @Test
+    public void testQueueIsPinnedToOneThread() throws Exception {
+        SerialQueue queue = scheduler.newQueue(null);
+
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            queue.submit(() -> {
+                threads.add(Thread.currentThread());
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(threads.size(), 1);
+    }
+
+    @Test
+    public void testPausedQueueDropsTasks() throws Exception {
+        SerialQueue queue = scheduler.newQueue(null);
+
+        AtomicBoolean executed = new AtomicBoolean(false);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        queue.pause();
+        queue.submit(() -> executed.set(true));
+
+        // queues are assigned round-robin; skip ahead to the next queue pinned to the same shard
+        for (int i = 0; i < scheduler.getShardCount() - 1; i++) {
+            scheduler.newQueue(null);
+        }
+
+        SerialQueue sameShard = scheduler.newQueue(null);
+        sameShard.submit(latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(executed.get());
+    }
+
+}
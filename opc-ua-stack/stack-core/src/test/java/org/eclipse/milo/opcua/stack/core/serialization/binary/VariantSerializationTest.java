@@ -18,9 +18,14 @@ import java.nio.ByteOrder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.eclipse.milo.opcua.stack.core.BuiltinDataType;
+import org.eclipse.milo.opcua.stack.core.UaSerializationException;
+import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
 import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UByte;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.ULong;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UShort;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned;
 import org.eclipse.milo.opcua.stack.core.types.structured.ServiceCounterDataType;
 import org.testng.Assert;
@@ -45,7 +50,17 @@ public class VariantSerializationTest extends BinarySerializationFixture {
                 {new Variant(new Long[][]{{0L, 1L}, {2L, 3L}})},
                 {new Variant(new UInteger[]{Unsigned.uint(0), Unsigned.uint(1), Unsigned.uint(2), Unsigned.uint(3)})},
                 {new Variant(new UInteger[][]{{Unsigned.uint(0), Unsigned.uint(1)}, {Unsigned.uint(2), Unsigned.uint(3)}})},
-                {new Variant(new Variant[] {new Variant(0), new Variant(1), new Variant(2)})}
+                {new Variant(new Variant[] {new Variant(0), new Variant(1), new Variant(2)})},
+                {new Variant(new Boolean[]{true, false, true})},
+                {new Variant(new Byte[]{-1, 0, 1})},
+                {new Variant(new UByte[]{Unsigned.ubyte(0), Unsigned.ubyte(255)})},
+                {new Variant(new Short[]{-1, 0, 1})},
+                {new Variant(new UShort[]{Unsigned.ushort(0), Unsigned.ushort(65535)})},
+                {new Variant(new ULong[]{Unsigned.ulong(0), Unsigned.ulong(Long.MAX_VALUE)})},
+                {new Variant(new Float[]{-1.5f, 0f, 1.5f})},
+                {new Variant(new Double[]{-1.5d, 0d, 1.5d})},
+                {new Variant(new Double[][]{{0d, 1d}, {2d, 3d}})},
+                {new Variant(new String[]{"a", null, "c"})}
         };
     }
 
@@ -98,6 +113,64 @@ public class VariantSerializationTest extends BinarySerializationFixture {
         assertEquals(decoded, expected);
     }
 
+    @DataProvider(name = "PrimitiveArrayDecodingProvider")
+    public Object[][] getPrimitiveArrayDecodingVariants() {
+        return new Object[][]{
+                {new Variant(new Boolean[]{true, false}), new Variant(new boolean[]{true, false})},
+                {new Variant(new Byte[]{-1, 0, 1}), new Variant(new byte[]{-1, 0, 1})},
+                {new Variant(new Short[]{-1, 0, 1}), new Variant(new short[]{-1, 0, 1})},
+                {new Variant(new Integer[]{-1, 0, 1}), new Variant(new int[]{-1, 0, 1})},
+                {new Variant(new Long[]{-1L, 0L, 1L}), new Variant(new long[]{-1L, 0L, 1L})},
+                {new Variant(new Float[]{-1.5f, 0f, 1.5f}), new Variant(new float[]{-1.5f, 0f, 1.5f})},
+                {new Variant(new double[]{-1.5d, 0d, 1.5d}), new Variant(new double[]{-1.5d, 0d, 1.5d})},
+                {new Variant(new double[][]{{0d, 1d}, {2d, 3d}}), new Variant(new double[][]{{0d, 1d}, {2d, 3d}})},
+                {new Variant(new UInteger[]{Unsigned.uint(1)}), new Variant(new UInteger[]{Unsigned.uint(1)})}
+        };
+    }
+
+    @DataProvider(name = "NullElementProvider")
+    public Object[][] getNullElementVariants() {
+        return new Object[][]{
+                {new Variant(new Integer[]{1, null}), new Variant(new Integer[]{1, 0})},
+                {new Variant(new Float[]{null, 1.5f}), new Variant(new Float[]{0f, 1.5f})},
+                {new Variant(new Double[][]{{null, 1d}, {2d, null}}), new Variant(new Double[][]{{0d, 1d}, {2d, 0d}})}
+        };
+    }
+
+    @Test(dataProvider = "NullElementProvider",
+            description = "Test that null elements of boxed numeric arrays are encoded as 0.")
+    public void testNullArrayElements(Variant variant, Variant expected) {
+        encoder.encodeVariant(null, variant);
+        Variant decoded = decoder.decodeVariant(null);
+
+        assertEquals(decoded, expected);
+    }
+
+    @Test(dataProvider = "PrimitiveArrayDecodingProvider",
+            description = "Test that a decoder configured to decode primitive arrays produces them for numeric and Boolean arrays.")
+    public void testPrimitiveArrayDecoding(Variant variant, Variant expected) {
+        BinaryDecoder decoder = new BinaryDecoder(
+            ChannelConfig.DEFAULT_MAX_ARRAY_LENGTH,
+            ChannelConfig.DEFAULT_MAX_STRING_LENGTH,
+            true
+        ).setBuffer(buffer);
+
+        encoder.encodeVariant(null, variant);
+        Variant decoded = decoder.decodeVariant(null);
+
+        assertEquals(decoded, expected);
+    }
+
+    @Test(description = "Test that an array length larger than the remaining bytes fails before the array is allocated.",
+            expectedExceptions = UaSerializationException.class)
+    public void testArrayLengthExceedsRemainingBytes() {
+        buffer.writeByte(BuiltinDataType.Double.getTypeId() | (1 << 7));
+        buffer.writeInt(1000);
+        buffer.writeDouble(42.0);
+
+        decoder.decodeVariant(null);
+    }
+
     @Test(description = "Test that a Variant containing a null array encoded with a negative array size to indicate a null value decodes properly.")
     public void testNullArrayEncodedWithNegativeArraySize() {
         ByteBuf buffer = Unpooled.buffer().order(ByteOrder.LITTLE_ENDIAN);
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.util;
+
+import java.nio.ByteOrder;
+
+import io.netty.buffer.ByteBuf;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class BufferAllocatorTest {
+
+    @Test
+    public void testMessageBufferCapacityAdaptsToMessageSize() {
+        BufferAllocator allocator = BufferAllocator.pooled(false, 1, true);
+
+        ByteBuf initial = allocator.messageBuffer(String.class);
+        assertEquals(initial.order(), ByteOrder.LITTLE_ENDIAN);
+        initial.release();
+
+        for (int i = 0; i < 32; i++) {
+            allocator.recordMessageSize(String.class, 100_000);
+        }
+
+        ByteBuf adapted = allocator.messageBuffer(String.class);
+        assertTrue(adapted.capacity() >= 100_000, "capacity=" + adapted.capacity());
+        adapted.release();
+
+        // other message types are unaffected
+        ByteBuf other = allocator.messageBuffer(Integer.class);
+        assertTrue(other.capacity() < 100_000, "capacity=" + other.capacity());
+        other.release();
+    }
+
+    @Test
+    public void testAdaptiveCapacityBounds() {
+        BufferAllocator.AdaptiveCapacity capacity = new BufferAllocator.AdaptiveCapacity();
+
+        capacity.record(1);
+        assertEquals(capacity.next(), BufferAllocator.MIN_MESSAGE_CAPACITY);
+
+        capacity = new BufferAllocator.AdaptiveCapacity();
+        capacity.record(Integer.MAX_VALUE);
+        assertEquals(capacity.next(), BufferAllocator.MAX_MESSAGE_CAPACITY);
+
+        capacity = new BufferAllocator.AdaptiveCapacity();
+        capacity.record(1000);
+        assertEquals(capacity.next(), 2048);
+    }
+
+    @Test
+    public void testPooledMetricsTrackActiveAllocations() {
+        BufferAllocator allocator = BufferAllocator.pooled(false, 1, false);
+
+        BufferAllocatorMetrics before = allocator.getMetrics();
+        assertTrue(before.isPooled());
+        assertFalse(before.isDirectPreferred());
+        assertFalse(before.isDirectAllocated());
+        assertEquals(before.getHeapArenaCount(), 1);
+
+        ByteBuf buffer = allocator.buffer(1024);
+
+        BufferAllocatorMetrics during = allocator.getMetrics();
+        assertEquals(during.getAllocations(), before.getAllocations() + 1);
+        assertEquals(during.getActiveAllocations(), before.getActiveAllocations() + 1);
+        assertTrue(during.getUsedMemory() > 0);
+
+        buffer.release();
+
+        assertEquals(allocator.getMetrics().getActiveAllocations(), before.getActiveAllocations());
+    }
+
+    @Test
+    public void testUnpooledMetrics() {
+        BufferAllocator allocator = BufferAllocator.unpooled(true);
+
+        allocator.buffer().release();
+
+        // the configured preference, even where the platform can only allocate heap buffers
+        BufferAllocatorMetrics metrics = allocator.getMetrics();
+        assertFalse(metrics.isPooled());
+        assertTrue(metrics.isDirectPreferred());
+        assertEquals(metrics.getAllocations(), 1);
+        assertEquals(metrics.getActiveAllocations(), 0);
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ExecutionQueueTest {
+
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTasksRunSeriallyInSubmissionOrder() throws Exception {
+        ExecutionQueue queue = new ExecutionQueue(executor, 4);
+
+        int producerCount = 8;
+        int taskCount = 1000;
+
+        List<List<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            results.add(new ArrayList<>());
+        }
+
+        AtomicInteger concurrent = new AtomicInteger(0);
+        AtomicInteger maxConcurrent = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(producerCount * taskCount);
+
+        List<Thread> producers = new ArrayList<>();
+
+        for (int i = 0; i < producerCount; i++) {
+            List<Integer> result = results.get(i);
+
+            producers.add(new Thread(() -> {
+                for (int n = 0; n < taskCount; n++) {
+                    int value = n;
+
+                    queue.submit(() -> {
+                        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                        result.add(value);
+                        concurrent.decrementAndGet();
+                        latch.countDown();
+                    });
+                }
+            }));
+        }
+
+        producers.forEach(Thread::start);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(maxConcurrent.get(), 1);
+
+        for (List<Integer> result : results) {
+            assertEquals(result.size(), taskCount);
+
+            for (int n = 0; n < taskCount; n++) {
+                assertEquals(result.get(n).intValue(), n);
+            }
+        }
+    }
+
+    @Test
+    public void testPauseAndResume() throws Exception {
+        ExecutionQueue queue = new ExecutionQueue(executor);
+
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+
+        queue.pause();
+
+        queue.submit(() -> {
+            result.add(1);
+            latch.countDown();
+        });
+        queue.submit(() -> {
+            result.add(2);
+            latch.countDown();
+        });
+
+        Thread.sleep(100);
+        assertTrue(result.isEmpty());
+
+        queue.submitToHead(() -> {
+            result.add(0);
+            latch.countDown();
+        });
+
+        queue.resume();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(result, Arrays.asList(0, 1, 2));
+    }
+
+    @Test
+    public void testSubmitToHeadIsLastInFirstOut() throws Exception {
+        ExecutionQueue queue = new ExecutionQueue(executor);
+
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+
+        queue.pause();
+
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+
+            queue.submitToHead(() -> {
+                result.add(value);
+                latch.countDown();
+            });
+        }
+
+        queue.resume();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(result, Arrays.asList(2, 1, 0));
+    }
+
+    @Test
+    public void testUncaughtThrowableDoesNotStopQueue() throws Exception {
+        ExecutionQueue queue = new ExecutionQueue(executor);
+
+        CountDownLatch latch = new CountDownLatch(1);
+
+        queue.submit(() -> {
+            throw new RuntimeException("expected");
+        });
+        queue.submit(latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.config;
+
+import java.util.Objects;
+
+import com.google.common.base.Preconditions;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+
+/**
+ * Bounds the requests each channel may have in flight, and the encoded bytes those requests occupy.
+ * <p>
+ * A request is in flight from the moment it has been decoded until its response is complete. While a channel is at
+ * either limit the server stops reading from it, so clients that keep sending are pushed back through TCP flow
+ * control. The {@link OverloadPolicy} decides what happens to requests that were already read when the limit was hit.
+ * <p>
+ * Publish requests are not counted; the server holds on to them until there is something to publish.
+ */
+public final class AdmissionControl {
+
+    /**
+     * No limits; every request is dispatched as soon as it is decoded.
+     */
+    public static final AdmissionControl UNBOUNDED = new AdmissionControl(0, 0L, OverloadPolicy.PauseReads);
+
+    private final int maxRequests;
+    private final long maxRequestBytes;
+    private final OverloadPolicy overloadPolicy;
+
+    private AdmissionControl(int maxRequests, long maxRequestBytes, OverloadPolicy overloadPolicy) {
+        this.maxRequests = maxRequests;
+        this.maxRequestBytes = maxRequestBytes;
+        this.overloadPolicy = overloadPolicy;
+    }
+
+    /**
+     * @param maxRequests     the maximum number of requests in flight per channel, or 0 for no limit.
+     * @param maxRequestBytes the maximum encoded size of the requests in flight per channel, or 0 for no limit.
+     * @param overloadPolicy  the {@link OverloadPolicy} applied once a limit is reached.
+     * @return an {@link AdmissionControl} with the given limits.
+     */
+    public static AdmissionControl bounded(int maxRequests, long maxRequestBytes, OverloadPolicy overloadPolicy) {
+        Preconditions.checkArgument(maxRequests >= 0, "maxRequests must be >= 0");
+        Preconditions.checkArgument(maxRequestBytes >= 0, "maxRequestBytes must be >= 0");
+        Preconditions.checkNotNull(overloadPolicy, "overloadPolicy must be non-null");
+
+        return new AdmissionControl(maxRequests, maxRequestBytes, overloadPolicy);
+    }
+
+    /**
+     * @return the maximum number of requests in flight per channel, or 0 for no limit.
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * @return the maximum encoded size of the requests in flight per channel, or 0 for no limit.
+     */
+    public long getMaxRequestBytes() {
+        return maxRequestBytes;
+    }
+
+    /**
+     * @return the {@link OverloadPolicy} applied once a limit is reached.
+     */
+    public OverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+
+    /**
+     * @return {@code true} if at least one limit is set.
+     */
+    public boolean isBounded() {
+        return maxRequests > 0 || maxRequestBytes > 0L;
+    }
+
+    /**
+     * @param requests     the number of requests in flight.
+     * @param requestBytes the encoded size of the requests in flight.
+     * @return {@code true} if either limit has been reached.
+     */
+    public boolean isLimitReached(int requests, long requestBytes) {
+        return (maxRequests > 0 && requests >= maxRequests) ||
+            (maxRequestBytes > 0L && requestBytes >= maxRequestBytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AdmissionControl that = (AdmissionControl) o;
+
+        return maxRequests == that.maxRequests &&
+            maxRequestBytes == that.maxRequestBytes &&
+            overloadPolicy == that.overloadPolicy;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxRequests, maxRequestBytes, overloadPolicy);
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionControl{" +
+            "maxRequests=" + maxRequests +
+            ", maxRequestBytes=" + maxRequestBytes +
+            ", overloadPolicy=" + overloadPolicy +
+            "}";
+    }
+
+    public enum OverloadPolicy {
+
+        /**
+         * Stop reading from the channel; requests already read are still dispatched.
+         */
+        PauseReads(StatusCode.GOOD.getValue()),
+
+        /**
+         * Stop reading from the channel and answer requests already read with Bad_TcpServerTooBusy.
+         */
+        RejectServerTooBusy(StatusCodes.Bad_TcpServerTooBusy),
+
+        /**
+         * Stop reading from the channel and answer requests already read with Bad_TooManyOperations.
+         */
+        RejectTooManyOperations(StatusCodes.Bad_TooManyOperations);
+
+        private final long statusCode;
+
+        OverloadPolicy(long statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        /**
+         * @return {@code true} if requests over the limit are rejected instead of dispatched.
+         */
+        public boolean isRejecting() {
+            return statusCode != StatusCode.GOOD.getValue();
+        }
+
+        /**
+         * @return the status code requests over the limit are rejected with, or Good if they are not rejected.
+         */
+        public long getStatusCode() {
+            return statusCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.config;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Controls how the server flushes responses to a channel.
+ * <p>
+ * With coalescing enabled, responses whose chunks are written during the same event loop turn share one flush. While
+ * more responses for the channel are still being encoded, the flush may also be held back for up to a short window so
+ * that they can share it too.
+ */
+public final class FlushCoalescing {
+
+    /**
+     * Flush after every response.
+     */
+    public static final FlushCoalescing DISABLED = new FlushCoalescing(false, 0L);
+
+    private final boolean enabled;
+    private final long windowNanos;
+
+    private FlushCoalescing(boolean enabled, long windowNanos) {
+        this.enabled = enabled;
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * @return {@link FlushCoalescing} that coalesces responses written within the same event loop turn.
+     */
+    public static FlushCoalescing eventLoop() {
+        return new FlushCoalescing(true, 0L);
+    }
+
+    /**
+     * @param window the longest a flush is held back while more responses are being encoded. Must not be negative.
+     * @param unit   the {@link TimeUnit} of {@code window}.
+     * @return {@link FlushCoalescing} that coalesces responses written within the same event loop turn, or within
+     * {@code window} while more responses are being encoded.
+     */
+    public static FlushCoalescing window(long window, TimeUnit unit) {
+        Preconditions.checkArgument(window >= 0, "window must be >= 0");
+
+        return new FlushCoalescing(true, unit.toNanos(window));
+    }
+
+    /**
+     * @return {@code true} if flushes are coalesced.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the coalescing window, in nanoseconds. 0 if only responses from the same event loop turn coalesce.
+     */
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "FlushCoalescing{enabled=" + enabled + ", windowNanos=" + windowNanos + "}";
+    }
+
+}
@@ -20,10 +20,13 @@ import java.util.function.Consumer;
 import org.eclipse.milo.opcua.stack.core.application.CertificateManager;
 import org.eclipse.milo.opcua.stack.core.application.CertificateValidator;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
+import org.eclipse.milo.opcua.stack.core.channel.ShardedSerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.structured.ApplicationDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.SignedSoftwareCertificate;
 import org.eclipse.milo.opcua.stack.core.types.structured.UserTokenPolicy;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 
 public interface UaTcpStackServerConfig {
 
@@ -77,6 +80,32 @@ public interface UaTcpStackServerConfig {
 
     ExecutorService getExecutor();
 
+    /**
+     * @return the {@link SerializationScheduler} that each channel's encoding and decoding runs on.
+     */
+    SerializationScheduler getSerializationScheduler();
+
+    /**
+     * @return the number of worker threads of the {@link ShardedSerializationScheduler} the server creates and owns,
+     * or 0 if encoding and decoding run on {@link #getSerializationScheduler()} instead.
+     */
+    int getSerializationShardCount();
+
+    /**
+     * @return the {@link BufferAllocator} that message and chunk buffers are allocated from.
+     */
+    BufferAllocator getBufferAllocator();
+
+    /**
+     * @return the {@link FlushCoalescing} mode that decides how responses written to a channel are flushed.
+     */
+    FlushCoalescing getFlushCoalescing();
+
+    /**
+     * @return the {@link AdmissionControl} that bounds the requests each channel may have in flight.
+     */
+    AdmissionControl getAdmissionControl();
+
     /**
      * Get the list of {@link UserTokenPolicy}s supported by the server.
      *
@@ -122,6 +151,11 @@ public interface UaTcpStackServerConfig {
         builder.setCertificateManager(config.getCertificateManager());
         builder.setCertificateValidator(config.getCertificateValidator());
         builder.setExecutor(config.getExecutor());
+        builder.setSerializationScheduler(config.getSerializationScheduler());
+        builder.setSerializationShardCount(config.getSerializationShardCount());
+        builder.setBufferAllocator(config.getBufferAllocator());
+        builder.setFlushCoalescing(config.getFlushCoalescing());
+        builder.setAdmissionControl(config.getAdmissionControl());
         builder.setUserTokenPolicies(config.getUserTokenPolicies());
         builder.setSoftwareCertificates(config.getSoftwareCertificates());
         builder.setChannelConfig(config.getChannelConfig());
@@ -22,9 +22,12 @@ import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.application.CertificateManager;
 import org.eclipse.milo.opcua.stack.core.application.CertificateValidator;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
+import org.eclipse.milo.opcua.stack.core.channel.ShardedSerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.structured.SignedSoftwareCertificate;
 import org.eclipse.milo.opcua.stack.core.types.structured.UserTokenPolicy;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 
 public class UaTcpStackServerConfigBuilder {
 
@@ -41,6 +44,11 @@ public class UaTcpStackServerConfigBuilder {
     private CertificateValidator certificateValidator;
 
     private ExecutorService executor;
+    private SerializationScheduler serializationScheduler;
+    private int serializationShardCount = 0;
+    private BufferAllocator bufferAllocator = BufferAllocator.DEFAULT;
+    private FlushCoalescing flushCoalescing = FlushCoalescing.DISABLED;
+    private AdmissionControl admissionControl = AdmissionControl.UNBOUNDED;
     private List<UserTokenPolicy> userTokenPolicies = new ArrayList<>();
     private List<SignedSoftwareCertificate> softwareCertificates = new ArrayList<>();
 
@@ -90,6 +98,84 @@ public class UaTcpStackServerConfigBuilder {
         return this;
     }
 
+    /**
+     * Set the {@link SerializationScheduler} that each channel's encoding and decoding runs on.
+     * <p>
+     * If not set, encoding and decoding run on the configured executor.
+     * <p>
+     * The caller owns {@code serializationScheduler}: the server never shuts it down, so the caller must do so, e.g.
+     * {@link ShardedSerializationScheduler#shutdown()}, once every server using it has shut down.
+     *
+     * @param serializationScheduler the {@link SerializationScheduler} to use.
+     * @return this {@link UaTcpStackServerConfigBuilder}.
+     * @see #setSerializationShardCount(int)
+     */
+    public UaTcpStackServerConfigBuilder setSerializationScheduler(SerializationScheduler serializationScheduler) {
+        this.serializationScheduler = serializationScheduler;
+        return this;
+    }
+
+    /**
+     * Run each channel's encoding and decoding on a {@link ShardedSerializationScheduler} with
+     * {@code serializationShardCount} worker threads.
+     * <p>
+     * The server creates the scheduler when it starts up and shuts it down when it shuts down. If greater than 0,
+     * this takes precedence over {@link #setSerializationScheduler(SerializationScheduler)}.
+     *
+     * @param serializationShardCount the number of worker threads, or 0 to not create a scheduler.
+     * @return this {@link UaTcpStackServerConfigBuilder}.
+     */
+    public UaTcpStackServerConfigBuilder setSerializationShardCount(int serializationShardCount) {
+        Preconditions.checkArgument(serializationShardCount >= 0, "serializationShardCount must be >= 0");
+
+        this.serializationShardCount = serializationShardCount;
+        return this;
+    }
+
+    /**
+     * Set the {@link BufferAllocator} that message and chunk buffers are allocated from.
+     * <p>
+     * If not set, {@link BufferAllocator#DEFAULT} is used.
+     *
+     * @param bufferAllocator the {@link BufferAllocator} to use.
+     * @return this {@link UaTcpStackServerConfigBuilder}.
+     * @see BufferAllocator#pooled(boolean, int, int, int, boolean)
+     * @see BufferAllocator#unpooled(boolean)
+     */
+    public UaTcpStackServerConfigBuilder setBufferAllocator(BufferAllocator bufferAllocator) {
+        this.bufferAllocator = bufferAllocator;
+        return this;
+    }
+
+    /**
+     * Set the {@link FlushCoalescing} mode that decides how responses written to a channel are flushed.
+     * <p>
+     * If not set, {@link FlushCoalescing#DISABLED} is used and every response is flushed as soon as it is written.
+     *
+     * @param flushCoalescing the {@link FlushCoalescing} mode to use.
+     * @return this {@link UaTcpStackServerConfigBuilder}.
+     * @see FlushCoalescing#eventLoop()
+     * @see FlushCoalescing#window(long, java.util.concurrent.TimeUnit)
+     */
+    public UaTcpStackServerConfigBuilder setFlushCoalescing(FlushCoalescing flushCoalescing) {
+        this.flushCoalescing = flushCoalescing;
+        return this;
+    }
+
+    /**
+     * Set the {@link AdmissionControl} that bounds the requests each channel may have in flight.
+     * <p>
+     * If not set, {@link AdmissionControl#UNBOUNDED} is used.
+     *
+     * @param admissionControl the {@link AdmissionControl} to use.
+     * @return this {@link UaTcpStackServerConfigBuilder}.
+     * @see AdmissionControl#bounded(int, long, AdmissionControl.OverloadPolicy)
+     */
+    public UaTcpStackServerConfigBuilder setAdmissionControl(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+        return this;
+    }
+
     public UaTcpStackServerConfigBuilder setChannelConfig(ChannelConfig channelConfig) {
         this.channelConfig = channelConfig;
         return this;
@@ -108,6 +194,10 @@ public class UaTcpStackServerConfigBuilder {
             executor = Stack.sharedExecutor();
         }
 
+        if (serializationScheduler == null) {
+            serializationScheduler = SerializationScheduler.fromExecutor(executor);
+        }
+
         return new UaTcpStackServerConfigImpl(
             serverName,
             applicationName,
@@ -118,6 +208,11 @@ public class UaTcpStackServerConfigBuilder {
             certificateManager,
             certificateValidator,
             executor,
+            serializationScheduler,
+            serializationShardCount,
+            bufferAllocator,
+            flushCoalescing,
+            admissionControl,
             userTokenPolicies,
             softwareCertificates
         );
@@ -137,6 +232,11 @@ public class UaTcpStackServerConfigBuilder {
         private final CertificateValidator certificateValidator;
 
         private final ExecutorService executor;
+        private final SerializationScheduler serializationScheduler;
+        private final int serializationShardCount;
+        private final BufferAllocator bufferAllocator;
+        private final FlushCoalescing flushCoalescing;
+        private final AdmissionControl admissionControl;
         private final List<UserTokenPolicy> userTokenPolicies;
         private final List<SignedSoftwareCertificate> softwareCertificates;
 
@@ -149,6 +249,11 @@ public class UaTcpStackServerConfigBuilder {
                                           CertificateManager certificateManager,
                                           CertificateValidator certificateValidator,
                                           ExecutorService executor,
+                                          SerializationScheduler serializationScheduler,
+                                          int serializationShardCount,
+                                          BufferAllocator bufferAllocator,
+                                          FlushCoalescing flushCoalescing,
+                                          AdmissionControl admissionControl,
                                           List<UserTokenPolicy> userTokenPolicies,
                                           List<SignedSoftwareCertificate> softwareCertificates) {
 
@@ -161,6 +266,11 @@ public class UaTcpStackServerConfigBuilder {
             this.certificateManager = certificateManager;
             this.certificateValidator = certificateValidator;
             this.executor = executor;
+            this.serializationScheduler = serializationScheduler;
+            this.serializationShardCount = serializationShardCount;
+            this.bufferAllocator = bufferAllocator;
+            this.flushCoalescing = flushCoalescing;
+            this.admissionControl = admissionControl;
             this.userTokenPolicies = userTokenPolicies;
             this.softwareCertificates = softwareCertificates;
         }
@@ -210,6 +320,31 @@ public class UaTcpStackServerConfigBuilder {
             return executor;
         }
 
+        @Override
+        public SerializationScheduler getSerializationScheduler() {
+            return serializationScheduler;
+        }
+
+        @Override
+        public int getSerializationShardCount() {
+            return serializationShardCount;
+        }
+
+        @Override
+        public BufferAllocator getBufferAllocator() {
+            return bufferAllocator;
+        }
+
+        @Override
+        public FlushCoalescing getFlushCoalescing() {
+            return flushCoalescing;
+        }
+
+        @Override
+        public AdmissionControl getAdmissionControl() {
+            return admissionControl;
+        }
+
         @Override
         public List<UserTokenPolicy> getUserTokenPolicies() {
             return userTokenPolicies;
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.handlers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.netty.channel.ChannelHandlerContext;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the requests in flight on one channel and pauses reading from the channel while it is at its
+ * {@link AdmissionControl} limits.
+ * <p>
+ * {@link #tryAdmit(UaRequestMessage, int, CompletableFuture)} may be called from any thread; reads are only ever
+ * paused and resumed on the channel's event loop.
+ */
+class RequestAdmission {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final AtomicInteger requests = new AtomicInteger(0);
+    private final AtomicLong requestBytes = new AtomicLong(0L);
+
+    private volatile boolean readsPaused = false;
+
+    private final Runnable updateReads;
+
+    private final ChannelHandlerContext ctx;
+    private final AdmissionControl admissionControl;
+
+    RequestAdmission(ChannelHandlerContext ctx, AdmissionControl admissionControl) {
+        this.ctx = ctx;
+        this.admissionControl = admissionControl;
+
+        updateReads = this::updateReads;
+    }
+
+    /**
+     * Admit a decoded request, or refuse it if the channel is at its limits and the
+     * {@link AdmissionControl.OverloadPolicy} rejects.
+     * <p>
+     * An admitted request stays in flight until {@code completion} completes.
+     *
+     * @param request    the decoded request.
+     * @param size       the encoded size of the request, in bytes.
+     * @param completion completes when the response to the request is ready.
+     * @return {@code true} if the request was admitted and should be dispatched.
+     */
+    boolean tryAdmit(UaRequestMessage request, int size, CompletableFuture<?> completion) {
+        if (!admissionControl.isBounded() || request instanceof PublishRequest) {
+            return true;
+        }
+
+        if (admissionControl.getOverloadPolicy().isRejecting() &&
+            admissionControl.isLimitReached(requests.get(), requestBytes.get())) {
+
+            return false;
+        }
+
+        int r = requests.incrementAndGet();
+        long b = requestBytes.addAndGet(size);
+
+        completion.whenComplete((response, ex) -> {
+            requests.decrementAndGet();
+            requestBytes.addAndGet(-size);
+
+            if (readsPaused) {
+                ctx.executor().execute(updateReads);
+            }
+        });
+
+        if (admissionControl.isLimitReached(r, b)) {
+            ctx.executor().execute(updateReads);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the number of requests in flight.
+     */
+    int getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return the encoded size of the requests in flight, in bytes.
+     */
+    long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    private void updateReads() {
+        boolean limitReached = isLimitReached();
+
+        if (limitReached != readsPaused) {
+            setReadsPaused(limitReached);
+
+            // Requests that completed after the check above but before readsPaused was set didn't schedule an
+            // update; without this second check reads could stay paused with nothing left in flight.
+            if (limitReached && !isLimitReached()) {
+                setReadsPaused(false);
+            }
+        }
+    }
+
+    private boolean isLimitReached() {
+        return admissionControl.isLimitReached(requests.get(), requestBytes.get());
+    }
+
+    private void setReadsPaused(boolean paused) {
+        readsPaused = paused;
+
+        ctx.channel().config().setAutoRead(!paused);
+
+        logger.debug("[remote={}] reads {}; requests={}, requestBytes={}",
+            ctx.channel().remoteAddress(), paused ? "paused" : "resumed",
+            requests.get(), requestBytes.get());
+    }
+
+}
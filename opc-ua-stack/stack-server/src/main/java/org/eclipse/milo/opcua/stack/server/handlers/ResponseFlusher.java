@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.handlers;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.eclipse.milo.opcua.stack.server.config.FlushCoalescing;
+import org.eclipse.milo.opcua.stack.server.tcp.ResponseFlushMetrics;
+
+/**
+ * Decides when to flush the responses written to one channel.
+ * <p>
+ * Every method must be called from the channel's event loop.
+ */
+class ResponseFlusher {
+
+    private int encoding = 0;
+    private int unflushed = 0;
+
+    private boolean turnFlushScheduled = false;
+    private ScheduledFuture<?> windowFlush;
+
+    private final Runnable flushTask;
+
+    private final ChannelHandlerContext ctx;
+    private final FlushCoalescing coalescing;
+    private final ResponseFlushMetrics metrics;
+
+    ResponseFlusher(ChannelHandlerContext ctx, FlushCoalescing coalescing, ResponseFlushMetrics metrics) {
+        this.ctx = ctx;
+        this.coalescing = coalescing;
+        this.metrics = metrics;
+
+        flushTask = this::flush;
+    }
+
+    /**
+     * A response has been handed off to be encoded.
+     */
+    void responseEncoding() {
+        encoding++;
+    }
+
+    /**
+     * A response has finished encoding, successfully or not, and any chunks for it have been written.
+     *
+     * @param written {@code true} if chunks were written and need flushing.
+     */
+    void responseWritten(boolean written) {
+        encoding = Math.max(0, encoding - 1);
+
+        if (written) {
+            unflushed++;
+        }
+
+        if (!coalescing.isEnabled()) {
+            flush();
+        } else if (encoding == 0 || coalescing.getWindowNanos() == 0L) {
+            // nothing else is on its way; flush once the tasks already queued on this event loop have run
+            if (!turnFlushScheduled) {
+                turnFlushScheduled = true;
+                ctx.executor().execute(flushTask);
+            }
+        } else if (windowFlush == null) {
+            // more responses are being encoded; hold the flush for them, but no longer than the window
+            windowFlush = ctx.executor().schedule(flushTask, coalescing.getWindowNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush() {
+        turnFlushScheduled = false;
+
+        if (windowFlush != null) {
+            windowFlush.cancel(false);
+            windowFlush = null;
+        }
+
+        if (unflushed > 0) {
+            metrics.record(unflushed);
+            unflushed = 0;
+
+            ctx.flush();
+        }
+    }
+
+}
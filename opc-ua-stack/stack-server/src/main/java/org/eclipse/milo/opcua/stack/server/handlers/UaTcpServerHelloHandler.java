@@ -37,6 +37,7 @@ import org.eclipse.milo.opcua.stack.core.channel.messages.HelloMessage;
 import org.eclipse.milo.opcua.stack.core.channel.messages.MessageType;
 import org.eclipse.milo.opcua.stack.core.channel.messages.TcpMessageDecoder;
 import org.eclipse.milo.opcua.stack.core.channel.messages.TcpMessageEncoder;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 import org.eclipse.milo.opcua.stack.server.tcp.UaTcpStackServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -124,14 +125,17 @@ public class UaTcpServerHelloHandler extends ByteToMessageDecoder implements Hea
             Ints.saturatedCast(remoteMaxChunkCount)
         );
 
-        int maxArrayLength = config.getMaxArrayLength();
-        int maxStringLength = config.getMaxStringLength();
+        BufferAllocator bufferAllocator = server.getConfig().getBufferAllocator();
+
+        /* The socket is shared by every server bound to this address; only now do we know which allocator to use. */
+        ctx.channel().config().setAllocator(bufferAllocator.getByteBufAllocator());
 
         SerializationQueue serializationQueue = new SerializationQueue(
-            server.getConfig().getExecutor(),
+            server.getSerializationScheduler(),
+            ctx.channel(),
             parameters,
-            maxArrayLength,
-            maxStringLength
+            config,
+            bufferAllocator
         );
 
         ctx.pipeline().addLast(new UaTcpServerAsymmetricHandler(server, serializationQueue));
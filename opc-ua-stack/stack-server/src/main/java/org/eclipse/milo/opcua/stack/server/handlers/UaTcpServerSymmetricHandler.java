@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
@@ -35,7 +36,7 @@ import org.eclipse.milo.opcua.stack.core.channel.messages.ErrorMessage;
 import org.eclipse.milo.opcua.stack.core.channel.messages.MessageType;
 import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
-import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 import org.eclipse.milo.opcua.stack.server.tcp.UaTcpStackServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +54,9 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
     private final SerializationQueue serializationQueue;
     private final ServerSecureChannel secureChannel;
 
+    private ResponseFlusher flusher;
+    private RequestAdmission admission;
+
     public UaTcpServerSymmetricHandler(UaTcpStackServer server,
                                        SerializationQueue serializationQueue,
                                        ServerSecureChannel secureChannel) {
@@ -69,6 +73,14 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
 
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        flusher = new ResponseFlusher(
+            ctx,
+            server.getConfig().getFlushCoalescing(),
+            server.getResponseFlushMetrics()
+        );
+
+        admission = new RequestAdmission(ctx, server.getConfig().getAdmissionControl());
+
         if (secureChannel != null) {
             secureChannel.attr(UaTcpStackServer.BoundChannelKey).set(ctx.channel());
         }
@@ -87,30 +99,49 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
 
     @Override
     protected void encode(ChannelHandlerContext ctx, ServiceResponse message, ByteBuf out) throws Exception {
+        flusher.responseEncoding();
+
         serializationQueue.encode((binaryEncoder, chunkEncoder) -> {
-            ByteBuf messageBuffer = BufferUtil.buffer();
+            BufferAllocator bufferAllocator = server.getConfig().getBufferAllocator();
+            Class<?> responseType = message.getResponse().getClass();
+
+            ByteBuf messageBuffer = bufferAllocator.messageBuffer(responseType);
+
+            List<ByteBuf> chunks = null;
 
             try {
                 binaryEncoder.setBuffer(messageBuffer);
                 binaryEncoder.encodeMessage(null, message.getResponse());
 
-                final List<ByteBuf> chunks = chunkEncoder.encodeSymmetric(
+                bufferAllocator.recordMessageSize(responseType, messageBuffer.readableBytes());
+
+                chunks = chunkEncoder.encodeSymmetric(
                     secureChannel,
                     MessageType.SecureMessage,
                     messageBuffer,
                     message.getRequestId()
                 );
-
-                ctx.executor().execute(() -> {
-                    chunks.forEach(c -> ctx.write(c, ctx.voidPromise()));
-                    ctx.flush();
-                });
             } catch (UaException e) {
                 logger.error("Error encoding {}: {}", message.getResponse().getClass(), e.getMessage(), e);
                 ctx.close();
             } finally {
                 messageBuffer.release();
+
+                writeChunks(ctx, chunks);
+            }
+        });
+    }
+
+    /**
+     * Write the chunks of an encoded response, if any, and let the {@link ResponseFlusher} decide when to flush.
+     */
+    private void writeChunks(ChannelHandlerContext ctx, @Nullable List<ByteBuf> chunks) {
+        ctx.executor().execute(() -> {
+            if (chunks != null) {
+                chunks.forEach(c -> ctx.write(c, ctx.voidPromise()));
             }
+
+            flusher.responseWritten(chunks != null);
         });
     }
 
@@ -169,6 +200,8 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
                 final List<ByteBuf> buffersToDecode = chunkBuffers;
                 chunkBuffers = new ArrayList<>(maxChunkCount);
 
+                final int requestSize = buffersToDecode.stream().mapToInt(ByteBuf::readableBytes).sum();
+
                 serializationQueue.decode((binaryDecoder, chunkDecoder) -> {
                     try {
                         validateChunkHeaders(buffersToDecode);
@@ -185,7 +218,16 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
                             secureChannel
                         );
 
-                        server.getExecutorService().execute(() -> server.receiveRequest(serviceRequest));
+                        if (admission.tryAdmit(request, requestSize, serviceRequest.getFuture())) {
+                            server.getExecutorService().execute(() -> server.receiveRequest(serviceRequest));
+                        } else {
+                            long statusCode = server.getConfig()
+                                .getAdmissionControl()
+                                .getOverloadPolicy()
+                                .getStatusCode();
+
+                            server.getExecutorService().execute(() -> server.rejectRequest(serviceRequest, statusCode));
+                        }
 
                         messageBuffer.release();
                         buffersToDecode.clear();
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.tcp;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.milo.opcua.stack.server.config.FlushCoalescing;
+
+/**
+ * Counts responses written and flushes issued across every channel of a {@link UaTcpStackServer}.
+ *
+ * @see FlushCoalescing
+ */
+public class ResponseFlushMetrics {
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder responses = new LongAdder();
+    private final LongAccumulator maxResponsesPerFlush = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Record one flush covering {@code responseCount} responses.
+     *
+     * @param responseCount the number of responses flushed.
+     */
+    public void record(int responseCount) {
+        flushes.increment();
+        responses.add(responseCount);
+        maxResponsesPerFlush.accumulate(responseCount);
+    }
+
+    /**
+     * @return the number of flushes issued.
+     */
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    /**
+     * @return the number of responses flushed.
+     */
+    public long getResponseCount() {
+        return responses.sum();
+    }
+
+    /**
+     * @return the mean number of responses per flush.
+     */
+    public double getMeanResponsesPerFlush() {
+        long flushCount = flushes.sum();
+
+        return flushCount == 0L ? 0.0 : (double) responses.sum() / flushCount;
+    }
+
+    /**
+     * @return the largest number of responses covered by a single flush.
+     */
+    public long getMaxResponsesPerFlush() {
+        return maxResponsesPerFlush.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResponseFlushMetrics{flushes=%d, responses=%d, meanPerFlush=%.2f, maxPerFlush=%d}",
+            getFlushCount(), getResponseCount(), getMeanResponsesPerFlush(), getMaxResponsesPerFlush());
+    }
+
+}
@@ -58,11 +58,14 @@ import org.eclipse.milo.opcua.stack.core.application.services.SubscriptionServic
 import org.eclipse.milo.opcua.stack.core.application.services.TestServiceSet;
 import org.eclipse.milo.opcua.stack.core.application.services.ViewServiceSet;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.channel.ServerSecureChannel;
+import org.eclipse.milo.opcua.stack.core.channel.ShardedSerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
 import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.ApplicationType;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.MessageSecurityMode;
 import org.eclipse.milo.opcua.stack.core.types.structured.ApplicationDescription;
@@ -76,6 +79,7 @@ import org.eclipse.milo.opcua.stack.core.types.structured.UserTokenPolicy;
 import org.eclipse.milo.opcua.stack.core.util.FutureUtils;
 import org.eclipse.milo.opcua.stack.core.util.Unit;
 import org.eclipse.milo.opcua.stack.server.Endpoint;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl;
 import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -111,8 +115,16 @@ public class UaTcpStackServer implements UaStackServer {
     private final HashedWheelTimer wheelTimer = Stack.sharedWheelTimer();
     private final Map<Long, Timeout> timeouts = Maps.newConcurrentMap();
 
+    private final ResponseFlushMetrics responseFlushMetrics = new ResponseFlushMetrics();
+
     private final UaTcpStackServerConfig config;
 
+    /**
+     * The scheduler created, if {@link UaTcpStackServerConfig#getSerializationShardCount()} is greater than 0, on
+     * {@link #startup()} and shut down on {@link #shutdown()}.
+     */
+    private volatile ShardedSerializationScheduler ownedSerializationScheduler;
+
     public UaTcpStackServer(UaTcpStackServerConfig config) {
         this.config = config;
 
@@ -142,8 +154,28 @@ public class UaTcpStackServer implements UaStackServer {
         return config;
     }
 
+    /**
+     * @return the {@link SerializationScheduler} that each new channel's encoding and decoding runs on.
+     */
+    public SerializationScheduler getSerializationScheduler() {
+        ShardedSerializationScheduler scheduler = ownedSerializationScheduler;
+
+        return scheduler != null ? scheduler : config.getSerializationScheduler();
+    }
+
+    /**
+     * @return the {@link ResponseFlushMetrics} counting responses per flush across all channels of this server.
+     */
+    public ResponseFlushMetrics getResponseFlushMetrics() {
+        return responseFlushMetrics;
+    }
+
     @Override
     public CompletableFuture<UaTcpStackServer> startup() {
+        if (config.getSerializationShardCount() > 0 && ownedSerializationScheduler == null) {
+            ownedSerializationScheduler = new ShardedSerializationScheduler(config.getSerializationShardCount());
+        }
+
         Stream<CompletableFuture<Unit>> stream = endpoints.stream().map(endpoint -> {
             URI endpointUri = endpoint.getEndpointUri();
             String bindAddress = endpoint.getBindAddress().orElse(endpointUri.getHost());
@@ -201,39 +233,23 @@ public class UaTcpStackServer implements UaStackServer {
 
                 return FutureUtils.sequence(futures);
             })
-            .thenApply(ignored -> UaTcpStackServer.this);
+            .thenApply(ignored -> {
+                ShardedSerializationScheduler scheduler = ownedSerializationScheduler;
+                ownedSerializationScheduler = null;
+
+                if (scheduler != null) {
+                    scheduler.shutdown();
+                }
+
+                return UaTcpStackServer.this;
+            });
     }
 
     public void receiveRequest(ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest) {
         logger.trace("Received {} on {}.", serviceRequest, serviceRequest.getSecureChannel());
 
-        serviceRequest.getFuture().whenComplete((response, throwable) -> {
-            long requestId = serviceRequest.getRequestId();
-            UaRequestMessage request = serviceRequest.getRequest();
-
-            ServiceResponse serviceResponse = response != null ?
-                new ServiceResponse(request, requestId, response) :
-                new ServiceResponse(request, requestId, serviceRequest.createServiceFault(throwable));
-
-            ServerSecureChannel secureChannel = serviceRequest.getSecureChannel();
-            boolean secureChannelValid = secureChannels.containsKey(secureChannel.getChannelId());
-
-            if (secureChannelValid) {
-                Channel channel = secureChannel.attr(BoundChannelKey).get();
-
-                if (channel != null) {
-                    if (serviceResponse.isServiceFault()) {
-                        logger.debug("Sending {} on {}.", serviceResponse, secureChannel);
-                    } else {
-                        logger.trace("Sending {} on {}.", serviceResponse, secureChannel);
-                    }
-                    channel.writeAndFlush(serviceResponse, channel.voidPromise());
-                } else {
-                    logger.trace("Queueing {} for unbound {}.", serviceResponse, secureChannel);
-                    responseQueues.put(secureChannel.getChannelId(), serviceResponse);
-                }
-            }
-        });
+        serviceRequest.getFuture().whenComplete((response, throwable) ->
+            sendResponse(serviceRequest, response, throwable));
 
         Class<? extends UaRequestMessage> requestClass = serviceRequest.getRequest().getClass();
         ServiceRequestHandler<UaRequestMessage, UaResponseMessage> handler = handlers.get(requestClass);
@@ -252,6 +268,59 @@ public class UaTcpStackServer implements UaStackServer {
         }
     }
 
+    /**
+     * Answer a request that was refused admission with a ServiceFault, without dispatching it to a handler.
+     *
+     * @param serviceRequest the refused {@link ServiceRequest}.
+     * @param statusCode     the status code of the ServiceFault.
+     * @see AdmissionControl
+     */
+    public void rejectRequest(ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest, long statusCode) {
+        logger.debug("Rejecting {} on {}: {}.",
+            serviceRequest, serviceRequest.getSecureChannel(), new StatusCode(statusCode));
+
+        serviceRequest.getFuture().whenComplete((response, throwable) ->
+            sendResponse(serviceRequest, response, throwable));
+
+        serviceRequest.setServiceFault(statusCode);
+    }
+
+    private void sendResponse(ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest,
+                              UaResponseMessage response,
+                              Throwable throwable) {
+
+        long requestId = serviceRequest.getRequestId();
+        UaRequestMessage request = serviceRequest.getRequest();
+
+        ServiceResponse serviceResponse = response != null ?
+            new ServiceResponse(request, requestId, response) :
+            new ServiceResponse(request, requestId, serviceRequest.createServiceFault(throwable));
+
+        ServerSecureChannel secureChannel = serviceRequest.getSecureChannel();
+        boolean secureChannelValid = secureChannels.containsKey(secureChannel.getChannelId());
+
+        if (secureChannelValid) {
+            Channel channel = secureChannel.attr(BoundChannelKey).get();
+
+            if (channel != null) {
+                if (serviceResponse.isServiceFault()) {
+                    logger.debug("Sending {} on {}.", serviceResponse, secureChannel);
+                } else {
+                    logger.trace("Sending {} on {}.", serviceResponse, secureChannel);
+                }
+                if (config.getFlushCoalescing().isEnabled()) {
+                    // the symmetric handler flushes once the response is encoded
+                    channel.write(serviceResponse, channel.voidPromise());
+                } else {
+                    channel.writeAndFlush(serviceResponse, channel.voidPromise());
+                }
+            } else {
+                logger.trace("Queueing {} for unbound {}.", serviceResponse, secureChannel);
+                responseQueues.put(secureChannel.getChannelId(), serviceResponse);
+            }
+        }
+    }
+
     @Override
     public ApplicationDescription getApplicationDescription() {
         return new ApplicationDescription(
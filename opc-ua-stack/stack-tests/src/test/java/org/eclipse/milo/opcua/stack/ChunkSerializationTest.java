@@ -14,11 +14,13 @@
 package org.eclipse.milo.opcua.stack;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelParameters;
+import org.eclipse.milo.opcua.stack.core.channel.ChannelSecurity;
 import org.eclipse.milo.opcua.stack.core.channel.ChunkDecoder;
 import org.eclipse.milo.opcua.stack.core.channel.ChunkEncoder;
 import org.eclipse.milo.opcua.stack.core.channel.ClientSecureChannel;
@@ -26,16 +28,21 @@ import org.eclipse.milo.opcua.stack.core.channel.SecureChannel;
 import org.eclipse.milo.opcua.stack.core.channel.ServerSecureChannel;
 import org.eclipse.milo.opcua.stack.core.channel.messages.MessageType;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import org.eclipse.milo.opcua.stack.core.types.structured.ChannelSecurityToken;
 import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
 import org.eclipse.milo.opcua.stack.core.util.CryptoRestrictions;
 import org.eclipse.milo.opcua.stack.core.util.LongSequence;
+import org.eclipse.milo.opcua.stack.core.util.NonceUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 import static org.testng.Assert.assertEquals;
 
 public class ChunkSerializationTest extends SecureChannelFixture {
@@ -218,4 +225,192 @@ public class ChunkSerializationTest extends SecureChannelFixture {
         }
     }
 
+    @Test(dataProvider = "getSymmetricSecurityParameters")
+    public void testSymmetricMessageInParallel(SecurityPolicy securityPolicy,
+                                               MessageSecurityMode messageSecurity,
+                                               int messageSize) throws Exception {
+
+        logger.info("Parallel symmetric chunk serialization, securityPolicy={}, messageSecurityMode={}, messageSize={}",
+            securityPolicy, messageSecurity, messageSize);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // parallel encoder and decoder, then each paired with a serial counterpart
+            int[][] thresholds = new int[][]{{2, 2}, {2, 0}, {0, 2}};
+
+            for (int[] threshold : thresholds) {
+                ChunkEncoder encoder = new ChunkEncoder(smallParameters, threshold[0], pool);
+                ChunkDecoder decoder = new ChunkDecoder(smallParameters, threshold[1], pool);
+
+                SecureChannel[] channels = generateChannels(securityPolicy, messageSecurity);
+                ClientSecureChannel clientChannel = (ClientSecureChannel) channels[0];
+                ServerSecureChannel serverChannel = (ServerSecureChannel) channels[1];
+
+                byte[] messageBytes = new byte[messageSize];
+                for (int i = 0; i < messageBytes.length; i++) {
+                    messageBytes[i] = (byte) i;
+                }
+
+                for (long requestId = 1; requestId <= 2; requestId++) {
+                    ByteBuf messageBuffer = BufferUtil.buffer().writeBytes(messageBytes);
+
+                    List<ByteBuf> chunkBuffers = encoder.encodeSymmetric(
+                        clientChannel,
+                        MessageType.SecureMessage,
+                        messageBuffer,
+                        requestId
+                    );
+
+                    ByteBuf decodedBuffer = decoder.decodeSymmetric(serverChannel, chunkBuffers);
+
+                    ReferenceCountUtil.releaseLater(messageBuffer);
+                    ReferenceCountUtil.releaseLater(decodedBuffer);
+
+                    messageBuffer.readerIndex(0);
+                    assertEquals(decodedBuffer, messageBuffer);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @DataProvider
+    public Object[][] getSecuredSymmetricSecurityParameters() {
+        return new Object[][]{
+            {SecurityPolicy.Basic128Rsa15, MessageSecurityMode.Sign},
+            {SecurityPolicy.Basic128Rsa15, MessageSecurityMode.SignAndEncrypt},
+            {SecurityPolicy.Basic256, MessageSecurityMode.Sign},
+            {SecurityPolicy.Basic256, MessageSecurityMode.SignAndEncrypt},
+            {SecurityPolicy.Basic256Sha256, MessageSecurityMode.Sign},
+            {SecurityPolicy.Basic256Sha256, MessageSecurityMode.SignAndEncrypt},
+        };
+    }
+
+    @Test(dataProvider = "getSecuredSymmetricSecurityParameters")
+    public void testSymmetricMessageAcrossTokenRenewal(SecurityPolicy securityPolicy,
+                                                       MessageSecurityMode messageSecurity) throws Exception {
+
+        logger.info("Symmetric chunk serialization across token renewal, securityPolicy={}, messageSecurityMode={}",
+            securityPolicy, messageSecurity);
+
+        ChunkEncoder encoder = new ChunkEncoder(defaultParameters);
+        ChunkDecoder decoder = new ChunkDecoder(defaultParameters);
+
+        SecureChannel[] channels = generateChannels(securityPolicy, messageSecurity);
+        ClientSecureChannel clientChannel = (ClientSecureChannel) channels[0];
+        ServerSecureChannel serverChannel = (ServerSecureChannel) channels[1];
+
+        byte[] messageBytes = new byte[ChannelConfig.DEFAULT_MAX_CHUNK_SIZE * 2];
+        for (int i = 0; i < messageBytes.length; i++) {
+            messageBytes[i] = (byte) i;
+        }
+
+        for (long tokenId = 1; tokenId <= 3; tokenId++) {
+            if (tokenId > 1) {
+                renewToken(clientChannel, serverChannel, securityPolicy, tokenId);
+            }
+
+            // the same encoder and decoder must pick up the new keys after each renewal
+            for (int i = 0; i < 2; i++) {
+                ByteBuf messageBuffer = BufferUtil.buffer().writeBytes(messageBytes);
+
+                List<ByteBuf> chunkBuffers = encoder.encodeSymmetric(
+                    clientChannel,
+                    MessageType.SecureMessage,
+                    messageBuffer,
+                    tokenId * 10 + i
+                );
+
+                ByteBuf decodedBuffer = decoder.decodeSymmetric(serverChannel, chunkBuffers);
+
+                ReferenceCountUtil.releaseLater(messageBuffer);
+                ReferenceCountUtil.releaseLater(decodedBuffer);
+
+                messageBuffer.readerIndex(0);
+                assertEquals(decodedBuffer, messageBuffer);
+            }
+        }
+    }
+
+    @DataProvider
+    public Object[][] getUnencryptedSymmetricSecurityParameters() {
+        return new Object[][]{
+            {SecurityPolicy.None, MessageSecurityMode.None},
+            {SecurityPolicy.Basic128Rsa15, MessageSecurityMode.Sign},
+            {SecurityPolicy.Basic256, MessageSecurityMode.Sign},
+            {SecurityPolicy.Basic256Sha256, MessageSecurityMode.Sign},
+        };
+    }
+
+    @Test(dataProvider = "getUnencryptedSymmetricSecurityParameters")
+    public void testUnencryptedChunksShareMessageBuffer(SecurityPolicy securityPolicy,
+                                                        MessageSecurityMode messageSecurity) throws Exception {
+
+        ChunkEncoder encoder = new ChunkEncoder(smallParameters);
+        ChunkDecoder decoder = new ChunkDecoder(smallParameters);
+
+        SecureChannel[] channels = generateChannels(securityPolicy, messageSecurity);
+        ClientSecureChannel clientChannel = (ClientSecureChannel) channels[0];
+        ServerSecureChannel serverChannel = (ServerSecureChannel) channels[1];
+
+        byte[] messageBytes = new byte[ChannelConfig.DEFAULT_MAX_CHUNK_SIZE * 2];
+        for (int i = 0; i < messageBytes.length; i++) {
+            messageBytes[i] = (byte) i;
+        }
+
+        ByteBuf messageBuffer = BufferUtil.buffer().writeBytes(messageBytes);
+
+        List<ByteBuf> chunkBuffers = encoder.encodeSymmetric(
+            clientChannel,
+            MessageType.SecureMessage,
+            messageBuffer,
+            1L
+        );
+
+        // each chunk holds a reference to the message body instead of a copy of it
+        assertEquals(messageBuffer.refCnt(), 1 + chunkBuffers.size());
+
+        ByteBuf decodedBuffer = decoder.decodeSymmetric(serverChannel, chunkBuffers);
+
+        messageBuffer.readerIndex(0);
+        assertEquals(decodedBuffer, messageBuffer);
+
+        decodedBuffer.release();
+        assertEquals(messageBuffer.refCnt(), 1);
+
+        messageBuffer.release();
+    }
+
+    private void renewToken(ClientSecureChannel clientChannel,
+                            ServerSecureChannel serverChannel,
+                            SecurityPolicy securityPolicy,
+                            long tokenId) {
+
+        int nonceLength = NonceUtil.getNonceLength(securityPolicy.getSymmetricEncryptionAlgorithm());
+        ByteString clientNonce = NonceUtil.generateNonce(nonceLength);
+        ByteString serverNonce = NonceUtil.generateNonce(nonceLength);
+
+        ChannelSecurityToken token = new ChannelSecurityToken(uint(0), uint(tokenId), DateTime.now(), uint(60000));
+
+        ChannelSecurity previousClientSecurity = clientChannel.getChannelSecurity();
+        ChannelSecurity.SecuritySecrets clientSecrets =
+            ChannelSecurity.generateKeyPair(clientChannel, clientNonce, serverNonce);
+
+        clientChannel.setChannelSecurity(new ChannelSecurity(
+            clientSecrets, token,
+            previousClientSecurity.getCurrentKeys(), previousClientSecurity.getCurrentToken()
+        ));
+
+        ChannelSecurity previousServerSecurity = serverChannel.getChannelSecurity();
+        ChannelSecurity.SecuritySecrets serverSecrets =
+            ChannelSecurity.generateKeyPair(serverChannel, clientNonce, serverNonce);
+
+        serverChannel.setChannelSecurity(new ChannelSecurity(
+            serverSecrets, token,
+            previousServerSecurity.getCurrentKeys(), previousServerSecurity.getCurrentToken()
+        ));
+    }
+
 }
@@ -23,6 +23,8 @@ import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
 import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
 import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.channel.ClientSecureChannel;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
+import org.eclipse.milo.opcua.stack.core.channel.ShardedSerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
@@ -155,6 +157,30 @@ public class ClientServerTest extends SecurityFixture {
         connectAndTest(input, client);
     }
 
+    @Test(dataProvider = "getVariants")
+    public void testClientServerRoundTrip_TestStack_NoSecurity_ShardedSerialization(Variant input) throws Exception {
+        EndpointDescription endpoint = endpoints[0];
+
+        ShardedSerializationScheduler scheduler = new ShardedSerializationScheduler(2);
+
+        try {
+            UaTcpStackClient client = createClient(endpoint, scheduler);
+
+            connectAndTest(input, client);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test(dataProvider = "getVariants")
+    public void testClientServerRoundTrip_TestStack_NoSecurity_EventLoopSerialization(Variant input) throws Exception {
+        EndpointDescription endpoint = endpoints[0];
+
+        UaTcpStackClient client = createClient(endpoint, SerializationScheduler.eventLoop());
+
+        connectAndTest(input, client);
+    }
+
     @Test(dataProvider = "getVariants")
     public void testClientServerRoundTrip_TestStack_Basic128Rsa15_Sign(Variant input) throws Exception {
         EndpointDescription endpoint = endpoints[1];
@@ -427,6 +453,20 @@ public class ClientServerTest extends SecurityFixture {
         return new UaTcpStackClient(config);
     }
 
+    private UaTcpStackClient createClient(
+        EndpointDescription endpoint,
+        SerializationScheduler serializationScheduler) throws UaException {
+
+        UaTcpStackClientConfig config = UaTcpStackClientConfig.builder()
+            .setEndpoint(endpoint)
+            .setKeyPair(clientKeyPair)
+            .setCertificate(clientCertificate)
+            .setSerializationScheduler(serializationScheduler)
+            .build();
+
+        return new UaTcpStackClient(config);
+    }
+
     private void connectAndTest(Variant input, UaTcpStackClient client) throws InterruptedException, java.util.concurrent.ExecutionException {
         client.connect().get();
 
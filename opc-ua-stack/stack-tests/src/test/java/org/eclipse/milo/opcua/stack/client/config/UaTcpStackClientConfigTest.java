@@ -19,7 +19,9 @@ import java.util.Optional;
 import org.eclipse.milo.opcua.stack.SecurityFixture;
 import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
+import org.eclipse.milo.opcua.stack.core.util.BufferAllocator;
 import org.testng.annotations.Test;
 
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
@@ -40,6 +42,8 @@ public class UaTcpStackClientConfigTest extends SecurityFixture {
             .setChannelConfig(ChannelConfig.DEFAULT)
             .setChannelLifetime(uint(1234))
             .setExecutor(Stack.sharedExecutor())
+            .setSerializationScheduler(SerializationScheduler.eventLoop())
+            .setBufferAllocator(BufferAllocator.unpooled(false))
             .setEventLoop(Stack.sharedEventLoop())
             .setWheelTimer(Stack.sharedWheelTimer())
             .setSecureChannelReauthenticationEnabled(true)
@@ -57,6 +61,8 @@ public class UaTcpStackClientConfigTest extends SecurityFixture {
         assertEquals(copy.getChannelConfig(), original.getChannelConfig());
         assertEquals(copy.getChannelLifetime(), original.getChannelLifetime());
         assertEquals(copy.getExecutor(), original.getExecutor());
+        assertEquals(copy.getSerializationScheduler(), original.getSerializationScheduler());
+        assertEquals(copy.getBufferAllocator(), original.getBufferAllocator());
         assertEquals(copy.getEventLoop(), original.getEventLoop());
         assertEquals(copy.getWheelTimer(), original.getWheelTimer());
         assertEquals(
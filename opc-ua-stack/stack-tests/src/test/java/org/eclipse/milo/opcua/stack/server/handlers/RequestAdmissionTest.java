@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultChannelConfig;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl;
+import org.eclipse.milo.opcua.stack.server.config.AdmissionControl.OverloadPolicy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class RequestAdmissionTest {
+
+    private EmbeddedChannel channel;
+    private ChannelHandlerContext ctx;
+
+    @BeforeMethod
+    public void setUp() {
+        channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ctx = channel.pipeline().firstContext();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        channel.finish();
+    }
+
+    @Test
+    public void testUnbounded() {
+        RequestAdmission admission = new RequestAdmission(ctx, AdmissionControl.UNBOUNDED);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(admission.tryAdmit(new ReadRequest(), 1024, new CompletableFuture<>()));
+        }
+
+        channel.runPendingTasks();
+
+        assertEquals(admission.getRequests(), 0);
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    public void testPauseReadsAtRequestLimit() {
+        RequestAdmission admission = new RequestAdmission(
+            ctx, AdmissionControl.bounded(2, 0L, OverloadPolicy.PauseReads));
+
+        CompletableFuture<Object> f1 = new CompletableFuture<>();
+        CompletableFuture<Object> f2 = new CompletableFuture<>();
+        CompletableFuture<Object> f3 = new CompletableFuture<>();
+
+        assertTrue(admission.tryAdmit(new ReadRequest(), 10, f1));
+        channel.runPendingTasks();
+        assertTrue(channel.config().isAutoRead());
+
+        assertTrue(admission.tryAdmit(new ReadRequest(), 10, f2));
+        channel.runPendingTasks();
+        assertFalse(channel.config().isAutoRead());
+
+        // requests already read are still admitted
+        assertTrue(admission.tryAdmit(new ReadRequest(), 10, f3));
+        assertEquals(admission.getRequests(), 3);
+
+        f1.complete(null);
+        f2.complete(null);
+        channel.runPendingTasks();
+        assertTrue(channel.config().isAutoRead());
+
+        f3.complete(null);
+        assertEquals(admission.getRequests(), 0);
+        assertEquals(admission.getRequestBytes(), 0L);
+    }
+
+    @Test
+    public void testCompleteWhilePausing() {
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+
+        // the in-flight requests complete while the event loop is pausing reads
+        channel = new PausingChannel(() -> futures.forEach(f -> f.complete(null)));
+        ctx = channel.pipeline().firstContext();
+
+        RequestAdmission admission = new RequestAdmission(
+            ctx, AdmissionControl.bounded(2, 0L, OverloadPolicy.PauseReads));
+
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<Object> f = new CompletableFuture<>();
+            futures.add(f);
+            assertTrue(admission.tryAdmit(new ReadRequest(), 10, f));
+        }
+
+        channel.runPendingTasks();
+
+        assertEquals(admission.getRequests(), 0);
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    public void testRejectAtByteLimit() {
+        RequestAdmission admission = new RequestAdmission(
+            ctx, AdmissionControl.bounded(0, 100L, OverloadPolicy.RejectServerTooBusy));
+
+        CompletableFuture<Object> f1 = new CompletableFuture<>();
+
+        assertTrue(admission.tryAdmit(new ReadRequest(), 150, f1));
+        assertFalse(admission.tryAdmit(new ReadRequest(), 10, new CompletableFuture<>()));
+        channel.runPendingTasks();
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(admission.getRequestBytes(), 150L);
+
+        f1.completeExceptionally(new Exception());
+        channel.runPendingTasks();
+        assertTrue(channel.config().isAutoRead());
+
+        assertTrue(admission.tryAdmit(new ReadRequest(), 10, new CompletableFuture<>()));
+    }
+
+    @Test
+    public void testPublishRequestsNotCounted() {
+        RequestAdmission admission = new RequestAdmission(
+            ctx, AdmissionControl.bounded(1, 0L, OverloadPolicy.RejectTooManyOperations));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(admission.tryAdmit(new PublishRequest(), 10, new CompletableFuture<>()));
+        }
+
+        assertEquals(admission.getRequests(), 0);
+        assertTrue(admission.tryAdmit(new ReadRequest(), 10, new CompletableFuture<>()));
+        assertFalse(admission.tryAdmit(new ReadRequest(), 10, new CompletableFuture<>()));
+    }
+
+    /**
+     * An {@link EmbeddedChannel} that runs {@code onPause} when reads are paused.
+     */
+    private static class PausingChannel extends EmbeddedChannel {
+
+        private final Runnable onPause;
+
+        private ChannelConfig config;
+
+        PausingChannel(Runnable onPause) {
+            super(new ChannelInboundHandlerAdapter());
+
+            this.onPause = onPause;
+        }
+
+        @Override
+        public ChannelConfig config() {
+            if (config == null) {
+                config = new DefaultChannelConfig(this) {
+                    @Override
+                    public ChannelConfig setAutoRead(boolean autoRead) {
+                        super.setAutoRead(autoRead);
+
+                        if (!autoRead && onPause != null) onPause.run();
+
+                        return this;
+                    }
+                };
+            }
+
+            return config;
+        }
+
+    }
+
+}
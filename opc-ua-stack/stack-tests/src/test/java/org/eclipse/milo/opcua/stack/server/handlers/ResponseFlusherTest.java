@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.handlers;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.eclipse.milo.opcua.stack.server.config.FlushCoalescing;
+import org.eclipse.milo.opcua.stack.server.tcp.ResponseFlushMetrics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class ResponseFlusherTest {
+
+    private EmbeddedChannel channel;
+    private ChannelHandlerContext ctx;
+    private ResponseFlushMetrics metrics;
+
+    @BeforeMethod
+    public void setUp() {
+        channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ctx = channel.pipeline().firstContext();
+        metrics = new ResponseFlushMetrics();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        channel.finish();
+        channel.releaseOutbound();
+    }
+
+    @Test
+    public void testDisabledFlushesEveryResponse() {
+        ResponseFlusher flusher = new ResponseFlusher(ctx, FlushCoalescing.DISABLED, metrics);
+
+        respond(flusher, 3);
+
+        assertEquals(metrics.getFlushCount(), 3L);
+        assertEquals(metrics.getResponseCount(), 3L);
+        assertEquals(channel.outboundMessages().size(), 3);
+    }
+
+    @Test
+    public void testEventLoopCoalescesResponsesWrittenInSameTurn() {
+        ResponseFlusher flusher = new ResponseFlusher(ctx, FlushCoalescing.eventLoop(), metrics);
+
+        respond(flusher, 3);
+
+        assertEquals(metrics.getFlushCount(), 0L);
+        assertEquals(channel.outboundMessages().size(), 0);
+
+        channel.runPendingTasks();
+
+        assertEquals(metrics.getFlushCount(), 1L);
+        assertEquals(metrics.getMaxResponsesPerFlush(), 3L);
+        assertEquals(channel.outboundMessages().size(), 3);
+    }
+
+    @Test
+    public void testWindowWaitsForResponsesStillEncoding() {
+        ResponseFlusher flusher = new ResponseFlusher(ctx, FlushCoalescing.window(1, TimeUnit.MINUTES), metrics);
+
+        flusher.responseEncoding();
+        flusher.responseEncoding();
+
+        write(flusher);
+        channel.runPendingTasks();
+
+        assertEquals(metrics.getFlushCount(), 0L);
+
+        write(flusher);
+        channel.runPendingTasks();
+
+        assertEquals(metrics.getFlushCount(), 1L);
+        assertEquals(metrics.getResponseCount(), 2L);
+        assertEquals(channel.outboundMessages().size(), 2);
+    }
+
+    @Test
+    public void testWindowElapses() throws InterruptedException {
+        ResponseFlusher flusher = new ResponseFlusher(
+            ctx, FlushCoalescing.window(1, TimeUnit.MILLISECONDS), metrics);
+
+        flusher.responseEncoding();
+        flusher.responseEncoding();
+
+        write(flusher);
+        channel.runPendingTasks();
+
+        assertEquals(metrics.getFlushCount(), 0L);
+
+        Thread.sleep(10);
+        channel.runScheduledPendingTasks();
+
+        assertEquals(metrics.getFlushCount(), 1L);
+        assertEquals(metrics.getResponseCount(), 1L);
+    }
+
+    @Test
+    public void testFailedResponseIsNotCounted() {
+        ResponseFlusher flusher = new ResponseFlusher(ctx, FlushCoalescing.eventLoop(), metrics);
+
+        flusher.responseEncoding();
+        flusher.responseWritten(false);
+        channel.runPendingTasks();
+
+        assertEquals(metrics.getFlushCount(), 0L);
+    }
+
+    private void respond(ResponseFlusher flusher, int count) {
+        for (int i = 0; i < count; i++) {
+            flusher.responseEncoding();
+        }
+        for (int i = 0; i < count; i++) {
+            write(flusher);
+        }
+    }
+
+    private void write(ResponseFlusher flusher) {
+        ctx.write(Unpooled.buffer(1).writeByte(0), ctx.voidPromise());
+        flusher.responseWritten(true);
+    }
+
+}
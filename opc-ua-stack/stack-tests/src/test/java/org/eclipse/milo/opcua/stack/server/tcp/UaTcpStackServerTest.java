@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.tcp;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.stack.SecurityFixture;
+import org.eclipse.milo.opcua.stack.core.channel.SerializationScheduler;
+import org.eclipse.milo.opcua.stack.core.channel.ShardedSerializationScheduler;
+import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfig;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class UaTcpStackServerTest extends SecurityFixture {
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        super.setUp();
+    }
+
+    @Test
+    public void testShutdownStopsOwnedSerializationScheduler() throws Exception {
+        UaTcpStackServerConfig config = UaTcpStackServerConfig.builder()
+            .setServerName("test")
+            .setCertificateManager(serverCertificateManager)
+            .setCertificateValidator(serverCertificateValidator)
+            .setSerializationShardCount(2)
+            .build();
+
+        UaTcpStackServer server = new UaTcpStackServer(config);
+
+        server.startup().get();
+
+        SerializationScheduler scheduler = server.getSerializationScheduler();
+        assertTrue(scheduler instanceof ShardedSerializationScheduler);
+
+        server.shutdown().get();
+
+        assertTrue(((ShardedSerializationScheduler) scheduler).awaitTermination(5, TimeUnit.SECONDS));
+        assertSame(server.getSerializationScheduler(), config.getSerializationScheduler());
+    }
+
+}